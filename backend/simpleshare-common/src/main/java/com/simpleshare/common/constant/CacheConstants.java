@@ -16,6 +16,21 @@ public class CacheConstants {
      */
     public static final String REFRESH_TOKEN_KEY = "refresh_tokens:";
 
+    /**
+     * 用户在线会话索引 redis key
+     */
+    public static final String SESSION_USER_KEY = "session_user:";
+
+    /**
+     * 租户在线用户索引 redis key
+     */
+    public static final String SESSION_TENANT_KEY = "session_tenant:";
+
+    /**
+     * 有在线会话的租户集合 redis key
+     */
+    public static final String SESSION_TENANTS_KEY = "session_tenants";
+
     /**
      * 验证码 redis key
      */
@@ -60,4 +75,59 @@ public class CacheConstants {
      * 用户角色缓存 redis key
      */
     public static final String USER_ROLES_KEY = "user_roles:";
+
+    /**
+     * 文章详情缓存 redis key
+     */
+    public static final String ARTICLE_DETAIL_KEY = "article_detail:";
+
+    /**
+     * 文章点赞用户位图 redis key
+     */
+    public static final String ARTICLE_LIKE_KEY = "article_like:";
+
+    /**
+     * 文章点赞待落库变更 redis key
+     */
+    public static final String ARTICLE_LIKE_PENDING_KEY = "article_like_pending:";
+
+    /**
+     * 有待落库点赞变更的文章集合 redis key
+     */
+    public static final String ARTICLE_LIKE_DIRTY_KEY = "article_like_dirty";
+
+    /**
+     * 文章每日浏览量 redis key（按日期，哈希字段为文章ID）
+     */
+    public static final String ARTICLE_VIEW_PV_KEY = "article_view_pv:";
+
+    /**
+     * 文章每日访客 HyperLogLog redis key（按日期 + 文章ID）
+     */
+    public static final String ARTICLE_VIEW_UV_KEY = "article_view_uv:";
+
+    /**
+     * 加密文章密码错误次数 redis key（按文章ID，及文章ID + 客户端IP）
+     */
+    public static final String ARTICLE_UNLOCK_FAIL_KEY = "article_unlock_fail:";
+
+    /**
+     * AiTech 卡片待落库点击 redis key（按租户 + 卡片标识，哈希保存待落库次数与卡片信息）
+     */
+    public static final String AITECH_CLICK_KEY = "aitech_click:";
+
+    /**
+     * AiTech 卡片待落库集合 redis key
+     */
+    public static final String AITECH_CLICK_DIRTY_KEY = "aitech_click_dirty";
+
+    /**
+     * AiTech 卡片点击排行 redis key（按租户，有序集合）
+     */
+    public static final String AITECH_CLICK_RANK_KEY = "aitech_click_rank:";
+
+    /**
+     * 本地缓存失效广播 redis channel
+     */
+    public static final String CACHE_INVALIDATION_CHANNEL = "cache_invalidation";
 }
@@ -1,5 +1,6 @@
 package com.simpleshare.framework.aspectj;
 
+import com.simpleshare.common.enums.DataSourceType;
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.framework.aspectj.lang.annotation.DataSource;
 import com.simpleshare.framework.datasource.DynamicDataSourceContextHolder;
@@ -13,11 +14,17 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Objects;
 
 /**
  * 多数据源处理
+ * <p>
+ * 标注 {@code SLAVE} 的控制器中也可能包含写接口，因此只有 GET/HEAD 请求（或非 Web 调用）才会切换到从库；
+ * 嵌套调用结束后恢复外层的数据源设置。
  *
  * @author SimpleShare
  */
@@ -36,8 +43,9 @@ public class DataSourceAspect {
     @Around("dsPointCut()")
     public Object around(ProceedingJoinPoint point) throws Throwable {
         DataSource dataSource = getDataSource(point);
+        String previous = DynamicDataSourceContextHolder.getDataSourceType();
 
-        if (StringUtils.isNotNull(dataSource)) {
+        if (StringUtils.isNotNull(dataSource) && (dataSource.value() != DataSourceType.SLAVE || isReadRequest())) {
             DynamicDataSourceContextHolder.setDataSourceType(dataSource.value().name());
         }
 
@@ -45,10 +53,26 @@ public class DataSourceAspect {
             return point.proceed();
         } finally {
             // 销毁数据源 在执行方法之后
-            DynamicDataSourceContextHolder.clearDataSourceType();
+            if (previous == null) {
+                DynamicDataSourceContextHolder.clearDataSourceType();
+            } else {
+                DynamicDataSourceContextHolder.setDataSourceType(previous);
+            }
         }
     }
 
+    /**
+     * 当前请求是否为只读请求
+     */
+    private boolean isReadRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return true;
+        }
+        String method = ((ServletRequestAttributes) attributes).getRequest().getMethod();
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+    }
+
     /**
      * 获取需要切换的数据源
      */
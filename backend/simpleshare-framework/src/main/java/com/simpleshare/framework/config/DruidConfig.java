@@ -0,0 +1,67 @@
+package com.simpleshare.framework.config;
+
+import com.alibaba.druid.filter.Filter;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceBuilder;
+import com.simpleshare.framework.datasource.DynamicDataSource;
+import com.simpleshare.framework.datasource.ReadReplicaProperties;
+import com.simpleshare.framework.datasource.ReadReplicaRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 读写分离数据源配置
+ * <p>
+ * 仅在 {@code spring.datasource.druid.slave.enabled=true} 时生效，未启用时仍由 Druid 自动配置创建单一数据源。
+ * 主库沿用 {@code spring.datasource.*} 与 {@code spring.datasource.druid.*} 配置，从库复制主库的连接池参数。
+ * 对外暴露的数据源外层包一层 {@link LazyConnectionDataSourceProxy}，
+ * 真正执行 SQL 时才获取连接，此时事务的只读标记已经确定，路由才能区分只读事务。
+ *
+ * @author SimpleShare
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.druid.slave", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class DruidConfig {
+
+    @Bean(initMethod = "init", destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.druid")
+    public DruidDataSource masterDataSource(DataSourceProperties dataSourceProperties,
+                                            ObjectProvider<List<Filter>> filters) {
+        DruidDataSource dataSource = DruidDataSourceBuilder.create().build();
+        dataSource.setName("master");
+        dataSource.setUrl(dataSourceProperties.determineUrl());
+        dataSource.setUsername(dataSourceProperties.determineUsername());
+        dataSource.setPassword(dataSourceProperties.determinePassword());
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        // 与 Druid 自动配置一致，挂上 stat/wall 等过滤器
+        List<Filter> proxyFilters = filters.getIfAvailable();
+        if (proxyFilters != null) {
+            dataSource.getProxyFilters().addAll(proxyFilters);
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRouter readReplicaRouter(DruidDataSource masterDataSource, ReadReplicaProperties properties,
+                                               RedisTemplate redisTemplate) {
+        return new ReadReplicaRouter(masterDataSource, properties, redisTemplate);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DruidDataSource masterDataSource, ReadReplicaRouter readReplicaRouter) {
+        return new LazyConnectionDataSourceProxy(new DynamicDataSource(masterDataSource, readReplicaRouter));
+    }
+}
@@ -7,7 +7,10 @@ import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerIntercep
 import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.simpleshare.common.handler.CommonMetaObjectHandler;
+import com.simpleshare.framework.datasource.ReadReplicaRouter;
+import com.simpleshare.framework.datasource.ReadWriteSplitInnerInterceptor;
 import com.simpleshare.framework.tenant.TenantInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -29,8 +32,13 @@ public class MyBatisPlusConfig {
     }
 
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(ObjectProvider<ReadReplicaRouter> readReplicaRouter) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        // 读写分离写入标记（启用从库时）
+        ReadReplicaRouter router = readReplicaRouter.getIfAvailable();
+        if (router != null) {
+            interceptor.addInnerInterceptor(new ReadWriteSplitInnerInterceptor(router));
+        }
         // 租户拦截器
         interceptor.addInnerInterceptor(new TenantInterceptor());
         // 分页插件
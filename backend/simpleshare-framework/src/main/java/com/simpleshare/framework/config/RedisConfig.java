@@ -1,5 +1,7 @@
 package com.simpleshare.framework.config;
 
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
@@ -11,6 +13,8 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import java.time.Duration;
@@ -62,6 +66,17 @@ public class RedisConfig extends CachingConfigurerSupport {
         this.redisConnectionFactory = redisConnectionFactory;
     }
 
+    /**
+     * 本地缓存失效广播的订阅容器
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(CacheInvalidationBroker cacheInvalidationBroker) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBroker, new ChannelTopic(CacheConstants.CACHE_INVALIDATION_CHANNEL));
+        return container;
+    }
+
     @Bean
     public DefaultRedisScript<Long> limitScript() {
         DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>();
@@ -11,7 +11,23 @@ import java.util.Map;
  * @author SimpleShare
  */
 public class DynamicDataSource extends AbstractRoutingDataSource {
+
+    private final ReadReplicaRouter router;
+
     public DynamicDataSource(DataSource defaultTargetDataSource, Map<Object, Object> targetDataSources) {
+        this(defaultTargetDataSource, targetDataSources, null);
+    }
+
+    /**
+     * 读写分离数据源，路由键由 {@link ReadReplicaRouter} 计算
+     */
+    public DynamicDataSource(DataSource defaultTargetDataSource, ReadReplicaRouter router) {
+        this(defaultTargetDataSource, router.targetDataSources(), router);
+    }
+
+    private DynamicDataSource(DataSource defaultTargetDataSource, Map<Object, Object> targetDataSources,
+                              ReadReplicaRouter router) {
+        this.router = router;
         super.setDefaultTargetDataSource(defaultTargetDataSource);
         super.setTargetDataSources(targetDataSources);
         super.afterPropertiesSet();
@@ -19,6 +35,9 @@ public class DynamicDataSource extends AbstractRoutingDataSource {
 
     @Override
     protected Object determineCurrentLookupKey() {
+        if (router != null) {
+            return router.determineLookupKey();
+        }
         return DynamicDataSourceContextHolder.getDataSourceType();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package com.simpleshare.framework.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从库（只读副本）配置
+ * <p>
+ * 兼容原有的单从库写法（{@code url/username/password}），也可以在 {@code replicas} 中配置多个从库并指定权重。
+ * 连接池参数沿用主库的 {@code spring.datasource.druid.*}，从库只覆盖连接地址与账号。
+ *
+ * @author SimpleShare
+ */
+@ConfigurationProperties(prefix = "spring.datasource.druid.slave")
+public class ReadReplicaProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 单从库连接URL（兼容旧配置）
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * 单从库权重
+     */
+    private int weight = 1;
+
+    /**
+     * 多从库配置
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 允许的最大复制延迟（秒），超过后该从库暂停路由，读请求回落主库
+     */
+    private int maxLagSeconds = 5;
+
+    /**
+     * 复制延迟检测间隔（毫秒）
+     */
+    private long lagCheckIntervalMs = 5000L;
+
+    /**
+     * 用户写入后其读请求固定走主库的时长（秒），保证读到自己的写入
+     */
+    private int stickyPrimarySeconds = 10;
+
+    /**
+     * 是否将只读事务（{@code @Transactional(readOnly = true)}）路由到从库
+     */
+    private boolean routeReadOnlyTransactions = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+
+    public int getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+
+    public void setMaxLagSeconds(int maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+
+    public int getStickyPrimarySeconds() {
+        return stickyPrimarySeconds;
+    }
+
+    public void setStickyPrimarySeconds(int stickyPrimarySeconds) {
+        this.stickyPrimarySeconds = stickyPrimarySeconds;
+    }
+
+    public boolean isRouteReadOnlyTransactions() {
+        return routeReadOnlyTransactions;
+    }
+
+    public void setRouteReadOnlyTransactions(boolean routeReadOnlyTransactions) {
+        this.routeReadOnlyTransactions = routeReadOnlyTransactions;
+    }
+
+    /**
+     * 汇总后的从库列表，旧的单从库配置排在最前
+     */
+    public List<Replica> resolveReplicas() {
+        List<Replica> resolved = new ArrayList<>();
+        if (url != null && !url.trim().isEmpty()) {
+            Replica legacy = new Replica();
+            legacy.setName("slave");
+            legacy.setUrl(url);
+            legacy.setUsername(username);
+            legacy.setPassword(password);
+            legacy.setWeight(weight);
+            resolved.add(legacy);
+        }
+        if (replicas != null) {
+            for (Replica replica : replicas) {
+                if (replica != null && replica.getUrl() != null && !replica.getUrl().trim().isEmpty()) {
+                    resolved.add(replica);
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public static class Replica {
+
+        /**
+         * 名称，用于日志与监控，缺省为 slave-序号
+         */
+        private String name;
+
+        private String url;
+
+        /**
+         * 为空时沿用主库账号
+         */
+        private String username;
+
+        private String password;
+
+        /**
+         * 负载权重，0 表示不参与路由
+         */
+        private int weight = 1;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.simpleshare.framework.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simpleshare.common.enums.DataSourceType;
+import com.simpleshare.common.utils.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离路由
+ * <p>
+ * 决定每次获取连接时使用主库还是从库：
+ * <ul>
+ *     <li>显式指定主库、当前请求已执行过写操作、用户处于写后粘滞期、或处于读写事务中时使用主库；</li>
+ *     <li>标注了 {@code @DataSource(DataSourceType.SLAVE)} 的调用或只读事务，按权重平滑轮询选择健康的从库；</li>
+ *     <li>没有健康从库（复制延迟超限、连接失败）时回落主库。</li>
+ * </ul>
+ * 复制延迟由后台线程定期通过 {@code SHOW SLAVE STATUS} 检测，没有权限时退化为连通性检测。
+ * 用户写入后在 Redis 中记录粘滞标记，集群内任意节点在粘滞期内都会把该用户的读请求路由到主库。
+ *
+ * @author SimpleShare
+ */
+public class ReadReplicaRouter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    public static final String MASTER_KEY = DataSourceType.MASTER.name();
+
+    /**
+     * 写后粘滞 redis key
+     */
+    private static final String STICKY_KEY_PREFIX = "ds_sticky:";
+
+    private static final String WRITE_MARK_ATTRIBUTE = ReadReplicaRouter.class.getName() + ".WRITE";
+
+    private static final String STICKY_ATTRIBUTE = ReadReplicaRouter.class.getName() + ".STICKY";
+
+    private final DruidDataSource master;
+
+    private final List<ReplicaNode> replicas;
+
+    private final ReadReplicaProperties properties;
+
+    private final RedisTemplate redisTemplate;
+
+    private final Cache<Long, Boolean> localSticky;
+
+    private final ScheduledExecutorService lagChecker;
+
+    private final LongAdder masterRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder stickyRoutes = new LongAdder();
+    private final LongAdder writesRecorded = new LongAdder();
+
+    public ReadReplicaRouter(DruidDataSource master, ReadReplicaProperties properties, RedisTemplate redisTemplate) {
+        this.master = master;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.localSticky = Caffeine.newBuilder()
+                .maximumSize(100_000L)
+                .expireAfterWrite(Math.max(properties.getStickyPrimarySeconds(), 1), TimeUnit.SECONDS)
+                .build();
+
+        List<ReadReplicaProperties.Replica> configured = properties.resolveReplicas();
+        List<ReplicaNode> nodes = new ArrayList<>(configured.size());
+        for (int i = 0; i < configured.size(); i++) {
+            ReadReplicaProperties.Replica replica = configured.get(i);
+            String name = replica.getName() != null && !replica.getName().isEmpty()
+                    ? replica.getName() : "slave-" + i;
+            nodes.add(new ReplicaNode(DataSourceType.SLAVE.name() + "#" + i, name,
+                    createReplica(master, replica, name), Math.max(replica.getWeight(), 0)));
+        }
+        this.replicas = Collections.unmodifiableList(nodes);
+
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-checker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(properties.getLagCheckIntervalMs(), 1000L);
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0L, interval, TimeUnit.MILLISECONDS);
+        log.info("Read/write splitting enabled with {} replica(s)", replicas.size());
+    }
+
+    /**
+     * 路由目标：主库键 -> 主库，从库键 -> 从库
+     */
+    public Map<Object, Object> targetDataSources() {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        targets.put(MASTER_KEY, master);
+        for (ReplicaNode node : replicas) {
+            targets.put(node.key, node.dataSource);
+        }
+        return targets;
+    }
+
+    /**
+     * 计算当前连接的路由键
+     */
+    public String determineLookupKey() {
+        String requested = DynamicDataSourceContextHolder.getDataSourceType();
+        if (MASTER_KEY.equals(requested)) {
+            return routeMaster();
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnlyTransaction = inTransaction && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (inTransaction && !readOnlyTransaction) {
+            return routeMaster();
+        }
+        boolean wantReplica = DataSourceType.SLAVE.name().equals(requested)
+                || (readOnlyTransaction && properties.isRouteReadOnlyTransactions());
+        if (!wantReplica) {
+            return routeMaster();
+        }
+        if (isPrimaryRequired()) {
+            stickyRoutes.increment();
+            return routeMaster();
+        }
+        ReplicaNode node = select();
+        if (node == null) {
+            fallbacks.increment();
+            return routeMaster();
+        }
+        node.routed.increment();
+        replicaRoutes.increment();
+        return node.key;
+    }
+
+    /**
+     * 记录一次写操作：本次请求之后的查询都走主库，当前用户在粘滞期内的读请求也走主库
+     */
+    public void recordWrite() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || attributes.getAttribute(WRITE_MARK_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(WRITE_MARK_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        writesRecorded.increment();
+        Long userId = SecurityUtils.getUserIdSafely();
+        if (userId == null || properties.getStickyPrimarySeconds() <= 0) {
+            return;
+        }
+        localSticky.put(userId, Boolean.TRUE);
+        try {
+            redisTemplate.opsForValue().set(STICKY_KEY_PREFIX + userId, "1",
+                    properties.getStickyPrimarySeconds(), TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            log.warn("Failed to record sticky primary for user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", true);
+        stats.put("maxLagSeconds", properties.getMaxLagSeconds());
+        stats.put("stickyPrimarySeconds", properties.getStickyPrimarySeconds());
+        stats.put("routeReadOnlyTransactions", properties.isRouteReadOnlyTransactions());
+        stats.put("masterRoutes", masterRoutes.sum());
+        stats.put("replicaRoutes", replicaRoutes.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("stickyRoutes", stickyRoutes.sum());
+        stats.put("writesRecorded", writesRecorded.sum());
+
+        List<Map<String, Object>> dataSources = new ArrayList<>(replicas.size() + 1);
+        Map<String, Object> masterStats = poolStatistics("master", master);
+        masterStats.put("role", DataSourceType.MASTER.name());
+        dataSources.add(masterStats);
+        for (ReplicaNode node : replicas) {
+            Map<String, Object> nodeStats = poolStatistics(node.name, node.dataSource);
+            nodeStats.put("role", DataSourceType.SLAVE.name());
+            nodeStats.put("weight", node.weight);
+            nodeStats.put("healthy", node.healthy);
+            nodeStats.put("lagSeconds", node.lagSeconds);
+            nodeStats.put("lastError", node.lastError);
+            nodeStats.put("routed", node.routed.sum());
+            dataSources.add(nodeStats);
+        }
+        stats.put("dataSources", dataSources);
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        lagChecker.shutdownNow();
+        for (ReplicaNode node : replicas) {
+            node.dataSource.close();
+        }
+    }
+
+    private String routeMaster() {
+        masterRoutes.increment();
+        return MASTER_KEY;
+    }
+
+    /**
+     * 当前请求是否必须读主库，粘滞结果在请求内只计算一次
+     */
+    private boolean isPrimaryRequired() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        if (attributes.getAttribute(WRITE_MARK_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Object cached = attributes.getAttribute(STICKY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return (Boolean) cached;
+        }
+        boolean sticky = isSticky(SecurityUtils.getUserIdSafely());
+        attributes.setAttribute(STICKY_ATTRIBUTE, sticky, RequestAttributes.SCOPE_REQUEST);
+        return sticky;
+    }
+
+    private boolean isSticky(Long userId) {
+        if (userId == null || properties.getStickyPrimarySeconds() <= 0) {
+            return false;
+        }
+        if (localSticky.getIfPresent(userId) != null) {
+            return true;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(STICKY_KEY_PREFIX + userId));
+        } catch (Exception ex) {
+            // Redis 不可用时保守地读主库
+            return true;
+        }
+    }
+
+    /**
+     * 平滑加权轮询，只在健康的从库之间选择
+     */
+    private synchronized ReplicaNode select() {
+        ReplicaNode best = null;
+        int total = 0;
+        for (ReplicaNode node : replicas) {
+            if (!node.healthy || node.weight <= 0) {
+                continue;
+            }
+            node.currentWeight += node.weight;
+            total += node.weight;
+            if (best == null || node.currentWeight > best.currentWeight) {
+                best = node;
+            }
+        }
+        if (best != null) {
+            best.currentWeight -= total;
+        }
+        return best;
+    }
+
+    private void checkReplicas() {
+        for (ReplicaNode node : replicas) {
+            try {
+                long lag = probeLag(node.dataSource);
+                node.lagSeconds = lag;
+                boolean healthy = lag >= 0 && lag <= properties.getMaxLagSeconds();
+                if (healthy != node.healthy) {
+                    log.warn("Replica {} is now {} (lag {}s)", node.name, healthy ? "healthy" : "unhealthy", lag);
+                }
+                node.healthy = healthy;
+                node.lastError = null;
+            } catch (Exception ex) {
+                if (node.healthy) {
+                    log.warn("Replica {} is unavailable, reads fall back to master: {}", node.name, ex.getMessage());
+                }
+                node.healthy = false;
+                node.lastError = ex.getMessage();
+            }
+        }
+    }
+
+    /**
+     * 复制延迟（秒）；复制线程停止时返回 -1，无法查询复制状态时只做连通性检测并视为无延迟
+     */
+    private long probeLag(DruidDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(3);
+            try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                if (!rs.next()) {
+                    return 0L;
+                }
+                long lag = rs.getLong("Seconds_Behind_Master");
+                return rs.wasNull() ? -1L : lag;
+            } catch (SQLException ex) {
+                try (ResultSet rs = statement.executeQuery("SELECT 1")) {
+                    rs.next();
+                }
+                return 0L;
+            }
+        }
+    }
+
+    private static DruidDataSource createReplica(DruidDataSource master, ReadReplicaProperties.Replica replica,
+                                                 String name) {
+        DruidDataSource dataSource = master.cloneDruidDataSource();
+        dataSource.setName(name);
+        dataSource.setUrl(replica.getUrl());
+        if (replica.getUsername() != null && !replica.getUsername().isEmpty()) {
+            dataSource.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            dataSource.setPassword(replica.getPassword());
+        }
+        // 从库不可用不应阻止应用启动
+        dataSource.setInitialSize(0);
+        return dataSource;
+    }
+
+    private static Map<String, Object> poolStatistics(String name, DruidDataSource dataSource) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("activeCount", dataSource.getActiveCount());
+        stats.put("poolingCount", dataSource.getPoolingCount());
+        stats.put("maxActive", dataSource.getMaxActive());
+        stats.put("activePeak", dataSource.getActivePeak());
+        stats.put("waitThreadCount", dataSource.getWaitThreadCount());
+        stats.put("notEmptyWaitCount", dataSource.getNotEmptyWaitCount());
+        stats.put("connectCount", dataSource.getConnectCount());
+        stats.put("closeCount", dataSource.getCloseCount());
+        stats.put("createCount", dataSource.getCreateCount());
+        stats.put("connectErrorCount", dataSource.getConnectErrorCount());
+        return stats;
+    }
+
+    private static final class ReplicaNode {
+
+        private final String key;
+        private final String name;
+        private final DruidDataSource dataSource;
+        private final int weight;
+        private final LongAdder routed = new LongAdder();
+
+        private int currentWeight;
+        // 首次检测完成前视为不可用，读请求先走主库
+        private volatile boolean healthy;
+        private volatile long lagSeconds = -1L;
+        private volatile String lastError;
+
+        private ReplicaNode(String key, String name, DruidDataSource dataSource, int weight) {
+            this.key = key;
+            this.name = name;
+            this.dataSource = dataSource;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.simpleshare.framework.datasource;
+
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * 读写分离写入标记
+ * <p>
+ * 在 insert/update/delete 执行（获取连接）之前通知 {@link ReadReplicaRouter}，
+ * 使本次请求剩余的查询以及用户随后的读请求走主库。
+ *
+ * @author SimpleShare
+ */
+public class ReadWriteSplitInnerInterceptor implements InnerInterceptor {
+
+    private final ReadReplicaRouter router;
+
+    public ReadWriteSplitInnerInterceptor(ReadReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) {
+        router.recordWrite();
+    }
+}
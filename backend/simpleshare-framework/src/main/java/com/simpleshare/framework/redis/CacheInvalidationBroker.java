@@ -0,0 +1,99 @@
+package com.simpleshare.framework.redis;
+
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.common.utils.uuid.IdUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 本地缓存跨节点失效广播
+ * <p>
+ * 各节点的进程内缓存通过 Redis pub/sub 互相通知失效，消息格式为 {@code 节点ID|缓存名|键}，
+ * 节点会忽略自己发出的消息。
+ *
+ * @author SimpleShare
+ */
+@Component
+public class CacheInvalidationBroker implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBroker.class);
+
+    /**
+     * 表示清空整个缓存的键
+     */
+    public static final String ALL_KEYS = "*";
+
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = IdUtils.fastSimpleUUID();
+
+    private final ConcurrentMap<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RedisTemplate redisTemplate;
+
+    /**
+     * 注册缓存失效处理器
+     *
+     * @param cacheName 缓存名称
+     * @param handler   收到失效键时的回调，键为 {@link #ALL_KEYS} 时表示清空
+     */
+    public void register(String cacheName, Consumer<String> handler) {
+        handlers.computeIfAbsent(cacheName, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * 向其他节点广播失效消息，发送失败只记录日志
+     *
+     * @param cacheName 缓存名称
+     * @param key       失效的键
+     */
+    public void publish(String cacheName, String key) {
+        if (StringUtils.isEmpty(cacheName) || StringUtils.isEmpty(key)) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(CacheConstants.CACHE_INVALIDATION_CHANNEL,
+                    nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (Exception ex) {
+            log.warn("Failed to broadcast cache invalidation {}:{} - {}", cacheName, key, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        List<Consumer<String>> listeners = handlers.get(parts[1]);
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(parts[2]);
+            } catch (Exception ex) {
+                log.warn("Cache invalidation handler for {} failed: {}", parts[1], ex.getMessage());
+            }
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.simpleshare.framework.storage;
+
+/**
+ * Content-addressed index of stored objects with reference counting.
+ * <p>
+ * Uploads look up the SHA-256 of their content first; when the same tenant already stored identical content
+ * in the same storage, the existing object is reused and its reference count incremented instead of
+ * transferring the bytes again. Deletes release one reference and only remove the object with the last one.
+ * <p>
+ * Objects are scoped by tenant and storage key (a fingerprint of the storage destination), so switching a
+ * tenant to another bucket or directory never returns paths from the previous storage.
+ */
+public interface StorageObjectIndex {
+
+    /**
+     * Takes a reference on an existing object with the given content.
+     *
+     * @return the existing object, or {@code null} when the content has not been stored yet
+     */
+    StoredObject acquire(Long tenantId, String storageKey, String contentHash);
+
+    /**
+     * Records a newly uploaded object with a single reference.
+     *
+     * @param type file category, e.g. {@code image}
+     */
+    void register(Long tenantId, String storageKey, String contentHash, String name, StoredObject object,
+                  String type, long size);
+
+    /**
+     * Releases one reference on the object stored at the path.
+     *
+     * @return {@code true} when the caller should delete the object: the last reference was released or the
+     * path is not tracked by the index
+     */
+    boolean release(String path);
+
+    /**
+     * Records the resized variants generated for the object stored at the path.
+     *
+     * @param spec variant spec, see {@link com.simpleshare.framework.storage.image.ImageVariants}
+     */
+    default void recordVariants(String path, String spec) {
+    }
+
+    /**
+     * Path and public URL of a stored object.
+     */
+    final class StoredObject {
+
+        private final String path;
+
+        private final String url;
+
+        public StoredObject(String path, String url) {
+            this.path = path;
+            this.url = url;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+    }
+}
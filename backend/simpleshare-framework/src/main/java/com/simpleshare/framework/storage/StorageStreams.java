@@ -0,0 +1,128 @@
+package com.simpleshare.framework.storage;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Stream helpers shared by the storage clients.
+ */
+public final class StorageStreams {
+
+    /**
+     * Part size for S3 multipart uploads; objects up to this size are sent with a single PUT.
+     * MinIO buffers one part at a time, so this also bounds the heap used per upload.
+     */
+    public static final long MULTIPART_PART_SIZE = 8L * 1024 * 1024;
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private StorageStreams() {
+    }
+
+    /**
+     * Writes the stream to the target file through a temporary sibling and an atomic move, so readers never
+     * see a partially written file. File-backed streams (e.g. multipart parts spooled to disk by the servlet
+     * container) are copied with {@link FileChannel#transferTo}, letting the kernel move the bytes.
+     *
+     * @param content stream to copy, not closed by this method
+     * @param size    number of bytes when known, otherwise -1 to copy until end of stream
+     * @param target  destination file
+     * @return bytes written
+     */
+    public static long writeToFile(InputStream content, long size, Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = Files.createTempFile(parent, ".upload-", ".tmp");
+        try {
+            long written;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                if (content instanceof FileInputStream) {
+                    written = transferFromFile(((FileInputStream) content).getChannel(), size, out);
+                } else {
+                    written = transferFromStream(Channels.newChannel(content), size, out);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return written;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * SHA-256 of the remaining stream content as lowercase hex; the stream is read to the end but not closed.
+     */
+    public static String sha256Hex(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0x0f];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    private static long transferFromFile(FileChannel in, long size, FileChannel out) throws IOException {
+        long start = in.position();
+        long remaining = size >= 0 ? size : in.size() - start;
+        long position = start;
+        while (remaining > 0) {
+            long transferred = in.transferTo(position, Math.min(remaining, TRANSFER_CHUNK), out);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+        in.position(position);
+        return position - start;
+    }
+
+    private static long transferFromStream(ReadableByteChannel in, long size, FileChannel out) throws IOException {
+        long position = 0L;
+        while (size < 0 || position < size) {
+            long chunk = size < 0 ? TRANSFER_CHUNK : Math.min(size - position, TRANSFER_CHUNK);
+            long transferred = out.transferFrom(in, position, chunk);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+        }
+        return position;
+    }
+}
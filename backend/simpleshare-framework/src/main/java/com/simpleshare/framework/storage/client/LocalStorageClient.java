@@ -2,13 +2,16 @@ package com.simpleshare.framework.storage.client;
 
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.framework.storage.StorageException;
+import com.simpleshare.framework.storage.StorageStreams;
 import com.simpleshare.framework.storage.StorageType;
 import com.simpleshare.framework.storage.StorageUploadResult;
 import com.simpleshare.framework.storage.config.LocalStorageConfig;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -24,13 +27,10 @@ public class LocalStorageClient implements StorageClient {
     }
 
     @Override
-    public StorageUploadResult upload(byte[] content, String relativePath, String contentType) {
+    public StorageUploadResult upload(InputStream content, long size, String relativePath, String contentType) {
         try {
             String objectPath = buildObjectPath(relativePath);
-            Path root = Paths.get(config.getBasePath());
-            Path target = root.resolve(objectPath.replace("/", File.separator));
-            Files.createDirectories(target.getParent());
-            Files.write(target, content);
+            StorageStreams.writeToFile(content, size, resolve(objectPath));
             String url = buildUrl(objectPath);
             return new StorageUploadResult(objectPath, url, StorageType.LOCAL);
         } catch (IOException ex) {
@@ -38,20 +38,41 @@ public class LocalStorageClient implements StorageClient {
         }
     }
 
+    @Override
+    public InputStream download(String path) {
+        if (StringUtils.isEmpty(path)) {
+            throw new StorageException("File path is required");
+        }
+        try {
+            return Files.newInputStream(resolve(path));
+        } catch (NoSuchFileException ex) {
+            throw new StorageException("Local file not found: " + path, ex);
+        } catch (IOException ex) {
+            throw new StorageException("Failed to read local file: " + path, ex);
+        }
+    }
+
     @Override
     public void delete(String path) {
         if (StringUtils.isEmpty(path)) {
             return;
         }
         try {
-            Path root = Paths.get(config.getBasePath());
-            Path target = root.resolve(path.replace("/", File.separator));
-            Files.deleteIfExists(target);
+            Files.deleteIfExists(resolve(path));
         } catch (IOException ex) {
             throw new StorageException("Failed to delete local file: " + path, ex);
         }
     }
 
+    private Path resolve(String objectPath) {
+        Path root = Paths.get(config.getBasePath()).toAbsolutePath().normalize();
+        Path target = root.resolve(sanitize(objectPath).replace("/", File.separator)).normalize();
+        if (!target.startsWith(root)) {
+            throw new StorageException("Invalid file path: " + objectPath);
+        }
+        return target;
+    }
+
     private String buildObjectPath(String relativePath) {
         String sanitized = sanitize(relativePath);
         String prefix = sanitize(config.getPathPrefix());
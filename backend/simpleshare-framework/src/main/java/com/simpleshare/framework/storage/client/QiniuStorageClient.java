@@ -13,7 +13,10 @@ import com.simpleshare.framework.storage.StorageType;
 import com.simpleshare.framework.storage.StorageUploadResult;
 import com.simpleshare.framework.storage.config.CloudStorageConfig;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
 
 /**
  * Qiniu cloud storage client implementation.
@@ -44,12 +47,12 @@ public class QiniuStorageClient implements StorageClient {
     }
 
     @Override
-    public StorageUploadResult upload(byte[] content, String relativePath, String contentType) {
+    public StorageUploadResult upload(InputStream content, long size, String relativePath, String contentType) {
         try {
             String objectKey = buildObjectKey(relativePath);
             String token = auth.uploadToken(bucket);
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
-            Response response = uploadManager.put(inputStream, objectKey, token, null, contentType);
+            // the SDK reads the stream block by block (resumable upload) instead of requiring a byte[]
+            Response response = uploadManager.put(content, objectKey, token, null, contentType);
             if (!response.isOK()) {
                 throw new StorageException("Failed to upload to Qiniu: " + response.bodyString());
             }
@@ -60,6 +63,28 @@ public class QiniuStorageClient implements StorageClient {
         }
     }
 
+    @Override
+    public InputStream download(String path) {
+        if (StringUtils.isEmpty(path)) {
+            throw new StorageException("File path is required");
+        }
+        try {
+            // signed URL works for both public and private buckets
+            String url = auth.privateDownloadUrl(buildUrl(path));
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(10000);
+            connection.setReadTimeout(60000);
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                connection.disconnect();
+                throw new StorageException("Failed to download Qiniu file: " + path + " (HTTP " + status + ")");
+            }
+            return connection.getInputStream();
+        } catch (IOException ex) {
+            throw new StorageException("Failed to download Qiniu file: " + path, ex);
+        }
+    }
+
     @Override
     public void delete(String path) {
         if (StringUtils.isEmpty(path)) {
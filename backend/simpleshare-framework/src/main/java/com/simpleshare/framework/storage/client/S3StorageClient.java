@@ -2,14 +2,17 @@ package com.simpleshare.framework.storage.client;
 
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.framework.storage.StorageException;
+import com.simpleshare.framework.storage.StorageStreams;
 import com.simpleshare.framework.storage.StorageType;
 import com.simpleshare.framework.storage.StorageUploadResult;
 import com.simpleshare.framework.storage.config.CloudStorageConfig;
+import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.RemoveObjectArgs;
+import okhttp3.OkHttpClient;
 
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -24,20 +27,28 @@ public class S3StorageClient implements StorageClient {
     private final String domain;
 
     public S3StorageClient(CloudStorageConfig config, StorageType storageType) {
+        this(config, storageType, null);
+    }
+
+    /**
+     * @param httpClient shared HTTP client, {@code null} lets MinIO create its own
+     */
+    public S3StorageClient(CloudStorageConfig config, StorageType storageType, OkHttpClient httpClient) {
         this.config = config;
         this.storageType = storageType;
-        this.client = buildClient();
+        this.client = buildClient(httpClient);
         this.domain = resolveDomain();
     }
 
     @Override
-    public StorageUploadResult upload(byte[] content, String relativePath, String contentType) {
+    public StorageUploadResult upload(InputStream content, long size, String relativePath, String contentType) {
         try {
             String objectPath = buildObjectPath(relativePath);
+            // objects larger than one part are sent as an S3 multipart upload, one part buffered at a time
             PutObjectArgs.Builder builder = PutObjectArgs.builder()
                     .bucket(config.getBucket())
                     .object(objectPath)
-                    .stream(new ByteArrayInputStream(content), content.length, -1);
+                    .stream(content, size, StorageStreams.MULTIPART_PART_SIZE);
             if (StringUtils.isNotEmpty(contentType)) {
                 builder.contentType(contentType);
             }
@@ -49,6 +60,21 @@ public class S3StorageClient implements StorageClient {
         }
     }
 
+    @Override
+    public InputStream download(String path) {
+        if (StringUtils.isEmpty(path)) {
+            throw new StorageException("File path is required");
+        }
+        try {
+            return client.getObject(GetObjectArgs.builder()
+                    .bucket(config.getBucket())
+                    .object(path)
+                    .build());
+        } catch (Exception ex) {
+            throw new StorageException("Failed to read remote file: " + path, ex);
+        }
+    }
+
     @Override
     public void delete(String path) {
         if (StringUtils.isEmpty(path)) {
@@ -64,7 +90,7 @@ public class S3StorageClient implements StorageClient {
         }
     }
 
-    private MinioClient buildClient() {
+    private MinioClient buildClient(OkHttpClient httpClient) {
         if (StringUtils.isEmpty(config.getEndpoint())) {
             throw new StorageException("Cloud storage endpoint is required");
         }
@@ -74,6 +100,9 @@ public class S3StorageClient implements StorageClient {
         if (StringUtils.isNotEmpty(config.getRegion())) {
             builder.region(config.getRegion());
         }
+        if (httpClient != null) {
+            builder.httpClient(httpClient);
+        }
         return builder.build();
     }
 
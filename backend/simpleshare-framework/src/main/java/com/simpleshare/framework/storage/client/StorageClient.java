@@ -3,12 +3,31 @@ package com.simpleshare.framework.storage.client;
 import com.simpleshare.framework.storage.StorageException;
 import com.simpleshare.framework.storage.StorageUploadResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 /**
  * Generic storage client abstraction.
  */
 public interface StorageClient {
 
-    StorageUploadResult upload(byte[] content, String relativePath, String contentType) throws StorageException;
+    /**
+     * Uploads the stream without buffering the whole object in memory. The stream is not closed.
+     *
+     * @param size content length when known, otherwise -1
+     */
+    StorageUploadResult upload(InputStream content, long size, String relativePath, String contentType) throws StorageException;
+
+    default StorageUploadResult upload(byte[] content, String relativePath, String contentType) throws StorageException {
+        return upload(new ByteArrayInputStream(content), content.length, relativePath, contentType);
+    }
+
+    /**
+     * Opens the stored object for reading; the caller must close the stream.
+     *
+     * @param path object path as returned in {@link StorageUploadResult}
+     */
+    InputStream download(String path) throws StorageException;
 
     void delete(String path) throws StorageException;
 }
@@ -1,6 +1,8 @@
 package com.simpleshare.framework.storage.client;
 
 import com.simpleshare.framework.storage.StorageType;
+import com.simpleshare.framework.storage.config.CloudStorageConfig;
+import com.simpleshare.framework.storage.config.LocalStorageConfig;
 import com.simpleshare.framework.storage.config.StorageProfile;
 import org.springframework.stereotype.Component;
 
@@ -10,17 +12,52 @@ import org.springframework.stereotype.Component;
 @Component
 public class StorageClientFactory {
 
+    private final StorageClientRegistry registry;
+
+    public StorageClientFactory(StorageClientRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Returns the tenant's cached client, building a new one only when the profile changed.
+     */
+    public StorageClient getClient(Long tenantId, StorageProfile profile) {
+        return registry.getOrCreate("tenant:" + tenantId, fingerprint(profile), () -> create(profile));
+    }
+
+    /**
+     * Builds a new, uncached client.
+     */
     public StorageClient create(StorageProfile profile) {
         StorageType type = profile.getType();
         if (type == StorageType.LOCAL) {
             return new LocalStorageClient(profile.getLocal());
         }
         if (type == StorageType.ALIYUN) {
-            return new S3StorageClient(profile.getCloud(), type);
+            return new S3StorageClient(profile.getCloud(), type, registry.getHttpClient());
         }
         if (type == StorageType.QINIU) {
             return new QiniuStorageClient(profile.getCloud());
         }
         throw new IllegalArgumentException("Unsupported storage type: " + type);
     }
+
+    /**
+     * Fingerprint of the profile's destination; also used to scope deduplicated objects to one storage.
+     */
+    public String fingerprint(StorageProfile profile) {
+        LocalStorageConfig local = profile.getLocal();
+        CloudStorageConfig cloud = profile.getCloud();
+        return StorageClientRegistry.fingerprint(profile.getType(),
+                local == null ? null : local.getBasePath(),
+                local == null ? null : local.getBaseUrl(),
+                local == null ? null : local.getPathPrefix(),
+                cloud == null ? null : cloud.getEndpoint(),
+                cloud == null ? null : cloud.getBucket(),
+                cloud == null ? null : cloud.getAccessKey(),
+                cloud == null ? null : cloud.getSecretKey(),
+                cloud == null ? null : cloud.getRegion(),
+                cloud == null ? null : cloud.getDomain(),
+                cloud == null ? null : cloud.getPathPrefix());
+    }
 }
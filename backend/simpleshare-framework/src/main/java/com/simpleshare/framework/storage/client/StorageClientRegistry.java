@@ -0,0 +1,184 @@
+package com.simpleshare.framework.storage.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keyed registry of reusable storage clients.
+ * <p>
+ * Clients are looked up by owner (a tenant, a file config id) and validated against a fingerprint of the
+ * configuration they were built from: a matching fingerprint reuses the existing client, a different one
+ * replaces it, so configuration changes take effect on the next call without explicit notification.
+ * Clients are created lazily and dropped after being idle for a while.
+ * <p>
+ * S3 compatible clients share one OkHttp connection pool and dispatcher instead of opening a pool each.
+ */
+@Component
+public class StorageClientRegistry {
+
+    @Value("${simpleshare.storage.client.max-clients:256}")
+    private long maxClients;
+
+    @Value("${simpleshare.storage.client.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${simpleshare.storage.http.max-idle-connections:32}")
+    private int maxIdleConnections;
+
+    @Value("${simpleshare.storage.http.keep-alive-minutes:5}")
+    private long keepAliveMinutes;
+
+    @Value("${simpleshare.storage.http.max-requests-per-host:32}")
+    private int maxRequestsPerHost;
+
+    @Value("${simpleshare.storage.http.connect-timeout-seconds:10}")
+    private long connectTimeoutSeconds;
+
+    @Value("${simpleshare.storage.http.io-timeout-seconds:300}")
+    private long ioTimeoutSeconds;
+
+    private Cache<String, Entry> clients;
+
+    private OkHttpClient httpClient;
+
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder idleEvictions = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        clients = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxClients, 16L))
+                .expireAfterAccess(Math.max(idleMinutes, 1L), TimeUnit.MINUTES)
+                .removalListener((String owner, Entry entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED || cause == RemovalCause.SIZE) {
+                        idleEvictions.increment();
+                    }
+                })
+                .build();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(Math.max(maxRequestsPerHost, 1));
+        httpClient = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(Math.max(maxIdleConnections, 1),
+                        Math.max(keepAliveMinutes, 1L), TimeUnit.MINUTES))
+                .dispatcher(dispatcher)
+                .connectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS)
+                .readTimeout(ioTimeoutSeconds, TimeUnit.SECONDS)
+                .writeTimeout(ioTimeoutSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        clients.invalidateAll();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * HTTP client shared by all S3 compatible storage clients
+     */
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Returns the client registered for the owner when it was built from the same configuration,
+     * otherwise builds a new one with the factory and replaces the previous client.
+     *
+     * @param owner       registry key, e.g. {@code tenant:1}
+     * @param fingerprint fingerprint of the configuration, see {@link #fingerprint(Object...)}
+     * @param factory     builds the client, invoked at most once per owner and fingerprint
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCreate(String owner, String fingerprint, Supplier<T> factory) {
+        Entry current = clients.getIfPresent(owner);
+        if (current != null && current.fingerprint.equals(fingerprint)) {
+            reuses.increment();
+            return (T) current.client;
+        }
+        Entry entry = clients.asMap().compute(owner, (key, existing) -> {
+            if (existing != null && existing.fingerprint.equals(fingerprint)) {
+                reuses.increment();
+                return existing;
+            }
+            if (existing != null) {
+                refreshes.increment();
+            }
+            creations.increment();
+            return new Entry(fingerprint, factory.get());
+        });
+        return (T) entry.client;
+    }
+
+    /**
+     * Client currently registered for the owner, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String owner) {
+        Entry entry = clients.getIfPresent(owner);
+        return entry == null ? null : (T) entry.client;
+    }
+
+    public void invalidate(String owner) {
+        clients.invalidate(owner);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("clients", clients.estimatedSize());
+        stats.put("creations", creations.sum());
+        stats.put("reuses", reuses.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("idleEvictions", idleEvictions.sum());
+        long total = creations.sum() + reuses.sum();
+        stats.put("reuseRate", total == 0 ? 0D : (double) reuses.sum() / total);
+        Map<String, Object> http = new LinkedHashMap<>();
+        http.put("connections", httpClient.connectionPool().connectionCount());
+        http.put("idleConnections", httpClient.connectionPool().idleConnectionCount());
+        http.put("runningCalls", httpClient.dispatcher().runningCallsCount());
+        http.put("queuedCalls", httpClient.dispatcher().queuedCallsCount());
+        stats.put("http", http);
+        return stats;
+    }
+
+    /**
+     * Stable fingerprint of configuration values; credentials are hashed, never kept in keys
+     */
+    public static String fingerprint(Object... parts) {
+        StringBuilder builder = new StringBuilder();
+        for (Object part : parts) {
+            builder.append(part == null ? "" : part).append('\u0001');
+        }
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+
+        private final Object client;
+
+        private Entry(String fingerprint, Object client) {
+            this.fingerprint = fingerprint;
+            this.client = client;
+        }
+    }
+}
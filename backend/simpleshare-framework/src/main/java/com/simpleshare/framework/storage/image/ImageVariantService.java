@@ -0,0 +1,259 @@
+package com.simpleshare.framework.storage.image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Generates resized, recompressed variants of uploaded images on a bounded worker pool.
+ * <p>
+ * The original is read back from storage, scaled to each configured width smaller than itself and written
+ * next to it (see {@link ImageVariants}); opaque images are encoded as JPEG with the configured quality,
+ * images with transparency as PNG. Work that does not fit in the queue is dropped rather than blocking
+ * uploads: the original stays usable, it just has no variants. Images larger than the pixel limit are
+ * skipped before decoding.
+ */
+@Component
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private static final List<String> SUPPORTED_TYPES = Arrays.asList(
+            "image/jpeg", "image/jpg", "image/pjpeg", "image/png", "image/bmp", "image/x-ms-bmp");
+
+    @Value("${simpleshare.image.variants.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.image.variants.widths:320,640,1280}")
+    private int[] widths;
+
+    @Value("${simpleshare.image.variants.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Value("${simpleshare.image.variants.workers:2}")
+    private int workers;
+
+    @Value("${simpleshare.image.variants.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${simpleshare.image.variants.max-source-pixels:40000000}")
+    private long maxSourcePixels;
+
+    private ThreadPoolExecutor executor;
+
+    private List<Integer> targetWidths = Collections.emptyList();
+
+    @PostConstruct
+    public void init() {
+        TreeSet<Integer> sorted = new TreeSet<>();
+        if (widths != null) {
+            for (int width : widths) {
+                if (width > 0) {
+                    sorted.add(width);
+                }
+            }
+        }
+        targetWidths = Collections.unmodifiableList(new ArrayList<>(sorted));
+        if (!enabled || targetWidths.isEmpty()) {
+            return;
+        }
+        int threads = Math.max(workers, 1);
+        AtomicInteger sequence = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), runnable -> {
+            Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean supports(String contentType) {
+        return enabled && executor != null && contentType != null
+                && SUPPORTED_TYPES.contains(contentType.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Queues variant generation for an uploaded image.
+     *
+     * @param relativePath path the original was uploaded with; variants are uploaded under derived paths
+     * @param contentType  content type of the original
+     * @param source       opens the stored original
+     * @param sink         stores one encoded variant
+     * @param onComplete   receives the variant spec after all variants were stored, not called when none were
+     * @return {@code false} when the image type is unsupported or the queue is full
+     */
+    public boolean submit(String relativePath, String contentType, Source source, Sink sink, Consumer<String> onComplete) {
+        if (!supports(contentType)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> generate(relativePath, source, sink, onComplete));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            log.debug("Image variant queue full, skipped {}", relativePath);
+            return false;
+        }
+    }
+
+    private void generate(String relativePath, Source source, Sink sink, Consumer<String> onComplete) {
+        try {
+            BufferedImage original;
+            try (InputStream content = source.open()) {
+                original = read(content);
+            }
+            if (original == null) {
+                return;
+            }
+            boolean alpha = original.getColorModel().hasAlpha();
+            String extension = alpha ? "png" : "jpg";
+            String contentType = alpha ? "image/png" : "image/jpeg";
+            List<ImageVariants.Variant> variants = new ArrayList<>();
+            for (int width : targetWidths) {
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+                byte[] encoded = encode(resize(original, width, height, alpha), alpha);
+                sink.write(ImageVariants.variantPath(relativePath, width, extension), encoded, contentType);
+                variants.add(new ImageVariants.Variant(width, extension));
+            }
+            if (variants.isEmpty()) {
+                return;
+            }
+            variants.add(new ImageVariants.Variant(original.getWidth(), ImageVariants.ORIGINAL));
+            if (onComplete != null) {
+                onComplete.accept(ImageVariants.format(variants));
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to generate image variants for {}: {}", relativePath, ex.getMessage());
+        }
+    }
+
+    /**
+     * Decodes the image after checking its dimensions, or returns {@code null} when it is unreadable or too large.
+     */
+    private BufferedImage read(InputStream content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels <= 0 || pixels > maxSourcePixels) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales down in halving steps before the final bilinear pass, which keeps thumbnails of large
+     * images sharp without the cost of bicubic filtering at full size.
+     */
+    private BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = Math.max(height, currentHeight / 2);
+            BufferedImage scaled = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(32 * 1024);
+        if (alpha) {
+            ImageIO.write(image, "png", output);
+            return output.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(Math.min(Math.max(jpegQuality, 0.1F), 1.0F));
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Opens the stored original; the stream is closed by the service.
+     */
+    @FunctionalInterface
+    public interface Source {
+        InputStream open() throws Exception;
+    }
+
+    /**
+     * Stores one encoded variant under the given relative path.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void write(String relativePath, byte[] content, String contentType) throws Exception;
+    }
+}
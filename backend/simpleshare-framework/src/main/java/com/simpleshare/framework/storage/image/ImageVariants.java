@@ -0,0 +1,94 @@
+package com.simpleshare.framework.storage.image;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Naming and bookkeeping of resized image variants.
+ * <p>
+ * A variant is stored next to its original with the target width appended to the file name,
+ * e.g. {@code articles/2025/01/01/abc.png} becomes {@code articles/2025/01/01/abc_w640.jpg}. Because the name
+ * is derived, only the generated widths and extensions are recorded, as a spec like
+ * {@code 320:jpg,640:jpg,1920:orig}, where the {@link #ORIGINAL} entry carries the width of the original.
+ */
+public final class ImageVariants {
+
+    /**
+     * Extension marker of the spec entry describing the original itself
+     */
+    public static final String ORIGINAL = "orig";
+
+    private ImageVariants() {
+    }
+
+    /**
+     * Path (or URL without query) of the variant derived from the original.
+     */
+    public static String variantPath(String original, int width, String extension) {
+        int slash = original.lastIndexOf('/');
+        int dot = original.lastIndexOf('.');
+        String stem = dot > slash ? original.substring(0, dot) : original;
+        return stem + "_w" + width + "." + extension;
+    }
+
+    public static String format(List<Variant> variants) {
+        StringBuilder builder = new StringBuilder();
+        for (Variant variant : variants) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(variant.getWidth()).append(':').append(variant.getExtension());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Parses a recorded spec; malformed entries are skipped.
+     */
+    public static List<Variant> parse(String spec) {
+        if (spec == null || spec.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Variant> variants = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            int separator = part.indexOf(':');
+            if (separator <= 0 || separator == part.length() - 1) {
+                continue;
+            }
+            try {
+                variants.add(new Variant(Integer.parseInt(part.substring(0, separator).trim()),
+                        part.substring(separator + 1).trim()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Width and file extension of one generated variant.
+     */
+    public static final class Variant {
+
+        private final int width;
+
+        private final String extension;
+
+        public Variant(int width, String extension) {
+            this.width = width;
+            this.extension = extension;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public boolean isOriginal() {
+            return ORIGINAL.equals(extension);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.simpleshare.framework.web.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simpleshare.common.core.domain.model.LoginUser;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 登录用户本地会话缓存
+ * <p>
+ * 以令牌 uuid 为键缓存已反序列化的 {@link LoginUser}，位于 Redis 之前，过期时间很短且不会超过会话本身的过期时间。
+ * 退出登录、删除会话、资料或角色变更时本地失效并通过 {@link CacheInvalidationBroker} 通知其他节点。
+ * 失效会推进版本号，失效前开始的 Redis 读取结果不会再写回本地缓存。
+ * <p>
+ * 缓存中的对象会被多个请求共享，修改会话内容后需通过 {@link TokenService#setLoginUser(LoginUser)} 写回。
+ *
+ * @author SimpleShare
+ */
+@Component
+public class LoginUserCache {
+
+    private static final String CACHE_NAME = "login_user";
+
+    /**
+     * 按用户失效时的广播键前缀
+     */
+    private static final String USER_KEY_PREFIX = "user:";
+
+    @Autowired
+    private CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${token.localCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${token.localCache.maxSize:10000}")
+    private long maxSize;
+
+    @Value("${token.localCache.ttlSeconds:30}")
+    private long ttlSeconds;
+
+    private Cache<String, LoginUser> cache;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expiredHits = new LongAdder();
+    private final LongAdder staleLoadsDropped = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder remoteInvalidations = new LongAdder();
+    private final LongAdder redisReadsSaved = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 16L))
+                .expireAfterWrite(Math.max(ttlSeconds, 1L), TimeUnit.SECONDS)
+                .build();
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteInvalidation);
+    }
+
+    /**
+     * 读取本地会话，会话已过期时视为未命中
+     */
+    public LoginUser get(String uuid) {
+        if (!enabled || StringUtils.isEmpty(uuid)) {
+            return null;
+        }
+        LoginUser loginUser = cache.getIfPresent(uuid);
+        if (loginUser == null) {
+            misses.increment();
+            return null;
+        }
+        Long expireTime = loginUser.getExpireTime();
+        if (expireTime != null && expireTime <= System.currentTimeMillis()) {
+            expiredHits.increment();
+            cache.invalidate(uuid);
+            return null;
+        }
+        hits.increment();
+        redisReadsSaved.increment();
+        return loginUser;
+    }
+
+    /**
+     * 当前版本号，回源 Redis 前获取，写回时传给 {@link #putIfCurrent(String, LoginUser, long)}
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * 回源结果写入本地缓存，读取期间发生过失效则丢弃
+     */
+    public void putIfCurrent(String uuid, LoginUser loginUser, long expectedVersion) {
+        if (!enabled || StringUtils.isEmpty(uuid) || loginUser == null) {
+            return;
+        }
+        if (version.get() != expectedVersion) {
+            staleLoadsDropped.increment();
+            return;
+        }
+        cache.put(uuid, loginUser);
+    }
+
+    /**
+     * 本节点刚写入 Redis 的会话直接放入本地缓存
+     */
+    public void put(String uuid, LoginUser loginUser) {
+        if (!enabled || StringUtils.isEmpty(uuid) || loginUser == null) {
+            return;
+        }
+        cache.put(uuid, loginUser);
+    }
+
+    /**
+     * 失效指定会话并广播
+     */
+    public void invalidate(String uuid) {
+        if (StringUtils.isEmpty(uuid)) {
+            return;
+        }
+        invalidateLocal(uuid);
+        cacheInvalidationBroker.publish(CACHE_NAME, uuid);
+    }
+
+    /**
+     * 失效指定用户的全部本地会话并广播，用于角色、状态等变更
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidateUserLocal(userId);
+        cacheInvalidationBroker.publish(CACHE_NAME, USER_KEY_PREFIX + userId);
+    }
+
+    /**
+     * 清空全部本地会话并广播
+     */
+    public void invalidateAll() {
+        invalidateAllLocal();
+        cacheInvalidationBroker.publish(CACHE_NAME, CacheInvalidationBroker.ALL_KEYS);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", cache == null ? 0L : cache.estimatedSize());
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("version", version.get());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("expiredHits", expiredHits.sum());
+        stats.put("staleLoadsDropped", staleLoadsDropped.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("remoteInvalidations", remoteInvalidations.sum());
+        stats.put("redisReadsSaved", redisReadsSaved.sum());
+        long total = hits.sum() + misses.sum() + expiredHits.sum();
+        stats.put("hitRate", total == 0 ? 0D : (double) hits.sum() / total);
+        return stats;
+    }
+
+    private void invalidateLocal(String uuid) {
+        invalidations.increment();
+        version.incrementAndGet();
+        cache.invalidate(uuid);
+    }
+
+    private void invalidateUserLocal(Long userId) {
+        invalidations.increment();
+        version.incrementAndGet();
+        cache.asMap().values().removeIf(loginUser -> Objects.equals(loginUser.getUserId(), userId));
+    }
+
+    private void invalidateAllLocal() {
+        invalidations.increment();
+        version.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void onRemoteInvalidation(String key) {
+        remoteInvalidations.increment();
+        if (CacheInvalidationBroker.ALL_KEYS.equals(key)) {
+            invalidateAllLocal();
+        } else if (key.startsWith(USER_KEY_PREFIX)) {
+            try {
+                invalidateUserLocal(Long.valueOf(key.substring(USER_KEY_PREFIX.length())));
+            } catch (NumberFormatException ignored) {
+            }
+        } else {
+            invalidateLocal(key);
+        }
+    }
+}
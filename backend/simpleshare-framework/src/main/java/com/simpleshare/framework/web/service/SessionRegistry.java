@@ -0,0 +1,331 @@
+package com.simpleshare.framework.web.service;
+
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.common.utils.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在线会话索引
+ * <p>
+ * 在 Redis 中按用户、按租户维护活跃令牌集合，令牌创建、刷新、退出时同步更新，
+ * 按用户/租户/角色批量下线时只访问索引和对应的键，批量删除走 pipeline，不再使用 KEYS。
+ * 索引成员指向的键过期后会在列出会话时顺带清理；上线前已存在、不在索引中的令牌
+ * 由 {@link #scanAndDelete(String)} 以 SCAN 方式兜底清理。
+ * <p>
+ * 键结构：
+ * <ul>
+ *     <li>{@code session_user:{userId}}：成员为 {@code t:{uuid}}（访问令牌）或 {@code r:{uuid}}（刷新令牌）</li>
+ *     <li>{@code session_tenant:{tenantId}}：成员为用户ID</li>
+ *     <li>{@code session_tenants}：有在线会话的租户ID</li>
+ * </ul>
+ *
+ * @author SimpleShare
+ */
+@Component
+public class SessionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionRegistry.class);
+
+    private static final String ACCESS_PREFIX = "t:";
+
+    private static final String REFRESH_PREFIX = "r:";
+
+    /**
+     * 未归属租户的会话使用的租户键
+     */
+    private static final String NO_TENANT = "0";
+
+    @Autowired
+    private RedisTemplate redisTemplate;
+
+    // 索引有效期与刷新令牌一致（分钟）
+    @Value("${token.refreshExpireTime:43200}")
+    private int refreshExpireTime;
+
+    @Value("${token.registry.scanCount:1000}")
+    private int scanCount;
+
+    @Value("${token.registry.deleteBatchSize:500}")
+    private int deleteBatchSize;
+
+    /**
+     * 登记访问令牌
+     */
+    public void registerAccessToken(Long userId, Long tenantId, String uuid) {
+        register(userId, tenantId, ACCESS_PREFIX + uuid);
+    }
+
+    /**
+     * 登记刷新令牌
+     */
+    public void registerRefreshToken(Long userId, Long tenantId, String refreshUuid) {
+        register(userId, tenantId, REFRESH_PREFIX + refreshUuid);
+    }
+
+    /**
+     * 移除访问令牌索引
+     */
+    public void unregisterAccessToken(Long userId, String uuid) {
+        unregister(userId, ACCESS_PREFIX + uuid);
+    }
+
+    /**
+     * 移除刷新令牌索引
+     */
+    public void unregisterRefreshToken(Long userId, String refreshUuid) {
+        unregister(userId, REFRESH_PREFIX + refreshUuid);
+    }
+
+    /**
+     * 读取用户的全部访问令牌会话，返回 uuid 到会话 JSON 的映射；已过期的成员会从索引中移除
+     */
+    public Map<String, String> loadUserSessions(Long userId) {
+        if (userId == null) {
+            return Collections.emptyMap();
+        }
+        String userKey = userKey(userId);
+        Set<String> members = redisTemplate.opsForSet().members(userKey);
+        if (members == null || members.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> tokenIds = new ArrayList<>();
+        for (String member : members) {
+            if (member.startsWith(ACCESS_PREFIX)) {
+                tokenIds.add(member.substring(ACCESS_PREFIX.length()));
+            }
+        }
+        if (tokenIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<String> keys = new ArrayList<>(tokenIds.size());
+        for (String tokenId : tokenIds) {
+            keys.add(CacheConstants.LOGIN_TOKEN_KEY + tokenId);
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        Map<String, String> sessions = new LinkedHashMap<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < tokenIds.size(); i++) {
+            Object value = values == null ? null : values.get(i);
+            if (value == null) {
+                expired.add(ACCESS_PREFIX + tokenIds.get(i));
+            } else {
+                sessions.put(tokenIds.get(i), value.toString());
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForSet().remove(userKey, expired.toArray());
+        }
+        return sessions;
+    }
+
+    /**
+     * 租户下登记过会话的用户ID
+     */
+    public Set<Long> getTenantUserIds(Long tenantId) {
+        Set<String> members = redisTemplate.opsForSet().members(tenantKey(tenantId));
+        return toLongs(members);
+    }
+
+    /**
+     * 登记过会话的租户ID，未归属租户的会话对应 0
+     */
+    public Set<Long> getTenantIds() {
+        Set<String> members = redisTemplate.opsForSet().members(CacheConstants.SESSION_TENANTS_KEY);
+        return toLongs(members);
+    }
+
+    /**
+     * 批量下线用户：删除其全部访问/刷新令牌及索引
+     *
+     * @return 删除的令牌数量
+     */
+    public long revokeUsers(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return 0L;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        List<String> userKeys = new ArrayList<>(ids.size());
+        for (Long userId : ids) {
+            userKeys.add(userKey(userId));
+        }
+        // 一次往返取回所有用户的令牌集合
+        List<Object> memberSets = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String userKey : userKeys) {
+                connection.sMembers(bytes(userKey));
+            }
+            return null;
+        });
+        List<String> keys = new ArrayList<>();
+        for (Object memberSet : memberSets) {
+            if (!(memberSet instanceof Collection)) {
+                continue;
+            }
+            for (Object member : (Collection<?>) memberSet) {
+                String key = tokenKey(String.valueOf(member));
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        }
+        long tokens = keys.size();
+        keys.addAll(userKeys);
+        deleteInBatches(keys);
+        return tokens;
+    }
+
+    /**
+     * 下线租户内的全部会话
+     *
+     * @return 删除的令牌数量
+     */
+    public long revokeTenant(Long tenantId) {
+        Set<Long> userIds = getTenantUserIds(tenantId);
+        long tokens = revokeUsers(userIds);
+        String tenantMember = tenantMember(tenantId);
+        redisTemplate.delete(tenantKey(tenantId));
+        redisTemplate.opsForSet().remove(CacheConstants.SESSION_TENANTS_KEY, tenantMember);
+        return tokens;
+    }
+
+    /**
+     * 以 SCAN 方式删除匹配的键，用于清理未登记到索引中的历史令牌
+     *
+     * @return 删除的键数量
+     */
+    public long scanAndDelete(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(Math.max(scanCount, 10)).build();
+        long deleted = 0L;
+        List<String> batch = new ArrayList<>();
+        try (Cursor<Object> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(String.valueOf(cursor.next()));
+                if (batch.size() >= Math.max(deleteBatchSize, 1)) {
+                    deleted += deleteInBatches(batch);
+                    batch.clear();
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to scan session keys {}: {}", pattern, ex.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            deleted += deleteInBatches(batch);
+        }
+        return deleted;
+    }
+
+    private void register(Long userId, Long tenantId, String member) {
+        if (userId == null) {
+            return;
+        }
+        String userKey = userKey(userId);
+        String tenantKey = tenantKey(tenantId);
+        String userMember = String.valueOf(userId);
+        String tenantMember = tenantMember(tenantId);
+        long ttlSeconds = TimeUnit.MINUTES.toSeconds(Math.max(refreshExpireTime, 1));
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.sAdd(bytes(userKey), bytes(member));
+                connection.expire(bytes(userKey), ttlSeconds);
+                connection.sAdd(bytes(tenantKey), bytes(userMember));
+                connection.expire(bytes(tenantKey), ttlSeconds);
+                connection.sAdd(bytes(CacheConstants.SESSION_TENANTS_KEY), bytes(tenantMember));
+                return null;
+            });
+        } catch (Exception ex) {
+            // 索引写入失败不影响登录，批量下线时由 SCAN 兜底
+            log.warn("Failed to register session {} for user {}: {}", member, userId, ex.getMessage());
+        }
+    }
+
+    private void unregister(Long userId, String member) {
+        if (userId == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForSet().remove(userKey(userId), member);
+        } catch (Exception ex) {
+            log.warn("Failed to unregister session {} for user {}: {}", member, userId, ex.getMessage());
+        }
+    }
+
+    private long deleteInBatches(List<String> keys) {
+        long deleted = 0L;
+        int batchSize = Math.max(deleteBatchSize, 1);
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<String> slice = keys.subList(from, Math.min(from + batchSize, keys.size()));
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : slice) {
+                    connection.del(bytes(key));
+                }
+                return null;
+            });
+            for (Object result : results) {
+                if (result instanceof Number) {
+                    deleted += ((Number) result).longValue();
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private String tokenKey(String member) {
+        if (member.startsWith(ACCESS_PREFIX)) {
+            return CacheConstants.LOGIN_TOKEN_KEY + member.substring(ACCESS_PREFIX.length());
+        }
+        if (member.startsWith(REFRESH_PREFIX)) {
+            return CacheConstants.REFRESH_TOKEN_KEY + member.substring(REFRESH_PREFIX.length());
+        }
+        return null;
+    }
+
+    private Set<Long> toLongs(Set<String> members) {
+        if (members == null || members.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String member : members) {
+            if (StringUtils.isNotEmpty(member)) {
+                try {
+                    ids.add(Long.valueOf(member));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return ids;
+    }
+
+    private String userKey(Long userId) {
+        return CacheConstants.SESSION_USER_KEY + userId;
+    }
+
+    private String tenantKey(Long tenantId) {
+        return CacheConstants.SESSION_TENANT_KEY + tenantMember(tenantId);
+    }
+
+    private String tenantMember(Long tenantId) {
+        return tenantId == null ? NO_TENANT : String.valueOf(tenantId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
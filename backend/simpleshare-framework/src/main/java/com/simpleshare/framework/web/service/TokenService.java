@@ -6,6 +6,7 @@ import com.simpleshare.common.utils.JwtUtils;
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.common.utils.uuid.IdUtils;
 import com.simpleshare.framework.redis.RedisCache;
+import com.simpleshare.framework.web.domain.OnlineSession;
 import com.simpleshare.common.core.domain.model.LoginUser;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -21,11 +22,16 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * token验证处理
@@ -64,6 +70,19 @@ public class TokenService {
 
     @Autowired
     private RedisCache redisCache;
+
+    @Autowired
+    private LoginUserCache loginUserCache;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    // 清理全部令牌时是否再以 SCAN 清理未登记到索引中的历史令牌
+    @Value("${token.registry.scanFallback:true}")
+    private boolean scanFallback;
+
+    private final LongAdder redisReads = new LongAdder();
+    private final LongAdder redisWrites = new LongAdder();
     
     private final ObjectMapper objectMapper = new ObjectMapper()
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
@@ -89,12 +108,21 @@ public class TokenService {
 
                 // 解析对应的权限以及用户信息
                 String uuid = (String) claims.get(Constants.LOGIN_USER_KEY);
-                log.info("从token中获取UUID: {}", uuid);
+                log.debug("从token中获取UUID: {}", uuid);
+
+                // 优先读取本地会话缓存
+                LoginUser localUser = loginUserCache.get(uuid);
+                if (localUser != null) {
+                    verifyToken(localUser);
+                    return localUser;
+                }
 
                 String userKey = getTokenKey(uuid);
-                log.info("Redis缓存key: {}", userKey);
+                log.debug("Redis缓存key: {}", userKey);
 
                 // 从Redis获取JSON字符串并反序列化为LoginUser对象
+                long cacheVersion = loginUserCache.currentVersion();
+                redisReads.increment();
                 String cachedJson = redisCache.getCacheObject(userKey);
                 log.debug("Redis缓存原始数据: {}", cachedJson);
                 if (StringUtils.isEmpty(cachedJson)) {
@@ -104,7 +132,8 @@ public class TokenService {
 
                 try {
                     LoginUser loginUser = objectMapper.readValue(cachedJson, LoginUser.class);
-                    log.info("从Redis成功获取用户信息: {}", loginUser.getUser().getUserName());
+                    log.debug("从Redis成功获取用户信息: {}", loginUser.getUser().getUserName());
+                    loginUserCache.putIfCurrent(uuid, loginUser, cacheVersion);
 
                     // 验证token是否需要刷新
                     verifyToken(loginUser);
@@ -124,8 +153,9 @@ public class TokenService {
                     String uuid = extractUuidFromExpiredToken(token);
                     if (StringUtils.isNotEmpty(uuid)) {
                         String userKey = getTokenKey(uuid);
+                        redisReads.increment();
                         String cachedJson = redisCache.getCacheObject(userKey);
-                log.debug("Redis缓存原始数据: {}", cachedJson);
+                        log.debug("Redis缓存原始数据: {}", cachedJson);
 
                         if (StringUtils.isNotEmpty(cachedJson)) {
                             try {
@@ -139,6 +169,7 @@ public class TokenService {
                                 } else {
                                     log.warn("Redis中的用户信息已过期: {}", loginUser.getUser().getUserName());
                                     redisCache.deleteObject(userKey);
+                                    loginUserCache.invalidate(uuid);
                                 }
                             } catch (Exception jsonException) {
                                 log.error("反序列化过期token的LoginUser失败: {}", jsonException.getMessage(), jsonException);
@@ -164,6 +195,8 @@ public class TokenService {
     public void setLoginUser(LoginUser loginUser) {
         if (StringUtils.isNotNull(loginUser) && StringUtils.isNotEmpty(loginUser.getToken())) {
             refreshToken(loginUser);
+            // 会话内容已变化，其他节点的本地副本需要重新读取
+            loginUserCache.invalidate(loginUser.getToken());
         }
     }
 
@@ -174,9 +207,142 @@ public class TokenService {
         if (StringUtils.isNotEmpty(token)) {
             String userKey = getTokenKey(token);
             redisCache.deleteObject(userKey);
+            loginUserCache.invalidate(token);
+        }
+    }
+
+    /**
+     * 删除用户身份信息并移除会话索引
+     */
+    public void delLoginUser(LoginUser loginUser) {
+        if (StringUtils.isNotNull(loginUser) && StringUtils.isNotEmpty(loginUser.getToken())) {
+            delLoginUser(loginUser.getToken());
+            sessionRegistry.unregisterAccessToken(loginUser.getUserId(), loginUser.getToken());
+        }
+    }
+
+    /**
+     * 查询用户的在线会话
+     *
+     * @param userId 用户ID
+     * @return 会话列表
+     */
+    public List<OnlineSession> listUserSessions(Long userId) {
+        Map<String, String> sessions = sessionRegistry.loadUserSessions(userId);
+        if (sessions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<OnlineSession> result = new ArrayList<>(sessions.size());
+        sessions.forEach((tokenId, json) -> {
+            OnlineSession session = toOnlineSession(tokenId, json);
+            if (session != null) {
+                result.add(session);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 查询租户的在线会话
+     *
+     * @param tenantId 租户ID
+     * @param limit    最多返回的会话数
+     * @return 会话列表
+     */
+    public List<OnlineSession> listTenantSessions(Long tenantId, int limit) {
+        List<OnlineSession> result = new ArrayList<>();
+        for (Long userId : sessionRegistry.getTenantUserIds(tenantId)) {
+            for (OnlineSession session : listUserSessions(userId)) {
+                if (result.size() >= limit) {
+                    return result;
+                }
+                result.add(session);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查询单个在线会话
+     *
+     * @param tokenId 令牌 uuid
+     * @return 会话，不存在或已过期时返回 null
+     */
+    public OnlineSession getSession(String tokenId) {
+        if (StringUtils.isEmpty(tokenId)) {
+            return null;
+        }
+        String cachedJson = redisCache.getCacheObject(getTokenKey(tokenId));
+        return StringUtils.isEmpty(cachedJson) ? null : toOnlineSession(tokenId, cachedJson);
+    }
+
+    /**
+     * 强制下线单个会话
+     *
+     * @param tokenId 令牌 uuid
+     */
+    public void revokeSession(String tokenId) {
+        if (StringUtils.isEmpty(tokenId)) {
+            return;
+        }
+        OnlineSession session = getSession(tokenId);
+        delLoginUser(tokenId);
+        if (session != null) {
+            sessionRegistry.unregisterAccessToken(session.getUserId(), tokenId);
         }
     }
 
+    /**
+     * 强制下线用户的全部会话（含刷新令牌）
+     *
+     * @param userIds 用户ID
+     * @return 删除的令牌数量
+     */
+    public long revokeUserSessions(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return 0L;
+        }
+        long revoked = sessionRegistry.revokeUsers(userIds);
+        for (Long userId : userIds) {
+            loginUserCache.invalidateUser(userId);
+        }
+        return revoked;
+    }
+
+    /**
+     * 强制下线租户的全部会话（含刷新令牌）
+     *
+     * @param tenantId 租户ID
+     * @return 删除的令牌数量
+     */
+    public long revokeTenantSessions(Long tenantId) {
+        Collection<Long> userIds = sessionRegistry.getTenantUserIds(tenantId);
+        long revoked = sessionRegistry.revokeTenant(tenantId);
+        for (Long userId : userIds) {
+            loginUserCache.invalidateUser(userId);
+        }
+        return revoked;
+    }
+
+    /**
+     * 失效指定用户在各节点的本地会话缓存，角色、状态等变更后调用
+     *
+     * @param userId 用户ID
+     */
+    public void invalidateLocalSessions(Long userId) {
+        loginUserCache.invalidateUser(userId);
+    }
+
+    /**
+     * 会话缓存运行指标
+     */
+    public Map<String, Object> getSessionCacheStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>(loginUserCache.getStatistics());
+        stats.put("redisReads", redisReads.sum());
+        stats.put("redisWrites", redisWrites.sum());
+        return stats;
+    }
+
     /**
      * 创建令牌
      *
@@ -190,16 +356,12 @@ public class TokenService {
 
         log.info("创建token - 用户: {}, token UUID: {}", loginUser.getUser().getUserName(), token);
         refreshToken(loginUser);
+        sessionRegistry.registerAccessToken(loginUser.getUserId(), resolveTenantId(loginUser), token);
 
         Map<String, Object> claims = new HashMap<>();
         claims.put(Constants.LOGIN_USER_KEY, token);
         String jwtToken = createToken(claims);
-
-        // 验证Redis保存是否成功
-        String userKey = getTokenKey(token);
-        String cachedUser = redisCache.getCacheObject(userKey);
-        log.info("创建token完成 - JWT: {}, Redis key: {}, 缓存状态: {}",
-                 jwtToken.substring(0, 20) + "...", userKey, cachedUser != null ? "成功" : "失败");
+        log.info("创建token完成 - JWT: {}, Redis key: {}", jwtToken.substring(0, 20) + "...", getTokenKey(token));
 
         return jwtToken;
     }
@@ -213,6 +375,7 @@ public class TokenService {
     public String createRefreshToken(LoginUser loginUser) {
         String refreshUuid = IdUtils.fastUUID();
         cacheRefreshToken(refreshUuid, loginUser);
+        sessionRegistry.registerRefreshToken(loginUser.getUserId(), resolveTenantId(loginUser), refreshUuid);
         return refreshPrefix + refreshUuid;
     }
 
@@ -250,6 +413,17 @@ public class TokenService {
         }
     }
 
+    /**
+     * 使刷新令牌失效并移除会话索引
+     */
+    public void invalidateRefreshToken(String refreshToken, Long userId) {
+        invalidateRefreshToken(refreshToken);
+        String refreshUuid = extractRefreshUuid(refreshToken);
+        if (StringUtils.isNotEmpty(refreshUuid)) {
+            sessionRegistry.unregisterRefreshToken(userId, refreshUuid);
+        }
+    }
+
     /**
      * 验证令牌有效期，相差不足20分钟，自动刷新缓存
      *
@@ -276,17 +450,12 @@ public class TokenService {
         String userKey = getTokenKey(loginUser.getToken());
         try {
             String loginUserJson = objectMapper.writeValueAsString(loginUser);
-            log.info("保存用户信息到Redis - key: {}, 过期时间: {}分钟, 数据大小: {}",
+            log.debug("保存用户信息到Redis - key: {}, 过期时间: {}分钟, 数据大小: {}",
                      userKey, expireTime, loginUserJson.length());
+            // 写入失败会抛出异常，无需再回读校验
             redisCache.setCacheObject(userKey, loginUserJson, expireTime, java.util.concurrent.TimeUnit.MINUTES);
-
-            // 立即验证是否保存成功
-            String cachedData = redisCache.getCacheObject(userKey);
-            if (cachedData != null) {
-                log.info("Redis保存成功 - key: {}, 数据长度: {}", userKey, cachedData.length());
-            } else {
-                log.error("Redis保存失败 - key: {}, 保存后立即查询为空", userKey);
-            }
+            redisWrites.increment();
+            loginUserCache.put(loginUser.getToken(), loginUser);
         } catch (Exception e) {
             log.error("序列化LoginUser失败: {}", e.getMessage(), e);
             e.printStackTrace();
@@ -400,23 +569,50 @@ public class TokenService {
 
     /**
      * 清除所有token缓存
+     * <p>
+     * 按租户索引逐个下线，不使用 KEYS；开启 scanFallback 时再以 SCAN 清理索引上线前遗留的令牌。
      */
     public void clearAllTokenCache() {
         try {
-            Collection<String> keys = redisCache.keys(CacheConstants.LOGIN_TOKEN_KEY + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisCache.deleteObject(keys);
+            for (Long tenantId : sessionRegistry.getTenantIds()) {
+                sessionRegistry.revokeTenant(tenantId);
             }
-            Collection<String> refreshKeys = redisCache.keys(CacheConstants.REFRESH_TOKEN_KEY + "*");
-            if (refreshKeys != null && !refreshKeys.isEmpty()) {
-                redisCache.deleteObject(refreshKeys);
+            if (scanFallback) {
+                sessionRegistry.scanAndDelete(CacheConstants.LOGIN_TOKEN_KEY + "*");
+                sessionRegistry.scanAndDelete(CacheConstants.REFRESH_TOKEN_KEY + "*");
             }
+            loginUserCache.invalidateAll();
         } catch (Exception e) {
             // 记录日志但不抛出异常
             System.err.println("清除token缓存失败: " + e.getMessage());
         }
     }
 
+    private OnlineSession toOnlineSession(String tokenId, String json) {
+        try {
+            LoginUser loginUser = objectMapper.readValue(json, LoginUser.class);
+            OnlineSession session = new OnlineSession();
+            session.setTokenId(tokenId);
+            session.setUserId(loginUser.getUserId());
+            session.setUserName(loginUser.getUser() != null ? loginUser.getUser().getUserName() : null);
+            session.setTenantId(resolveTenantId(loginUser));
+            session.setIpaddr(loginUser.getIpaddr());
+            session.setLoginLocation(loginUser.getLoginLocation());
+            session.setBrowser(loginUser.getBrowser());
+            session.setOs(loginUser.getOs());
+            session.setLoginTime(loginUser.getLoginTime());
+            session.setExpireTime(loginUser.getExpireTime());
+            return session;
+        } catch (Exception e) {
+            log.warn("解析在线会话失败 - tokenId: {}, 错误: {}", tokenId, e.getMessage());
+            return null;
+        }
+    }
+
+    private Long resolveTenantId(LoginUser loginUser) {
+        return loginUser.getUser() != null ? loginUser.getUser().getTenantId() : null;
+    }
+
     private void cacheRefreshToken(String refreshUuid, LoginUser loginUser) {
         String refreshKey = CacheConstants.REFRESH_TOKEN_KEY + refreshUuid;
         try {
@@ -3,15 +3,20 @@ package com.simpleshare.article.controller;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
+import com.simpleshare.article.domain.dto.ArticleStatBucket;
 import com.simpleshare.article.dto.ArticleAdminResponse;
 import com.simpleshare.article.dto.ArticleBatchDeleteRequest;
 import com.simpleshare.article.dto.ArticleDashboardResponse;
 import com.simpleshare.article.dto.ArticlePublishRequest;
 import com.simpleshare.article.dto.ArticleStatusUpdateRequest;
 import com.simpleshare.article.enums.ArticleReviewStatus;
+import com.simpleshare.article.service.IArticleDashboardService;
 import com.simpleshare.article.service.IArticleService;
-import com.simpleshare.article.service.ICategoryService;
-import com.simpleshare.article.domain.Category;
+import com.simpleshare.article.service.support.ArticleCounterManager;
+import com.simpleshare.article.service.support.ArticleDetailCache;
+import com.simpleshare.article.service.support.ArticleViewStats;
+import com.simpleshare.article.service.support.ArticleSearchIndex;
 import com.simpleshare.common.core.controller.BaseController;
 import com.simpleshare.common.core.domain.AjaxResult;
 import com.simpleshare.common.core.domain.model.PageResponse;
@@ -33,21 +38,12 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Date;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -69,7 +65,19 @@ public class AdminArticleController extends BaseController {
     private RedisTemplate<String, String> redisTemplate;
 
     @Autowired
-    private ICategoryService categoryService;
+    private IArticleDashboardService articleDashboardService;
+
+    @Autowired
+    private ArticleCounterManager articleCounterManager;
+
+    @Autowired
+    private ArticleDetailCache articleDetailCache;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private ArticleViewStats articleViewStats;
 
     // ==================== 后台管理API ====================
 
@@ -131,11 +139,11 @@ public class AdminArticleController extends BaseController {
         if (isRecommend != null) {
             query.setIsRecommend(isRecommend);
         }
-        List<Article> articles = articleService.selectArticleList(query);
-        articles.forEach(this::decorateArticlePassword);
-        PageInfo<Article> pageInfo = new PageInfo<>(articles);
-        List<ArticleAdminResponse> items = articles.stream()
-                .map(ArticleAdminResponse::from)
+        // 列表只查询卡片字段，正文在详情接口加载
+        List<ArticleCard> cards = articleService.selectArticleCardList(query);
+        PageInfo<ArticleCard> pageInfo = new PageInfo<>(cards);
+        List<ArticleAdminResponse> items = cards.stream()
+                .map(ArticleAdminResponse::fromCard)
                 .collect(Collectors.toList());
 
         return AjaxResult.success(PageResponse.from(pageInfo, items));
@@ -641,19 +649,53 @@ public class AdminArticleController extends BaseController {
             query.setAuthorId(authorId);
         }
 
-        List<Article> articles = articleService.selectArticleList(query);
-        if (articles == null) {
-            articles = Collections.emptyList();
-        }
-        List<Article> activeArticles = articles.stream()
-                .filter(article -> article.getDelFlag() == null || !"1".equals(article.getDelFlag()))
-                .collect(Collectors.toList());
-
-        RangeDefinition rangeDefinition = resolveRange(range, startDate, endDate);
-        ArticleDashboardResponse response = buildDashboardResponse(activeArticles, rangeDefinition);
+        ArticleDashboardResponse response = articleDashboardService.buildDashboard(query, range, startDate, endDate);
         return AjaxResult.success(response);
     }
 
+    /**
+     * 文章计数写后缓冲运行指标
+     */
+    @GetMapping("/counters/stats")
+    @PreAuthorize("@ss.hasPermi('article:article:list')")
+    public AjaxResult getCounterStats() {
+        return AjaxResult.success(articleCounterManager.getStatistics());
+    }
+
+    /**
+     * 立即将 Redis 中的每日访问计数汇总到 article_daily_stats
+     */
+    @PostMapping("/views/rollup")
+    @PreAuthorize("@ss.hasPermi('article:article:edit')")
+    public AjaxResult rollupViewStats() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("rows", articleViewStats.rollup());
+        return AjaxResult.success(data);
+    }
+
+    /**
+     * 文章详情缓存运行指标
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize("@ss.hasPermi('article:article:list')")
+    public AjaxResult getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("detail", articleDetailCache.getStatistics());
+        return AjaxResult.success(stats);
+    }
+
+    /**
+     * 重建当前节点的全文索引（后台异步执行，重建期间搜索回退到数据库查询）
+     */
+    @PostMapping("/search/rebuild")
+    @PreAuthorize("@ss.hasPermi('article:article:edit')")
+    public AjaxResult rebuildSearchIndex() {
+        if (!articleSearchIndex.rebuild()) {
+            return AjaxResult.error("全文索引未启用或正在重建");
+        }
+        return AjaxResult.success("全文索引重建已开始");
+    }
+
     /**
      * 获取当前用户的文章统计信息
      */
@@ -664,21 +706,18 @@ public class AdminArticleController extends BaseController {
             return unauthorized("用户未登录");
         }
         
-        // 查询用户所有文章
+        // 按状态聚合用户的文章数量与浏览量
         Article queryArticle = new Article();
         queryArticle.setCreateBy(userId);
-        List<Article> allArticles = articleService.selectArticleList(queryArticle);
-        
-        // 统计各状态文章数量
-        long totalCount = allArticles.size();
-        long publishedCount = allArticles.stream().filter(this::isApprovedArticle).count();
-        long draftCount = allArticles.stream().filter(a -> Integer.valueOf(0).equals(a.getStatus())).count();
-        long offlineCount = allArticles.stream().filter(a -> Integer.valueOf(2).equals(a.getStatus())).count();
-        long pendingReviewCount = allArticles.stream().filter(this::isPendingReviewArticle).count();
-        long rejectedCount = allArticles.stream().filter(this::isRejectedArticle).count();
-        
-        // 统计总浏览量
-        long totalViews = allArticles.stream().mapToLong(a -> a.getViewCount() != null ? a.getViewCount() : 0).sum();
+        ArticleStatBucket stats = articleDashboardService.selectArticleStats(queryArticle);
+
+        long totalCount = stats.getArticleCount();
+        long publishedCount = stats.getApprovedCount();
+        long draftCount = stats.getDraftCount();
+        long offlineCount = stats.getOfflineCount();
+        long pendingReviewCount = stats.getPendingCount();
+        long rejectedCount = stats.getRejectedCount();
+        long totalViews = stats.getViewCount();
         
         return success(new Object() {
             public final long total = totalCount;
@@ -885,515 +924,6 @@ public class AdminArticleController extends BaseController {
     }
 
 
-    private ArticleDashboardResponse buildDashboardResponse(List<Article> articles, RangeDefinition rangeDefinition) {
-        ArticleDashboardResponse response = new ArticleDashboardResponse();
-
-        ArticleDashboardResponse.Range responseRange = new ArticleDashboardResponse.Range();
-        responseRange.setPreset(rangeDefinition.getPreset());
-        responseRange.setStartDate(rangeDefinition.getStart().toString());
-        responseRange.setEndDate(rangeDefinition.getEnd().toString());
-        response.setRange(responseRange);
-
-        ArticleDashboardResponse.Overview overview = response.getOverview();
-        overview.setTotalArticles(articles.size());
-        long publishedCount = articles.stream().filter(this::isApprovedArticle).count();
-        overview.setPublishedArticles(publishedCount);
-        overview.setDraftArticles(articles.stream().filter(a -> Integer.valueOf(0).equals(a.getStatus())).count());
-        overview.setPrivateArticles(articles.stream().filter(this::isPrivateArticle).count());
-        overview.setReviewPendingArticles(articles.stream().filter(this::isPendingReviewArticle).count());
-        overview.setReviewRejectedArticles(articles.stream().filter(this::isRejectedArticle).count());
-        long totalViews = articles.stream().mapToLong(this::safeViewCount).sum();
-        overview.setTotalViews(totalViews);
-        overview.setTotalLikes(articles.stream().mapToLong(a -> safeLong(a.getLikeCount())).sum());
-        overview.setTotalCollects(articles.stream().mapToLong(a -> safeLong(a.getCollectCount())).sum());
-        overview.setTotalComments(articles.stream().mapToLong(a -> safeLong(a.getCommentCount())).sum());
-        overview.setTotalShares(articles.stream().mapToLong(this::safeShareCount).sum());
-        overview.setWeeklyNewArticles(countCreatedWithinDays(articles, 7));
-        overview.setTodayNewArticles(countCreatedOnDate(articles, LocalDate.now()));
-        overview.setLastUpdated(LocalDateTime.now());
-
-        LocalDate previousEnd = rangeDefinition.getStart().minusDays(1);
-        LocalDate previousStart = previousEnd.minusDays(rangeDefinition.getDays() - 1L);
-        List<Article> currentRangeArticles = filterByDateRange(articles, rangeDefinition.getStart(), rangeDefinition.getEnd());
-        List<Article> previousRangeArticles = filterByDateRange(articles, previousStart, previousEnd);
-
-        long currentViews = currentRangeArticles.stream().mapToLong(this::safeViewCount).sum();
-        long previousViews = previousRangeArticles.stream().mapToLong(this::safeViewCount).sum();
-        long currentEngagement = currentRangeArticles.stream().mapToLong(this::calculateEngagement).sum();
-        long previousEngagement = previousRangeArticles.stream().mapToLong(this::calculateEngagement).sum();
-
-        overview.setViewGrowthRate(calcGrowthRate(currentViews, previousViews));
-        overview.setEngagementGrowthRate(calcGrowthRate(currentEngagement, previousEngagement));
-
-        buildTrend(rangeDefinition, currentRangeArticles, response.getTrend(), overview.getViewGrowthRate(), currentViews);
-        buildFunnel(currentRangeArticles, response.getFunnel());
-
-        List<Category> categories = categoryService.selectCategoryList(new Category());
-        Map<Long, String> categoryNameMap = categories.stream()
-                .collect(Collectors.toMap(Category::getCategoryId, Category::getCategoryName, (a, b) -> a));
-        response.setSegments(buildSegments(articles, categoryNameMap));
-        response.setLeaderboards(buildLeaderboards(articles, categoryNameMap));
-        response.setModeration(buildModerationSnapshot(articles));
-        response.setInsights(buildInsights(overview, response.getSegments()));
-
-        return response;
-    }
-
-    private void buildTrend(RangeDefinition rangeDefinition,
-                            List<Article> rangeArticles,
-                            ArticleDashboardResponse.Trend trend,
-                            double wowChange,
-                            long currentViews) {
-        Map<LocalDate, DailyAggregate> aggregates = new LinkedHashMap<>();
-        for (Article article : rangeArticles) {
-            LocalDate date = resolveActivityDate(article);
-            if (date == null) {
-                continue;
-            }
-            DailyAggregate aggregate = aggregates.computeIfAbsent(date, unused -> new DailyAggregate());
-            if (isApprovedArticle(article)) {
-                aggregate.published += 1;
-            }
-            aggregate.views += safeViewCount(article);
-            aggregate.likes += safeLong(article.getLikeCount());
-            aggregate.comments += safeLong(article.getCommentCount());
-            aggregate.shares += safeShareCount(article);
-        }
-
-        List<ArticleDashboardResponse.TrendPoint> points = new ArrayList<>();
-        LocalDate cursor = rangeDefinition.getStart();
-        while (!cursor.isAfter(rangeDefinition.getEnd())) {
-            DailyAggregate aggregate = aggregates.get(cursor);
-            ArticleDashboardResponse.TrendPoint point = new ArticleDashboardResponse.TrendPoint();
-            point.setDate(cursor.toString());
-            if (aggregate != null) {
-                point.setPublished(aggregate.published);
-                point.setViews(aggregate.views);
-                point.setLikes(aggregate.likes);
-                point.setComments(aggregate.comments);
-                point.setShares(aggregate.shares);
-            } else {
-                point.setPublished(0);
-                point.setViews(0);
-                point.setLikes(0);
-                point.setComments(0);
-                point.setShares(0);
-            }
-            points.add(point);
-            cursor = cursor.plusDays(1);
-        }
-        trend.setPoints(points);
-        trend.setTotalViews(currentViews);
-        trend.setAverageViewsPerArticle(rangeArticles.isEmpty() ? 0.0 : (double) currentViews / rangeArticles.size());
-        trend.setWowChange(wowChange);
-    }
-
-    private void buildFunnel(List<Article> rangeArticles, ArticleDashboardResponse.Funnel funnel) {
-        long publishedCount = rangeArticles.stream().filter(this::isApprovedArticle).count();
-        long rangeViews = rangeArticles.stream().mapToLong(this::safeViewCount).sum();
-        long interactions = rangeArticles.stream()
-                .mapToLong(article -> safeLong(article.getLikeCount()) + safeLong(article.getCommentCount()))
-                .sum();
-        long collectTotal = rangeArticles.stream().mapToLong(article -> safeLong(article.getCollectCount())).sum();
-        long shareTotal = rangeArticles.stream().mapToLong(this::safeShareCount).sum();
-
-        List<ArticleDashboardResponse.FunnelStage> stages = new ArrayList<>();
-        stages.add(createFunnelStage("publish", "发布", publishedCount, 1.0, "发布成功的文章数量"));
-        stages.add(createFunnelStage("view", "浏览", rangeViews, calcRate(rangeViews, publishedCount), "平均每篇文章浏览量"));
-        stages.add(createFunnelStage("engage", "互动", interactions, calcRate(interactions, rangeViews), "点赞 + 评论总数"));
-        long baseline = interactions == 0 ? rangeViews : interactions;
-        stages.add(createFunnelStage("collect", "收藏", collectTotal, calcRate(collectTotal, baseline), "收藏数"));
-        long shareBaseline = collectTotal == 0 ? rangeViews : collectTotal;
-        stages.add(createFunnelStage("share", "分享", shareTotal, calcRate(shareTotal, shareBaseline), "分享次数"));
-        funnel.setStages(stages);
-    }
-
-    private ArticleDashboardResponse.SegmentCollection buildSegments(List<Article> articles,
-                                                                     Map<Long, String> categoryNameMap) {
-        ArticleDashboardResponse.SegmentCollection collection = new ArticleDashboardResponse.SegmentCollection();
-        collection.setCategories(buildCategorySegments(articles, categoryNameMap));
-        collection.setTags(buildTagSegments(articles));
-        collection.setAccessLevels(buildAccessSegments(articles));
-        return collection;
-    }
-
-    private List<ArticleDashboardResponse.SegmentItem> buildCategorySegments(List<Article> articles,
-                                                                             Map<Long, String> categoryNameMap) {
-        Map<String, SegmentAccumulator> categoryMap = new HashMap<>();
-        for (Article article : articles) {
-            String key = article.getCategoryId() != null ? String.valueOf(article.getCategoryId()) : "uncategorized";
-            SegmentAccumulator accumulator = categoryMap.computeIfAbsent(key, unused -> new SegmentAccumulator());
-            accumulator.key = key;
-            accumulator.label = article.getCategoryId() != null
-                    ? categoryNameMap.getOrDefault(article.getCategoryId(),
-                    StringUtils.defaultIfEmpty(article.getCategoryName(), "未分类"))
-                    : "未分类";
-            accumulator.addArticle(article, this);
-        }
-        long total = articles.size();
-        return categoryMap.values().stream()
-                .sorted(Comparator.comparingLong(SegmentAccumulator::getViewCount).reversed())
-                .limit(6)
-                .map(acc -> acc.toSegmentItem(total))
-                .collect(Collectors.toList());
-    }
-
-    private List<ArticleDashboardResponse.SegmentItem> buildTagSegments(List<Article> articles) {
-        Map<String, SegmentAccumulator> tagMap = new HashMap<>();
-        for (Article article : articles) {
-            String tags = article.getTags();
-            if (StringUtils.isBlank(tags)) {
-                continue;
-            }
-            for (String raw : tags.split(",")) {
-                String tag = raw.trim();
-                if (StringUtils.isEmpty(tag)) {
-                    continue;
-                }
-                SegmentAccumulator accumulator = tagMap.computeIfAbsent(tag, unused -> {
-                    SegmentAccumulator acc = new SegmentAccumulator();
-                    acc.key = tag;
-                    acc.label = tag;
-                    return acc;
-                });
-                accumulator.addArticle(article, this);
-            }
-        }
-        long total = articles.size();
-        return tagMap.values().stream()
-                .sorted(Comparator.comparingLong(SegmentAccumulator::getViewCount).reversed())
-                .limit(8)
-                .map(acc -> acc.toSegmentItem(total))
-                .collect(Collectors.toList());
-    }
-
-    private List<ArticleDashboardResponse.SegmentItem> buildAccessSegments(List<Article> articles) {
-        Map<String, SegmentAccumulator> accessMap = new HashMap<>();
-        for (Article article : articles) {
-            Integer level = article.getAccessLevel();
-            String key = level != null ? String.valueOf(level) : "0";
-            SegmentAccumulator accumulator = accessMap.computeIfAbsent(key, unused -> new SegmentAccumulator());
-            accumulator.key = key;
-            accumulator.label = resolveAccessLabel(level);
-            accumulator.addArticle(article, this);
-        }
-        long total = articles.size();
-        return accessMap.values().stream()
-                .sorted(Comparator.comparingLong(SegmentAccumulator::getArticleCount).reversed())
-                .map(acc -> acc.toSegmentItem(total))
-                .collect(Collectors.toList());
-    }
-
-    private ArticleDashboardResponse.Leaderboard buildLeaderboards(List<Article> articles,
-                                                                   Map<Long, String> categoryNameMap) {
-        ArticleDashboardResponse.Leaderboard leaderboard = new ArticleDashboardResponse.Leaderboard();
-        leaderboard.setTopViews(articles.stream()
-                .sorted(Comparator.comparingLong(this::safeViewCount).reversed())
-                .limit(6)
-                .map(article -> toArticleTile(article, categoryNameMap))
-                .collect(Collectors.toList()));
-        leaderboard.setTopEngagement(articles.stream()
-                .sorted(Comparator.comparingLong(this::calculateEngagement).reversed())
-                .limit(6)
-                .map(article -> toArticleTile(article, categoryNameMap))
-                .collect(Collectors.toList()));
-        leaderboard.setLatestPublished(articles.stream()
-                .sorted(Comparator.comparing(this::resolvePublishDateTime,
-                        Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .limit(6)
-                .map(article -> toArticleTile(article, categoryNameMap))
-                .collect(Collectors.toList()));
-        return leaderboard;
-    }
-
-    private ArticleDashboardResponse.ArticleTile toArticleTile(Article article,
-                                                               Map<Long, String> categoryNameMap) {
-        ArticleDashboardResponse.ArticleTile tile = new ArticleDashboardResponse.ArticleTile();
-        tile.setArticleId(article.getArticleId());
-        tile.setTitle(article.getTitle());
-        tile.setSummary(StringUtils.defaultIfEmpty(article.getSummary(), ""));
-        tile.setAuthorName(StringUtils.defaultIfEmpty(article.getAuthorName(), "未设置"));
-        tile.setCategoryName(article.getCategoryId() != null
-                ? categoryNameMap.getOrDefault(article.getCategoryId(),
-                StringUtils.defaultIfEmpty(article.getCategoryName(), "未分类"))
-                : "未分类");
-        tile.setStatus(article.getStatus());
-        tile.setAccessLevel(article.getAccessLevel());
-        tile.setRecommend(Integer.valueOf(1).equals(article.getIsRecommend()));
-        tile.setTop(Integer.valueOf(1).equals(article.getIsTop()));
-        boolean passwordProtected = Boolean.TRUE.equals(article.getPasswordProtected())
-                || (article.getIsPasswd() != null && article.getIsPasswd() == 0);
-        tile.setPasswordProtected(passwordProtected);
-        LocalDateTime publishDate = resolvePublishDateTime(article);
-        tile.setPublishTime(publishDate != null ? publishDate.toString() : null);
-        tile.setViewCount(safeViewCount(article));
-        tile.setLikeCount(safeLong(article.getLikeCount()));
-        tile.setCollectCount(safeLong(article.getCollectCount()));
-        tile.setCommentCount(safeLong(article.getCommentCount()));
-        tile.setShareCount(safeShareCount(article));
-        tile.setEngagement(calculateEngagement(article));
-        return tile;
-    }
-
-    private ArticleDashboardResponse.Moderation buildModerationSnapshot(List<Article> articles) {
-        ArticleDashboardResponse.Moderation moderation = new ArticleDashboardResponse.Moderation();
-        moderation.setPendingReviews(articles.stream().filter(this::isPendingReviewArticle).count());
-        moderation.setRejectedReviews(articles.stream().filter(this::isRejectedArticle).count());
-        long oldestDraftDays = articles.stream()
-                .filter(a -> Integer.valueOf(0).equals(a.getStatus()) && a.getCreateTime() != null)
-                .map(Article::getCreateTime)
-                .map(LocalDateTime::toLocalDate)
-                .map(date -> ChronoUnit.DAYS.between(date, LocalDate.now()))
-                .mapToLong(Long::longValue)
-                .max()
-                .orElse(0L);
-        moderation.setOldestDraftDays(oldestDraftDays);
-        moderation.setRecords(articles.stream()
-                .sorted(Comparator.comparing(Article::getUpdateTime, Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .limit(8)
-                .map(this::toModerationRecord)
-                .collect(Collectors.toList()));
-        return moderation;
-    }
-
-    private ArticleDashboardResponse.ModerationRecord toModerationRecord(Article article) {
-        ArticleDashboardResponse.ModerationRecord record = new ArticleDashboardResponse.ModerationRecord();
-        record.setArticleId(article.getArticleId());
-        record.setTitle(article.getTitle());
-        record.setReviewStatus(article.getReviewStatus());
-        record.setStatus(article.getStatus());
-        record.setReviewer(article.getUpdateBy() != null ? "用户#" + article.getUpdateBy() : "系统");
-        LocalDateTime updateTime = article.getUpdateTime();
-        record.setUpdatedAt(updateTime != null ? updateTime.toString() : null);
-        return record;
-    }
-
-    private List<ArticleDashboardResponse.Insight> buildInsights(ArticleDashboardResponse.Overview overview,
-                                                                 ArticleDashboardResponse.SegmentCollection segments) {
-        List<ArticleDashboardResponse.Insight> insights = new ArrayList<>();
-        if (overview.getDraftArticles() > overview.getPublishedArticles()) {
-            insights.add(createInsight("草稿积压", "草稿数量已超过已发布文章，请及时处理。", "warning"));
-        }
-        if (overview.getReviewPendingArticles() > 0) {
-            insights.add(createInsight("待审核内容", "当前有 " + overview.getReviewPendingArticles() + " 篇文章待审核。", "info"));
-        }
-        if (overview.getViewGrowthRate() < 0) {
-            insights.add(createInsight("访问量下滑", "近期开启访问量环比下降，建议检查内容投放。", "danger"));
-        }
-        if (!segments.getCategories().isEmpty()) {
-            ArticleDashboardResponse.SegmentItem topCategory = segments.getCategories().get(0);
-            insights.add(createInsight("热门分类",
-                    topCategory.getLabel() + " 占比 " + String.format("%.1f%%", topCategory.getPercentage() * 100),
-                    "success"));
-        }
-        if (insights.isEmpty()) {
-            insights.add(createInsight("运行健康", "指标稳定，暂无异常。", "success"));
-        }
-        return insights;
-    }
-
-    private ArticleDashboardResponse.Insight createInsight(String title, String description, String severity) {
-        ArticleDashboardResponse.Insight insight = new ArticleDashboardResponse.Insight();
-        insight.setTitle(title);
-        insight.setDescription(description);
-        insight.setSeverity(severity);
-        return insight;
-    }
-
-    private double calcGrowthRate(long current, long previous) {
-        if (previous <= 0) {
-            return current > 0 ? 100.0 : 0.0;
-        }
-        return ((double) (current - previous) / previous) * 100.0;
-    }
-
-    private double calcRate(long value, long base) {
-        if (base <= 0) {
-            return 0.0;
-        }
-        return (double) value / base;
-    }
-
-    private long calculateEngagement(Article article) {
-        return safeLong(article.getLikeCount())
-                + safeLong(article.getCommentCount())
-                + safeLong(article.getCollectCount())
-                + safeShareCount(article);
-    }
-
-    private List<Article> filterByDateRange(List<Article> articles, LocalDate start, LocalDate end) {
-        return articles.stream()
-                .filter(article -> {
-                    LocalDate date = resolveActivityDate(article);
-                    return date != null && !date.isBefore(start) && !date.isAfter(end);
-                })
-                .collect(Collectors.toList());
-    }
-
-    private LocalDate resolveActivityDate(Article article) {
-        LocalDate publishDate = toLocalDate(article.getPublishTime());
-        if (publishDate != null) {
-            return publishDate;
-        }
-        LocalDateTime createTime = article.getCreateTime();
-        if (createTime != null) {
-            return createTime.toLocalDate();
-        }
-        return null;
-    }
-
-    private RangeDefinition resolveRange(String preset, String startDate, String endDate) {
-        LocalDate today = LocalDate.now();
-        int rangeDays = resolveRangeDays(preset);
-        LocalDate resolvedEnd = parseDateOrDefault(endDate, today);
-        LocalDate resolvedStart = parseDateOrDefault(startDate, resolvedEnd.minusDays(rangeDays - 1L));
-        if (resolvedStart.isAfter(resolvedEnd)) {
-            LocalDate swap = resolvedStart;
-            resolvedStart = resolvedEnd;
-            resolvedEnd = swap;
-        }
-        int actualDays = (int) ChronoUnit.DAYS.between(resolvedStart, resolvedEnd) + 1;
-        String resolvedPreset = StringUtils.isNotBlank(preset)
-                ? preset
-                : (actualDays <= 7 ? "7d" : actualDays <= 30 ? "30d" : "90d");
-        return new RangeDefinition(resolvedStart, resolvedEnd, actualDays, resolvedPreset);
-    }
-
-    private int resolveRangeDays(String preset) {
-        if (StringUtils.isBlank(preset)) {
-            return 30;
-        }
-        String normalized = preset.trim().toLowerCase(Locale.ROOT);
-        if (normalized.startsWith("7") || normalized.contains("week")) {
-            return 7;
-        }
-        if (normalized.startsWith("90") || normalized.contains("quarter")) {
-            return 90;
-        }
-        if (normalized.startsWith("180")) {
-            return 180;
-        }
-        return 30;
-    }
-
-    private long countCreatedWithinDays(List<Article> articles, int days) {
-        if (days <= 0) {
-            return 0;
-        }
-        LocalDate threshold = LocalDate.now().minusDays(days - 1L);
-        return articles.stream()
-                .map(Article::getCreateTime)
-                .filter(Objects::nonNull)
-                .map(LocalDateTime::toLocalDate)
-                .filter(date -> !date.isBefore(threshold))
-                .count();
-    }
-
-    private long countCreatedOnDate(List<Article> articles, LocalDate target) {
-        if (target == null) {
-            return 0;
-        }
-        return articles.stream()
-                .map(Article::getCreateTime)
-                .filter(Objects::nonNull)
-                .map(LocalDateTime::toLocalDate)
-                .filter(target::equals)
-                .count();
-    }
-
-    private LocalDate parseDateOrDefault(String value, LocalDate fallback) {
-        if (StringUtils.isBlank(value)) {
-            return fallback;
-        }
-        try {
-            return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (Exception ex) {
-            return fallback;
-        }
-    }
-
-    private ArticleDashboardResponse.FunnelStage createFunnelStage(String key, String label, long value, double conversion, String hint) {
-        ArticleDashboardResponse.FunnelStage stage = new ArticleDashboardResponse.FunnelStage();
-        stage.setKey(key);
-        stage.setLabel(label);
-        stage.setValue(value);
-        stage.setConversion(conversion);
-        stage.setHint(hint);
-        return stage;
-    }
-
-    private String resolveAccessLabel(Integer accessLevel) {
-        if (accessLevel == null || accessLevel == 0) {
-            return "公开阅读";
-        }
-        if (accessLevel == 1) {
-            return "会员专享";
-        }
-        return "私密内容";
-    }
-
-    private LocalDateTime resolvePublishDateTime(Article article) {
-        LocalDateTime publish = toLocalDateTime(article.getPublishTime());
-        if (publish != null) {
-            return publish;
-        }
-        return article.getCreateTime();
-    }
-
-    private boolean isPrivateArticle(Article article) {
-        if (article == null) {
-            return false;
-        }
-        Integer accessLevel = article.getAccessLevel();
-        if (accessLevel != null && accessLevel > 0) {
-            return true;
-        }
-        Integer isPasswd = article.getIsPasswd();
-        return isPasswd != null && isPasswd == 0;
-    }
-
-    private long safeViewCount(Article article) {
-        return article != null ? safeLong(article.getViewCount()) : 0L;
-    }
-
-    private long safeShareCount(Article article) {
-        return article != null ? safeLong(article.getShareCount()) : 0L;
-    }
-
-    private long safeLong(Long value) {
-        return value != null ? value : 0L;
-    }
-
-    private LocalDate toLocalDate(Date date) {
-        if (date == null) {
-            return null;
-        }
-        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-    }
-
-    private LocalDateTime toLocalDateTime(Date date) {
-        if (date == null) {
-            return null;
-        }
-        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
-    }
-
-    private ArticleReviewStatus resolveReviewStatus(Article article) {
-        return ArticleReviewStatus.fromCode(article != null ? article.getReviewStatus() : null);
-    }
-
-    private boolean isApprovedArticle(Article article) {
-        return resolveReviewStatus(article).isApproved();
-    }
-
-    private boolean isPendingReviewArticle(Article article) {
-        return resolveReviewStatus(article).isPending();
-    }
-
-    private boolean isRejectedArticle(Article article) {
-        return resolveReviewStatus(article).isRejected();
-    }
-
     private Integer mapStatusToCode(String status) {
         if (StringUtils.isBlank(status)) {
             return 1;
@@ -1418,81 +948,4 @@ public class AdminArticleController extends BaseController {
         }
         return 1;
     }
-
-    private static class RangeDefinition {
-        private final LocalDate start;
-        private final LocalDate end;
-        private final int days;
-        private final String preset;
-
-        private RangeDefinition(LocalDate start, LocalDate end, int days, String preset) {
-            this.start = start;
-            this.end = end;
-            this.days = days;
-            this.preset = preset;
-        }
-
-        public LocalDate getStart() {
-            return start;
-        }
-
-        public LocalDate getEnd() {
-            return end;
-        }
-
-        public int getDays() {
-            return days;
-        }
-
-        public String getPreset() {
-            return preset;
-        }
-    }
-
-    private static class DailyAggregate {
-        private long published;
-        private long views;
-        private long likes;
-        private long comments;
-        private long shares;
-    }
-
-    private static class SegmentAccumulator {
-        private String key;
-        private String label;
-        private long articleCount;
-        private long viewCount;
-        private long likeCount;
-        private long commentCount;
-        private long shareCount;
-
-        void addArticle(Article article, AdminArticleController controller) {
-            articleCount += 1;
-            viewCount += controller.safeViewCount(article);
-            likeCount += controller.safeLong(article.getLikeCount());
-            commentCount += controller.safeLong(article.getCommentCount());
-            shareCount += controller.safeShareCount(article);
-        }
-
-        ArticleDashboardResponse.SegmentItem toSegmentItem(long total) {
-            ArticleDashboardResponse.SegmentItem item = new ArticleDashboardResponse.SegmentItem();
-            item.setKey(key);
-            item.setLabel(label);
-            item.setArticleCount(articleCount);
-            item.setViewCount(viewCount);
-            item.setLikeCount(likeCount);
-            item.setCommentCount(commentCount);
-            item.setShareCount(shareCount);
-            item.setPercentage(total > 0 ? (double) articleCount / total : 0.0);
-            return item;
-        }
-
-        long getViewCount() {
-            return viewCount;
-        }
-
-        long getArticleCount() {
-            return articleCount;
-        }
-    }
 }
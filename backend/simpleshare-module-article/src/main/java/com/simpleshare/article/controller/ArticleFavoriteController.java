@@ -150,6 +150,20 @@ public class ArticleFavoriteController extends BaseController {
         return AjaxResult.success(data);
     }
 
+    /**
+     * 批量检查收藏状态（列表页），ids 以逗号分隔，最多 100 个
+     */
+    @GetMapping("/check")
+    public AjaxResult batchCheckFavorite(@RequestParam("ids") List<Long> ids) {
+        List<Long> articleIds = sanitizeIds(ids);
+        if (articleIds.size() > 100) {
+            articleIds = articleIds.subList(0, 100);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("favoritedIds", articleFavoriteService.selectFavoritedArticleIds(articleIds));
+        return AjaxResult.success(data);
+    }
+
     private Map<String, Object> convertView(ArticleFavoriteView view) {
         Map<String, Object> item = new HashMap<>();
         item.put("id", view.getId());
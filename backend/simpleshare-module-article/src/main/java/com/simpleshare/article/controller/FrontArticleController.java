@@ -1,16 +1,23 @@
 package com.simpleshare.article.controller;
 
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
 import com.simpleshare.article.enums.ArticleReviewStatus;
+import com.simpleshare.article.service.IArticleFavoriteService;
 import com.simpleshare.article.service.IArticleService;
+import com.simpleshare.article.service.support.ArticleUnlockManager;
+import com.simpleshare.article.service.support.ArticleViewStats;
 import com.simpleshare.common.constant.HttpStatus;
 import com.simpleshare.common.core.controller.BaseController;
 import com.simpleshare.common.core.domain.AjaxResult;
 import com.simpleshare.common.core.domain.entity.SysUser;
 import com.simpleshare.common.core.domain.model.LoginUser;
 import com.simpleshare.common.core.page.TableDataInfo;
+import com.simpleshare.common.enums.DataSourceType;
 import com.simpleshare.common.utils.SecurityUtils;
+import com.simpleshare.common.utils.ServletUtils;
 import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.aspectj.lang.annotation.DataSource;
 import com.simpleshare.framework.storage.StorageUploadResult;
 import com.simpleshare.framework.tenant.TenantContextHolder;
 import com.simpleshare.system.domain.vo.TenantProtectionSettings;
@@ -24,11 +31,15 @@ import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -38,13 +49,19 @@ import java.util.concurrent.TimeUnit;
  */
 @RestController
 @RequestMapping("/article")
+@DataSource(DataSourceType.SLAVE)
 public class FrontArticleController extends BaseController {
 
     private static final Logger logger = LoggerFactory.getLogger(FrontArticleController.class);
+
+    private static final String UNLOCK_TOKEN_HEADER = "X-Article-Unlock";
     
     @Autowired
     private IArticleService articleService;
 
+    @Autowired
+    private IArticleFavoriteService articleFavoriteService;
+
     @Autowired
     private ISysTenantConfigService tenantConfigService;
 
@@ -54,6 +71,12 @@ public class FrontArticleController extends BaseController {
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
+    @Autowired
+    private ArticleViewStats articleViewStats;
+
+    @Autowired
+    private ArticleUnlockManager articleUnlockManager;
+
     // ==================== 公共文章API ====================
 
     /**
@@ -62,7 +85,7 @@ public class FrontArticleController extends BaseController {
     @GetMapping("/articles")
     public TableDataInfo list(Article article) {
         TableDataInfo data = articleService.selectPublishedArticlePage(article);
-        sanitizeArticleTable(data);
+        decorateFavorites(data.getRows());
         return data;
     }
 
@@ -79,7 +102,7 @@ public class FrontArticleController extends BaseController {
             article.setStatus(1);
         }
         TableDataInfo data = articleService.selectPublishedArticlePage(article);
-        sanitizeArticleTable(data);
+        decorateFavorites(data.getRows());
         return data;
     }
     
@@ -142,11 +165,22 @@ public class FrontArticleController extends BaseController {
             article.setIsPasswd(passwordProtected ? 0 : 1);
         }
         boolean passwordVerified = !passwordProtected || passwordBypass;
+        boolean passwordAttemptsExceeded = false;
         if (passwordProtected && !passwordBypass) {
-            if (StringUtils.isNotEmpty(providedPassword)
-                    && SecurityUtils.matchesPassword(providedPassword, article.getPassword())) {
+            // 已解锁的请求只校验 HMAC 凭证；带密码的请求先占用尝试次数，再执行 BCrypt 校验
+            if (articleUnlockManager.verifyToken(articleId, article.getPassword(), resolveUnlockToken())) {
                 passwordVerified = true;
-            } else {
+            } else if (StringUtils.isNotEmpty(providedPassword)) {
+                ArticleUnlockManager.AttemptResult result = articleUnlockManager.attempt(
+                        articleId, resolveClientIp(), providedPassword, article.getPassword());
+                if (result == ArticleUnlockManager.AttemptResult.MATCHED) {
+                    passwordVerified = true;
+                    article.setUnlockToken(articleUnlockManager.issueToken(articleId, article.getPassword()));
+                } else {
+                    passwordAttemptsExceeded = result == ArticleUnlockManager.AttemptResult.LOCKED;
+                }
+            }
+            if (!passwordVerified) {
                 article.setIsPasswd(0);
                 article.setPasswordProtected(true);
                 article.setPasswordVerified(false);
@@ -169,7 +203,9 @@ public class FrontArticleController extends BaseController {
             article.setPreviewOnly(Boolean.FALSE);
             article.setFullReadable(false);
             article.setHasAccess(true);
-            article.setAccessDeniedReason("文章已加密，请输入访问密码后阅读全文。");
+            article.setAccessDeniedReason(passwordAttemptsExceeded
+                    ? "密码错误次数过多，请稍后再试。"
+                    : "文章已加密，请输入访问密码后阅读全文。");
             article.setContent(null);
             article.setMemberContent(null);
             article.setPassword(null);
@@ -225,12 +261,11 @@ public class FrontArticleController extends BaseController {
         }
 
         article.setMemberContentLocked(originalHasMemberContent && !privilegedContentAccess);
-
-        // 处理文章内容中的图片URL域名替换
-        article = processArticleImageUrls(article);
+        article.setLiked(currentUserId != null ? articleService.isArticleLiked(articleId) : null);
 
         if (isPublished && (!passwordProtected || passwordVerified)) {
             articleService.incrementViewCount(articleId);
+            articleViewStats.record(articleId, resolveVisitorId(currentUserId));
         }
         return success(article);
     }
@@ -250,8 +285,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/articles/recommend")
     public AjaxResult recommendList(@RequestParam(defaultValue = "10") Integer limit) {
-        List<Article> list = articleService.selectRecommendArticleList(limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectRecommendArticleList(limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -260,8 +295,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/articles/hot")
     public AjaxResult hotList(@RequestParam(defaultValue = "10") Integer limit) {
-        List<Article> list = articleService.selectHotArticleList(limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectHotArticleList(limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -270,8 +305,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/articles/latest")
     public AjaxResult latestList(@RequestParam(defaultValue = "10") Integer limit) {
-        List<Article> list = articleService.selectLatestArticleList(limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectLatestArticleList(limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -280,8 +315,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/articles/related")
     public AjaxResult relatedList(@RequestParam Long categoryId, @RequestParam Long articleId, @RequestParam(defaultValue = "5") Integer limit) {
-        List<Article> list = articleService.selectRelatedArticleList(categoryId, articleId, limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectRelatedArticleList(categoryId, articleId, limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -292,7 +327,7 @@ public class FrontArticleController extends BaseController {
     public TableDataInfo categoryArticles(@PathVariable Long categoryId, Article article) {
         article.setCategoryId(categoryId);
         TableDataInfo data = articleService.selectPublishedArticlePage(article);
-        sanitizeArticleTable(data);
+        decorateFavorites(data.getRows());
         return data;
     }
     
@@ -301,8 +336,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/articles/author/{authorId}")
     public AjaxResult authorArticles(@PathVariable Long authorId) {
-        List<Article> list = articleService.selectArticleListByAuthorId(authorId);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectArticleListByAuthorId(authorId);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -312,8 +347,8 @@ public class FrontArticleController extends BaseController {
     @GetMapping("/articles/search")
     public TableDataInfo search(@RequestParam String keyword, @RequestParam(defaultValue = "1") Integer pageNum, @RequestParam(defaultValue = "10") Integer pageSize) {
         TableDataInfo data = articleService.searchArticlesPage(keyword, pageNum, pageSize);
+        decorateFavorites(data.getRows());
         enhanceSearchResults(data, keyword);
-        sanitizeArticleTable(data);
         return data;
     }
     
@@ -323,6 +358,7 @@ public class FrontArticleController extends BaseController {
     @PostMapping("/articles/{articleId}/view")
     public AjaxResult incrementView(@PathVariable Long articleId) {
         articleService.incrementViewCount(articleId);
+        articleViewStats.record(articleId, resolveVisitorId(SecurityUtils.getUserIdSafely()));
         return success();
     }
     
@@ -332,7 +368,7 @@ public class FrontArticleController extends BaseController {
     @PostMapping("/articles/{articleId}/like")
     public AjaxResult like(@PathVariable Long articleId) {
         articleService.likeArticle(articleId);
-        return success();
+        return success(buildLikeState(articleId, true));
     }
     
     /**
@@ -341,7 +377,25 @@ public class FrontArticleController extends BaseController {
     @DeleteMapping("/articles/{articleId}/like")
     public AjaxResult unlike(@PathVariable Long articleId) {
         articleService.unlikeArticle(articleId);
-        return success();
+        return success(buildLikeState(articleId, false));
+    }
+    
+    /**
+     * 批量查询当前用户的点赞状态（列表页），ids 以逗号分隔，最多 100 个
+     */
+    @GetMapping("/articles/likes")
+    public AjaxResult likedArticles(@RequestParam("ids") List<Long> ids) {
+        List<Long> articleIds = new ArrayList<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null && id > 0 && articleIds.size() < 100) {
+                    articleIds.add(id);
+                }
+            }
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("likedIds", articleService.selectLikedArticleIds(articleIds));
+        return success(data);
     }
     
     /**
@@ -455,7 +509,7 @@ public class FrontArticleController extends BaseController {
     @GetMapping("/front/articles")
     public TableDataInfo frontList(Article article) {
         TableDataInfo data = articleService.selectPublishedArticlePage(article);
-        sanitizeArticleTable(data);
+        decorateFavorites(data.getRows());
         return data;
     }
     
@@ -472,8 +526,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/front/articles/recommend")
     public AjaxResult frontRecommendList(@RequestParam(defaultValue = "10") Integer limit) {
-        List<Article> list = articleService.selectRecommendArticleList(limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectRecommendArticleList(limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -482,8 +536,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/front/articles/hot")
     public AjaxResult frontHotList(@RequestParam(defaultValue = "10") Integer limit) {
-        List<Article> list = articleService.selectHotArticleList(limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectHotArticleList(limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -492,8 +546,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/front/articles/latest")
     public AjaxResult frontLatestList(@RequestParam(defaultValue = "10") Integer limit) {
-        List<Article> list = articleService.selectLatestArticleList(limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectLatestArticleList(limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -502,8 +556,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/front/articles/related")
     public AjaxResult frontRelatedList(@RequestParam Long categoryId, @RequestParam Long articleId, @RequestParam(defaultValue = "5") Integer limit) {
-        List<Article> list = articleService.selectRelatedArticleList(categoryId, articleId, limit);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectRelatedArticleList(categoryId, articleId, limit);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -514,7 +568,7 @@ public class FrontArticleController extends BaseController {
     public TableDataInfo frontCategoryArticles(@PathVariable Long categoryId, Article article) {
         article.setCategoryId(categoryId);
         TableDataInfo data = articleService.selectPublishedArticlePage(article);
-        sanitizeArticleTable(data);
+        decorateFavorites(data.getRows());
         return data;
     }
     
@@ -523,8 +577,8 @@ public class FrontArticleController extends BaseController {
      */
     @GetMapping("/front/articles/author/{authorId}")
     public AjaxResult frontAuthorArticles(@PathVariable Long authorId) {
-        List<Article> list = articleService.selectArticleListByAuthorId(authorId);
-        sanitizeArticleList(list);
+        List<ArticleCard> list = articleService.selectArticleListByAuthorId(authorId);
+        decorateFavorites(list);
         return success(list);
     }
     
@@ -534,7 +588,7 @@ public class FrontArticleController extends BaseController {
     @GetMapping("/front/articles/search")
     public TableDataInfo frontSearch(@RequestParam String keyword, @RequestParam(defaultValue = "1") Integer pageNum, @RequestParam(defaultValue = "10") Integer pageSize) {
         TableDataInfo data = articleService.searchArticlesPage(keyword, pageNum, pageSize);
-        sanitizeArticleTable(data);
+        decorateFavorites(data.getRows());
         return data;
     }
     
@@ -543,7 +597,8 @@ public class FrontArticleController extends BaseController {
      */
     @PostMapping("/front/articles/like/{articleId}")
     public AjaxResult frontLike(@PathVariable Long articleId) {
-        return toAjax(articleService.likeArticle(articleId));
+        articleService.likeArticle(articleId);
+        return success(buildLikeState(articleId, true));
     }
     
     /**
@@ -551,7 +606,16 @@ public class FrontArticleController extends BaseController {
      */
     @DeleteMapping("/front/articles/like/{articleId}")
     public AjaxResult frontUnlike(@PathVariable Long articleId) {
-        return toAjax(articleService.unlikeArticle(articleId));
+        articleService.unlikeArticle(articleId);
+        return success(buildLikeState(articleId, false));
+    }
+    
+    private Map<String, Object> buildLikeState(Long articleId, boolean liked) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("articleId", articleId);
+        data.put("liked", liked);
+        data.put("likeCount", articleService.countArticleLikes(articleId));
+        return data;
     }
     
     /**
@@ -766,6 +830,42 @@ public class FrontArticleController extends BaseController {
         return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * 独立访客标识：登录用户取用户ID，匿名访客取 IP 与 User-Agent 的摘要
+     */
+    private String resolveVisitorId(Long userId) {
+        if (userId != null) {
+            return "u" + userId;
+        }
+        HttpServletRequest request = ServletUtils.getRequest();
+        if (request == null) {
+            return null;
+        }
+        String source = resolveClientIp() + "|" + StringUtils.nvl(request.getHeader("User-Agent"), "");
+        return "a" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 客户端 IP 取连接的远端地址，不读取客户端可伪造的 X-Forwarded-For；
+     * 部署在反向代理之后时由容器的 server.forward-headers-strategy 还原真实地址
+     */
+    private String resolveClientIp() {
+        HttpServletRequest request = ServletUtils.getRequest();
+        return request == null ? null : request.getRemoteAddr();
+    }
+
+    /**
+     * 加密文章解锁凭证，优先取请求头，兼容以查询参数传递
+     */
+    private String resolveUnlockToken() {
+        HttpServletRequest request = ServletUtils.getRequest();
+        if (request == null) {
+            return null;
+        }
+        String token = request.getHeader(UNLOCK_TOKEN_HEADER);
+        return StringUtils.isNotEmpty(token) ? token : request.getParameter("unlockToken");
+    }
+
     private void appendHashComponent(StringBuilder builder, Object value) {
         builder.append('|');
         if (value != null) {
@@ -823,13 +923,27 @@ public class FrontArticleController extends BaseController {
         redisTemplate.opsForValue().set(redisKey, "1", 5, TimeUnit.SECONDS); // 5秒冷却期，与前端保持一致
     }
 
-    private void sanitizeArticleTable(TableDataInfo data) {
-        if (data == null || data.getRows() == null) {
+    /**
+     * 为列表卡片标记当前用户的收藏状态，整页一次批量判断；未登录时保持为空
+     */
+    private void decorateFavorites(List<?> rows) {
+        if (rows == null || rows.isEmpty() || SecurityUtils.getUserIdSafely() == null) {
             return;
         }
-        for (Object row : data.getRows()) {
-            if (row instanceof Article) {
-                sanitizeArticleForPreview((Article) row);
+        List<Long> articleIds = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            if (row instanceof ArticleCard && ((ArticleCard) row).getArticleId() != null) {
+                articleIds.add(((ArticleCard) row).getArticleId());
+            }
+        }
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        Set<Long> favorited = articleFavoriteService.selectFavoritedArticleIds(articleIds);
+        for (Object row : rows) {
+            if (row instanceof ArticleCard && ((ArticleCard) row).getArticleId() != null) {
+                ArticleCard card = (ArticleCard) row;
+                card.setFavorited(favorited.contains(card.getArticleId()));
             }
         }
     }
@@ -840,17 +954,18 @@ public class FrontArticleController extends BaseController {
         }
         String loweredKeyword = keyword.toLowerCase();
         for (Object row : data.getRows()) {
-            if (!(row instanceof Article)) {
+            if (!(row instanceof ArticleCard)) {
                 continue;
             }
-            Article article = (Article) row;
-            if (containsIgnoreCase(article.getTitle(), loweredKeyword) ||
-                containsIgnoreCase(article.getSummary(), loweredKeyword)) {
+            ArticleCard card = (ArticleCard) row;
+            if (containsIgnoreCase(card.getTitle(), loweredKeyword) ||
+                containsIgnoreCase(card.getSummary(), loweredKeyword)) {
                 continue;
             }
-            String snippet = buildSnippetFromContent(article.getContent(), loweredKeyword);
+            // 搜索只回传正文命中位置附近的片段
+            String snippet = buildSnippetFromContent(card.getContentSnippet(), loweredKeyword);
             if (StringUtils.isNotEmpty(snippet)) {
-                article.setSummary(snippet);
+                card.setSummary(snippet);
             }
         }
     }
@@ -866,7 +981,8 @@ public class FrontArticleController extends BaseController {
         if (StringUtils.isEmpty(content) || StringUtils.isEmpty(loweredKeyword)) {
             return null;
         }
-        String plain = content.replaceAll("<[^>]+>", " ").replaceAll("\\s+", " ").trim();
+        String plain = content.replaceAll("^[^<]*?>", " ").replaceAll("<[^>]*$", " ")
+                .replaceAll("<[^>]+>", " ").replaceAll("\\s+", " ").trim();
         if (plain.isEmpty()) {
             return null;
         }
@@ -890,40 +1006,6 @@ public class FrontArticleController extends BaseController {
         return builder.toString();
     }
 
-    private void sanitizeArticleList(List<Article> articles) {
-        if (articles == null) {
-            return;
-        }
-        for (Article article : articles) {
-            sanitizeArticleForPreview(article);
-        }
-    }
-
-    private void sanitizeArticleForPreview(Article article) {
-        if (article == null) {
-            return;
-        }
-        boolean hasMemberContent = StringUtils.isNotEmpty(article.getMemberContent());
-        article.setHasMemberContent(hasMemberContent);
-        article.setMemberContentLocked(false);
-        article.setContent(null);
-        article.setMemberContent(null);
-        article.setPreviewContent(null);
-        article.setRemark(null);
-        article.setAllowCopy(null);
-        boolean protectedFlag;
-        if (article.getIsPasswd() != null) {
-            protectedFlag = article.getIsPasswd() == 0;
-        } else {
-            protectedFlag = StringUtils.isNotEmpty(article.getPassword());
-            article.setIsPasswd(protectedFlag ? 0 : 1);
-        }
-        article.setPasswordProtected(protectedFlag);
-        article.setPassword(null);
-        article.setPasswordVerified(null);
-        article.setClearPassword(null);
-    }
-
     private void applyCopyPolicy(Article article, TenantProtectionSettings protectionSettings) {
         if (protectionSettings == null) {
             return;
@@ -1016,49 +1098,4 @@ public class FrontArticleController extends BaseController {
 
         return Integer.MAX_VALUE;
     }
-
-    /**
-     * 处理文章内容中的图片URL域名替换
-     * 将旧的域名替换为新的域名
-     */
-    private Article processArticleImageUrls(Article article) {
-        if (article == null) {
-            return article;
-        }
-
-        // 定义域名映射
-        String oldDomain = "http://aipic.dataguan.com";
-        String newDomain = "https://aipic.easyjx.cn";
-
-        // 处理主内容
-        if (StringUtils.isNotEmpty(article.getContent())) {
-            String updatedContent = article.getContent()
-                    .replace("src=\"" + oldDomain, "src=\"" + newDomain)
-                    .replace("src='" + oldDomain, "src='" + newDomain);
-            article.setContent(updatedContent);
-        }
-
-        // 处理预览内容
-        if (StringUtils.isNotEmpty(article.getPreviewContent())) {
-            String updatedPreviewContent = article.getPreviewContent()
-                    .replace("src=\"" + oldDomain, "src=\"" + newDomain)
-                    .replace("src='" + oldDomain, "src='" + newDomain);
-            article.setPreviewContent(updatedPreviewContent);
-        }
-
-        // 处理会员内容
-        if (StringUtils.isNotEmpty(article.getMemberContent())) {
-            String updatedMemberContent = article.getMemberContent()
-                    .replace("src=\"" + oldDomain, "src=\"" + newDomain)
-                    .replace("src='" + oldDomain, "src='" + newDomain);
-            article.setMemberContent(updatedMemberContent);
-        }
-
-        // 处理封面图片
-        if (StringUtils.isNotEmpty(article.getCoverImage()) && article.getCoverImage().startsWith(oldDomain)) {
-            article.setCoverImage(article.getCoverImage().replace(oldDomain, newDomain));
-        }
-
-        return article;
-    }
 }
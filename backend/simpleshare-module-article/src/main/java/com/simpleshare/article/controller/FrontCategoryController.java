@@ -4,6 +4,8 @@ import com.simpleshare.article.domain.Category;
 import com.simpleshare.article.service.ICategoryService;
 import com.simpleshare.common.core.controller.BaseController;
 import com.simpleshare.common.core.domain.AjaxResult;
+import com.simpleshare.common.enums.DataSourceType;
+import com.simpleshare.framework.aspectj.lang.annotation.DataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,6 +17,7 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/article/front/categories")
+@DataSource(DataSourceType.SLAVE)
 public class FrontCategoryController extends BaseController {
     
     @Autowired
@@ -54,6 +54,10 @@ public class Article extends BaseEntity {
     // @Excel(name = "封面图片")
     private String coverImage;
 
+    /** 封面图片缩略图（img srcset），没有缩略图时为空 */
+    @TableField(exist = false)
+    private String coverSrcset;
+
     /** 分类ID */
     // @Excel(name = "分类ID")
     private Long categoryId;
@@ -159,6 +163,10 @@ public class Article extends BaseEntity {
     @TableField(exist = false)
     private Boolean clearPassword;
 
+    /** 密码校验通过后签发的解锁凭证（瞬时字段），后续请求通过 X-Article-Unlock 请求头带回 */
+    @TableField(exist = false)
+    private String unlockToken;
+
     /** 标签，逗号分隔 */
     private String tags;
 
@@ -192,6 +200,10 @@ public class Article extends BaseEntity {
     @TableField(exist = false)
     private Boolean memberContentLocked;
 
+    /** 当前用户是否已点赞（非持久化字段，未登录时为空） */
+    @TableField(exist = false)
+    private Boolean liked;
+
     public void setArticleId(Long articleId) {
         this.articleId = articleId;
     }
@@ -256,6 +268,14 @@ public class Article extends BaseEntity {
         return coverImage;
     }
 
+    public String getCoverSrcset() {
+        return coverSrcset;
+    }
+
+    public void setCoverSrcset(String coverSrcset) {
+        this.coverSrcset = coverSrcset;
+    }
+
     public void setCategoryId(Long categoryId) {
         this.categoryId = categoryId;
     }
@@ -460,6 +480,14 @@ public class Article extends BaseEntity {
         this.clearPassword = clearPassword;
     }
 
+    public String getUnlockToken() {
+        return unlockToken;
+    }
+
+    public void setUnlockToken(String unlockToken) {
+        this.unlockToken = unlockToken;
+    }
+
     public String getSeoDescription() {
         return seoDescription;
     }
@@ -520,6 +548,14 @@ public class Article extends BaseEntity {
         this.accessDeniedReason = accessDeniedReason;
     }
 
+    public Boolean getLiked() {
+        return liked;
+    }
+
+    public void setLiked(Boolean liked) {
+        this.liked = liked;
+    }
+
     public Boolean getHasMemberContent() {
         return hasMemberContent;
     }
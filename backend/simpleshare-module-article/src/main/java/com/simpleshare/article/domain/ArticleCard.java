@@ -0,0 +1,446 @@
+package com.simpleshare.article.domain;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * 文章卡片（列表投影）
+ * <p>
+ * 列表、分页、首页推荐与搜索只查询卡片字段，不加载正文、会员内容与预览内容，
+ * 正文只在详情接口按需读取。JSON 字段名与 {@link Article} 保持一致。
+ *
+ * @author SimpleShare
+ */
+public class ArticleCard implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** 文章ID */
+    private Long articleId;
+
+    /** 租户ID */
+    private Long tenantId;
+
+    /** 文章标题 */
+    private String title;
+
+    /** 文章摘要 */
+    private String summary;
+
+    /** 封面图片 */
+    private String coverImage;
+
+    /** 封面图片缩略图（img srcset），没有缩略图时为空 */
+    private String coverSrcset;
+
+    /** 分类ID */
+    private Long categoryId;
+
+    /** 分类名称 */
+    private String categoryName;
+
+    /** 作者ID */
+    private Long authorId;
+
+    /** 作者名称 */
+    private String authorName;
+
+    /** 标签，逗号分隔 */
+    private String tags;
+
+    /** 文章状态（0草稿 1已发布 2已下线） */
+    private Integer status;
+
+    /** 审核状态（0待审核 1通过 2未通过） */
+    private Integer reviewStatus;
+
+    /** 访问级别（0公开 1会员 2私密） */
+    private Integer accessLevel;
+
+    /** 是否启用分级阅读（0否 1是） */
+    private String enableTieredRead;
+
+    /** 是否置顶（0否 1是） */
+    private Integer isTop;
+
+    /** 是否推荐（0否 1是） */
+    private Integer isRecommend;
+
+    /** 是否启用密码：0启用 1不启用 */
+    private Integer isPasswd;
+
+    /** 是否包含会员内容 */
+    private Boolean hasMemberContent;
+
+    /** 浏览次数 */
+    private Long viewCount;
+
+    /** 点赞次数 */
+    private Long likeCount;
+
+    /** 收藏次数 */
+    private Long collectCount;
+
+    /** 评论次数 */
+    private Long commentCount;
+
+    /** 排序 */
+    private Integer orderNum;
+
+    /** 发布时间 */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date publishTime;
+
+    /** 创建者 */
+    private Long createBy;
+
+    /** 创建时间 */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+
+    /** 更新时间 */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+
+    /** 允许复制（仅后台列表使用） */
+    @JsonIgnore
+    private String allowCopy;
+
+    /** 是否启用水印（仅后台列表使用） */
+    @JsonIgnore
+    private String enableWatermark;
+
+    /** 备注（仅后台列表使用） */
+    @JsonIgnore
+    private String remark;
+
+    /** 搜索命中的正文片段（仅搜索使用，未经处理的原文） */
+    @JsonIgnore
+    private String contentSnippet;
+
+    /** 热门统计窗口内的浏览量（仅热门列表排序使用） */
+    @JsonIgnore
+    private Long recentViews;
+
+    /** 搜索高亮片段（仅全文检索返回，已转义，命中词以 em 标记） */
+    private String highlight;
+
+    /** 当前用户是否已收藏（仅列表接口按用户填充，未登录时为空） */
+    private Boolean favorited;
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public String getCoverImage() {
+        return coverImage;
+    }
+
+    public void setCoverImage(String coverImage) {
+        this.coverImage = coverImage;
+    }
+
+    public String getCoverSrcset() {
+        return coverSrcset;
+    }
+
+    public void setCoverSrcset(String coverSrcset) {
+        this.coverSrcset = coverSrcset;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public void setTags(String tags) {
+        this.tags = tags;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Integer getReviewStatus() {
+        return reviewStatus;
+    }
+
+    public void setReviewStatus(Integer reviewStatus) {
+        this.reviewStatus = reviewStatus;
+    }
+
+    public Integer getAccessLevel() {
+        return accessLevel;
+    }
+
+    public void setAccessLevel(Integer accessLevel) {
+        this.accessLevel = accessLevel;
+    }
+
+    public String getEnableTieredRead() {
+        return enableTieredRead;
+    }
+
+    public void setEnableTieredRead(String enableTieredRead) {
+        this.enableTieredRead = enableTieredRead;
+    }
+
+    public Integer getIsTop() {
+        return isTop;
+    }
+
+    public void setIsTop(Integer isTop) {
+        this.isTop = isTop;
+    }
+
+    public Integer getIsRecommend() {
+        return isRecommend;
+    }
+
+    public void setIsRecommend(Integer isRecommend) {
+        this.isRecommend = isRecommend;
+    }
+
+    public Integer getIsPasswd() {
+        return isPasswd;
+    }
+
+    public void setIsPasswd(Integer isPasswd) {
+        this.isPasswd = isPasswd;
+    }
+
+    /**
+     * 是否开启密码保护，由 isPasswd 推导
+     */
+    public Boolean getPasswordProtected() {
+        return Integer.valueOf(0).equals(isPasswd);
+    }
+
+    public Boolean getHasMemberContent() {
+        return hasMemberContent;
+    }
+
+    public void setHasMemberContent(Boolean hasMemberContent) {
+        this.hasMemberContent = hasMemberContent;
+    }
+
+    /**
+     * 列表不下发会员内容，始终视为未锁定
+     */
+    public Boolean getMemberContentLocked() {
+        return Boolean.FALSE;
+    }
+
+    public Long getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Long viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public Long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(Long likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public Long getCollectCount() {
+        return collectCount;
+    }
+
+    public void setCollectCount(Long collectCount) {
+        this.collectCount = collectCount;
+    }
+
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public Integer getOrderNum() {
+        return orderNum;
+    }
+
+    public void setOrderNum(Integer orderNum) {
+        this.orderNum = orderNum;
+    }
+
+    public Date getPublishTime() {
+        return publishTime;
+    }
+
+    public void setPublishTime(Date publishTime) {
+        this.publishTime = publishTime;
+    }
+
+    public Long getCreateBy() {
+        return createBy;
+    }
+
+    public void setCreateBy(Long createBy) {
+        this.createBy = createBy;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public String getAllowCopy() {
+        return allowCopy;
+    }
+
+    public void setAllowCopy(String allowCopy) {
+        this.allowCopy = allowCopy;
+    }
+
+    public String getEnableWatermark() {
+        return enableWatermark;
+    }
+
+    public void setEnableWatermark(String enableWatermark) {
+        this.enableWatermark = enableWatermark;
+    }
+
+    public String getRemark() {
+        return remark;
+    }
+
+    public void setRemark(String remark) {
+        this.remark = remark;
+    }
+
+    public String getContentSnippet() {
+        return contentSnippet;
+    }
+
+    public void setContentSnippet(String contentSnippet) {
+        this.contentSnippet = contentSnippet;
+    }
+
+    public Long getRecentViews() {
+        return recentViews;
+    }
+
+    public void setRecentViews(Long recentViews) {
+        this.recentViews = recentViews;
+    }
+
+    public String getHighlight() {
+        return highlight;
+    }
+
+    public void setHighlight(String highlight) {
+        this.highlight = highlight;
+    }
+
+    public Boolean getFavorited() {
+        return favorited;
+    }
+
+    public void setFavorited(Boolean favorited) {
+        this.favorited = favorited;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.MULTI_LINE_STYLE)
+                .append("articleId", getArticleId())
+                .append("tenantId", getTenantId())
+                .append("title", getTitle())
+                .append("categoryId", getCategoryId())
+                .append("authorId", getAuthorId())
+                .append("status", getStatus())
+                .append("reviewStatus", getReviewStatus())
+                .append("viewCount", getViewCount())
+                .append("likeCount", getLikeCount())
+                .append("collectCount", getCollectCount())
+                .append("publishTime", getPublishTime())
+                .toString();
+    }
+}
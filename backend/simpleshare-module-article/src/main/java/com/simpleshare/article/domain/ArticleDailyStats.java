@@ -0,0 +1,89 @@
+package com.simpleshare.article.domain;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * 文章每日访问统计
+ *
+ * 对应表：article_daily_stats，(stat_date, article_id) 唯一；由 Redis 中的当日计数与 HyperLogLog 定时汇总写入
+ *
+ * @author SimpleShare
+ */
+@TableName("article_daily_stats")
+public class ArticleDailyStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 统计日期 */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate statDate;
+
+    /** 文章ID，按日期汇总时为空 */
+    private Long articleId;
+
+    /** 租户ID */
+    private Long tenantId;
+
+    /** 浏览量 */
+    private Long viewCount;
+
+    /** 独立访客数（HyperLogLog 估算，按日期汇总时为各文章访客数之和） */
+    private Long visitorCount;
+
+    /** 最近汇总时间 */
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private Date updateTime;
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public Long getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Long viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public Long getVisitorCount() {
+        return visitorCount;
+    }
+
+    public void setVisitorCount(Long visitorCount) {
+        this.visitorCount = visitorCount;
+    }
+
+    public Date getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(Date updateTime) {
+        this.updateTime = updateTime;
+    }
+}
@@ -0,0 +1,61 @@
+package com.simpleshare.article.domain.dto;
+
+import java.io.Serializable;
+
+/**
+ * 单篇文章待落库的计数增量（浏览/点赞/收藏）
+ */
+public class ArticleCounterDelta implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long articleId;
+
+    private long viewDelta;
+
+    private long likeDelta;
+
+    private long collectDelta;
+
+    public ArticleCounterDelta() {
+    }
+
+    public ArticleCounterDelta(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public boolean isEmpty() {
+        return viewDelta == 0 && likeDelta == 0 && collectDelta == 0;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public long getViewDelta() {
+        return viewDelta;
+    }
+
+    public void setViewDelta(long viewDelta) {
+        this.viewDelta = viewDelta;
+    }
+
+    public long getLikeDelta() {
+        return likeDelta;
+    }
+
+    public void setLikeDelta(long likeDelta) {
+        this.likeDelta = likeDelta;
+    }
+
+    public long getCollectDelta() {
+        return collectDelta;
+    }
+
+    public void setCollectDelta(long collectDelta) {
+        this.collectDelta = collectDelta;
+    }
+}
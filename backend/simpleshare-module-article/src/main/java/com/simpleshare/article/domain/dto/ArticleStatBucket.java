@@ -0,0 +1,193 @@
+package com.simpleshare.article.domain.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章统计聚合行（总览、分类/访问级别/日期分组共用）
+ * <p>
+ * 数据库分组聚合与内存单次遍历回退填充同一结构，看板只依赖这里的数值。
+ */
+public class ArticleStatBucket implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** 分组键：分类ID、访问级别、日期（yyyy-MM-dd）或标签，总览时为空 */
+    private String bucketKey;
+
+    private long articleCount;
+
+    /** 审核通过 */
+    private long approvedCount;
+
+    private long draftCount;
+
+    private long offlineCount;
+
+    /** 会员/私密或启用密码 */
+    private long privateCount;
+
+    private long pendingCount;
+
+    private long rejectedCount;
+
+    private long viewCount;
+
+    private long likeCount;
+
+    private long collectCount;
+
+    private long commentCount;
+
+    private long shareCount;
+
+    /** 近7天新建 */
+    private long weeklyNewCount;
+
+    /** 今日新建 */
+    private long todayNewCount;
+
+    /** 最早草稿创建时间 */
+    private LocalDateTime oldestDraftTime;
+
+    public ArticleStatBucket() {
+    }
+
+    public ArticleStatBucket(String bucketKey) {
+        this.bucketKey = bucketKey;
+    }
+
+    /**
+     * 互动总数（点赞 + 评论 + 收藏 + 分享）
+     */
+    public long getEngagement() {
+        return likeCount + commentCount + collectCount + shareCount;
+    }
+
+    public String getBucketKey() {
+        return bucketKey;
+    }
+
+    public void setBucketKey(String bucketKey) {
+        this.bucketKey = bucketKey;
+    }
+
+    public long getArticleCount() {
+        return articleCount;
+    }
+
+    public void setArticleCount(long articleCount) {
+        this.articleCount = articleCount;
+    }
+
+    public long getApprovedCount() {
+        return approvedCount;
+    }
+
+    public void setApprovedCount(long approvedCount) {
+        this.approvedCount = approvedCount;
+    }
+
+    public long getDraftCount() {
+        return draftCount;
+    }
+
+    public void setDraftCount(long draftCount) {
+        this.draftCount = draftCount;
+    }
+
+    public long getOfflineCount() {
+        return offlineCount;
+    }
+
+    public void setOfflineCount(long offlineCount) {
+        this.offlineCount = offlineCount;
+    }
+
+    public long getPrivateCount() {
+        return privateCount;
+    }
+
+    public void setPrivateCount(long privateCount) {
+        this.privateCount = privateCount;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public void setPendingCount(long pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public long getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(long viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(long likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public long getCollectCount() {
+        return collectCount;
+    }
+
+    public void setCollectCount(long collectCount) {
+        this.collectCount = collectCount;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public long getShareCount() {
+        return shareCount;
+    }
+
+    public void setShareCount(long shareCount) {
+        this.shareCount = shareCount;
+    }
+
+    public long getWeeklyNewCount() {
+        return weeklyNewCount;
+    }
+
+    public void setWeeklyNewCount(long weeklyNewCount) {
+        this.weeklyNewCount = weeklyNewCount;
+    }
+
+    public long getTodayNewCount() {
+        return todayNewCount;
+    }
+
+    public void setTodayNewCount(long todayNewCount) {
+        this.todayNewCount = todayNewCount;
+    }
+
+    public LocalDateTime getOldestDraftTime() {
+        return oldestDraftTime;
+    }
+
+    public void setOldestDraftTime(LocalDateTime oldestDraftTime) {
+        this.oldestDraftTime = oldestDraftTime;
+    }
+}
@@ -3,6 +3,7 @@ package com.simpleshare.article.dto;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
 import com.simpleshare.article.enums.ArticleReviewStatus;
 import com.simpleshare.common.utils.StringUtils;
 
@@ -108,6 +109,51 @@ public class ArticleAdminResponse {
         return response;
     }
 
+    /**
+     * Builds a list row from a card projection; body fields stay empty.
+     */
+    public static ArticleAdminResponse fromCard(ArticleCard card) {
+        ArticleAdminResponse response = new ArticleAdminResponse();
+        response.setIsPasswd(card.getIsPasswd() != null ? card.getIsPasswd() : 1);
+        if (card.getArticleId() != null) {
+            response.setId(String.valueOf(card.getArticleId()));
+        }
+        response.setTitle(card.getTitle());
+        response.setSummary(card.getSummary());
+        response.setStatus(mapStatusToString(card.getStatus()));
+        ArticleReviewStatus reviewStatus = ArticleReviewStatus.fromCode(card.getReviewStatus());
+        response.setReviewStatus(reviewStatus.getCode());
+        response.setReviewStatusLabel(reviewStatus.getLabel());
+        response.setPendingReview(reviewStatus.isPending());
+        response.setReviewApproved(reviewStatus.isApproved());
+        response.setReviewRejected(reviewStatus.isRejected());
+        response.setCategoryId(card.getCategoryId() != null ? String.valueOf(card.getCategoryId()) : null);
+        response.setCategoryName(card.getCategoryName());
+        response.setViewCount(card.getViewCount());
+        response.setLikeCount(card.getLikeCount());
+        response.setCommentCount(card.getCommentCount());
+        response.setAllowCopy("1".equals(card.getAllowCopy()));
+        response.setTieredReading(!"0".equals(card.getEnableTieredRead()));
+        response.setCoverImage(card.getCoverImage());
+        response.setTags(parseTags(card.getTags()));
+        response.setTop(Integer.valueOf(1).equals(card.getIsTop()));
+        response.setRecommend(Integer.valueOf(1).equals(card.getIsRecommend()));
+        response.setWatermarkEnabled(!"0".equals(card.getEnableWatermark()));
+        response.setAllowComments(resolveAllowComments(card.getRemark()));
+        response.setAccessLevel(card.getAccessLevel());
+        response.setPasswordProtected(Boolean.TRUE.equals(card.getPasswordProtected()));
+        if (card.getCreateTime() != null) {
+            response.setCreatedAt(FORMATTER.format(card.getCreateTime()));
+        }
+        if (card.getUpdateTime() != null) {
+            response.setUpdatedAt(FORMATTER.format(card.getUpdateTime()));
+        }
+        if (card.getPublishTime() != null) {
+            response.setPublishedAt(FORMATTER.format(card.getPublishTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()));
+        }
+        return response;
+    }
+
     private static String mapStatus(String status) {
         // 返回数据库原始值，不进行转换
         if (StringUtils.isEmpty(status)) {
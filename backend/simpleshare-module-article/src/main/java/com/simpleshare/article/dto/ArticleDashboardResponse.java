@@ -186,6 +186,14 @@ public class ArticleDashboardResponse {
             this.totalViews = totalViews;
         }
 
+        public long getTotalVisitors() {
+            return totalVisitors;
+        }
+
+        public void setTotalVisitors(long totalVisitors) {
+            this.totalVisitors = totalVisitors;
+        }
+
         public long getTotalLikes() {
             return totalLikes;
         }
@@ -262,6 +270,7 @@ public class ArticleDashboardResponse {
     public static class Trend {
         private List<TrendPoint> points = new ArrayList<>();
         private long totalViews;
+        private long totalVisitors;
         private double averageViewsPerArticle;
         private double wowChange;
 
@@ -302,6 +311,7 @@ public class ArticleDashboardResponse {
         private String date;
         private long published;
         private long views;
+        private long visitors;
         private long likes;
         private long comments;
         private long shares;
@@ -330,6 +340,14 @@ public class ArticleDashboardResponse {
             this.views = views;
         }
 
+        public long getVisitors() {
+            return visitors;
+        }
+
+        public void setVisitors(long visitors) {
+            this.visitors = visitors;
+        }
+
         public long getLikes() {
             return likes;
         }
@@ -0,0 +1,41 @@
+package com.simpleshare.article.mapper;
+
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleDailyStats;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 文章每日访问统计 Mapper
+ *
+ * @author SimpleShare
+ */
+public interface ArticleDailyStatsMapper extends BaseMapper<ArticleDailyStats> {
+
+    /**
+     * 写入或覆盖某日的文章统计，租户取自文章；计数为当日累计值，重复汇总结果不变
+     *
+     * @param statDate 统计日期
+     * @param stats    文章统计（articleId、viewCount、visitorCount）
+     * @return 影响行数
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    int upsertDailyStats(@Param("statDate") LocalDate statDate, @Param("stats") List<ArticleDailyStats> stats);
+
+    /**
+     * 按日期汇总浏览量与访客数，文章筛选条件与统计看板一致；联表查询由调用方显式带上租户条件
+     *
+     * @param query 文章筛选条件（tenantId、status、accessLevel、categoryId、authorId）
+     * @param from  开始日期（含）
+     * @param to    结束日期（含）
+     * @return 每日汇总，无访问的日期不返回
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<ArticleDailyStats> selectDailyTotals(@Param("query") Article query,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+}
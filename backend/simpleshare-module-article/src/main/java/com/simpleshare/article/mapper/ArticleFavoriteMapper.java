@@ -1,11 +1,13 @@
 package com.simpleshare.article.mapper;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.simpleshare.article.domain.ArticleFavorite;
 import com.simpleshare.article.dto.ArticleFavoriteView;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -42,6 +44,26 @@ public interface ArticleFavoriteMapper extends BaseMapper<ArticleFavorite> {
      */
     int deleteByIds(@Param("userId") Long userId, @Param("ids") List<Long> favoriteIds);
 
+    /**
+     * 查询用户收藏的文章ID，最多 limit 条（文章ID全局唯一，不附加租户条件）
+     *
+     * @param userId 用户ID
+     * @param limit  最大条数
+     * @return 文章ID列表
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<Long> selectArticleIdsByUser(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * 查询用户在给定文章中收藏过的文章ID（文章ID全局唯一，不附加租户条件）
+     *
+     * @param userId     用户ID
+     * @param articleIds 文章ID列表
+     * @return 已收藏的文章ID
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<Long> selectFavoritedArticleIds(@Param("userId") Long userId, @Param("articleIds") Collection<Long> articleIds);
+
     /**
      * 分页查询收藏记录（携带文章信息）
      *
@@ -0,0 +1,58 @@
+package com.simpleshare.article.mapper;
+
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.simpleshare.article.domain.ArticleLike;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章点赞 Mapper
+ *
+ * @author SimpleShare
+ */
+public interface ArticleLikeMapper extends BaseMapper<ArticleLike> {
+
+    /**
+     * 批量写入点赞记录，已存在的忽略；租户取自文章
+     *
+     * @param articleId 文章ID
+     * @param userIds   用户ID列表
+     * @return 新增行数
+     */
+    int insertLikes(@Param("articleId") Long articleId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 批量删除点赞记录
+     *
+     * @param articleId 文章ID
+     * @param userIds   用户ID列表
+     * @return 影响行数
+     */
+    int deleteLikes(@Param("articleId") Long articleId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 按用户ID游标分页读取文章的点赞用户，用于重建位图（跨租户）
+     *
+     * @param articleId   文章ID
+     * @param afterUserId 上一页最后一个用户ID
+     * @param limit       每页数量
+     * @return 用户ID列表（升序）
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<Long> selectUserIdsAfter(@Param("articleId") Long articleId,
+                                  @Param("afterUserId") Long afterUserId,
+                                  @Param("limit") int limit);
+
+    /**
+     * 查询用户在给定文章中点赞过的文章ID（文章ID全局唯一，不再附加租户条件）
+     *
+     * @param userId     用户ID
+     * @param articleIds 文章ID列表
+     * @return 已点赞的文章ID
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<Long> selectLikedArticleIds(@Param("userId") Long userId, @Param("articleIds") Collection<Long> articleIds);
+}
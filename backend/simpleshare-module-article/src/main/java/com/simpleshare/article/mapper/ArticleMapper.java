@@ -1,9 +1,15 @@
 package com.simpleshare.article.mapper;
 
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
+import com.simpleshare.article.domain.dto.ArticleCounterDelta;
+import com.simpleshare.article.domain.dto.ArticleStatBucket;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -20,6 +26,99 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @return 文章集合
      */
     List<Article> selectArticleList(Article article);
+
+    /**
+     * 查询文章卡片列表（后台列表，不含正文）
+     *
+     * @param article 查询条件
+     * @return 文章卡片集合
+     */
+    List<ArticleCard> selectArticleCardList(Article article);
+
+    /**
+     * 分页查询已发布的文章卡片（前台列表，不含正文）
+     *
+     * @param page  分页参数
+     * @param query 查询条件
+     * @return 文章卡片分页数据
+     */
+    Page<ArticleCard> selectPublishedArticleCardPage(Page<ArticleCard> page, @Param("query") Article query);
+
+    /**
+     * 按条件聚合文章统计（params.groupBy 为 category/access/day 时分组，否则返回单行总览）
+     *
+     * @param article 查询条件，params 中需提供 weekStart、todayStart
+     * @return 聚合结果
+     */
+    List<ArticleStatBucket> selectArticleStatBuckets(Article article);
+
+    /**
+     * 查询有标签文章的标签与计数列
+     *
+     * @param article 查询条件
+     * @return 文章集合（仅含标签与计数）
+     */
+    List<Article> selectArticleTagStats(Article article);
+
+    /**
+     * 查询统计所需的窄列（看板内存聚合回退使用）
+     *
+     * @param article 查询条件
+     * @return 文章集合（不含正文）
+     */
+    List<Article> selectArticleStatRows(Article article);
+
+    /**
+     * 看板排行（params.orderBy 为 views/engagement/latest/updated，params.limit 为条数）
+     *
+     * @param article 查询条件
+     * @return 文章集合（不含正文）
+     */
+    List<Article> selectArticleLeaderboard(Article article);
+
+    /**
+     * 按ID批量查询文章卡片
+     *
+     * @param ids 文章ID集合
+     * @return 文章卡片集合（顺序不保证）
+     */
+    List<ArticleCard> selectArticleCardListByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 查询单篇文章的全文索引数据（跨租户）
+     *
+     * @param articleId 文章ID
+     * @return 文章，不存在或已删除时返回 null
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    Article selectArticleForIndex(Long articleId);
+
+    /**
+     * 按ID顺序分批查询全文索引数据（跨租户）
+     *
+     * @param lastId 上一批最后一条的ID，首批为 null
+     * @param limit  批大小
+     * @return 文章集合
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    List<Article> selectArticlesForIndex(@Param("lastId") Long lastId, @Param("limit") int limit);
+
+    /**
+     * 根据作者ID查询已发布的文章卡片
+     *
+     * @param authorId 作者ID
+     * @return 文章卡片集合
+     */
+    List<ArticleCard> selectArticleCardListByAuthorId(Long authorId);
+
+    /**
+     * 分页搜索已发布的文章卡片，附带正文命中片段
+     *
+     * @param page    分页参数
+     * @param keyword 关键词
+     * @return 文章卡片分页数据
+     */
+    Page<ArticleCard> searchArticleCardPage(Page<ArticleCard> page, @Param("keyword") String keyword);
     
     /**
      * 根据文章ID查询文章
@@ -29,6 +128,14 @@ public interface ArticleMapper extends BaseMapper<Article> {
      */
     Article selectArticleByArticleId(Long articleId);
     
+    /**
+     * 查询文章的ID、租户、状态与点赞数，用于存在性校验，不加载正文
+     *
+     * @param articleId 文章ID
+     * @return 文章（仅含 articleId、tenantId、status、reviewStatus、likeCount），不存在或已删除时返回 null
+     */
+    Article selectArticleStatusById(Long articleId);
+    
     /**
      * 新增文章
      *
@@ -116,30 +223,39 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @return 结果
      */
     int decrementCollectCount(Long articleId);
+
+    /**
+     * 批量累加文章计数增量（浏览/点赞/收藏），结果不小于0
+     *
+     * @param deltas 计数增量
+     * @return 结果
+     */
+    int batchApplyCounterDeltas(@Param("deltas") List<ArticleCounterDelta> deltas);
     
     /**
      * 查询推荐文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectRecommendArticleList(@Param("limit") Integer limit);
+    List<ArticleCard> selectRecommendArticleList(@Param("limit") Integer limit);
     
     /**
      * 查询热门文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @param since 统计窗口起始日期，为空时按累计浏览量排序
+     * @return 文章卡片集合
      */
-    List<Article> selectHotArticleList(@Param("limit") Integer limit);
+    List<ArticleCard> selectHotArticleList(@Param("limit") Integer limit, @Param("since") LocalDate since);
     
     /**
      * 查询最新文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectLatestArticleList(@Param("limit") Integer limit);
+    List<ArticleCard> selectLatestArticleList(@Param("limit") Integer limit);
     
     /**
      * 查询相关文章列表
@@ -147,9 +263,9 @@ public interface ArticleMapper extends BaseMapper<Article> {
      * @param categoryId 分类ID
      * @param articleId  当前文章ID
      * @param limit      限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectRelatedArticleList(@Param("categoryId") Long categoryId, @Param("articleId") Long articleId, @Param("limit") Integer limit);
+    List<ArticleCard> selectRelatedArticleList(@Param("categoryId") Long categoryId, @Param("articleId") Long articleId, @Param("limit") Integer limit);
     
     /**
      * 根据作者ID查询文章列表
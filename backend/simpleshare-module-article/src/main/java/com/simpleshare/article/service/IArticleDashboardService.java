@@ -0,0 +1,32 @@
+package com.simpleshare.article.service;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.dto.ArticleStatBucket;
+import com.simpleshare.article.dto.ArticleDashboardResponse;
+
+/**
+ * 文章统计看板服务接口
+ *
+ * @author SimpleShare
+ */
+public interface IArticleDashboardService {
+
+    /**
+     * 构建后台文章看板
+     *
+     * @param query     筛选条件（状态、访问级别、分类、作者等）
+     * @param range     时间范围预设（7d/30d/90d/180d）
+     * @param startDate 开始日期（yyyy-MM-dd），可为空
+     * @param endDate   结束日期（yyyy-MM-dd），可为空
+     * @return 看板数据
+     */
+    ArticleDashboardResponse buildDashboard(Article query, String range, String startDate, String endDate);
+
+    /**
+     * 按条件汇总文章数量与计数
+     *
+     * @param query 筛选条件
+     * @return 汇总结果
+     */
+    ArticleStatBucket selectArticleStats(Article query);
+}
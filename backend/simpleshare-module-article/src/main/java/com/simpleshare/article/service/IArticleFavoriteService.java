@@ -4,7 +4,9 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.simpleshare.article.domain.ArticleFavorite;
 import com.simpleshare.article.dto.ArticleFavoriteView;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 文章收藏服务接口
@@ -53,6 +55,14 @@ public interface IArticleFavoriteService {
      */
     ArticleFavorite checkFavorite(Long articleId);
 
+    /**
+     * 批量查询当前用户收藏了哪些文章，未登录返回空集合
+     *
+     * @param articleIds 文章ID集合
+     * @return 已收藏的文章ID
+     */
+    Set<Long> selectFavoritedArticleIds(Collection<Long> articleIds);
+
     /**
      * 分页查询收藏记录
      *
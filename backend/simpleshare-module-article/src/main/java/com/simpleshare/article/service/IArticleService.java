@@ -1,10 +1,13 @@
 package com.simpleshare.article.service;
 
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
 import com.simpleshare.article.enums.ArticleReviewStatus;
 import com.simpleshare.common.core.page.TableDataInfo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 文章Service接口
@@ -28,6 +31,14 @@ public interface IArticleService {
      * @return 文章集合
      */
     List<Article> selectArticleList(Article article);
+
+    /**
+     * 查询文章卡片列表（不含正文）
+     *
+     * @param article 查询条件
+     * @return 文章卡片集合
+     */
+    List<ArticleCard> selectArticleCardList(Article article);
     
     /**
      * 分页查询文章列表
@@ -81,7 +92,7 @@ public interface IArticleService {
      * 分页查询已发布的文章列表（前台使用）
      *
      * @param article 文章
-     * @return 文章分页数据
+     * @return 文章卡片分页数据
      */
     TableDataInfo selectPublishedArticlePage(Article article);
     
@@ -120,28 +131,51 @@ public interface IArticleService {
     int recommendArticle(Long articleId, String isRecommend);
     
     /**
-     * 增加文章浏览次数
+     * 增加文章浏览次数（写入计数缓冲，异步落库）
      *
      * @param articleId 文章ID
-     * @return 结果
      */
-    int incrementViewCount(Long articleId);
+    void incrementViewCount(Long articleId);
     
     /**
-     * 点赞文章
+     * 点赞文章，重复点赞不重复计数
      *
      * @param articleId 文章ID
-     * @return 结果
+     * @return 本次是否新增了点赞，已点赞时返回 false
      */
-    int likeArticle(Long articleId);
+    boolean likeArticle(Long articleId);
     
     /**
-     * 取消点赞文章
+     * 取消点赞文章，未点赞时不扣减计数
      *
      * @param articleId 文章ID
-     * @return 结果
+     * @return 本次是否取消了点赞，未点赞时返回 false
+     */
+    boolean unlikeArticle(Long articleId);
+    
+    /**
+     * 当前用户是否已点赞文章，未登录返回 false
+     *
+     * @param articleId 文章ID
+     * @return 是否已点赞
+     */
+    boolean isArticleLiked(Long articleId);
+    
+    /**
+     * 批量查询当前用户已点赞的文章，未登录返回空集合
+     *
+     * @param articleIds 文章ID集合
+     * @return 已点赞的文章ID
+     */
+    Set<Long> selectLikedArticleIds(Collection<Long> articleIds);
+    
+    /**
+     * 查询文章点赞数，与详情页一致：已落库的 like_count 叠加尚未落库的增量
+     *
+     * @param articleId 文章ID
+     * @return 点赞数，文章不存在时返回 0
      */
-    int unlikeArticle(Long articleId);
+    long countArticleLikes(Long articleId);
     
     /**
      * 收藏文章
@@ -163,25 +197,25 @@ public interface IArticleService {
      * 查询推荐文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectRecommendArticleList(Integer limit);
+    List<ArticleCard> selectRecommendArticleList(Integer limit);
     
     /**
      * 查询热门文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectHotArticleList(Integer limit);
+    List<ArticleCard> selectHotArticleList(Integer limit);
     
     /**
      * 查询最新文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectLatestArticleList(Integer limit);
+    List<ArticleCard> selectLatestArticleList(Integer limit);
     
     /**
      * 查询相关文章列表
@@ -189,17 +223,17 @@ public interface IArticleService {
      * @param categoryId 分类ID
      * @param articleId  当前文章ID
      * @param limit      限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectRelatedArticleList(Long categoryId, Long articleId, Integer limit);
+    List<ArticleCard> selectRelatedArticleList(Long categoryId, Long articleId, Integer limit);
     
     /**
      * 根据作者ID查询文章列表
      *
      * @param authorId 作者ID
-     * @return 文章集合
+     * @return 文章卡片集合
      */
-    List<Article> selectArticleListByAuthorId(Long authorId);
+    List<ArticleCard> selectArticleListByAuthorId(Long authorId);
     
     /**
      * 搜索文章
@@ -215,7 +249,7 @@ public interface IArticleService {
      * @param keyword 关键词
      * @param pageNum 页码
      * @param pageSize 页大小
-     * @return 文章分页数据
+     * @return 文章卡片分页数据
      */
     TableDataInfo searchArticlesPage(String keyword, Integer pageNum, Integer pageSize);
     
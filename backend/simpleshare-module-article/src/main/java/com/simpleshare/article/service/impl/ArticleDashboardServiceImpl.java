@@ -0,0 +1,731 @@
+package com.simpleshare.article.service.impl;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleDailyStats;
+import com.simpleshare.article.domain.Category;
+import com.simpleshare.article.domain.dto.ArticleStatBucket;
+import com.simpleshare.article.dto.ArticleDashboardResponse;
+import com.simpleshare.article.mapper.ArticleDailyStatsMapper;
+import com.simpleshare.article.mapper.ArticleMapper;
+import com.simpleshare.article.service.IArticleDashboardService;
+import com.simpleshare.article.service.ICategoryService;
+import com.simpleshare.article.service.support.ArticleAuthorResolver;
+import com.simpleshare.article.service.support.ArticleCounterManager;
+import com.simpleshare.article.service.support.ArticleViewStats;
+import com.simpleshare.common.utils.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 文章统计看板服务
+ * <p>
+ * 总览、区间对比、日趋势、分类与访问级别分布均由数据库 GROUP BY/SUM 聚合得到，排行与审核动态为
+ * 带 limit 的排序查询，不再把整个租户的文章（含正文）加载到内存。聚合查询关闭或失败时，
+ * 回退为读取统计所需窄列并在内存中单次遍历完成全部聚合。
+ * <p>
+ * 日趋势的浏览量/访客数与浏览环比取自 article_daily_stats（按访问发生日统计），
+ * 访问统计关闭或查询失败时沿用按文章活跃日期归集的累计浏览量。
+ *
+ * @author SimpleShare
+ */
+@Service
+public class ArticleDashboardServiceImpl implements IArticleDashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleDashboardServiceImpl.class);
+
+    private static final String GROUP_CATEGORY = "category";
+    private static final String GROUP_ACCESS = "access";
+    private static final String GROUP_DAY = "day";
+
+    private static final String UNCATEGORIZED = "uncategorized";
+
+    private static final int CATEGORY_SEGMENT_LIMIT = 6;
+    private static final int TAG_SEGMENT_LIMIT = 8;
+    private static final int LEADERBOARD_LIMIT = 6;
+    private static final int MODERATION_LIMIT = 8;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private ICategoryService categoryService;
+
+    @Autowired
+    private ArticleCounterManager articleCounterManager;
+
+    @Autowired
+    private ArticleAuthorResolver articleAuthorResolver;
+
+    @Autowired
+    private ArticleDailyStatsMapper articleDailyStatsMapper;
+
+    @Autowired
+    private ArticleViewStats articleViewStats;
+
+    @Value("${simpleshare.article.dashboard.sql-aggregation:true}")
+    private boolean sqlAggregation;
+
+    @Override
+    public ArticleDashboardResponse buildDashboard(Article query, String range, String startDate, String endDate) {
+        RangeDefinition rangeDefinition = resolveRange(range, startDate, endDate);
+        DashboardAggregates aggregates = null;
+        if (sqlAggregation) {
+            try {
+                aggregates = aggregateInDatabase(query, rangeDefinition);
+            } catch (DataAccessException ex) {
+                log.warn("Dashboard aggregation query failed, falling back to in-memory aggregation: {}", ex.getMessage());
+            }
+        }
+        if (aggregates == null) {
+            aggregates = aggregateInMemory(query, rangeDefinition);
+        }
+        aggregates.dailyViews = loadDailyViews(query, rangeDefinition);
+        return buildResponse(query, rangeDefinition, aggregates);
+    }
+
+    @Override
+    public ArticleStatBucket selectArticleStats(Article query) {
+        if (sqlAggregation) {
+            try {
+                return single(articleMapper.selectArticleStatBuckets(statFilter(query, null, null, null)));
+            } catch (DataAccessException ex) {
+                log.warn("Article stats aggregation query failed, falling back to in-memory aggregation: {}", ex.getMessage());
+            }
+        }
+        ArticleStatBucket bucket = new ArticleStatBucket();
+        LocalDate today = LocalDate.now();
+        for (Article article : articleMapper.selectArticleStatRows(statFilter(query, null, null, null))) {
+            accumulate(bucket, article, today.minusDays(6), today);
+        }
+        return bucket;
+    }
+
+    private DashboardAggregates aggregateInDatabase(Article query, RangeDefinition range) {
+        DashboardAggregates aggregates = new DashboardAggregates();
+        aggregates.overview = single(articleMapper.selectArticleStatBuckets(statFilter(query, null, null, null)));
+        aggregates.current = single(articleMapper.selectArticleStatBuckets(
+                statFilter(query, null, range.getStart(), range.getEnd())));
+        aggregates.previous = single(articleMapper.selectArticleStatBuckets(
+                statFilter(query, null, range.getPreviousStart(), range.getPreviousEnd())));
+        for (ArticleStatBucket bucket : articleMapper.selectArticleStatBuckets(
+                statFilter(query, GROUP_DAY, range.getStart(), range.getEnd()))) {
+            if (bucket != null && bucket.getBucketKey() != null) {
+                aggregates.daily.put(LocalDate.parse(bucket.getBucketKey()), bucket);
+            }
+        }
+        for (ArticleStatBucket bucket : articleMapper.selectArticleStatBuckets(statFilter(query, GROUP_CATEGORY, null, null))) {
+            String key = bucket.getBucketKey() != null ? bucket.getBucketKey() : UNCATEGORIZED;
+            bucket.setBucketKey(key);
+            aggregates.categories.put(key, bucket);
+        }
+        for (ArticleStatBucket bucket : articleMapper.selectArticleStatBuckets(statFilter(query, GROUP_ACCESS, null, null))) {
+            aggregates.accessLevels.put(bucket.getBucketKey(), bucket);
+        }
+        for (Article article : articleMapper.selectArticleTagStats(statFilter(query, null, null, null))) {
+            accumulateTags(aggregates.tags, article);
+        }
+        return aggregates;
+    }
+
+    /**
+     * 读取当前与环比区间的每日浏览量/访客数，不可用时返回 null
+     */
+    private Map<LocalDate, ArticleDailyStats> loadDailyViews(Article query, RangeDefinition range) {
+        if (!articleViewStats.isEnabled()) {
+            return null;
+        }
+        try {
+            Map<LocalDate, ArticleDailyStats> dailyViews = new HashMap<>();
+            for (ArticleDailyStats stats : articleDailyStatsMapper.selectDailyTotals(query, range.getPreviousStart(), range.getEnd())) {
+                if (stats != null && stats.getStatDate() != null) {
+                    dailyViews.put(stats.getStatDate(), stats);
+                }
+            }
+            return dailyViews;
+        } catch (DataAccessException ex) {
+            log.warn("Daily view stats query failed, falling back to lifetime view counts: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private DashboardAggregates aggregateInMemory(Article query, RangeDefinition range) {
+        DashboardAggregates aggregates = new DashboardAggregates();
+        LocalDate today = LocalDate.now();
+        LocalDate weekStart = today.minusDays(6);
+        for (Article article : articleMapper.selectArticleStatRows(statFilter(query, null, null, null))) {
+            accumulate(aggregates.overview, article, weekStart, today);
+            LocalDate activityDate = resolveActivityDate(article);
+            if (range.contains(activityDate)) {
+                accumulate(aggregates.current, article, weekStart, today);
+                accumulate(aggregates.daily.computeIfAbsent(activityDate,
+                        date -> new ArticleStatBucket(date.toString())), article, weekStart, today);
+            } else if (range.previousContains(activityDate)) {
+                accumulate(aggregates.previous, article, weekStart, today);
+            }
+            String categoryKey = article.getCategoryId() != null ? String.valueOf(article.getCategoryId()) : UNCATEGORIZED;
+            accumulate(aggregates.categories.computeIfAbsent(categoryKey, ArticleStatBucket::new),
+                    article, weekStart, today);
+            String accessKey = article.getAccessLevel() != null ? String.valueOf(article.getAccessLevel()) : "0";
+            accumulate(aggregates.accessLevels.computeIfAbsent(accessKey, ArticleStatBucket::new),
+                    article, weekStart, today);
+            accumulateTags(aggregates.tags, article);
+        }
+        return aggregates;
+    }
+
+    private ArticleDashboardResponse buildResponse(Article query, RangeDefinition rangeDefinition,
+                                                   DashboardAggregates aggregates) {
+        ArticleDashboardResponse response = new ArticleDashboardResponse();
+
+        ArticleDashboardResponse.Range responseRange = new ArticleDashboardResponse.Range();
+        responseRange.setPreset(rangeDefinition.getPreset());
+        responseRange.setStartDate(rangeDefinition.getStart().toString());
+        responseRange.setEndDate(rangeDefinition.getEnd().toString());
+        response.setRange(responseRange);
+
+        ArticleStatBucket total = aggregates.overview;
+        ArticleDashboardResponse.Overview overview = response.getOverview();
+        overview.setTotalArticles(total.getArticleCount());
+        overview.setPublishedArticles(total.getApprovedCount());
+        overview.setDraftArticles(total.getDraftCount());
+        overview.setPrivateArticles(total.getPrivateCount());
+        overview.setReviewPendingArticles(total.getPendingCount());
+        overview.setReviewRejectedArticles(total.getRejectedCount());
+        overview.setTotalViews(total.getViewCount());
+        overview.setTotalLikes(total.getLikeCount());
+        overview.setTotalCollects(total.getCollectCount());
+        overview.setTotalComments(total.getCommentCount());
+        overview.setTotalShares(total.getShareCount());
+        overview.setWeeklyNewArticles(total.getWeeklyNewCount());
+        overview.setTodayNewArticles(total.getTodayNewCount());
+        overview.setLastUpdated(LocalDateTime.now());
+        if (aggregates.dailyViews != null) {
+            overview.setViewGrowthRate(calcGrowthRate(
+                    sumDailyViews(aggregates.dailyViews, rangeDefinition.getStart(), rangeDefinition.getEnd(), false),
+                    sumDailyViews(aggregates.dailyViews, rangeDefinition.getPreviousStart(), rangeDefinition.getPreviousEnd(), false)));
+        } else {
+            overview.setViewGrowthRate(calcGrowthRate(aggregates.current.getViewCount(), aggregates.previous.getViewCount()));
+        }
+        overview.setEngagementGrowthRate(calcGrowthRate(aggregates.current.getEngagement(),
+                aggregates.previous.getEngagement()));
+
+        buildTrend(rangeDefinition, aggregates, response.getTrend(), overview.getViewGrowthRate());
+        buildFunnel(aggregates.current, response.getFunnel());
+
+        List<Category> categories = categoryService.selectCategoryList(new Category());
+        Map<Long, String> categoryNameMap = categories.stream()
+                .collect(Collectors.toMap(Category::getCategoryId, Category::getCategoryName, (a, b) -> a));
+        response.setSegments(buildSegments(aggregates, categoryNameMap));
+        response.setLeaderboards(buildLeaderboards(query, categoryNameMap));
+        response.setModeration(buildModerationSnapshot(query, total));
+        response.setInsights(buildInsights(overview, response.getSegments()));
+        return response;
+    }
+
+    private void buildTrend(RangeDefinition rangeDefinition,
+                            DashboardAggregates aggregates,
+                            ArticleDashboardResponse.Trend trend,
+                            double wowChange) {
+        List<ArticleDashboardResponse.TrendPoint> points = new ArrayList<>();
+        LocalDate cursor = rangeDefinition.getStart();
+        while (!cursor.isAfter(rangeDefinition.getEnd())) {
+            ArticleStatBucket bucket = aggregates.daily.get(cursor);
+            ArticleDashboardResponse.TrendPoint point = new ArticleDashboardResponse.TrendPoint();
+            point.setDate(cursor.toString());
+            point.setPublished(bucket != null ? bucket.getApprovedCount() : 0);
+            if (aggregates.dailyViews != null) {
+                ArticleDailyStats views = aggregates.dailyViews.get(cursor);
+                point.setViews(views != null ? safeLong(views.getViewCount()) : 0);
+                point.setVisitors(views != null ? safeLong(views.getVisitorCount()) : 0);
+            } else {
+                point.setViews(bucket != null ? bucket.getViewCount() : 0);
+            }
+            point.setLikes(bucket != null ? bucket.getLikeCount() : 0);
+            point.setComments(bucket != null ? bucket.getCommentCount() : 0);
+            point.setShares(bucket != null ? bucket.getShareCount() : 0);
+            points.add(point);
+            cursor = cursor.plusDays(1);
+        }
+        ArticleStatBucket current = aggregates.current;
+        long totalViews = current.getViewCount();
+        if (aggregates.dailyViews != null) {
+            totalViews = sumDailyViews(aggregates.dailyViews, rangeDefinition.getStart(), rangeDefinition.getEnd(), false);
+            trend.setTotalVisitors(sumDailyViews(aggregates.dailyViews, rangeDefinition.getStart(), rangeDefinition.getEnd(), true));
+        }
+        trend.setPoints(points);
+        trend.setTotalViews(totalViews);
+        trend.setAverageViewsPerArticle(current.getArticleCount() == 0 ? 0.0
+                : (double) totalViews / current.getArticleCount());
+        trend.setWowChange(wowChange);
+    }
+
+    /**
+     * 区间内每日浏览量（或访客数）之和；访客数为各日去重后相加，跨日重复访问会重复计入
+     */
+    private long sumDailyViews(Map<LocalDate, ArticleDailyStats> dailyViews, LocalDate from, LocalDate to, boolean visitors) {
+        long total = 0L;
+        for (Map.Entry<LocalDate, ArticleDailyStats> entry : dailyViews.entrySet()) {
+            LocalDate date = entry.getKey();
+            if (date.isBefore(from) || date.isAfter(to)) {
+                continue;
+            }
+            total += safeLong(visitors ? entry.getValue().getVisitorCount() : entry.getValue().getViewCount());
+        }
+        return total;
+    }
+
+    private void buildFunnel(ArticleStatBucket current, ArticleDashboardResponse.Funnel funnel) {
+        long publishedCount = current.getApprovedCount();
+        long rangeViews = current.getViewCount();
+        long interactions = current.getLikeCount() + current.getCommentCount();
+        long collectTotal = current.getCollectCount();
+        long shareTotal = current.getShareCount();
+
+        List<ArticleDashboardResponse.FunnelStage> stages = new ArrayList<>();
+        stages.add(createFunnelStage("publish", "发布", publishedCount, 1.0, "发布成功的文章数量"));
+        stages.add(createFunnelStage("view", "浏览", rangeViews, calcRate(rangeViews, publishedCount), "平均每篇文章浏览量"));
+        stages.add(createFunnelStage("engage", "互动", interactions, calcRate(interactions, rangeViews), "点赞 + 评论总数"));
+        long baseline = interactions == 0 ? rangeViews : interactions;
+        stages.add(createFunnelStage("collect", "收藏", collectTotal, calcRate(collectTotal, baseline), "收藏数"));
+        long shareBaseline = collectTotal == 0 ? rangeViews : collectTotal;
+        stages.add(createFunnelStage("share", "分享", shareTotal, calcRate(shareTotal, shareBaseline), "分享次数"));
+        funnel.setStages(stages);
+    }
+
+    private ArticleDashboardResponse.SegmentCollection buildSegments(DashboardAggregates aggregates,
+                                                                     Map<Long, String> categoryNameMap) {
+        long total = aggregates.overview.getArticleCount();
+        ArticleDashboardResponse.SegmentCollection collection = new ArticleDashboardResponse.SegmentCollection();
+        collection.setCategories(aggregates.categories.values().stream()
+                .sorted(Comparator.comparingLong(ArticleStatBucket::getViewCount).reversed())
+                .limit(CATEGORY_SEGMENT_LIMIT)
+                .map(bucket -> toSegmentItem(bucket, resolveCategoryLabel(bucket.getBucketKey(), categoryNameMap), total))
+                .collect(Collectors.toList()));
+        collection.setTags(aggregates.tags.values().stream()
+                .sorted(Comparator.comparingLong(ArticleStatBucket::getViewCount).reversed())
+                .limit(TAG_SEGMENT_LIMIT)
+                .map(bucket -> toSegmentItem(bucket, bucket.getBucketKey(), total))
+                .collect(Collectors.toList()));
+        collection.setAccessLevels(aggregates.accessLevels.values().stream()
+                .sorted(Comparator.comparingLong(ArticleStatBucket::getArticleCount).reversed())
+                .map(bucket -> toSegmentItem(bucket, resolveAccessLabel(bucket.getBucketKey()), total))
+                .collect(Collectors.toList()));
+        return collection;
+    }
+
+    private ArticleDashboardResponse.SegmentItem toSegmentItem(ArticleStatBucket bucket, String label, long total) {
+        ArticleDashboardResponse.SegmentItem item = new ArticleDashboardResponse.SegmentItem();
+        item.setKey(bucket.getBucketKey());
+        item.setLabel(label);
+        item.setArticleCount(bucket.getArticleCount());
+        item.setViewCount(bucket.getViewCount());
+        item.setLikeCount(bucket.getLikeCount());
+        item.setCommentCount(bucket.getCommentCount());
+        item.setShareCount(bucket.getShareCount());
+        item.setPercentage(total > 0 ? (double) bucket.getArticleCount() / total : 0.0);
+        return item;
+    }
+
+    private ArticleDashboardResponse.Leaderboard buildLeaderboards(Article query, Map<Long, String> categoryNameMap) {
+        ArticleDashboardResponse.Leaderboard leaderboard = new ArticleDashboardResponse.Leaderboard();
+        leaderboard.setTopViews(toArticleTiles(selectLeaderboard(query, "views", LEADERBOARD_LIMIT), categoryNameMap));
+        leaderboard.setTopEngagement(toArticleTiles(selectLeaderboard(query, "engagement", LEADERBOARD_LIMIT), categoryNameMap));
+        leaderboard.setLatestPublished(toArticleTiles(selectLeaderboard(query, "latest", LEADERBOARD_LIMIT), categoryNameMap));
+        return leaderboard;
+    }
+
+    private List<Article> selectLeaderboard(Article query, String orderBy, int limit) {
+        Article filter = statFilter(query, null, null, null);
+        filter.getParams().put("orderBy", orderBy);
+        filter.getParams().put("limit", limit);
+        List<Article> articles = articleMapper.selectArticleLeaderboard(filter);
+        articleAuthorResolver.fill(articles);
+        articleCounterManager.merge(articles);
+        return articles;
+    }
+
+    private List<ArticleDashboardResponse.ArticleTile> toArticleTiles(List<Article> articles,
+                                                                      Map<Long, String> categoryNameMap) {
+        return articles.stream()
+                .map(article -> toArticleTile(article, categoryNameMap))
+                .collect(Collectors.toList());
+    }
+
+    private ArticleDashboardResponse.ArticleTile toArticleTile(Article article, Map<Long, String> categoryNameMap) {
+        ArticleDashboardResponse.ArticleTile tile = new ArticleDashboardResponse.ArticleTile();
+        tile.setArticleId(article.getArticleId());
+        tile.setTitle(article.getTitle());
+        tile.setSummary(StringUtils.defaultIfEmpty(article.getSummary(), ""));
+        tile.setAuthorName(StringUtils.defaultIfEmpty(article.getAuthorName(), "未设置"));
+        tile.setCategoryName(article.getCategoryId() != null
+                ? categoryNameMap.getOrDefault(article.getCategoryId(),
+                StringUtils.defaultIfEmpty(article.getCategoryName(), "未分类"))
+                : "未分类");
+        tile.setStatus(article.getStatus());
+        tile.setAccessLevel(article.getAccessLevel());
+        tile.setRecommend(Integer.valueOf(1).equals(article.getIsRecommend()));
+        tile.setTop(Integer.valueOf(1).equals(article.getIsTop()));
+        boolean passwordProtected = Boolean.TRUE.equals(article.getPasswordProtected())
+                || (article.getIsPasswd() != null && article.getIsPasswd() == 0);
+        tile.setPasswordProtected(passwordProtected);
+        LocalDateTime publishDate = resolvePublishDateTime(article);
+        tile.setPublishTime(publishDate != null ? publishDate.toString() : null);
+        tile.setViewCount(safeLong(article.getViewCount()));
+        tile.setLikeCount(safeLong(article.getLikeCount()));
+        tile.setCollectCount(safeLong(article.getCollectCount()));
+        tile.setCommentCount(safeLong(article.getCommentCount()));
+        tile.setShareCount(safeLong(article.getShareCount()));
+        tile.setEngagement(safeLong(article.getLikeCount()) + safeLong(article.getCommentCount())
+                + safeLong(article.getCollectCount()) + safeLong(article.getShareCount()));
+        return tile;
+    }
+
+    private ArticleDashboardResponse.Moderation buildModerationSnapshot(Article query, ArticleStatBucket total) {
+        ArticleDashboardResponse.Moderation moderation = new ArticleDashboardResponse.Moderation();
+        moderation.setPendingReviews(total.getPendingCount());
+        moderation.setRejectedReviews(total.getRejectedCount());
+        LocalDateTime oldestDraft = total.getOldestDraftTime();
+        moderation.setOldestDraftDays(oldestDraft != null
+                ? Math.max(ChronoUnit.DAYS.between(oldestDraft.toLocalDate(), LocalDate.now()), 0L)
+                : 0L);
+        moderation.setRecords(selectLeaderboard(query, "updated", MODERATION_LIMIT).stream()
+                .map(this::toModerationRecord)
+                .collect(Collectors.toList()));
+        return moderation;
+    }
+
+    private ArticleDashboardResponse.ModerationRecord toModerationRecord(Article article) {
+        ArticleDashboardResponse.ModerationRecord record = new ArticleDashboardResponse.ModerationRecord();
+        record.setArticleId(article.getArticleId());
+        record.setTitle(article.getTitle());
+        record.setReviewStatus(article.getReviewStatus());
+        record.setStatus(article.getStatus());
+        record.setReviewer(article.getUpdateBy() != null ? "用户#" + article.getUpdateBy() : "系统");
+        LocalDateTime updateTime = article.getUpdateTime();
+        record.setUpdatedAt(updateTime != null ? updateTime.toString() : null);
+        return record;
+    }
+
+    private List<ArticleDashboardResponse.Insight> buildInsights(ArticleDashboardResponse.Overview overview,
+                                                                 ArticleDashboardResponse.SegmentCollection segments) {
+        List<ArticleDashboardResponse.Insight> insights = new ArrayList<>();
+        if (overview.getDraftArticles() > overview.getPublishedArticles()) {
+            insights.add(createInsight("草稿积压", "草稿数量已超过已发布文章，请及时处理。", "warning"));
+        }
+        if (overview.getReviewPendingArticles() > 0) {
+            insights.add(createInsight("待审核内容", "当前有 " + overview.getReviewPendingArticles() + " 篇文章待审核。", "info"));
+        }
+        if (overview.getViewGrowthRate() < 0) {
+            insights.add(createInsight("访问量下滑", "近期开启访问量环比下降，建议检查内容投放。", "danger"));
+        }
+        if (!segments.getCategories().isEmpty()) {
+            ArticleDashboardResponse.SegmentItem topCategory = segments.getCategories().get(0);
+            insights.add(createInsight("热门分类",
+                    topCategory.getLabel() + " 占比 " + String.format("%.1f%%", topCategory.getPercentage() * 100),
+                    "success"));
+        }
+        if (insights.isEmpty()) {
+            insights.add(createInsight("运行健康", "指标稳定，暂无异常。", "success"));
+        }
+        return insights;
+    }
+
+    private ArticleDashboardResponse.Insight createInsight(String title, String description, String severity) {
+        ArticleDashboardResponse.Insight insight = new ArticleDashboardResponse.Insight();
+        insight.setTitle(title);
+        insight.setDescription(description);
+        insight.setSeverity(severity);
+        return insight;
+    }
+
+    private ArticleDashboardResponse.FunnelStage createFunnelStage(String key, String label, long value, double conversion, String hint) {
+        ArticleDashboardResponse.FunnelStage stage = new ArticleDashboardResponse.FunnelStage();
+        stage.setKey(key);
+        stage.setLabel(label);
+        stage.setValue(value);
+        stage.setConversion(conversion);
+        stage.setHint(hint);
+        return stage;
+    }
+
+    /**
+     * 复制筛选条件并附加聚合参数，不修改调用方传入的查询对象
+     */
+    private Article statFilter(Article query, String groupBy, LocalDate from, LocalDate to) {
+        Article filter = new Article();
+        if (query != null) {
+            BeanUtils.copyProperties(query, filter, "params");
+            filter.setParams(new HashMap<>(query.getParams()));
+        }
+        LocalDate today = LocalDate.now();
+        Map<String, Object> params = filter.getParams();
+        params.put("groupBy", groupBy);
+        params.put("weekStart", today.minusDays(6).atStartOfDay());
+        params.put("todayStart", today.atStartOfDay());
+        params.put("activityFrom", from != null ? from.atStartOfDay() : null);
+        params.put("activityTo", to != null ? to.plusDays(1).atStartOfDay() : null);
+        return filter;
+    }
+
+    private ArticleStatBucket single(List<ArticleStatBucket> buckets) {
+        if (buckets == null || buckets.isEmpty() || buckets.get(0) == null) {
+            return new ArticleStatBucket();
+        }
+        return buckets.get(0);
+    }
+
+    /**
+     * 与 selectArticleStatBuckets 的聚合口径保持一致
+     */
+    private void accumulate(ArticleStatBucket bucket, Article article, LocalDate weekStart, LocalDate today) {
+        bucket.setArticleCount(bucket.getArticleCount() + 1);
+        Integer status = article.getStatus();
+        Integer reviewStatus = article.getReviewStatus();
+        if (Integer.valueOf(1).equals(reviewStatus)) {
+            bucket.setApprovedCount(bucket.getApprovedCount() + 1);
+        } else if (Integer.valueOf(2).equals(reviewStatus)) {
+            bucket.setRejectedCount(bucket.getRejectedCount() + 1);
+        } else {
+            bucket.setPendingCount(bucket.getPendingCount() + 1);
+        }
+        if (Integer.valueOf(0).equals(status)) {
+            bucket.setDraftCount(bucket.getDraftCount() + 1);
+        } else if (Integer.valueOf(2).equals(status)) {
+            bucket.setOfflineCount(bucket.getOfflineCount() + 1);
+        }
+        Integer accessLevel = article.getAccessLevel();
+        if ((accessLevel != null && accessLevel > 0) || Integer.valueOf(0).equals(article.getIsPasswd())) {
+            bucket.setPrivateCount(bucket.getPrivateCount() + 1);
+        }
+        bucket.setViewCount(bucket.getViewCount() + safeLong(article.getViewCount()));
+        bucket.setLikeCount(bucket.getLikeCount() + safeLong(article.getLikeCount()));
+        bucket.setCollectCount(bucket.getCollectCount() + safeLong(article.getCollectCount()));
+        bucket.setCommentCount(bucket.getCommentCount() + safeLong(article.getCommentCount()));
+        bucket.setShareCount(bucket.getShareCount() + safeLong(article.getShareCount()));
+        LocalDateTime createTime = article.getCreateTime();
+        if (createTime != null) {
+            LocalDate createDate = createTime.toLocalDate();
+            if (!createDate.isBefore(weekStart)) {
+                bucket.setWeeklyNewCount(bucket.getWeeklyNewCount() + 1);
+            }
+            if (!createDate.isBefore(today)) {
+                bucket.setTodayNewCount(bucket.getTodayNewCount() + 1);
+            }
+            if (Integer.valueOf(0).equals(status)
+                    && (bucket.getOldestDraftTime() == null || createTime.isBefore(bucket.getOldestDraftTime()))) {
+                bucket.setOldestDraftTime(createTime);
+            }
+        }
+    }
+
+    private void accumulateTags(Map<String, ArticleStatBucket> tagMap, Article article) {
+        String tags = article.getTags();
+        if (StringUtils.isBlank(tags)) {
+            return;
+        }
+        for (String raw : tags.split(",")) {
+            String tag = raw.trim();
+            if (StringUtils.isEmpty(tag)) {
+                continue;
+            }
+            ArticleStatBucket bucket = tagMap.computeIfAbsent(tag, ArticleStatBucket::new);
+            bucket.setArticleCount(bucket.getArticleCount() + 1);
+            bucket.setViewCount(bucket.getViewCount() + safeLong(article.getViewCount()));
+            bucket.setLikeCount(bucket.getLikeCount() + safeLong(article.getLikeCount()));
+            bucket.setCommentCount(bucket.getCommentCount() + safeLong(article.getCommentCount()));
+            bucket.setShareCount(bucket.getShareCount() + safeLong(article.getShareCount()));
+        }
+    }
+
+    private String resolveCategoryLabel(String key, Map<Long, String> categoryNameMap) {
+        if (key == null || UNCATEGORIZED.equals(key)) {
+            return "未分类";
+        }
+        try {
+            return categoryNameMap.getOrDefault(Long.valueOf(key), "未分类");
+        } catch (NumberFormatException ex) {
+            return "未分类";
+        }
+    }
+
+    private String resolveAccessLabel(String accessKey) {
+        if (accessKey == null || "0".equals(accessKey)) {
+            return "公开阅读";
+        }
+        if ("1".equals(accessKey)) {
+            return "会员专享";
+        }
+        return "私密内容";
+    }
+
+    private double calcGrowthRate(long current, long previous) {
+        if (previous <= 0) {
+            return current > 0 ? 100.0 : 0.0;
+        }
+        return ((double) (current - previous) / previous) * 100.0;
+    }
+
+    private double calcRate(long value, long base) {
+        if (base <= 0) {
+            return 0.0;
+        }
+        return (double) value / base;
+    }
+
+    private LocalDate resolveActivityDate(Article article) {
+        LocalDate publishDate = toLocalDate(article.getPublishTime());
+        if (publishDate != null) {
+            return publishDate;
+        }
+        LocalDateTime createTime = article.getCreateTime();
+        return createTime != null ? createTime.toLocalDate() : null;
+    }
+
+    private LocalDateTime resolvePublishDateTime(Article article) {
+        Date publishTime = article.getPublishTime();
+        if (publishTime != null) {
+            return publishTime.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        return article.getCreateTime();
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private long safeLong(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private RangeDefinition resolveRange(String preset, String startDate, String endDate) {
+        LocalDate today = LocalDate.now();
+        int rangeDays = resolveRangeDays(preset);
+        LocalDate resolvedEnd = parseDateOrDefault(endDate, today);
+        LocalDate resolvedStart = parseDateOrDefault(startDate, resolvedEnd.minusDays(rangeDays - 1L));
+        if (resolvedStart.isAfter(resolvedEnd)) {
+            LocalDate swap = resolvedStart;
+            resolvedStart = resolvedEnd;
+            resolvedEnd = swap;
+        }
+        int actualDays = (int) ChronoUnit.DAYS.between(resolvedStart, resolvedEnd) + 1;
+        String resolvedPreset = StringUtils.isNotBlank(preset)
+                ? preset
+                : (actualDays <= 7 ? "7d" : actualDays <= 30 ? "30d" : "90d");
+        return new RangeDefinition(resolvedStart, resolvedEnd, actualDays, resolvedPreset);
+    }
+
+    private int resolveRangeDays(String preset) {
+        if (StringUtils.isBlank(preset)) {
+            return 30;
+        }
+        String normalized = preset.trim().toLowerCase(Locale.ROOT);
+        if (normalized.startsWith("7") || normalized.contains("week")) {
+            return 7;
+        }
+        if (normalized.startsWith("90") || normalized.contains("quarter")) {
+            return 90;
+        }
+        if (normalized.startsWith("180")) {
+            return 180;
+        }
+        return 30;
+    }
+
+    private LocalDate parseDateOrDefault(String value, LocalDate fallback) {
+        if (StringUtils.isBlank(value)) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(value, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (Exception ex) {
+            return fallback;
+        }
+    }
+
+    /**
+     * 看板聚合结果（数据库聚合与内存回退共用）
+     */
+    private static class DashboardAggregates {
+        private ArticleStatBucket overview = new ArticleStatBucket();
+        private ArticleStatBucket current = new ArticleStatBucket();
+        private ArticleStatBucket previous = new ArticleStatBucket();
+        private final Map<LocalDate, ArticleStatBucket> daily = new HashMap<>();
+        private final Map<String, ArticleStatBucket> categories = new LinkedHashMap<>();
+        private final Map<String, ArticleStatBucket> accessLevels = new LinkedHashMap<>();
+        private final Map<String, ArticleStatBucket> tags = new HashMap<>();
+        /** 每日浏览量/访客数（article_daily_stats），为 null 时不可用 */
+        private Map<LocalDate, ArticleDailyStats> dailyViews;
+    }
+
+    private static class RangeDefinition {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final int days;
+        private final String preset;
+
+        private RangeDefinition(LocalDate start, LocalDate end, int days, String preset) {
+            this.start = start;
+            this.end = end;
+            this.days = days;
+            this.preset = preset;
+        }
+
+        public LocalDate getStart() {
+            return start;
+        }
+
+        public LocalDate getEnd() {
+            return end;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public String getPreset() {
+            return preset;
+        }
+
+        /**
+         * 环比区间：紧邻当前区间之前、天数相同
+         */
+        public LocalDate getPreviousEnd() {
+            return start.minusDays(1);
+        }
+
+        public LocalDate getPreviousStart() {
+            return getPreviousEnd().minusDays(days - 1L);
+        }
+
+        boolean contains(LocalDate date) {
+            return date != null && !date.isBefore(start) && !date.isAfter(end);
+        }
+
+        boolean previousContains(LocalDate date) {
+            return date != null && !date.isBefore(getPreviousStart()) && !date.isAfter(getPreviousEnd());
+        }
+    }
+}
@@ -7,6 +7,9 @@ import com.simpleshare.article.dto.ArticleFavoriteView;
 import com.simpleshare.article.mapper.ArticleFavoriteMapper;
 import com.simpleshare.article.mapper.ArticleMapper;
 import com.simpleshare.article.service.IArticleFavoriteService;
+import com.simpleshare.article.service.support.ArticleAuthorResolver;
+import com.simpleshare.article.service.support.ArticleCounterManager;
+import com.simpleshare.article.service.support.ArticleFavoriteCache;
 import com.simpleshare.common.core.domain.model.LoginUser;
 import com.simpleshare.common.exception.ServiceException;
 import com.simpleshare.common.utils.SecurityUtils;
@@ -16,7 +19,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 文章收藏服务实现
@@ -34,6 +40,15 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
     @Autowired
     private ArticleMapper articleMapper;
 
+    @Autowired
+    private ArticleCounterManager articleCounterManager;
+
+    @Autowired
+    private ArticleAuthorResolver articleAuthorResolver;
+
+    @Autowired
+    private ArticleFavoriteCache articleFavoriteCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public ArticleFavorite addFavorite(Long articleId) {
@@ -46,7 +61,8 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
             throw new ServiceException("文章ID不能为空");
         }
 
-        Article article = articleMapper.selectArticleByArticleId(articleId);
+        // 只取ID、租户与状态做存在性校验，不加载正文
+        Article article = articleMapper.selectArticleStatusById(articleId);
         if (article == null) {
             throw new ServiceException("文章不存在或不可收藏");
         }
@@ -69,7 +85,8 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
         favorite.setUpdateBy(userId);
 
         articleFavoriteMapper.insert(favorite);
-        articleMapper.incrementCollectCount(articleId);
+        articleFavoriteCache.evict(userId);
+        articleCounterManager.increment(articleId, ArticleCounterManager.Metric.COLLECT, 1);
         return favorite;
     }
 
@@ -87,7 +104,8 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
 
         int affected = articleFavoriteMapper.deleteByUserAndArticle(userId, articleId);
         if (affected > 0) {
-            articleMapper.decrementCollectCount(articleId);
+            articleFavoriteCache.evict(userId);
+            articleCounterManager.increment(articleId, ArticleCounterManager.Metric.COLLECT, -1);
             return true;
         }
         return false;
@@ -112,7 +130,8 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
 
         int affected = articleFavoriteMapper.deleteById(favoriteId);
         if (affected > 0) {
-            articleMapper.decrementCollectCount(favorite.getArticleId());
+            articleFavoriteCache.evict(userId);
+            articleCounterManager.increment(favorite.getArticleId(), ArticleCounterManager.Metric.COLLECT, -1);
             return true;
         }
         return false;
@@ -144,7 +163,9 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
 
         int removed = articleFavoriteMapper.deleteByIds(userId, ownedIds);
         if (removed > 0) {
-            ownedFavorites.forEach(favorite -> articleMapper.decrementCollectCount(favorite.getArticleId()));
+            articleFavoriteCache.evict(userId);
+            ownedFavorites.forEach(favorite -> articleCounterManager.increment(
+                    favorite.getArticleId(), ArticleCounterManager.Metric.COLLECT, -1));
         }
         return removed;
     }
@@ -155,9 +176,21 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
         if (userId == null || articleId == null) {
             return null;
         }
+        if (!articleFavoriteCache.isFavorited(userId, articleId)) {
+            return null;
+        }
         return articleFavoriteMapper.selectByUserAndArticle(userId, articleId);
     }
 
+    @Override
+    public Set<Long> selectFavoritedArticleIds(Collection<Long> articleIds) {
+        Long userId = SecurityUtils.getUserIdSafely();
+        if (userId == null) {
+            return Collections.emptySet();
+        }
+        return articleFavoriteCache.favoritedArticleIds(userId, articleIds);
+    }
+
     @Override
     public Page<ArticleFavoriteView> pageFavorites(int pageNum, int pageSize, String keyword, Long categoryId, String sortBy, String sortOrder) {
         Long userId = SecurityUtils.getUserIdSafely();
@@ -173,6 +206,7 @@ public class ArticleFavoriteServiceImpl implements IArticleFavoriteService {
 
         Page<ArticleFavoriteView> page = new Page<>(pageNum, pageSize);
         articleFavoriteMapper.selectFavoritePage(page, userId, normalizeKeyword(keyword), categoryId, normalizeSortBy(sortBy), normalizeSortOrder(sortOrder));
+        articleAuthorResolver.fillFavorites(page.getRecords());
         return page;
     }
 
@@ -3,14 +3,21 @@ package com.simpleshare.article.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
 import com.simpleshare.article.enums.ArticleReviewStatus;
 import com.simpleshare.article.mapper.ArticleMapper;
 import com.simpleshare.article.service.IArticleFavoriteService;
 import com.simpleshare.article.service.IArticleService;
+import com.simpleshare.article.service.support.ArticleAuthorResolver;
+import com.simpleshare.article.service.support.ArticleCounterManager;
+import com.simpleshare.article.service.support.ArticleDetailCache;
+import com.simpleshare.article.service.support.ArticleFeedManager;
 import com.simpleshare.article.service.support.ArticleFileUrlResolver;
+import com.simpleshare.article.service.support.ArticleLikeManager;
 import com.simpleshare.article.service.support.ArticleReviewManager;
+import com.simpleshare.article.service.support.ArticleSearchIndex;
+import com.simpleshare.article.service.support.ArticleViewStats;
 import com.simpleshare.common.constant.UserConstants;
-import com.simpleshare.common.core.domain.entity.SysUser;
 import com.simpleshare.common.core.page.TableDataInfo;
 import com.simpleshare.common.exception.ServiceException;
 import com.simpleshare.common.utils.DateUtils;
@@ -19,15 +26,15 @@ import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.common.core.page.PageDomain;
 import com.simpleshare.common.core.page.TableSupport;
 import com.simpleshare.framework.tenant.TenantContextHolder;
-import com.simpleshare.system.mapper.SysUserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,13 +54,31 @@ public class ArticleServiceImpl implements IArticleService {
     private IArticleFavoriteService articleFavoriteService;
 
     @Autowired
-    private SysUserMapper sysUserMapper;
+    private ArticleAuthorResolver articleAuthorResolver;
 
     @Autowired
     private ArticleReviewManager articleReviewManager;
 
     @Autowired
     private ArticleFileUrlResolver articleFileUrlResolver;
+
+    @Autowired
+    private ArticleCounterManager articleCounterManager;
+
+    @Autowired
+    private ArticleLikeManager articleLikeManager;
+
+    @Autowired
+    private ArticleViewStats articleViewStats;
+
+    @Autowired
+    private ArticleDetailCache articleDetailCache;
+
+    @Autowired
+    private ArticleFeedManager articleFeedManager;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
     
     /**
      * 查询文章
@@ -63,8 +88,10 @@ public class ArticleServiceImpl implements IArticleService {
      */
     @Override
     public Article selectArticleByArticleId(Long articleId) {
-        Article article = articleMapper.selectArticleByArticleId(articleId);
+        Article article = articleDetailCache.get(articleId, articleMapper::selectArticleByArticleId);
+        articleAuthorResolver.fill(article);
         articleFileUrlResolver.normalize(article);
+        articleCounterManager.merge(article);
         return article;
     }
     
@@ -77,11 +104,25 @@ public class ArticleServiceImpl implements IArticleService {
     @Override
     public List<Article> selectArticleList(Article article) {
         List<Article> articles = articleMapper.selectArticleList(article);
-        populateAuthorNames(articles);
+        articleAuthorResolver.fill(articles);
         articleFileUrlResolver.normalize(articles);
+        articleCounterManager.merge(articles);
         return articles;
     }
     
+    /**
+     * 查询文章卡片列表（不含正文）
+     *
+     * @param article 查询条件
+     * @return 文章卡片集合
+     */
+    @Override
+    public List<ArticleCard> selectArticleCardList(Article article) {
+        List<ArticleCard> cards = articleMapper.selectArticleCardList(article);
+        prepareCards(cards);
+        return cards;
+    }
+
     /**
      * 分页查询文章列表
      *
@@ -102,8 +143,9 @@ public class ArticleServiceImpl implements IArticleService {
         
         PageDomain pageDomain = TableSupport.buildPageRequest();
         Page<Article> page = articleMapper.selectPage(new Page<>(pageDomain.getPageNum(), pageDomain.getPageSize()), queryWrapper);
-        populateAuthorNames(page.getRecords());
+        articleAuthorResolver.fill(page.getRecords());
         articleFileUrlResolver.normalize(page.getRecords());
+        articleCounterManager.merge(page.getRecords());
         return TableDataInfo.build(page);
     }
     
@@ -154,7 +196,9 @@ public class ArticleServiceImpl implements IArticleService {
             article.setPublishTime(DateUtils.getNowDate());
         }
 
-        return articleMapper.insertArticle(article);
+        int rows = articleMapper.insertArticle(article);
+        articleSearchIndex.reindex(article.getArticleId());
+        return rows;
     }
     
     /**
@@ -180,6 +224,9 @@ public class ArticleServiceImpl implements IArticleService {
         processPasswordBeforePersist(article, existing);
         applyReviewStatusPolicy(article, existing);
 
+        articleDetailCache.evict(article.getArticleId());
+        articleFeedManager.invalidate();
+        articleSearchIndex.reindex(article.getArticleId());
         return articleMapper.updateArticle(article);
     }
     
@@ -192,6 +239,9 @@ public class ArticleServiceImpl implements IArticleService {
     @Override
     @Transactional
     public int deleteArticleByArticleIds(Long[] articleIds) {
+        articleDetailCache.evict(articleIds);
+        articleFeedManager.remove(articleIds);
+        articleSearchIndex.reindex(articleIds);
         return articleMapper.deleteArticleByArticleIds(articleIds);
     }
     
@@ -204,6 +254,9 @@ public class ArticleServiceImpl implements IArticleService {
     @Override
     @Transactional
     public int deleteArticleByArticleId(Long articleId) {
+        articleDetailCache.evict(articleId);
+        articleFeedManager.remove(articleId);
+        articleSearchIndex.reindex(articleId);
         return articleMapper.deleteArticleByArticleId(articleId);
     }
     
@@ -217,7 +270,9 @@ public class ArticleServiceImpl implements IArticleService {
     public List<Article> selectPublishedArticleList(Article article) {
         article.setStatus(1); // 只查询已发布的文章
         List<Article> articles = articleMapper.selectPublishedArticleList(article);
+        articleAuthorResolver.fill(articles);
         articleFileUrlResolver.normalize(articles);
+        articleCounterManager.merge(articles);
         return articles;
     }
     
@@ -225,29 +280,18 @@ public class ArticleServiceImpl implements IArticleService {
      * 分页查询已发布的文章列表（前台使用）
      *
      * @param article 文章
-     * @return 文章分页数据
+     * @return 文章卡片分页数据
      */
     @Override
     public TableDataInfo selectPublishedArticlePage(Article article) {
-        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Article::getStatus, "1") // 只查询已发布的文章
-                .eq(Article::getReviewStatus, ArticleReviewStatus.APPROVED.getCode()) // 只展示审核通过的文章
-                .eq(Article::getDelFlag, "0") // 排除已删除的文章
-                .like(StringUtils.isNotEmpty(article.getTitle()), Article::getTitle, article.getTitle())
-                .eq(article.getCategoryId() != null, Article::getCategoryId, article.getCategoryId())
-                .eq(article.getAuthorId() != null, Article::getAuthorId, article.getAuthorId())
-                .eq(article.getIsTop() != null, Article::getIsTop, article.getIsTop())
-                .eq(article.getIsRecommend() != null, Article::getIsRecommend, article.getIsRecommend())
-                .orderByDesc(Article::getIsTop)
-                .orderByDesc(Article::getPublishTime);
-
         // 显示所有文章（包括会员文章），权限验证在文章详情页进行
         // 这样可以让用户看到完整的文章列表，并在前端显示VIP标识
-        
+        // 列表只查询卡片字段，正文在详情页加载
+
         PageDomain pageDomain = TableSupport.buildPageRequest();
-        Page<Article> page = articleMapper.selectPage(new Page<>(pageDomain.getPageNum(), pageDomain.getPageSize()), queryWrapper);
-        populateAuthorNames(page.getRecords());
-        articleFileUrlResolver.normalize(page.getRecords());
+        Page<ArticleCard> page = articleMapper.selectPublishedArticleCardPage(
+                new Page<>(pageDomain.getPageNum(), pageDomain.getPageSize()), article);
+        prepareCards(page.getRecords());
         return TableDataInfo.build(page);
     }
 
@@ -359,6 +403,9 @@ public class ArticleServiceImpl implements IArticleService {
         article.setArticleId(articleId);
         article.setStatus(1);
         applyReviewStatusPolicy(article, existing);
+        articleDetailCache.evict(articleId);
+        articleFeedManager.invalidate();
+        articleSearchIndex.reindex(articleId);
         return articleMapper.updateArticle(article);
     }
     
@@ -374,6 +421,9 @@ public class ArticleServiceImpl implements IArticleService {
         Article article = new Article();
         article.setArticleId(articleId);
         article.setStatus(2);
+        articleDetailCache.evict(articleId);
+        articleFeedManager.remove(articleId);
+        articleSearchIndex.reindex(articleId);
         return articleMapper.updateArticle(article);
     }
     
@@ -390,6 +440,9 @@ public class ArticleServiceImpl implements IArticleService {
         Article article = new Article();
         article.setArticleId(articleId);
         article.setIsTop(Integer.valueOf(isTop));
+        articleDetailCache.evict(articleId);
+        articleFeedManager.invalidate();
+        articleSearchIndex.reindex(articleId);
         return articleMapper.updateArticle(article);
     }
     
@@ -406,6 +459,9 @@ public class ArticleServiceImpl implements IArticleService {
         Article article = new Article();
         article.setArticleId(articleId);
         article.setIsRecommend(Integer.valueOf(isRecommend));
+        articleDetailCache.evict(articleId);
+        articleFeedManager.invalidate();
+        articleSearchIndex.reindex(articleId);
         return articleMapper.updateArticle(article);
     }
     
@@ -413,35 +469,82 @@ public class ArticleServiceImpl implements IArticleService {
      * 增加文章浏览次数
      *
      * @param articleId 文章ID
-     * @return 结果
      */
     @Override
-    public int incrementViewCount(Long articleId) {
-        return articleMapper.incrementViewCount(articleId);
+    public void incrementViewCount(Long articleId) {
+        articleCounterManager.increment(articleId, ArticleCounterManager.Metric.VIEW, 1);
     }
     
     /**
      * 点赞文章
      *
      * @param articleId 文章ID
-     * @return 结果
+     * @return 本次是否新增了点赞
      */
     @Override
-    @Transactional
-    public int likeArticle(Long articleId) {
-        return articleMapper.incrementLikeCount(articleId);
+    public boolean likeArticle(Long articleId) {
+        Long userId = requireLikeUser("请先登录后再点赞");
+        // 只取ID与状态做校验，不加载正文
+        Article article = articleMapper.selectArticleStatusById(requireArticleId(articleId));
+        if (article == null) {
+            throw new ServiceException("文章不存在或不可点赞");
+        }
+        Integer status = article.getStatus();
+        if (status == null || status != 1 || !ArticleReviewStatus.fromCode(article.getReviewStatus()).isApproved()) {
+            throw new ServiceException("文章未发布，暂不可点赞");
+        }
+        return articleLikeManager.like(articleId, userId);
     }
     
     /**
      * 取消点赞文章
      *
      * @param articleId 文章ID
-     * @return 结果
+     * @return 本次是否取消了点赞
      */
     @Override
-    @Transactional
-    public int unlikeArticle(Long articleId) {
-        return articleMapper.decrementLikeCount(articleId);
+    public boolean unlikeArticle(Long articleId) {
+        return articleLikeManager.unlike(requireArticleId(articleId), requireLikeUser("请先登录后再取消点赞"));
+    }
+    
+    @Override
+    public boolean isArticleLiked(Long articleId) {
+        Long userId = SecurityUtils.getUserIdSafely();
+        return userId != null && articleLikeManager.isLiked(articleId, userId);
+    }
+    
+    @Override
+    public Set<Long> selectLikedArticleIds(Collection<Long> articleIds) {
+        Long userId = SecurityUtils.getUserIdSafely();
+        if (userId == null) {
+            return Collections.emptySet();
+        }
+        return articleLikeManager.likedArticleIds(userId, articleIds);
+    }
+    
+    @Override
+    public long countArticleLikes(Long articleId) {
+        Article article = articleId == null ? null : articleMapper.selectArticleStatusById(articleId);
+        if (article == null) {
+            return 0L;
+        }
+        articleCounterManager.merge(article);
+        return article.getLikeCount() == null ? 0L : article.getLikeCount();
+    }
+    
+    private static Long requireArticleId(Long articleId) {
+        if (articleId == null) {
+            throw new ServiceException("文章ID不能为空");
+        }
+        return articleId;
+    }
+    
+    private static Long requireLikeUser(String message) {
+        Long userId = SecurityUtils.getUserIdSafely();
+        if (userId == null) {
+            throw new ServiceException(message);
+        }
+        return userId;
     }
     
     /**
@@ -473,39 +576,45 @@ public class ArticleServiceImpl implements IArticleService {
      * 查询推荐文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
     @Override
-    public List<Article> selectRecommendArticleList(Integer limit) {
-        List<Article> articles = articleMapper.selectRecommendArticleList(limit);
-        articleFileUrlResolver.normalize(articles);
-        return articles;
+    public List<ArticleCard> selectRecommendArticleList(Integer limit) {
+        List<ArticleCard> cards = articleFeedManager.getFeed(ArticleFeedManager.Feed.RECOMMEND, null, null, limit,
+                articleMapper::selectRecommendArticleList);
+        articleAuthorResolver.fillCards(cards);
+        articleCounterManager.mergeCards(cards);
+        return cards;
     }
     
     /**
      * 查询热门文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
     @Override
-    public List<Article> selectHotArticleList(Integer limit) {
-        List<Article> articles = articleMapper.selectHotArticleList(limit);
-        articleFileUrlResolver.normalize(articles);
-        return articles;
+    public List<ArticleCard> selectHotArticleList(Integer limit) {
+        List<ArticleCard> cards = articleFeedManager.getFeed(ArticleFeedManager.Feed.HOT, null, null, limit,
+                size -> articleMapper.selectHotArticleList(size, articleViewStats.hotSince()));
+        articleAuthorResolver.fillCards(cards);
+        articleCounterManager.mergeCards(cards);
+        return cards;
     }
     
     /**
      * 查询最新文章列表
      *
      * @param limit 限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
     @Override
-    public List<Article> selectLatestArticleList(Integer limit) {
-        List<Article> articles = articleMapper.selectLatestArticleList(limit);
-        articleFileUrlResolver.normalize(articles);
-        return articles;
+    public List<ArticleCard> selectLatestArticleList(Integer limit) {
+        List<ArticleCard> cards = articleFeedManager.getFeed(ArticleFeedManager.Feed.LATEST, null, null, limit,
+                articleMapper::selectLatestArticleList);
+        articleAuthorResolver.fillCards(cards);
+        articleCounterManager.mergeCards(cards);
+        return cards;
     }
     
     /**
@@ -514,27 +623,28 @@ public class ArticleServiceImpl implements IArticleService {
      * @param categoryId 分类ID
      * @param articleId  当前文章ID
      * @param limit      限制数量
-     * @return 文章集合
+     * @return 文章卡片集合
      */
     @Override
-    public List<Article> selectRelatedArticleList(Long categoryId, Long articleId, Integer limit) {
-        List<Article> articles = articleMapper.selectRelatedArticleList(categoryId, articleId, limit);
-        articleFileUrlResolver.normalize(articles);
-        return articles;
+    public List<ArticleCard> selectRelatedArticleList(Long categoryId, Long articleId, Integer limit) {
+        List<ArticleCard> cards = articleFeedManager.getFeed(ArticleFeedManager.Feed.RELATED, categoryId, articleId, limit,
+                size -> articleMapper.selectRelatedArticleList(categoryId, null, size));
+        articleAuthorResolver.fillCards(cards);
+        articleCounterManager.mergeCards(cards);
+        return cards;
     }
     
     /**
      * 根据作者ID查询文章列表
      *
      * @param authorId 作者ID
-     * @return 文章集合
+     * @return 文章卡片集合
      */
     @Override
-    public List<Article> selectArticleListByAuthorId(Long authorId) {
-        List<Article> articles = articleMapper.selectArticleListByAuthorId(authorId);
-        populateAuthorNames(articles);
-        articleFileUrlResolver.normalize(articles);
-        return articles;
+    public List<ArticleCard> selectArticleListByAuthorId(Long authorId) {
+        List<ArticleCard> cards = articleMapper.selectArticleCardListByAuthorId(authorId);
+        prepareCards(cards);
+        return cards;
     }
     
     /**
@@ -546,7 +656,9 @@ public class ArticleServiceImpl implements IArticleService {
     @Override
     public List<Article> searchArticles(String keyword) {
         List<Article> articles = articleMapper.searchArticles(keyword);
+        articleAuthorResolver.fill(articles);
         articleFileUrlResolver.normalize(articles);
+        articleCounterManager.merge(articles);
         return articles;
     }
     
@@ -556,19 +668,18 @@ public class ArticleServiceImpl implements IArticleService {
      * @param keyword  关键词
      * @param pageNum  页码
      * @param pageSize 页大小
-     * @return 文章分页数据
+     * @return 文章卡片分页数据
      */
     @Override
     public TableDataInfo searchArticlesPage(String keyword, Integer pageNum, Integer pageSize) {
-        LambdaQueryWrapper<Article> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.eq(Article::getStatus, "1") // 只搜索已发布的文章
-                .and(wrapper -> wrapper.like(Article::getTitle, keyword)
-                        .or().like(Article::getSummary, keyword)
-                        .or().like(Article::getContent, keyword))
-                .orderByDesc(Article::getPublishTime);
-        
-        Page<Article> page = articleMapper.selectPage(new Page<>(pageNum, pageSize), queryWrapper);
-        articleFileUrlResolver.normalize(page.getRecords());
+        ArticleSearchIndex.SearchPage result = articleSearchIndex.search(TenantContextHolder.getTenantId(), keyword, true,
+                pageNum == null ? 1 : pageNum, pageSize == null ? 10 : pageSize);
+        if (result != null) {
+            return buildSearchResult(result);
+        }
+        // 索引不可用（关闭或重建中）时回退到 SQL 模糊查询
+        Page<ArticleCard> page = articleMapper.searchArticleCardPage(new Page<>(pageNum, pageSize), keyword);
+        prepareCards(page.getRecords());
         return TableDataInfo.build(page);
     }
     
@@ -611,8 +722,10 @@ public class ArticleServiceImpl implements IArticleService {
      */
     @Override
     public Article selectArticleById(Long id) {
-        Article article = articleMapper.selectArticleByArticleId(id);
+        Article article = articleDetailCache.get(id, articleMapper::selectArticleByArticleId);
+        articleAuthorResolver.fill(article);
         articleFileUrlResolver.normalize(article);
+        articleCounterManager.merge(article);
         return article;
     }
 
@@ -623,8 +736,14 @@ public class ArticleServiceImpl implements IArticleService {
      * @return 结果
      */
     @Override
+    @Transactional
     public int deleteArticleById(Long id) {
-        return articleMapper.deleteArticleByArticleId(id);
+        articleDetailCache.evict(id);
+        articleFeedManager.remove(id);
+        int rows = articleMapper.deleteArticleByArticleId(id);
+        // 删除后再重建索引，避免索引任务先于删除读到旧行
+        articleSearchIndex.reindex(id);
+        return rows;
     }
 
     /**
@@ -634,8 +753,14 @@ public class ArticleServiceImpl implements IArticleService {
      * @return 结果
      */
     @Override
+    @Transactional
     public int deleteArticleByIds(Long[] ids) {
-        return articleMapper.deleteArticleByArticleIds(ids);
+        articleDetailCache.evict(ids);
+        articleFeedManager.remove(ids);
+        int rows = articleMapper.deleteArticleByArticleIds(ids);
+        // 删除后再重建索引，避免索引任务先于删除读到旧行
+        articleSearchIndex.reindex(ids);
+        return rows;
     }
 
     /**
@@ -656,6 +781,7 @@ public class ArticleServiceImpl implements IArticleService {
      * @return 结果
      */
     @Override
+    @Transactional
     public int updateArticleStatus(Article article) {
         if (article == null || article.getArticleId() == null) {
             throw new ServiceException("文章ID不能为空");
@@ -669,6 +795,9 @@ public class ArticleServiceImpl implements IArticleService {
                 return offlineArticle(article.getArticleId());
             }
         }
+        articleDetailCache.evict(article.getArticleId());
+        articleFeedManager.invalidate();
+        articleSearchIndex.reindex(article.getArticleId());
         return articleMapper.updateArticle(article);
     }
 
@@ -691,6 +820,9 @@ public class ArticleServiceImpl implements IArticleService {
         } else if (status.isRejected()) {
             article.setStatus(0);
         }
+        articleDetailCache.evict(articleId);
+        articleFeedManager.invalidate();
+        articleSearchIndex.reindex(articleId);
         return articleMapper.updateArticle(article);
     }
 
@@ -746,70 +878,44 @@ public class ArticleServiceImpl implements IArticleService {
         return SecurityUtils.getUserIdSafely();
     }
 
-    private void populateAuthorNames(List<Article> articles) {
-        if (articles == null || articles.isEmpty()) {
-            return;
-        }
-
-        Set<Long> userIds = new HashSet<>();
-        for (Article article : articles) {
-            if (article == null) {
-                continue;
-            }
-            Long authorId = article.getAuthorId();
-            if (authorId != null && authorId > 0) {
-                userIds.add(authorId);
-            } else if (article.getCreateBy() != null) {
-                userIds.add(article.getCreateBy());
-            }
-        }
-
-        if (userIds.isEmpty()) {
-            return;
-        }
-
-        List<Long> idList = new ArrayList<>(userIds);
-        Long tenantId = null;
-        try {
-            String tenant = TenantContextHolder.getTenantId();
-            if (StringUtils.isNotEmpty(tenant)) {
-                tenantId = Long.valueOf(tenant);
-            }
-        } catch (Exception ignored) {
-        }
-
-        List<SysUser> users = sysUserMapper.selectUsersByIds(idList, tenantId);
-        if (users == null || users.isEmpty()) {
-            return;
-        }
-
-        Map<Long, String> nicknameMap = new HashMap<>();
-        for (SysUser user : users) {
-            if (user == null || user.getUserId() == null || StringUtils.isEmpty(user.getNickName())) {
-                continue;
-            }
-            nicknameMap.putIfAbsent(user.getUserId(), user.getNickName());
-        }
-
-        if (nicknameMap.isEmpty()) {
-            return;
-        }
+    private void prepareCards(List<ArticleCard> cards) {
+        articleAuthorResolver.fillCards(cards);
+        articleFileUrlResolver.normalizeCards(cards);
+        articleCounterManager.mergeCards(cards);
+    }
 
-        for (Article article : articles) {
-            if (article == null) {
-                continue;
-            }
-            Long key = article.getAuthorId();
-            if (key == null || key <= 0) {
-                key = article.getCreateBy();
+    /**
+     * 按索引命中顺序加载文章卡片，并附上正文片段与高亮
+     */
+    private TableDataInfo buildSearchResult(ArticleSearchIndex.SearchPage result) {
+        List<ArticleCard> rows = new ArrayList<>(result.getHits().size());
+        if (!result.getHits().isEmpty()) {
+            List<Long> ids = new ArrayList<>(result.getHits().size());
+            for (ArticleSearchIndex.SearchHit hit : result.getHits()) {
+                ids.add(hit.getArticleId());
             }
-            if (key == null) {
-                continue;
+            Map<Long, ArticleCard> cardMap = new HashMap<>();
+            for (ArticleCard card : articleMapper.selectArticleCardListByIds(ids)) {
+                cardMap.put(card.getArticleId(), card);
             }
-            String nickname = nicknameMap.get(key);
-            if (StringUtils.isNotEmpty(nickname)) {
-                article.setAuthorName(nickname);
+            for (ArticleSearchIndex.SearchHit hit : result.getHits()) {
+                ArticleCard card = cardMap.get(hit.getArticleId());
+                // 索引刷新存在秒级延迟，以数据库当前状态为准跳过已删除或已下线的命中
+                if (card == null || !Integer.valueOf(1).equals(card.getStatus())
+                        || !Integer.valueOf(1).equals(card.getReviewStatus())) {
+                    continue;
+                }
+                card.setContentSnippet(hit.getSnippet());
+                card.setHighlight(hit.getHighlight());
+                rows.add(card);
             }
-        }
+            prepareCards(rows);
+        }
+        TableDataInfo data = new TableDataInfo();
+        data.setCode(200);
+        data.setMsg("查询成功");
+        data.setRows(rows);
+        data.setTotal(result.getTotal());
+        return data;
     }
 }
@@ -0,0 +1,132 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
+import com.simpleshare.article.dto.ArticleFavoriteView;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.system.domain.vo.UserSummary;
+import com.simpleshare.system.service.support.UserSummaryCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文章作者昵称填充。
+ * <p>
+ * 文章查询语句不再关联 sys_user，列表、推荐流、收藏与搜索结果统一在这里收集作者ID，
+ * 通过 {@link UserSummaryCache} 一次批量取昵称/头像。作者ID为空时沿用创建人。
+ */
+@Component
+public class ArticleAuthorResolver {
+
+    private final UserSummaryCache userSummaryCache;
+
+    public ArticleAuthorResolver(UserSummaryCache userSummaryCache) {
+        this.userSummaryCache = userSummaryCache;
+    }
+
+    public void fill(Article article) {
+        if (article == null) {
+            return;
+        }
+        UserSummary summary = userSummaryCache.get(authorKey(article.getAuthorId(), article.getCreateBy()));
+        if (summary != null && StringUtils.isNotEmpty(summary.getNickname())) {
+            article.setAuthorName(summary.getNickname());
+        }
+    }
+
+    public void fill(Collection<Article> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (Article article : articles) {
+            if (article != null) {
+                addKey(userIds, authorKey(article.getAuthorId(), article.getCreateBy()));
+            }
+        }
+        Map<Long, UserSummary> summaries = userSummaryCache.getAll(userIds);
+        if (summaries.isEmpty()) {
+            return;
+        }
+        for (Article article : articles) {
+            if (article == null) {
+                continue;
+            }
+            String nickname = nicknameOf(summaries, authorKey(article.getAuthorId(), article.getCreateBy()));
+            if (nickname != null) {
+                article.setAuthorName(nickname);
+            }
+        }
+    }
+
+    public void fillCards(Collection<ArticleCard> cards) {
+        if (cards == null || cards.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (ArticleCard card : cards) {
+            if (card != null) {
+                addKey(userIds, authorKey(card.getAuthorId(), card.getCreateBy()));
+            }
+        }
+        Map<Long, UserSummary> summaries = userSummaryCache.getAll(userIds);
+        if (summaries.isEmpty()) {
+            return;
+        }
+        for (ArticleCard card : cards) {
+            if (card == null) {
+                continue;
+            }
+            String nickname = nicknameOf(summaries, authorKey(card.getAuthorId(), card.getCreateBy()));
+            if (nickname != null) {
+                card.setAuthorName(nickname);
+            }
+        }
+    }
+
+    public void fillFavorites(Collection<ArticleFavoriteView> favorites) {
+        if (favorites == null || favorites.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        for (ArticleFavoriteView favorite : favorites) {
+            if (favorite != null) {
+                addKey(userIds, favorite.getArticleAuthorId());
+            }
+        }
+        Map<Long, UserSummary> summaries = userSummaryCache.getAll(userIds);
+        for (ArticleFavoriteView favorite : favorites) {
+            if (favorite == null) {
+                continue;
+            }
+            UserSummary summary = favorite.getArticleAuthorId() == null ? null : summaries.get(favorite.getArticleAuthorId());
+            favorite.setArticleAuthorName(summary == null ? null : summary.getNickname());
+            favorite.setArticleAuthorAvatar(summary == null ? null : summary.getAvatar());
+        }
+    }
+
+    private static Long authorKey(Long authorId, Long createBy) {
+        if (authorId != null && authorId > 0) {
+            return authorId;
+        }
+        return createBy;
+    }
+
+    private static void addKey(Set<Long> userIds, Long key) {
+        if (key != null && key > 0) {
+            userIds.add(key);
+        }
+    }
+
+    private static String nicknameOf(Map<Long, UserSummary> summaries, Long key) {
+        if (key == null) {
+            return null;
+        }
+        UserSummary summary = summaries.get(key);
+        return summary != null && StringUtils.isNotEmpty(summary.getNickname()) ? summary.getNickname() : null;
+    }
+}
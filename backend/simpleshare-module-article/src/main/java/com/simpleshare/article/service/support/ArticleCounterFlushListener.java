@@ -0,0 +1,26 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.dto.ArticleCounterDelta;
+
+import java.util.List;
+
+/**
+ * 计数增量落库后的回调，用于同步各类文章缓存中的计数字段。
+ */
+public interface ArticleCounterFlushListener {
+
+    /**
+     * 一批计数增量即将写入数据库，用于标记此后加载的数据库数据可能已包含这批增量
+     *
+     * @param deltas 即将落库的增量
+     */
+    default void beforeCountersFlushed(List<ArticleCounterDelta> deltas) {
+    }
+
+    /**
+     * 一批计数增量已成功写入数据库
+     *
+     * @param deltas 已落库的增量
+     */
+    void onCountersFlushed(List<ArticleCounterDelta> deltas);
+}
@@ -0,0 +1,407 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
+import com.simpleshare.article.domain.dto.ArticleCounterDelta;
+import com.simpleshare.article.mapper.ArticleMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章计数写后缓冲。
+ * <p>
+ * 浏览、点赞、收藏计数先累加到按（文章, 指标）分片的 {@link LongAdder}，
+ * 由后台线程定期合并为多行 UPDATE 落库，避免热门文章在同一行锁上串行。
+ * 文章ID全局唯一，计数不区分租户：调用方所处的租户上下文与文章所属租户可能不同，按租户分片会让同一篇文章出现多个增量。
+ * 读取文章时会把尚未落库的增量合并回实体，保证“写后即读”。
+ * <p>
+ * 缓冲区按代轮换：每次刷新先把当前代换下，待下一轮再落库，
+ * 给换代瞬间仍在写旧代的线程留出一个刷新周期的宽限。
+ */
+@Component
+public class ArticleCounterManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleCounterManager.class);
+
+    /**
+     * 计数指标
+     */
+    public enum Metric {
+        VIEW,
+        LIKE,
+        COLLECT
+    }
+
+    private final ArticleMapper articleMapper;
+
+    @Autowired(required = false)
+    private List<ArticleCounterFlushListener> flushListeners = Collections.emptyList();
+
+    @Value("${simpleshare.article.counter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.counter.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    @Value("${simpleshare.article.counter.batch-size:200}")
+    private int batchSize;
+
+    private volatile ConcurrentMap<CounterKey, LongAdder> active = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<CounterKey, LongAdder> retiring = new ConcurrentHashMap<>();
+    private volatile Map<CounterKey, Long> flushing = Collections.emptyMap();
+
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    private final LongAdder recordedEvents = new LongAdder();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushTime;
+    private volatile long lastFlushMillis;
+
+    public ArticleCounterManager(ArticleMapper articleMapper) {
+        this.articleMapper = articleMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Article counter write-behind disabled, counters will be updated synchronously");
+            return;
+        }
+        long interval = Math.max(flushIntervalMs, 200L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停机时排空全部缓冲，确保增量不丢失
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (flushLock) {
+            // 连续两轮：先落库待退役代，再把当前代一并落库
+            flush();
+            flush();
+        }
+        log.info("Article counter buffer drained, stats={}", getStatistics());
+    }
+
+    /**
+     * 累加计数增量
+     *
+     * @param articleId 文章ID
+     * @param metric    指标
+     * @param delta     增量，可为负
+     */
+    public void increment(Long articleId, Metric metric, long delta) {
+        if (articleId == null || metric == null || delta == 0) {
+            return;
+        }
+        if (!enabled) {
+            ArticleCounterDelta direct = new ArticleCounterDelta(articleId);
+            applyDelta(direct, metric, delta);
+            articleMapper.batchApplyCounterDeltas(Collections.singletonList(direct));
+            return;
+        }
+        CounterKey key = new CounterKey(articleId, metric);
+        active.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        recordedEvents.increment();
+    }
+
+    /**
+     * 查询尚未落库的增量
+     */
+    public long pendingDelta(Long articleId, Metric metric) {
+        if (articleId == null || metric == null) {
+            return 0L;
+        }
+        CounterKey key = new CounterKey(articleId, metric);
+        long total = 0L;
+        LongAdder current = active.get(key);
+        if (current != null) {
+            total += current.sum();
+        }
+        LongAdder previous = retiring.get(key);
+        if (previous != null) {
+            total += previous.sum();
+        }
+        Long inFlight = flushing.get(key);
+        if (inFlight != null) {
+            total += inFlight;
+        }
+        return total;
+    }
+
+    /**
+     * 将未落库的增量合并到文章计数字段
+     */
+    public void merge(Article article) {
+        if (article == null || article.getArticleId() == null) {
+            return;
+        }
+        Long articleId = article.getArticleId();
+        article.setViewCount(mergeValue(article.getViewCount(), pendingDelta(articleId, Metric.VIEW)));
+        article.setLikeCount(mergeValue(article.getLikeCount(), pendingDelta(articleId, Metric.LIKE)));
+        article.setCollectCount(mergeValue(article.getCollectCount(), pendingDelta(articleId, Metric.COLLECT)));
+    }
+
+    public void merge(Collection<Article> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return;
+        }
+        if (active.isEmpty() && retiring.isEmpty() && flushing.isEmpty()) {
+            return;
+        }
+        for (Article article : articles) {
+            merge(article);
+        }
+    }
+
+    /**
+     * 将未落库的增量合并到文章卡片计数字段
+     */
+    public void mergeCards(Collection<ArticleCard> cards) {
+        if (cards == null || cards.isEmpty()) {
+            return;
+        }
+        if (active.isEmpty() && retiring.isEmpty() && flushing.isEmpty()) {
+            return;
+        }
+        for (ArticleCard card : cards) {
+            if (card == null || card.getArticleId() == null) {
+                continue;
+            }
+            Long articleId = card.getArticleId();
+            card.setViewCount(mergeValue(card.getViewCount(), pendingDelta(articleId, Metric.VIEW)));
+            card.setLikeCount(mergeValue(card.getLikeCount(), pendingDelta(articleId, Metric.LIKE)));
+            card.setCollectCount(mergeValue(card.getCollectCount(), pendingDelta(articleId, Metric.COLLECT)));
+        }
+    }
+
+    /**
+     * 立即刷新一轮：落库上一代缓冲，并把当前代换下等待下一轮
+     *
+     * @return 本轮更新的文章行数
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            Map<CounterKey, Long> snapshot = new ConcurrentHashMap<>();
+            for (Map.Entry<CounterKey, LongAdder> entry : retiring.entrySet()) {
+                long value = entry.getValue().sum();
+                if (value != 0) {
+                    snapshot.put(entry.getKey(), value);
+                }
+            }
+            // 先发布快照再换代，读路径始终能看到在途增量
+            flushing = snapshot;
+            retiring = active;
+            active = new ConcurrentHashMap<>();
+            if (snapshot.isEmpty()) {
+                flushing = Collections.emptyMap();
+                return 0;
+            }
+
+            long started = System.currentTimeMillis();
+            int rows = 0;
+            List<ArticleCounterDelta> deltas = aggregate(snapshot);
+            int size = Math.max(batchSize, 1);
+            try {
+                for (int from = 0; from < deltas.size(); from += size) {
+                    List<ArticleCounterDelta> chunk = deltas.subList(from, Math.min(from + size, deltas.size()));
+                    notifyBeforeFlush(chunk);
+                    try {
+                        articleMapper.batchApplyCounterDeltas(chunk);
+                        rows += chunk.size();
+                    } catch (Exception ex) {
+                        failedFlushes.incrementAndGet();
+                        log.warn("Article counter flush failed for {} articles, deltas re-queued: {}", chunk.size(), ex.getMessage());
+                        requeue(chunk);
+                        release(snapshot, chunk);
+                        continue;
+                    }
+                    // 已提交的增量先从在途快照移除再通知缓存，否则读路径会把它与库中新值重复累加
+                    release(snapshot, chunk);
+                    notifyListeners(chunk);
+                }
+            } finally {
+                flushing = Collections.emptyMap();
+            }
+
+            lastFlushMillis = System.currentTimeMillis() - started;
+            lastFlushTime = System.currentTimeMillis();
+            flushCount.incrementAndGet();
+            flushedRows.addAndGet(rows);
+            return rows;
+        }
+    }
+
+    /**
+     * 计数缓冲运行指标
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("batchSize", batchSize);
+        stats.put("recordedEvents", recordedEvents.sum());
+        stats.put("pendingKeys", active.size() + retiring.size());
+        stats.put("flushCount", flushCount.get());
+        stats.put("flushedRows", flushedRows.get());
+        stats.put("failedFlushes", failedFlushes.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        stats.put("lastFlushTime", lastFlushTime);
+        return stats;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.error("Unexpected error while flushing article counters", ex);
+        }
+    }
+
+    private void notifyBeforeFlush(List<ArticleCounterDelta> chunk) {
+        for (ArticleCounterFlushListener listener : flushListeners) {
+            try {
+                listener.beforeCountersFlushed(chunk);
+            } catch (Exception ex) {
+                log.warn("Article counter flush listener {} failed: {}", listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+    }
+
+    private void notifyListeners(List<ArticleCounterDelta> chunk) {
+        for (ArticleCounterFlushListener listener : flushListeners) {
+            try {
+                listener.onCountersFlushed(chunk);
+            } catch (Exception ex) {
+                log.warn("Article counter flush listener {} failed: {}", listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按文章合并各指标增量；批量 UPDATE 的 CASE 只取第一个匹配分支，每篇文章只能出现一次
+     */
+    private List<ArticleCounterDelta> aggregate(Map<CounterKey, Long> snapshot) {
+        Map<Long, ArticleCounterDelta> byArticle = new LinkedHashMap<>();
+        for (Map.Entry<CounterKey, Long> entry : snapshot.entrySet()) {
+            CounterKey key = entry.getKey();
+            ArticleCounterDelta delta = byArticle.computeIfAbsent(key.articleId, ArticleCounterDelta::new);
+            applyDelta(delta, key.metric, entry.getValue());
+        }
+        List<ArticleCounterDelta> result = new ArrayList<>(byArticle.size());
+        for (ArticleCounterDelta delta : byArticle.values()) {
+            if (!delta.isEmpty()) {
+                result.add(delta);
+            }
+        }
+        return result;
+    }
+
+    private void release(Map<CounterKey, Long> snapshot, List<ArticleCounterDelta> chunk) {
+        for (ArticleCounterDelta delta : chunk) {
+            for (Metric metric : Metric.values()) {
+                snapshot.remove(new CounterKey(delta.getArticleId(), metric));
+            }
+        }
+    }
+
+    private void requeue(List<ArticleCounterDelta> chunk) {
+        for (ArticleCounterDelta delta : chunk) {
+            requeue(delta.getArticleId(), Metric.VIEW, delta.getViewDelta());
+            requeue(delta.getArticleId(), Metric.LIKE, delta.getLikeDelta());
+            requeue(delta.getArticleId(), Metric.COLLECT, delta.getCollectDelta());
+        }
+    }
+
+    private void requeue(Long articleId, Metric metric, long value) {
+        if (value == 0) {
+            return;
+        }
+        active.computeIfAbsent(new CounterKey(articleId, metric), k -> new LongAdder()).add(value);
+    }
+
+    private void applyDelta(ArticleCounterDelta delta, Metric metric, long value) {
+        switch (metric) {
+            case VIEW:
+                delta.setViewDelta(delta.getViewDelta() + value);
+                break;
+            case LIKE:
+                delta.setLikeDelta(delta.getLikeDelta() + value);
+                break;
+            case COLLECT:
+                delta.setCollectDelta(delta.getCollectDelta() + value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Long mergeValue(Long persisted, long pending) {
+        long base = persisted != null ? persisted : 0L;
+        return Math.max(base + pending, 0L);
+    }
+
+    private static final class CounterKey {
+        private final Long articleId;
+        private final Metric metric;
+
+        private CounterKey(Long articleId, Metric metric) {
+            this.articleId = articleId;
+            this.metric = metric;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+            CounterKey that = (CounterKey) o;
+            return Objects.equals(articleId, that.articleId) && metric == that.metric;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(articleId, metric);
+        }
+    }
+}
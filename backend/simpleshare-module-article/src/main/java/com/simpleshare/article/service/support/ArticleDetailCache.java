@@ -0,0 +1,342 @@
+package com.simpleshare.article.service.support;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.dto.ArticleCounterDelta;
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import com.simpleshare.framework.redis.RedisCache;
+import com.simpleshare.framework.tenant.TenantContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 已发布文章详情的两级缓存。
+ * <p>
+ * L1 为进程内 Caffeine，L2 为 Redis（JSON），均以文章ID为键，命中时校验实体所属租户与当前上下文租户一致。
+ * 只缓存“已发布且审核通过”的文章原始行，读取时返回副本，URL 规范化与计数合并仍由调用方完成。
+ * 文章被修改、发布、下线、审核或删除时同时失效两级缓存，事务内的失效会在提交后再执行一次，
+ * 并通过 {@link CacheInvalidationBroker} 通知其他节点清理 L1。
+ * 同一文章的并发未命中只会有一个线程回源数据库。
+ */
+@Component
+public class ArticleDetailCache implements ArticleCounterFlushListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleDetailCache.class);
+
+    private static final String CACHE_NAME = "article_detail";
+
+    private static final int STATUS_PUBLISHED = 1;
+
+    private static final int REVIEW_APPROVED = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Autowired
+    private RedisCache redisCache;
+
+    @Autowired
+    private CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${simpleshare.article.detail-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.detail-cache.local-max-size:2000}")
+    private long localMaxSize;
+
+    @Value("${simpleshare.article.detail-cache.local-ttl-seconds:60}")
+    private long localTtlSeconds;
+
+    @Value("${simpleshare.article.detail-cache.redis-ttl-seconds:600}")
+    private int redisTtlSeconds;
+
+    private Cache<Long, Article> localCache;
+
+    private final ConcurrentMap<String, CompletableFuture<Article>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder dbLoads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder tenantMismatches = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder remoteInvalidations = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(localMaxSize, 16L))
+                .expireAfterWrite(Math.max(localTtlSeconds, 1L), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteInvalidation);
+    }
+
+    /**
+     * 读取文章详情，未命中时通过 loader 回源
+     *
+     * @param articleId 文章ID
+     * @param loader    数据库加载函数
+     * @return 文章副本，不存在时返回 null
+     */
+    public Article get(Long articleId, Function<Long, Article> loader) {
+        if (!enabled || articleId == null) {
+            return loader.apply(articleId);
+        }
+        Long tenantId = currentTenantId();
+
+        Article cached = localCache.getIfPresent(articleId);
+        if (cached != null) {
+            if (belongsTo(cached, tenantId)) {
+                localHits.increment();
+                return copyOf(cached);
+            }
+            tenantMismatches.increment();
+            return loader.apply(articleId);
+        }
+
+        cached = readRedis(articleId);
+        if (cached != null) {
+            if (belongsTo(cached, tenantId)) {
+                redisHits.increment();
+                localCache.put(articleId, cached);
+                return copyOf(cached);
+            }
+            tenantMismatches.increment();
+            return loader.apply(articleId);
+        }
+
+        Article loaded = loadOnce(tenantId, articleId, loader);
+        if (loaded == null) {
+            return null;
+        }
+        return copyOf(loaded);
+    }
+
+    /**
+     * 失效指定文章的两级缓存并广播到其他节点
+     */
+    public void evict(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        evictNow(articleId);
+        cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(articleId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务提交前可能有并发读把旧数据重新写回缓存，提交后再清一次
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(articleId);
+                    cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(articleId));
+                }
+            });
+        }
+    }
+
+    public void evict(Long[] articleIds) {
+        if (articleIds == null) {
+            return;
+        }
+        for (Long articleId : articleIds) {
+            evict(articleId);
+        }
+    }
+
+    /**
+     * 计数落库后淘汰 L1 与 L2 中的旧值，下次读取时回源最新计数
+     */
+    @Override
+    public void onCountersFlushed(List<ArticleCounterDelta> deltas) {
+        if (!enabled || deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        List<String> redisKeys = new ArrayList<>(deltas.size());
+        for (ArticleCounterDelta delta : deltas) {
+            Long articleId = delta.getArticleId();
+            if (articleId == null) {
+                continue;
+            }
+            // 直接淘汰而不是叠加增量：落库提交后才加载的条目已含本次增量，再叠加会重复计数
+            localCache.invalidate(articleId);
+            redisKeys.add(redisKey(articleId));
+        }
+        if (!redisKeys.isEmpty()) {
+            try {
+                redisCache.deleteObject(redisKeys);
+            } catch (Exception ex) {
+                redisErrors.increment();
+                log.warn("Failed to drop article detail cache after counter flush: {}", ex.getMessage());
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("localSize", localCache == null ? 0L : localCache.estimatedSize());
+        stats.put("localHits", localHits.sum());
+        stats.put("redisHits", redisHits.sum());
+        stats.put("dbLoads", dbLoads.sum());
+        stats.put("coalescedLoads", coalescedLoads.sum());
+        stats.put("tenantMismatches", tenantMismatches.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("remoteInvalidations", remoteInvalidations.sum());
+        stats.put("redisErrors", redisErrors.sum());
+        long hits = localHits.sum() + redisHits.sum();
+        long total = hits + dbLoads.sum() + coalescedLoads.sum();
+        stats.put("hitRate", total == 0 ? 0D : (double) hits / total);
+        if (localCache != null) {
+            CacheStats cacheStats = localCache.stats();
+            stats.put("localEvictions", cacheStats.evictionCount());
+        }
+        return stats;
+    }
+
+    private Article loadOnce(Long tenantId, Long articleId, Function<Long, Article> loader) {
+        // 按租户区分在途加载，避免合并到其他租户的查询结果
+        String flightKey = tenantId + ":" + articleId;
+        CompletableFuture<Article> future = new CompletableFuture<>();
+        CompletableFuture<Article> existing = inFlight.putIfAbsent(flightKey, future);
+        if (existing != null) {
+            coalescedLoads.increment();
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return loader.apply(articleId);
+            } catch (ExecutionException e) {
+                return loader.apply(articleId);
+            }
+        }
+        try {
+            dbLoads.increment();
+            Article loaded = loader.apply(articleId);
+            if (isCacheable(loaded)) {
+                Article snapshot = copyOf(loaded);
+                localCache.put(articleId, snapshot);
+                writeRedis(articleId, snapshot);
+            }
+            future.complete(loaded == null ? null : copyOf(loaded));
+            return loaded;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, future);
+        }
+    }
+
+    private void evictNow(Long articleId) {
+        invalidations.increment();
+        localCache.invalidate(articleId);
+        try {
+            redisCache.deleteObject(redisKey(articleId));
+        } catch (Exception ex) {
+            redisErrors.increment();
+            log.warn("Failed to evict article detail cache {}: {}", articleId, ex.getMessage());
+        }
+    }
+
+    private void onRemoteInvalidation(String key) {
+        remoteInvalidations.increment();
+        if (CacheInvalidationBroker.ALL_KEYS.equals(key)) {
+            localCache.invalidateAll();
+            return;
+        }
+        try {
+            localCache.invalidate(Long.valueOf(key));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private Article readRedis(Long articleId) {
+        try {
+            Object value = redisCache.getCacheObject(redisKey(articleId));
+            if (value == null) {
+                return null;
+            }
+            return objectMapper.readValue(value.toString(), Article.class);
+        } catch (Exception ex) {
+            redisErrors.increment();
+            log.warn("Failed to read article detail cache {}: {}", articleId, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRedis(Long articleId, Article article) {
+        try {
+            redisCache.setCacheObject(redisKey(articleId), objectMapper.writeValueAsString(article),
+                    Math.max(redisTtlSeconds, 1), TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            redisErrors.increment();
+            log.warn("Failed to write article detail cache {}: {}", articleId, ex.getMessage());
+        }
+    }
+
+    private boolean isCacheable(Article article) {
+        return article != null
+                && article.getArticleId() != null
+                && Integer.valueOf(STATUS_PUBLISHED).equals(article.getStatus())
+                && Integer.valueOf(REVIEW_APPROVED).equals(article.getReviewStatus());
+    }
+
+    private boolean belongsTo(Article article, Long tenantId) {
+        return tenantId == null || Objects.equals(article.getTenantId(), tenantId);
+    }
+
+    private Long currentTenantId() {
+        String tenantId = TenantContextHolder.getTenantId();
+        if (StringUtils.isEmpty(tenantId)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tenantId);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private Article copyOf(Article source) {
+        Article copy = new Article();
+        BeanUtils.copyProperties(source, copy);
+        copy.setParams(new HashMap<>());
+        return copy;
+    }
+
+    private String redisKey(Long articleId) {
+        return CacheConstants.ARTICLE_DETAIL_KEY + articleId;
+    }
+}
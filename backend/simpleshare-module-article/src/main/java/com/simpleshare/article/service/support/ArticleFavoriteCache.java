@@ -0,0 +1,162 @@
+package com.simpleshare.article.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simpleshare.article.mapper.ArticleFavoriteMapper;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户收藏文章集合本地缓存（用户ID → 收藏的文章ID）。
+ * <p>
+ * 列表页判断“是否已收藏”时按用户整体加载一次收藏集合，之后同一用户的列表只在内存中过滤。
+ * 收藏数超过上限的用户不缓存集合，改为每页一次 IN 查询。新增、取消、批量取消收藏后失效，
+ * 并通过 {@link CacheInvalidationBroker} 通知其他节点。
+ */
+@Component
+public class ArticleFavoriteCache {
+
+    private static final String CACHE_NAME = "article_favorite";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ArticleFavoriteMapper favoriteMapper;
+    private final CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${simpleshare.article.favorite-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.favorite-cache.max-users:10000}")
+    private long maxUsers;
+
+    @Value("${simpleshare.article.favorite-cache.max-per-user:2000}")
+    private int maxPerUser;
+
+    @Value("${simpleshare.article.favorite-cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private Cache<Long, FavoriteSet> sets;
+
+    public ArticleFavoriteCache(ArticleFavoriteMapper favoriteMapper, CacheInvalidationBroker cacheInvalidationBroker) {
+        this.favoriteMapper = favoriteMapper;
+        this.cacheInvalidationBroker = cacheInvalidationBroker;
+    }
+
+    @PostConstruct
+    public void init() {
+        sets = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxUsers, 100L))
+                .expireAfterAccess(Math.max(ttlMinutes, 1L), TimeUnit.MINUTES)
+                .build();
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteInvalidation);
+    }
+
+    public boolean isFavorited(Long userId, Long articleId) {
+        if (userId == null || articleId == null) {
+            return false;
+        }
+        return favoritedArticleIds(userId, Collections.singleton(articleId)).contains(articleId);
+    }
+
+    /**
+     * 批量判断用户是否收藏了给定文章
+     *
+     * @return 已收藏的文章ID
+     */
+    public Set<Long> favoritedArticleIds(Long userId, Collection<Long> articleIds) {
+        if (userId == null || articleIds == null || articleIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        FavoriteSet favorites = enabled ? sets.get(userId, this::load) : null;
+        if (favorites != null && favorites.complete) {
+            Set<Long> result = new HashSet<>();
+            for (Long articleId : articleIds) {
+                if (articleId != null && favorites.articleIds.contains(articleId)) {
+                    result.add(articleId);
+                }
+            }
+            return result;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(articleIds));
+        ids.remove(null);
+        Set<Long> result = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> rows = favoriteMapper.selectFavoritedArticleIds(userId, ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+            if (rows != null) {
+                result.addAll(rows);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 用户收藏变更后调用；处于事务中时提交后再失效一次，避免并发加载把旧集合写回
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evictNow(userId);
+        cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                    cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(userId));
+                }
+            });
+        }
+    }
+
+    private FavoriteSet load(Long userId) {
+        int limit = Math.max(maxPerUser, 1);
+        List<Long> rows = favoriteMapper.selectArticleIdsByUser(userId, limit + 1);
+        if (rows != null && rows.size() > limit) {
+            return new FavoriteSet(Collections.emptySet(), false);
+        }
+        Set<Long> articleIds = rows == null ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(rows));
+        return new FavoriteSet(articleIds, true);
+    }
+
+    private void evictNow(Long userId) {
+        sets.invalidate(userId);
+    }
+
+    private void onRemoteInvalidation(String key) {
+        if (CacheInvalidationBroker.ALL_KEYS.equals(key)) {
+            sets.invalidateAll();
+            return;
+        }
+        try {
+            sets.invalidate(Long.valueOf(key));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private static final class FavoriteSet {
+
+        private final Set<Long> articleIds;
+
+        /** 为 false 时收藏数超过上限，未缓存集合 */
+        private final boolean complete;
+
+        private FavoriteSet(Set<Long> articleIds, boolean complete) {
+            this.articleIds = articleIds;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.ArticleCard;
+import com.simpleshare.article.domain.dto.ArticleCounterDelta;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import com.simpleshare.framework.tenant.TenantContextHolder;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 首页文章列表（推荐/热门/最新/相关）物化缓存。
+ * <p>
+ * 按租户在内存中保存每类列表的前 N 条 {@link ArticleCard}，请求按 limit 截取副本返回。
+ * 文章下线或删除时直接从已物化的列表中剔除；发布、修改、审核等会影响排序的变更使该租户的列表失效，
+ * 下次读取时重建。计数落库后同步列表中的计数字段并重排热门列表；
+ * 落库期间构建的列表无法判断是否已包含这批增量，直接丢弃，避免重复累加。
+ * 失效与剔除通过 {@link CacheInvalidationBroker} 广播到其他节点。
+ */
+@Component
+public class ArticleFeedManager implements ArticleCounterFlushListener {
+
+    private static final String CACHE_NAME = "article_feed";
+
+    private static final String NO_TENANT = "_";
+
+    /** 与 selectHotArticleList 一致：窗口内浏览量优先，未启用访问统计时 recentViews 为空，退化为累计浏览量 */
+    private static final Comparator<ArticleCard> HOT_ORDER = Comparator
+            .comparing((ArticleCard article) -> valueOf(article.getRecentViews())).reversed()
+            .thenComparing(Comparator.comparing((ArticleCard article) -> valueOf(article.getViewCount())).reversed())
+            .thenComparing(Comparator.comparing((ArticleCard article) -> valueOf(article.getLikeCount())).reversed())
+            .thenComparing(ArticleCard::getPublishTime, Comparator.nullsLast(Comparator.<Date>reverseOrder()));
+
+    /**
+     * 列表类型
+     */
+    public enum Feed {
+        RECOMMEND,
+        HOT,
+        LATEST,
+        RELATED
+    }
+
+    @Autowired
+    private ArticleFileUrlResolver articleFileUrlResolver;
+
+    @Autowired
+    private CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${simpleshare.article.feed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.feed.size:50}")
+    private int feedSize;
+
+    @Value("${simpleshare.article.feed.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${simpleshare.article.feed.hot-rebuild-seconds:30}")
+    private long hotRebuildSeconds;
+
+    private final ConcurrentMap<String, TenantFeeds> tenants = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteInvalidation);
+    }
+
+    /**
+     * 读取物化列表
+     *
+     * @param feed       列表类型
+     * @param categoryId 分类ID，仅相关列表使用
+     * @param excludeId  需要排除的文章ID，仅相关列表使用
+     * @param limit      返回条数
+     * @param loader     按条数查询数据库的函数（不排除文章）
+     * @return 文章卡片副本
+     */
+    public List<ArticleCard> getFeed(Feed feed, Long categoryId, Long excludeId, Integer limit,
+                                 Function<Integer, List<ArticleCard>> loader) {
+        int capacity = Math.max(feedSize, 1);
+        if (!enabled || limit == null || limit <= 0 || limit > capacity || (feed == Feed.RELATED && categoryId == null)) {
+            Integer fetchSize = excludeId != null && limit != null ? Integer.valueOf(limit + 1) : limit;
+            List<ArticleCard> articles = loader.apply(fetchSize);
+            articleFileUrlResolver.normalizeCards(articles);
+            return slice(articles, excludeId, limit == null ? Integer.MAX_VALUE : limit, false);
+        }
+
+        TenantFeeds feeds = tenants.computeIfAbsent(currentTenantKey(), key -> new TenantFeeds());
+        String feedKey = feed == Feed.RELATED ? feed.name() + ":" + categoryId : feed.name();
+        FeedSnapshot snapshot = feeds.snapshots.get(feedKey);
+        List<ArticleCard> items;
+        if (snapshot != null && !isExpired(snapshot)) {
+            items = snapshot.items;
+        } else {
+            // 相关列表多取一条，排除当前文章后仍能凑满
+            int fetchSize = feed == Feed.RELATED ? capacity + 1 : capacity;
+            items = build(feeds, feedKey, () -> loader.apply(fetchSize));
+        }
+
+        return slice(items, excludeId, limit, true);
+    }
+
+    /**
+     * 使当前租户的全部列表失效，用于发布、修改、审核等会影响排序的变更
+     */
+    public void invalidate() {
+        String tenantKey = currentTenantKey();
+        invalidateTenant(tenantKey);
+        cacheInvalidationBroker.publish(CACHE_NAME, tenantKey + ":" + CacheInvalidationBroker.ALL_KEYS);
+        afterCommit(() -> {
+            invalidateTenant(tenantKey);
+            cacheInvalidationBroker.publish(CACHE_NAME, tenantKey + ":" + CacheInvalidationBroker.ALL_KEYS);
+        });
+    }
+
+    /**
+     * 从当前租户的列表中剔除文章，用于下线和删除
+     */
+    public void remove(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        String tenantKey = currentTenantKey();
+        removeArticle(tenantKey, articleId);
+        cacheInvalidationBroker.publish(CACHE_NAME, tenantKey + ":" + articleId);
+        afterCommit(() -> {
+            removeArticle(tenantKey, articleId);
+            cacheInvalidationBroker.publish(CACHE_NAME, tenantKey + ":" + articleId);
+        });
+    }
+
+    public void remove(Long[] articleIds) {
+        if (articleIds == null) {
+            return;
+        }
+        for (Long articleId : articleIds) {
+            remove(articleId);
+        }
+    }
+
+    /**
+     * 计数即将落库：进行中的构建不再写入缓存，此后构建的列表在落库完成时丢弃
+     */
+    @Override
+    public void beforeCountersFlushed(List<ArticleCounterDelta> deltas) {
+        if (!enabled) {
+            return;
+        }
+        for (TenantFeeds feeds : tenants.values()) {
+            feeds.flushGeneration = feeds.generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * 计数落库后更新列表中的计数字段，热门列表重新排序；
+     * 有列表外文章增长时标记热门列表待重建
+     */
+    @Override
+    public void onCountersFlushed(List<ArticleCounterDelta> deltas) {
+        if (!enabled || deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        // 增量不带租户（文章ID全局唯一），每个租户的列表只会命中自己的文章
+        Map<Long, ArticleCounterDelta> byArticle = new HashMap<>();
+        for (ArticleCounterDelta delta : deltas) {
+            if (delta.getArticleId() != null) {
+                byArticle.put(delta.getArticleId(), delta);
+            }
+        }
+        for (TenantFeeds feeds : tenants.values()) {
+            long flushGeneration = feeds.flushGeneration;
+            for (Map.Entry<String, FeedSnapshot> feedEntry : feeds.snapshots.entrySet()) {
+                boolean hot = Feed.HOT.name().equals(feedEntry.getKey());
+                // 落库开始后才加载的列表可能已读到新计数，叠加增量会重复计算
+                feeds.snapshots.computeIfPresent(feedEntry.getKey(), (key, snapshot) ->
+                        snapshot.generation >= flushGeneration ? null : applyDeltas(snapshot, byArticle, hot));
+            }
+        }
+    }
+
+    private List<ArticleCard> build(TenantFeeds feeds, String feedKey, Supplier<List<ArticleCard>> loader) {
+        CompletableFuture<List<ArticleCard>> future = new CompletableFuture<>();
+        CompletableFuture<List<ArticleCard>> existing = feeds.loading.putIfAbsent(feedKey, future);
+        if (existing != null) {
+            try {
+                return existing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+            }
+        }
+        try {
+            long generation = feeds.generation.get();
+            List<ArticleCard> loaded = loader.get();
+            articleFileUrlResolver.normalizeCards(loaded);
+            List<ArticleCard> items = loaded == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(loaded));
+            // 构建期间发生过失效则不落入缓存，避免旧数据覆盖
+            if (feeds.generation.get() == generation) {
+                feeds.snapshots.put(feedKey, new FeedSnapshot(items, System.currentTimeMillis(), false, generation));
+            }
+            future.complete(items);
+            return items;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            feeds.loading.remove(feedKey, future);
+        }
+    }
+
+    private FeedSnapshot applyDeltas(FeedSnapshot snapshot, Map<Long, ArticleCounterDelta> deltas, boolean hot) {
+        List<ArticleCard> updated = new ArrayList<>(snapshot.items.size());
+        int matched = 0;
+        for (ArticleCard item : snapshot.items) {
+            ArticleCounterDelta delta = deltas.get(item.getArticleId());
+            if (delta == null) {
+                updated.add(item);
+                continue;
+            }
+            matched++;
+            ArticleCard copy = copyOf(item);
+            copy.setViewCount(Math.max(valueOf(copy.getViewCount()) + delta.getViewDelta(), 0L));
+            if (copy.getRecentViews() != null) {
+                copy.setRecentViews(Math.max(copy.getRecentViews() + delta.getViewDelta(), 0L));
+            }
+            copy.setLikeCount(Math.max(valueOf(copy.getLikeCount()) + delta.getLikeDelta(), 0L));
+            copy.setCollectCount(Math.max(valueOf(copy.getCollectCount()) + delta.getCollectDelta(), 0L));
+            updated.add(copy);
+        }
+        boolean stale = snapshot.stale;
+        if (hot) {
+            updated.sort(HOT_ORDER);
+            // 列表外的文章可能已经挤进前 N，交给下一次重建判断
+            stale = stale || matched < deltas.size();
+        }
+        return new FeedSnapshot(Collections.unmodifiableList(updated), snapshot.builtAt, stale, snapshot.generation);
+    }
+
+    private List<ArticleCard> slice(List<ArticleCard> items, Long excludeId, int limit, boolean copy) {
+        if (items == null) {
+            return new ArrayList<>();
+        }
+        List<ArticleCard> result = new ArrayList<>(Math.min(limit, items.size()));
+        for (ArticleCard item : items) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (excludeId != null && excludeId.equals(item.getArticleId())) {
+                continue;
+            }
+            result.add(copy ? copyOf(item) : item);
+        }
+        return result;
+    }
+
+    private boolean isExpired(FeedSnapshot snapshot) {
+        long age = System.currentTimeMillis() - snapshot.builtAt;
+        if (age > TimeUnit.SECONDS.toMillis(Math.max(ttlSeconds, 1L))) {
+            return true;
+        }
+        return snapshot.stale && age > TimeUnit.SECONDS.toMillis(Math.max(hotRebuildSeconds, 1L));
+    }
+
+    private void invalidateTenant(String tenantKey) {
+        TenantFeeds feeds = tenants.get(tenantKey);
+        if (feeds == null) {
+            return;
+        }
+        feeds.generation.incrementAndGet();
+        feeds.snapshots.clear();
+    }
+
+    private void removeArticle(String tenantKey, Long articleId) {
+        TenantFeeds feeds = tenants.get(tenantKey);
+        if (feeds == null) {
+            return;
+        }
+        feeds.generation.incrementAndGet();
+        for (String feedKey : feeds.snapshots.keySet()) {
+            feeds.snapshots.computeIfPresent(feedKey, (key, snapshot) -> {
+                List<ArticleCard> remaining = new ArrayList<>(snapshot.items.size());
+                for (ArticleCard item : snapshot.items) {
+                    if (!articleId.equals(item.getArticleId())) {
+                        remaining.add(item);
+                    }
+                }
+                if (remaining.size() == snapshot.items.size()) {
+                    return snapshot;
+                }
+                return new FeedSnapshot(Collections.unmodifiableList(remaining), snapshot.builtAt, snapshot.stale, snapshot.generation);
+            });
+        }
+    }
+
+    private void onRemoteInvalidation(String key) {
+        int index = key.lastIndexOf(':');
+        if (index <= 0) {
+            return;
+        }
+        String tenantKey = key.substring(0, index);
+        String target = key.substring(index + 1);
+        if (CacheInvalidationBroker.ALL_KEYS.equals(target)) {
+            invalidateTenant(tenantKey);
+            return;
+        }
+        try {
+            removeArticle(tenantKey, Long.valueOf(target));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String currentTenantKey() {
+        String tenantId = TenantContextHolder.getTenantId();
+        return StringUtils.isEmpty(tenantId) ? NO_TENANT : tenantId;
+    }
+
+    private ArticleCard copyOf(ArticleCard source) {
+        ArticleCard copy = new ArticleCard();
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static final class TenantFeeds {
+        private final ConcurrentMap<String, FeedSnapshot> snapshots = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, CompletableFuture<List<ArticleCard>>> loading = new ConcurrentHashMap<>();
+        private final AtomicLong generation = new AtomicLong();
+        private volatile long flushGeneration;
+    }
+
+    private static final class FeedSnapshot {
+        private final List<ArticleCard> items;
+        private final long builtAt;
+        private final boolean stale;
+        /** 开始加载时租户的代数 */
+        private final long generation;
+
+        private FeedSnapshot(List<ArticleCard> items, long builtAt, boolean stale, long generation) {
+            this.items = items;
+            this.builtAt = builtAt;
+            this.stale = stale;
+            this.generation = generation;
+        }
+    }
+}
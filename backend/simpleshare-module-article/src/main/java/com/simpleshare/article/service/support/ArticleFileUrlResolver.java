@@ -2,16 +2,24 @@ package com.simpleshare.article.service.support;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.ArticleCard;
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.framework.storage.config.CloudStorageConfig;
 import com.simpleshare.framework.storage.config.LocalStorageConfig;
 import com.simpleshare.framework.storage.config.StorageProfile;
+import com.simpleshare.framework.storage.image.ImageVariants;
 import com.simpleshare.infra.domain.InfraFileConfig;
 import com.simpleshare.infra.service.IInfraFileConfigService;
+import com.simpleshare.infra.service.IInfraFileVariantService;
 import com.simpleshare.system.service.ITenantStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
@@ -21,26 +29,32 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Normalizes file URLs inside article entities so they always point to the current storage domain.
+ * <p>
+ * Rich-text bodies are rewritten by a single-pass scanner ({@link RichTextUrlRewriter}) and the result is
+ * cached per article version: the key combines article id, field, update time, the storage-base fingerprint
+ * and the length/hash of the raw body, so a stale entry can never be served for different input.
+ * Legacy domain swaps ({@code simpleshare.article.url-rewrite.domain-mappings}) are applied in the same pass.
+ * <p>
+ * Images with generated variants get a {@code srcset} in the same pass (and covers a {@code coverSrcset}),
+ * so clients download a size matching the viewport. Variants are produced asynchronously after upload, so
+ * a body rendered before they exist gains its srcset when its cache entry is next rebuilt.
  */
 @Component
 public class ArticleFileUrlResolver {
 
-    private static final Pattern RESOURCE_ATTR_PATTERN = Pattern.compile(
-            "(?i)(?<attr>\\b(?:srcset|src|href|poster|data-src|data-original|data-url)\\b)(?<eq>\\s*=\\s*)(?<quote>['\"])(?<value>[^\"']*)(?<suffix>['\"])");
-    private static final Pattern CSS_URL_PATTERN = Pattern.compile(
-            "(?i)(?<prefix>url\\(\\s*)(?<quote>['\"]?)(?<value>[^)\"']+)(?<suffixQuote>['\"]?)(?<suffix>\\s*\\))");
     private static final Set<String> DEFAULT_ROOTS;
     private static final Duration CACHE_TTL = Duration.ofMinutes(5);
 
@@ -56,16 +70,70 @@ public class ArticleFileUrlResolver {
     private final ITenantStorageService tenantStorageService;
     private final IInfraFileConfigService infraFileConfigService;
     private final ObjectMapper objectMapper;
+    private final IInfraFileVariantService infraFileVariantService;
 
     private final ConcurrentMap<Long, CachedBase> tenantBaseCache = new ConcurrentHashMap<>();
     private volatile CachedBase infraBaseCache;
 
+    @Value("${simpleshare.article.url-rewrite.cache-enabled:true}")
+    private boolean cacheEnabled;
+
+    /**
+     * Upper bound of cached characters across all entries.
+     */
+    @Value("${simpleshare.article.url-rewrite.cache-max-chars:67108864}")
+    private long cacheMaxChars;
+
+    @Value("${simpleshare.article.url-rewrite.cache-ttl-minutes:30}")
+    private long cacheTtlMinutes;
+
+    /**
+     * Emit srcset for images that have generated variants.
+     */
+    @Value("${simpleshare.article.url-rewrite.srcset-enabled:true}")
+    private boolean srcsetEnabled;
+
+    /**
+     * Legacy domain swaps as {@code old=new}, applied to URLs the storage bases do not manage.
+     */
+    @Value("${simpleshare.article.url-rewrite.domain-mappings:http://aipic.dataguan.com=https://aipic.easyjx.cn}")
+    private String[] domainMappingSpecs;
+
+    private Map<String, String> domainMappings = Collections.emptyMap();
+    private String mappingFingerprint = "";
+
+    private Cache<String, String> renderedCache;
+
     public ArticleFileUrlResolver(ITenantStorageService tenantStorageService,
                                   IInfraFileConfigService infraFileConfigService,
-                                  ObjectMapper objectMapper) {
+                                  ObjectMapper objectMapper,
+                                  IInfraFileVariantService infraFileVariantService) {
         this.tenantStorageService = tenantStorageService;
         this.infraFileConfigService = infraFileConfigService;
         this.objectMapper = objectMapper;
+        this.infraFileVariantService = infraFileVariantService;
+    }
+
+    @PostConstruct
+    public void init() {
+        Map<String, String> mappings = new LinkedHashMap<>();
+        if (domainMappingSpecs != null) {
+            for (String spec : domainMappingSpecs) {
+                int separator = spec == null ? -1 : spec.indexOf('=');
+                if (separator <= 0 || separator == spec.length() - 1) {
+                    continue;
+                }
+                mappings.put(trimTrailingSlash(spec.substring(0, separator).trim()),
+                        trimTrailingSlash(spec.substring(separator + 1).trim()));
+            }
+        }
+        domainMappings = Collections.unmodifiableMap(mappings);
+        mappingFingerprint = mappings.toString();
+        renderedCache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(cacheMaxChars, 1024L))
+                .weigher((String key, String value) -> key.length() + value.length())
+                .expireAfterAccess(Math.max(cacheTtlMinutes, 1L), TimeUnit.MINUTES)
+                .build();
     }
 
     public void normalize(Article article) {
@@ -102,11 +170,55 @@ public class ArticleFileUrlResolver {
         }
     }
 
+    /**
+     * Normalizes list cards, which only carry the cover image and summary.
+     */
+    public void normalizeCards(Collection<ArticleCard> cards) {
+        if (cards == null || cards.isEmpty()) {
+            return;
+        }
+        Map<Long, List<FileBase>> basesByTenant = new HashMap<>();
+        List<String> coverPaths = new ArrayList<>(cards.size());
+        for (ArticleCard card : cards) {
+            if (card == null) {
+                continue;
+            }
+            Long tenantId = card.getTenantId() != null && card.getTenantId() > 0 ? card.getTenantId() : 1L;
+            List<FileBase> bases = basesByTenant.computeIfAbsent(tenantId, this::resolveBases);
+            if (bases.isEmpty()) {
+                continue;
+            }
+            card.setCoverImage(resolveSingleUrl(card.getCoverImage(), bases));
+            if (looksLikeHtml(card.getSummary())) {
+                card.setSummary(resolveRichText(card.getSummary(), bases));
+            }
+            String coverPath = urlPath(card.getCoverImage());
+            if (coverPath != null) {
+                coverPaths.add(coverPath);
+            }
+        }
+        if (!srcsetEnabled || coverPaths.isEmpty()) {
+            return;
+        }
+        // one lookup for all covers on the page
+        Map<String, String> specs = infraFileVariantService.findVariants(coverPaths);
+        if (specs.isEmpty()) {
+            return;
+        }
+        for (ArticleCard card : cards) {
+            if (card != null) {
+                String spec = specs.get(urlPath(card.getCoverImage()));
+                card.setCoverSrcset(spec == null ? null : buildSrcset(card.getCoverImage(), spec));
+            }
+        }
+    }
+
     private void applyNormalization(Article article, List<FileBase> bases) {
         article.setCoverImage(resolveSingleUrl(article.getCoverImage(), bases));
-        article.setContent(resolveRichText(article.getContent(), bases));
-        article.setPreviewContent(resolveRichText(article.getPreviewContent(), bases));
-        article.setMemberContent(resolveRichText(article.getMemberContent(), bases));
+        article.setCoverSrcset(srcsetFor(article.getCoverImage()));
+        article.setContent(resolveCachedRichText(article, "content", article.getContent(), bases));
+        article.setPreviewContent(resolveCachedRichText(article, "preview", article.getPreviewContent(), bases));
+        article.setMemberContent(resolveCachedRichText(article, "member", article.getMemberContent(), bases));
 
         if (looksLikeHtml(article.getSummary())) {
             article.setSummary(resolveRichText(article.getSummary(), bases));
@@ -137,27 +249,116 @@ public class ArticleFileUrlResolver {
                 return resolved;
             }
         }
-        return candidate;
+        return applyDomainMapping(candidate);
     }
 
-    private String resolveRichText(String html, List<FileBase> bases) {
+    private String applyDomainMapping(String url) {
+        if (domainMappings.isEmpty()) {
+            return url;
+        }
+        String trimmed = url.trim();
+        for (Map.Entry<String, String> mapping : domainMappings.entrySet()) {
+            String from = mapping.getKey();
+            if (trimmed.regionMatches(true, 0, from, 0, from.length())
+                    && (trimmed.length() == from.length() || isUrlBoundary(trimmed.charAt(from.length())))) {
+                return mapping.getValue() + trimmed.substring(from.length());
+            }
+        }
+        return url;
+    }
+
+    private boolean isUrlBoundary(char c) {
+        return c == '/' || c == '?' || c == '#' || c == ':';
+    }
+
+    /**
+     * Rewrites a large body once per article version; falls back to a direct rewrite when the article
+     * has no id/update time to key on.
+     */
+    private String resolveCachedRichText(Article article, String field, String html, List<FileBase> bases) {
         if (StringUtils.isEmpty(html)) {
             return html;
         }
-        if (!containsResourceHint(html)) {
+        if (!cacheEnabled || renderedCache == null || article.getArticleId() == null || article.getUpdateTime() == null) {
+            return resolveRichText(html, bases);
+        }
+        String key = article.getArticleId() + ":" + field + ":" + article.getUpdateTime() + ":"
+                + fingerprint(bases) + ":" + html.length() + ":" + html.hashCode();
+        String cached = renderedCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        String resolved = resolveRichText(html, bases);
+        renderedCache.put(key, resolved);
+        return resolved;
+    }
+
+    private String resolveRichText(String html, List<FileBase> bases) {
+        if (StringUtils.isEmpty(html)) {
             return html;
         }
-        String updated = replaceAttributeUrls(html, bases);
-        updated = replaceCssUrls(updated, bases);
-        return updated;
+        return RichTextUrlRewriter.rewrite(html, (attribute, value) -> "srcset".equals(attribute)
+                ? resolveSrcset(value, bases)
+                : resolveSingleUrl(value, bases), srcsetEnabled ? this::srcsetFor : null);
     }
 
-    private boolean containsResourceHint(String content) {
-        if (StringUtils.isEmpty(content)) {
-            return false;
+    /**
+     * srcset for an image URL, or {@code null} when it has no variants
+     */
+    private String srcsetFor(String url) {
+        if (!srcsetEnabled) {
+            return null;
+        }
+        String path = urlPath(url);
+        if (path == null) {
+            return null;
+        }
+        String spec = infraFileVariantService.findVariants(Collections.singletonList(path)).get(path);
+        return spec == null ? null : buildSrcset(url, spec);
+    }
+
+    private String buildSrcset(String url, String spec) {
+        String trimmed = url.trim();
+        int cut = trimmed.length();
+        int query = trimmed.indexOf('?');
+        int fragment = trimmed.indexOf('#');
+        if (query >= 0) {
+            cut = query;
+        }
+        if (fragment >= 0 && fragment < cut) {
+            cut = fragment;
+        }
+        String base = trimmed.substring(0, cut);
+        StringBuilder builder = new StringBuilder();
+        for (ImageVariants.Variant variant : ImageVariants.parse(spec)) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(variant.isOriginal()
+                    ? trimmed
+                    : ImageVariants.variantPath(base, variant.getWidth(), variant.getExtension()))
+                    .append(' ').append(variant.getWidth()).append('w');
+        }
+        return builder.length() == 0 ? null : builder.toString();
+    }
+
+    private String urlPath(String url) {
+        if (StringUtils.isEmpty(url)) {
+            return null;
+        }
+        UrlDetails details = UrlDetails.parse(url);
+        if (details == null || details.dataUri || StringUtils.isEmpty(details.path) || "/".equals(details.path)) {
+            return null;
         }
-        String lower = content.toLowerCase(Locale.ROOT);
-        return lower.contains("src=") || lower.contains("href=") || lower.contains("url(") || lower.contains("upload/");
+        return details.path;
+    }
+
+    private String fingerprint(List<FileBase> bases) {
+        StringBuilder builder = new StringBuilder();
+        for (FileBase base : bases) {
+            builder.append(base.fingerprint).append('|');
+        }
+        return Integer.toHexString((builder + mappingFingerprint).hashCode());
     }
 
     private boolean looksLikeHtml(String value) {
@@ -168,39 +369,6 @@ public class ArticleFileUrlResolver {
         return trimmed.startsWith("<") && trimmed.contains(">");
     }
 
-    private String replaceAttributeUrls(String html, List<FileBase> bases) {
-        Matcher matcher = RESOURCE_ATTR_PATTERN.matcher(html);
-        StringBuffer buffer = new StringBuffer();
-        boolean changed = false;
-        while (matcher.find()) {
-            String currentValue = matcher.group("value");
-            String replacement = currentValue;
-            if (!StringUtils.isEmpty(currentValue)) {
-                String attrName = matcher.group("attr");
-                String normalizedAttr = attrName != null ? attrName.toLowerCase(Locale.ROOT) : "";
-                if ("srcset".equals(normalizedAttr)) {
-                    replacement = resolveSrcset(currentValue, bases);
-                } else {
-                    replacement = resolveSingleUrl(currentValue, bases);
-                }
-            }
-            if (!Objects.equals(currentValue, replacement)) {
-                changed = true;
-            }
-            matcher.appendReplacement(buffer,
-                    matcher.group("attr")
-                            + matcher.group("eq")
-                            + matcher.group("quote")
-                            + Matcher.quoteReplacement(replacement)
-                            + matcher.group("suffix"));
-        }
-        if (!changed) {
-            return html;
-        }
-        matcher.appendTail(buffer);
-        return buffer.toString();
-    }
-
     private String resolveSrcset(String value, List<FileBase> bases) {
         String[] parts = value.split(",");
         List<String> rebuilt = new ArrayList<>(parts.length);
@@ -225,30 +393,6 @@ public class ArticleFileUrlResolver {
         return changed ? String.join(", ", rebuilt) : value;
     }
 
-    private String replaceCssUrls(String html, List<FileBase> bases) {
-        Matcher matcher = CSS_URL_PATTERN.matcher(html);
-        StringBuffer buffer = new StringBuffer();
-        boolean changed = false;
-        while (matcher.find()) {
-            String currentValue = matcher.group("value");
-            String replacement = resolveSingleUrl(currentValue, bases);
-            if (!Objects.equals(currentValue, replacement)) {
-                changed = true;
-            }
-            matcher.appendReplacement(buffer,
-                    matcher.group("prefix")
-                            + matcher.group("quote")
-                            + Matcher.quoteReplacement(replacement)
-                            + matcher.group("suffixQuote")
-                            + matcher.group("suffix"));
-        }
-        if (!changed) {
-            return html;
-        }
-        matcher.appendTail(buffer);
-        return buffer.toString();
-    }
-
     private List<FileBase> resolveBases(Long tenantId) {
         List<FileBase> bases = new ArrayList<>(2);
         FileBase tenantBase = getTenantBase(tenantId);
@@ -480,11 +624,13 @@ public class ArticleFileUrlResolver {
         private final String baseUrl;
         private final Set<String> managedRoots;
         private final String host;
+        private final String fingerprint;
 
         private FileBase(String baseUrl, Set<String> managedRoots) {
             this.baseUrl = baseUrl;
             this.managedRoots = managedRoots;
             this.host = resolveHost(baseUrl);
+            this.fingerprint = baseUrl + new TreeSet<>(managedRoots);
         }
 
         private String buildUrl(String path, String query, String fragment) {
@@ -0,0 +1,480 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.mapper.ArticleLikeMapper;
+import com.simpleshare.common.constant.CacheConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章点赞状态。
+ * <p>
+ * 每篇文章在 Redis 中维护一个点赞用户位图（{@code article_like:{articleId}}），偏移量为用户ID，
+ * 第 0 位固定置 1 表示位图已从数据库加载。点赞/取消只做一次 SETBIT，依据返回的旧值判断状态是否真正变化，
+ * 重复点赞不会重复计数。
+ * <p>
+ * 变更同时写入 {@code article_like_pending:{articleId}}（用户ID → 1/0）并登记到 {@code article_like_dirty}，
+ * 由后台线程批量落库到 article_like。待落库变更存放在 Redis 中，节点重启不会丢失；
+ * 字段值未被再次修改时才删除，落库期间的新变更留到下一轮。位图过期后按需从数据库重建，并叠加尚未落库的变更。
+ * <p>
+ * Redis 不可用、功能关闭或用户ID超出位图上限时直接读写 article_like。
+ */
+@Component
+public class ArticleLikeManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleLikeManager.class);
+
+    private static final long LOADED_OFFSET = 0L;
+
+    private static final int DB_BATCH_SIZE = 500;
+
+    private static final String LIKED = "1";
+
+    private static final String UNLIKED = "0";
+
+    private static final String FLUSH_LOCK_KEY = CacheConstants.ARTICLE_LIKE_DIRTY_KEY + ":lock";
+
+    /**
+     * 仅删除未被再次修改的字段；哈希清空后把文章移出待落库集合，返回剩余字段数
+     */
+    private static final byte[] RELEASE_SCRIPT = bytes(
+            "for i = 2, #ARGV, 2 do "
+                    + "if redis.call('hget', KEYS[1], ARGV[i]) == ARGV[i + 1] then redis.call('hdel', KEYS[1], ARGV[i]) end "
+                    + "end "
+                    + "local left = redis.call('hlen', KEYS[1]) "
+                    + "if left == 0 then redis.call('srem', KEYS[2], ARGV[1]) end "
+                    + "return left");
+
+    private static final byte[] UNLOCK_SCRIPT = bytes(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0");
+
+    private final ArticleLikeMapper likeMapper;
+
+    private final ArticleCounterManager counterManager;
+
+    @Autowired
+    private RedisTemplate redisTemplate;
+
+    @Value("${simpleshare.article.like.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.like.bitmap-ttl-hours:72}")
+    private long bitmapTtlHours;
+
+    @Value("${simpleshare.article.like.max-user-id:50000000}")
+    private long maxUserId;
+
+    @Value("${simpleshare.article.like.flush-interval-ms:2000}")
+    private long flushIntervalMs;
+
+    @Value("${simpleshare.article.like.flush-articles:200}")
+    private int flushArticles;
+
+    @Value("${simpleshare.article.like.load-page-size:5000}")
+    private int loadPageSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<Long, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public ArticleLikeManager(ArticleLikeMapper likeMapper, ArticleCounterManager counterManager) {
+        this.likeMapper = likeMapper;
+        this.counterManager = counterManager;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Article like bitmaps disabled, like state will be read from article_like directly");
+            return;
+        }
+        long interval = Math.max(flushIntervalMs, 200L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-like-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 点赞
+     *
+     * @return 状态是否发生变化，重复点赞返回 false
+     */
+    public boolean like(Long articleId, Long userId) {
+        return toggle(articleId, userId, true);
+    }
+
+    /**
+     * 取消点赞
+     *
+     * @return 状态是否发生变化，未点赞时返回 false
+     */
+    public boolean unlike(Long articleId, Long userId) {
+        return toggle(articleId, userId, false);
+    }
+
+    public boolean isLiked(Long articleId, Long userId) {
+        if (articleId == null || userId == null) {
+            return false;
+        }
+        return likedArticleIds(userId, Collections.singleton(articleId)).contains(articleId);
+    }
+
+    /**
+     * 批量判断用户是否点赞过给定文章，列表页一次往返
+     *
+     * @return 已点赞的文章ID
+     */
+    public Set<Long> likedArticleIds(Long userId, Collection<Long> articleIds) {
+        if (userId == null || articleIds == null || articleIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(articleIds));
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        if (!bitmapUsable(userId)) {
+            return likedInDatabase(userId, ids);
+        }
+        try {
+            List<Object> bits = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long articleId : ids) {
+                    byte[] key = bitmapKey(articleId);
+                    connection.getBit(key, LOADED_OFFSET);
+                    connection.getBit(key, userId);
+                }
+                return null;
+            });
+            Set<Long> liked = new HashSet<>();
+            List<Long> unloaded = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                if (!Boolean.TRUE.equals(bits.get(i * 2))) {
+                    unloaded.add(ids.get(i));
+                } else if (Boolean.TRUE.equals(bits.get(i * 2 + 1))) {
+                    liked.add(ids.get(i));
+                }
+            }
+            if (!unloaded.isEmpty()) {
+                // 位图未加载的文章查库，再叠加尚未落库的变更；不在读路径上重建位图
+                Set<Long> stored = likedInDatabase(userId, unloaded);
+                byte[] field = bytes(String.valueOf(userId));
+                List<Object> pending = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Long articleId : unloaded) {
+                        connection.hGet(pendingKey(articleId), field);
+                    }
+                    return null;
+                });
+                for (int i = 0; i < unloaded.size(); i++) {
+                    String state = text(pending.get(i));
+                    if (LIKED.equals(state) || (state == null && stored.contains(unloaded.get(i)))) {
+                        liked.add(unloaded.get(i));
+                    }
+                }
+            }
+            return liked;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to read like bitmaps, falling back to database: {}", ex.getMessage());
+            return likedInDatabase(userId, ids);
+        }
+    }
+
+    /**
+     * 将待落库的点赞变更写入 article_like，多个节点通过租约锁轮流执行
+     *
+     * @return 本轮落库的变更数
+     */
+    public int flush() {
+        byte[] lockKey = bytes(FLUSH_LOCK_KEY);
+        byte[] owner = bytes(nodeId);
+        long leaseMillis = Math.max(flushIntervalMs, 200L) * 5;
+        Boolean locked = (Boolean) redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.set(lockKey, owner, Expiration.milliseconds(leaseMillis), RedisStringCommands.SetOption.ifAbsent()));
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0;
+        }
+        int changes = 0;
+        try {
+            byte[] dirtyKey = bytes(CacheConstants.ARTICLE_LIKE_DIRTY_KEY);
+            long limit = Math.max(flushArticles, 1);
+            @SuppressWarnings("unchecked")
+            List<byte[]> members = (List<byte[]>) redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.sRandMember(dirtyKey, limit));
+            if (members == null || members.isEmpty()) {
+                return 0;
+            }
+            for (byte[] member : members) {
+                Long articleId = parseLong(text(member));
+                if (articleId == null) {
+                    redisTemplate.execute((RedisCallback<Long>) connection -> connection.sRem(dirtyKey, member));
+                    continue;
+                }
+                changes += flushArticle(articleId);
+            }
+        } finally {
+            redisTemplate.execute((RedisCallback<Object>) connection ->
+                    connection.eval(UNLOCK_SCRIPT, ReturnType.INTEGER, 1, lockKey, owner));
+        }
+        return changes;
+    }
+
+    private boolean toggle(Long articleId, Long userId, boolean liked) {
+        if (articleId == null || userId == null) {
+            return false;
+        }
+        boolean changed;
+        if (bitmapUsable(userId)) {
+            changed = toggleInRedis(articleId, userId, liked);
+        } else {
+            changed = toggleInDatabase(articleId, userId, liked);
+        }
+        if (!changed) {
+            return false;
+        }
+        counterManager.increment(articleId, ArticleCounterManager.Metric.LIKE, liked ? 1 : -1);
+        return true;
+    }
+
+    private boolean toggleInRedis(Long articleId, Long userId, boolean liked) {
+        try {
+            ensureLoaded(articleId);
+            byte[] key = bitmapKey(articleId);
+            byte[] pendingKey = pendingKey(articleId);
+            byte[] field = bytes(String.valueOf(userId));
+            byte[] value = bytes(liked ? LIKED : UNLIKED);
+            byte[] dirtyKey = bytes(CacheConstants.ARTICLE_LIKE_DIRTY_KEY);
+            byte[] member = bytes(String.valueOf(articleId));
+            long ttlSeconds = bitmapTtlSeconds();
+            // 先记待落库变更再改位图，并发重建位图时总能叠加到这次变更
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hSet(pendingKey, field, value);
+                connection.sAdd(dirtyKey, member);
+                connection.setBit(key, userId, liked);
+                connection.expire(key, ttlSeconds);
+                return null;
+            });
+            boolean previous = Boolean.TRUE.equals(results.get(2));
+            return previous != liked;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to update like bitmap of article {}, writing to database: {}", articleId, ex.getMessage());
+            return toggleInDatabase(articleId, userId, liked);
+        }
+    }
+
+    private boolean toggleInDatabase(Long articleId, Long userId, boolean liked) {
+        List<Long> userIds = Collections.singletonList(userId);
+        int rows = liked ? likeMapper.insertLikes(articleId, userIds) : likeMapper.deleteLikes(articleId, userIds);
+        return rows > 0;
+    }
+
+    private Set<Long> likedInDatabase(Long userId, List<Long> articleIds) {
+        Set<Long> liked = new HashSet<>();
+        for (int from = 0; from < articleIds.size(); from += DB_BATCH_SIZE) {
+            List<Long> batch = articleIds.subList(from, Math.min(from + DB_BATCH_SIZE, articleIds.size()));
+            List<Long> rows = likeMapper.selectLikedArticleIds(userId, batch);
+            if (rows != null) {
+                liked.addAll(rows);
+            }
+        }
+        return liked;
+    }
+
+    /**
+     * 确认位图已加载并续期，未加载时从 article_like 重建
+     */
+    private void ensureLoaded(Long articleId) {
+        byte[] key = bitmapKey(articleId);
+        long ttlSeconds = bitmapTtlSeconds();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.getBit(key, LOADED_OFFSET);
+            connection.expire(key, ttlSeconds);
+            return null;
+        });
+        if (Boolean.TRUE.equals(results.get(0))) {
+            return;
+        }
+        Object lock = loadLocks.computeIfAbsent(articleId, id -> new Object());
+        try {
+            synchronized (lock) {
+                Boolean loaded = (Boolean) redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                        connection.getBit(key, LOADED_OFFSET));
+                if (!Boolean.TRUE.equals(loaded)) {
+                    loadBitmap(articleId, key, ttlSeconds);
+                }
+            }
+        } finally {
+            loadLocks.remove(articleId, lock);
+        }
+    }
+
+    private void loadBitmap(Long articleId, byte[] key, long ttlSeconds) {
+        int pageSize = Math.max(loadPageSize, 100);
+        long afterUserId = 0L;
+        List<Long> page;
+        do {
+            page = likeMapper.selectUserIdsAfter(articleId, afterUserId, pageSize);
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            List<Long> userIds = page;
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long userId : userIds) {
+                    if (userId != null && userId > 0 && userId <= maxUserId) {
+                        connection.setBit(key, userId, true);
+                    }
+                }
+                return null;
+            });
+            afterUserId = page.get(page.size() - 1);
+        } while (page.size() >= pageSize);
+
+        // 叠加尚未落库的变更后再置加载标记
+        byte[] pendingKey = pendingKey(articleId);
+        @SuppressWarnings("unchecked")
+        Map<byte[], byte[]> pending = (Map<byte[], byte[]>) redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                connection.hGetAll(pendingKey));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if (pending != null) {
+                for (Map.Entry<byte[], byte[]> entry : pending.entrySet()) {
+                    Long userId = parseLong(text(entry.getKey()));
+                    if (userId != null && userId > 0 && userId <= maxUserId) {
+                        connection.setBit(key, userId, LIKED.equals(text(entry.getValue())));
+                    }
+                }
+            }
+            connection.setBit(key, LOADED_OFFSET, true);
+            connection.expire(key, ttlSeconds);
+            return null;
+        });
+    }
+
+    private int flushArticle(Long articleId) {
+        byte[] pendingKey = pendingKey(articleId);
+        @SuppressWarnings("unchecked")
+        Map<byte[], byte[]> entries = (Map<byte[], byte[]>) redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                connection.hGetAll(pendingKey));
+        List<Long> liked = new ArrayList<>();
+        List<Long> unliked = new ArrayList<>();
+        List<byte[]> args = new ArrayList<>();
+        args.add(pendingKey);
+        args.add(bytes(CacheConstants.ARTICLE_LIKE_DIRTY_KEY));
+        args.add(bytes(String.valueOf(articleId)));
+        if (entries != null) {
+            for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+                Long userId = parseLong(text(entry.getKey()));
+                String state = text(entry.getValue());
+                if (userId != null) {
+                    (LIKED.equals(state) ? liked : unliked).add(userId);
+                }
+                args.add(entry.getKey());
+                args.add(entry.getValue());
+            }
+        }
+        try {
+            for (int from = 0; from < liked.size(); from += DB_BATCH_SIZE) {
+                likeMapper.insertLikes(articleId, liked.subList(from, Math.min(from + DB_BATCH_SIZE, liked.size())));
+            }
+            for (int from = 0; from < unliked.size(); from += DB_BATCH_SIZE) {
+                likeMapper.deleteLikes(articleId, unliked.subList(from, Math.min(from + DB_BATCH_SIZE, unliked.size())));
+            }
+        } catch (RuntimeException ex) {
+            // 保留待落库变更，下一轮重试
+            log.warn("Failed to persist likes of article {}: {}", articleId, ex.getMessage());
+            return 0;
+        }
+        byte[][] keysAndArgs = args.toArray(new byte[0][]);
+        redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.eval(RELEASE_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs));
+        return liked.size() + unliked.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.warn("Failed to flush article likes: {}", ex.getMessage());
+        }
+    }
+
+    private boolean bitmapUsable(Long userId) {
+        return enabled && userId > 0 && userId <= maxUserId;
+    }
+
+    private long bitmapTtlSeconds() {
+        return TimeUnit.HOURS.toSeconds(Math.max(bitmapTtlHours, 1L));
+    }
+
+    private static byte[] bitmapKey(Long articleId) {
+        return bytes(CacheConstants.ARTICLE_LIKE_KEY + articleId);
+    }
+
+    private static byte[] pendingKey(Long articleId) {
+        return bytes(CacheConstants.ARTICLE_LIKE_PENDING_KEY + articleId);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String text(Object value) {
+        if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
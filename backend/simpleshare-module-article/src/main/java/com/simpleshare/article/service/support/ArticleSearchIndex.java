@@ -0,0 +1,586 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.mapper.ArticleMapper;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollector;
+import org.apache.lucene.search.highlight.DefaultEncoder;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.util.HtmlUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文章全文检索（本地 Lucene 索引）。
+ * <p>
+ * 索引所有未删除的文章（正文去除 HTML 后建索引，会员内容不入索引），中文按 CJK 二元切分，
+ * 加密或会员文章只索引标题、摘要、标签与预览内容，正文既不参与匹配也不会出现在高亮片段中；
+ * 建索引时同时保留单字以支持单字查询。按租户、发布与审核状态过滤，BM25 排序并生成高亮片段。
+ * <p>
+ * 文章变更在事务提交后由单线程按数据库当前状态重建对应文档，并通过
+ * {@link CacheInvalidationBroker} 通知其他节点同步各自的本地索引。
+ * 索引为空或索引格式版本变化时启动后台全量重建，重建期间 {@link #search} 返回 null，调用方回退到 SQL 查询。
+ */
+@Component
+public class ArticleSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    private static final String CACHE_NAME = "article_search";
+
+    private static final String F_ID = "id";
+    private static final String F_TENANT = "tenant";
+    private static final String F_STATUS = "status";
+    private static final String F_REVIEW = "review";
+    private static final String F_TITLE = "title";
+    private static final String F_SUMMARY = "summary";
+    private static final String F_TAGS = "tags";
+    private static final String F_CONTENT = "content";
+    private static final String F_ALL = "all";
+
+    /** 文档结构变化时递增，启动时版本不一致会触发全量重建 */
+    private static final String INDEX_VERSION = "2";
+
+    private static final String VERSION_KEY = "version";
+
+    private static final int MAX_QUERY_TERMS = 32;
+
+    private static final int SNIPPET_LENGTH = 120;
+
+    /**
+     * 搜索结果分页
+     */
+    public static final class SearchPage {
+        private final long total;
+        private final List<SearchHit> hits;
+
+        private SearchPage(long total, List<SearchHit> hits) {
+            this.total = total;
+            this.hits = hits;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public List<SearchHit> getHits() {
+            return hits;
+        }
+    }
+
+    /**
+     * 单条命中
+     */
+    public static final class SearchHit {
+        private final Long articleId;
+        private final float score;
+        private final String highlight;
+        private final String snippet;
+
+        private SearchHit(Long articleId, float score, String highlight, String snippet) {
+            this.articleId = articleId;
+            this.score = score;
+            this.highlight = highlight;
+            this.snippet = snippet;
+        }
+
+        public Long getArticleId() {
+            return articleId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        /**
+         * 带 {@code <em>} 标记、已做 HTML 转义的正文片段
+         */
+        public String getHighlight() {
+            return highlight;
+        }
+
+        /**
+         * 纯文本正文片段
+         */
+        public String getSnippet() {
+            return snippet;
+        }
+    }
+
+    private final ArticleMapper articleMapper;
+
+    private final CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${simpleshare.article.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.search.index-dir:./data/search-index}")
+    private String indexDir;
+
+    @Value("${simpleshare.article.search.refresh-interval-ms:1000}")
+    private long refreshIntervalMs;
+
+    @Value("${simpleshare.article.search.commit-interval-seconds:30}")
+    private long commitIntervalSeconds;
+
+    @Value("${simpleshare.article.search.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+
+    private final Analyzer indexAnalyzer = cjkAnalyzer(true);
+    private final Analyzer queryAnalyzer = cjkAnalyzer(false);
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService executor;
+
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Autowired
+    public ArticleSearchIndex(ArticleMapper articleMapper, CacheInvalidationBroker cacheInvalidationBroker) {
+        this.articleMapper = articleMapper;
+        this.cacheInvalidationBroker = cacheInvalidationBroker;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Article full-text index disabled, search will use SQL");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Path path = Paths.get(indexDir).toAbsolutePath();
+            Files.createDirectories(path);
+            directory = FSDirectory.open(path);
+            IndexWriterConfig config = new IndexWriterConfig(indexAnalyzer);
+            config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            writer = new IndexWriter(directory, config);
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException ex) {
+            log.error("Failed to open article search index at {}, search will use SQL: {}", indexDir, ex.getMessage());
+            closeQuietly();
+            return;
+        }
+        long interval = Math.max(refreshIntervalMs, 100L);
+        executor.scheduleWithFixedDelay(this::refreshQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        long commitInterval = Math.max(commitIntervalSeconds, 1L);
+        executor.scheduleWithFixedDelay(this::commitQuietly, commitInterval, commitInterval, TimeUnit.SECONDS);
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteChange);
+
+        if (writer.getDocStats().numDocs == 0 || !INDEX_VERSION.equals(indexVersion())) {
+            rebuild();
+        } else {
+            ready = true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeQuietly();
+    }
+
+    /**
+     * 索引当前是否可用于检索
+     */
+    public boolean isAvailable() {
+        return enabled && ready && !rebuilding.get() && searcherManager != null;
+    }
+
+    /**
+     * 按数据库当前状态重建指定文章的索引文档（存在事务时在提交后执行），并通知其他节点
+     */
+    public void reindex(Long articleId) {
+        if (articleId == null || writer == null) {
+            return;
+        }
+        Runnable action = () -> {
+            submitReindex(articleId);
+            cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(articleId));
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public void reindex(Long[] articleIds) {
+        if (articleIds == null) {
+            return;
+        }
+        for (Long articleId : articleIds) {
+            reindex(articleId);
+        }
+    }
+
+    /**
+     * 异步全量重建，重建期间检索回退到 SQL
+     *
+     * @return 是否已提交重建任务（已有重建在进行时返回 false）
+     */
+    public boolean rebuild() {
+        if (writer == null || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(this::doRebuild);
+        return true;
+    }
+
+    /**
+     * 全文检索
+     *
+     * @param tenantId      租户ID，为空时不按租户过滤
+     * @param keyword       关键词
+     * @param publishedOnly 是否只检索已发布且审核通过的文章
+     * @param pageNum       页码（从1开始）
+     * @param pageSize      页大小
+     * @return 检索结果；索引不可用时返回 null
+     */
+    public SearchPage search(String tenantId, String keyword, boolean publishedOnly, int pageNum, int pageSize) {
+        if (!isAvailable()) {
+            return null;
+        }
+        List<String> terms = analyze(keyword);
+        if (terms.isEmpty()) {
+            return new SearchPage(0, Collections.emptyList());
+        }
+        int page = Math.max(pageNum, 1);
+        int size = Math.max(pageSize, 1);
+        Query query = buildQuery(tenantId, terms, publishedOnly);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopScoreDocCollector collector = TopScoreDocCollector.create(page * size, Integer.MAX_VALUE);
+            searcher.search(query, collector);
+            TopDocs topDocs = collector.topDocs((page - 1) * size, size);
+            Highlighter highlighter = highlighter(terms, new SimpleHTMLFormatter("<em>", "</em>"), true);
+            Highlighter plain = highlighter(terms, new SimpleHTMLFormatter("", ""), false);
+            List<SearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                Document doc = searcher.doc(scoreDoc.doc);
+                String content = doc.get(F_CONTENT);
+                hits.add(new SearchHit(Long.valueOf(doc.get(F_ID)), scoreDoc.score,
+                        bestFragment(highlighter, content), bestFragment(plain, content)));
+            }
+            return new SearchPage(collector.getTotalHits(), hits);
+        } catch (IOException ex) {
+            log.warn("Article full-text search failed, falling back to SQL: {}", ex.getMessage());
+            return null;
+        } finally {
+            releaseQuietly(searcher);
+        }
+    }
+
+    private void doRebuild() {
+        long started = System.currentTimeMillis();
+        long count = 0;
+        try {
+            writer.deleteAll();
+            Long lastId = null;
+            int batchSize = Math.max(rebuildBatchSize, 50);
+            while (true) {
+                List<Article> batch = articleMapper.selectArticlesForIndex(lastId, batchSize);
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                for (Article article : batch) {
+                    writer.updateDocument(new Term(F_ID, String.valueOf(article.getArticleId())), toDocument(article));
+                    lastId = article.getArticleId();
+                }
+                count += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            writer.setLiveCommitData(Collections.singletonMap(VERSION_KEY, INDEX_VERSION).entrySet());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            ready = true;
+            log.info("Article search index rebuilt: {} documents in {} ms", count, System.currentTimeMillis() - started);
+        } catch (Exception ex) {
+            log.error("Article search index rebuild failed after {} documents: {}", count, ex.getMessage(), ex);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void submitReindex(Long articleId) {
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                Term idTerm = new Term(F_ID, String.valueOf(articleId));
+                Article article = articleMapper.selectArticleForIndex(articleId);
+                if (article == null) {
+                    writer.deleteDocuments(idTerm);
+                } else {
+                    writer.updateDocument(idTerm, toDocument(article));
+                }
+            } catch (Exception ex) {
+                log.warn("Failed to reindex article {}: {}", articleId, ex.getMessage());
+            }
+        });
+    }
+
+    private void onRemoteChange(String key) {
+        if (CacheInvalidationBroker.ALL_KEYS.equals(key)) {
+            rebuild();
+            return;
+        }
+        try {
+            submitReindex(Long.valueOf(key));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private Document toDocument(Article article) {
+        Document doc = new Document();
+        doc.add(new StringField(F_ID, String.valueOf(article.getArticleId()), Field.Store.YES));
+        doc.add(new StringField(F_TENANT, String.valueOf(article.getTenantId()), Field.Store.NO));
+        doc.add(new StringField(F_STATUS, String.valueOf(article.getStatus()), Field.Store.NO));
+        doc.add(new StringField(F_REVIEW, String.valueOf(article.getReviewStatus()), Field.Store.NO));
+        String title = StringUtils.defaultString(article.getTitle());
+        String summary = plainText(article.getSummary());
+        String tags = StringUtils.defaultString(article.getTags()).replace(',', ' ');
+        // 受保护文章的正文不入索引，否则可按词试探出正文内容
+        String content = isProtected(article) ? plainText(article.getPreviewContent()) : plainText(article.getContent());
+        doc.add(new TextField(F_TITLE, title, Field.Store.NO));
+        doc.add(new TextField(F_SUMMARY, summary, Field.Store.NO));
+        doc.add(new TextField(F_TAGS, tags, Field.Store.NO));
+        doc.add(new TextField(F_CONTENT, content, Field.Store.YES));
+        doc.add(new TextField(F_ALL, title + '\n' + summary + '\n' + tags + '\n' + content, Field.Store.NO));
+        return doc;
+    }
+
+    private static boolean isProtected(Article article) {
+        boolean passwordProtected = article.getIsPasswd() != null && article.getIsPasswd() == 0;
+        boolean memberOnly = article.getAccessLevel() != null && article.getAccessLevel() > 0;
+        return passwordProtected || memberOnly;
+    }
+
+    private String indexVersion() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (VERSION_KEY.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private Query buildQuery(String tenantId, List<String> terms, boolean publishedOnly) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        if (StringUtils.isNotEmpty(tenantId)) {
+            builder.add(new TermQuery(new Term(F_TENANT, tenantId)), BooleanClause.Occur.FILTER);
+        }
+        if (publishedOnly) {
+            builder.add(new TermQuery(new Term(F_STATUS, "1")), BooleanClause.Occur.FILTER);
+            builder.add(new TermQuery(new Term(F_REVIEW, "1")), BooleanClause.Occur.FILTER);
+        }
+        for (String term : terms) {
+            // 每个词都必须出现在文章的某个字段中，字段权重只影响排序
+            builder.add(new TermQuery(new Term(F_ALL, term)), BooleanClause.Occur.MUST);
+            builder.add(new BoostQuery(new TermQuery(new Term(F_TITLE, term)), 3f), BooleanClause.Occur.SHOULD);
+            builder.add(new BoostQuery(new TermQuery(new Term(F_TAGS, term)), 2f), BooleanClause.Occur.SHOULD);
+            builder.add(new BoostQuery(new TermQuery(new Term(F_SUMMARY, term)), 2f), BooleanClause.Occur.SHOULD);
+            builder.add(new TermQuery(new Term(F_CONTENT, term)), BooleanClause.Occur.SHOULD);
+        }
+        return builder.build();
+    }
+
+    private Highlighter highlighter(List<String> terms, SimpleHTMLFormatter formatter, boolean escape) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (String term : terms) {
+            builder.add(new TermQuery(new Term(F_CONTENT, term)), BooleanClause.Occur.SHOULD);
+        }
+        Highlighter highlighter = new Highlighter(formatter,
+                escape ? new SimpleHTMLEncoder() : new DefaultEncoder(),
+                new QueryScorer(builder.build(), F_CONTENT));
+        highlighter.setTextFragmenter(new SimpleFragmenter(SNIPPET_LENGTH));
+        return highlighter;
+    }
+
+    private String bestFragment(Highlighter highlighter, String content) {
+        if (StringUtils.isEmpty(content)) {
+            return null;
+        }
+        try {
+            return highlighter.getBestFragment(indexAnalyzer, F_CONTENT, content);
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private List<String> analyze(String keyword) {
+        if (StringUtils.isBlank(keyword)) {
+            return Collections.emptyList();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = queryAnalyzer.tokenStream(F_ALL, new StringReader(keyword.trim()))) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private String plainText(String html) {
+        if (StringUtils.isEmpty(html)) {
+            return "";
+        }
+        String text = html.replaceAll("(?is)<(script|style)[^>]*>.*?</\\1>", " ")
+                .replaceAll("<[^>]+>", " ");
+        return HtmlUtils.htmlUnescape(text).replaceAll("\\s+", " ").trim();
+    }
+
+    private void refreshQuietly() {
+        try {
+            if (searcherManager != null) {
+                searcherManager.maybeRefresh();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to refresh article search index: {}", ex.getMessage());
+        }
+    }
+
+    private void commitQuietly() {
+        try {
+            if (writer != null && writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to commit article search index: {}", ex.getMessage());
+        }
+    }
+
+    private void releaseQuietly(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void closeQuietly() {
+        ready = false;
+        try {
+            if (searcherManager != null) {
+                searcherManager.close();
+            }
+            if (writer != null) {
+                writer.close();
+            }
+            if (directory != null) {
+                directory.close();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to close article search index: {}", ex.getMessage());
+        } finally {
+            searcherManager = null;
+            writer = null;
+            directory = null;
+        }
+    }
+
+    /**
+     * CJK 分词：全角/半角归一、小写、中日韩文字二元切分
+     *
+     * @param outputUnigrams 是否同时输出单字（建索引时输出，以便单字查询命中）
+     */
+    private static Analyzer cjkAnalyzer(boolean outputUnigrams) {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer source = new StandardTokenizer();
+                TokenStream result = new CJKWidthFilter(source);
+                result = new LowerCaseFilter(result);
+                result = new CJKBigramFilter(result, CJKBigramFilter.HAN | CJKBigramFilter.HIRAGANA
+                        | CJKBigramFilter.KATAKANA | CJKBigramFilter.HANGUL, outputUnigrams);
+                return new TokenStreamComponents(source, result);
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.common.utils.SecurityUtils;
+import com.simpleshare.common.utils.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加密文章解锁凭证与密码尝试限制。
+ * <p>
+ * 密码校验通过后签发 {@code articleId.expiresAt.signature} 形式的解锁凭证，签名为 HMAC-SHA256，
+ * 签名内容包含文章当前的密码哈希，修改密码后旧凭证自动失效。后续请求只做一次 HMAC 校验，不再执行 BCrypt。
+ * <p>
+ * 每次校验密码前先在一段 Lua 中递增“文章 + 客户端 IP”（{@code article_unlock_fail:{articleId}:{ip}}）
+ * 与文章（{@code article_unlock_fail:{articleId}}）两个计数，任一超过上限即拒绝，不再执行 BCrypt。
+ * 文章维度的上限与 IP 无关，用于限制分散到多个地址的尝试。密码正确时清除 IP 计数并归还文章计数。
+ * Redis 不可用时不做限制。
+ */
+@Component
+public class ArticleUnlockManager {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleUnlockManager.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final String KEY_CONTEXT = "simpleshare-article-unlock";
+
+    /**
+     * 依次递增 IP 与文章计数，首次递增时设置窗口；任一超过上限返回 0，上限为 0 的维度不计数
+     */
+    private static final byte[] ACQUIRE_SCRIPT = bytes(
+            "for i = 1, 2 do "
+                    + "local limit = tonumber(ARGV[i]) "
+                    + "if limit > 0 then "
+                    + "local count = redis.call('incr', KEYS[i]) "
+                    + "if count == 1 then redis.call('expire', KEYS[i], ARGV[3]) end "
+                    + "if count > limit then return 0 end "
+                    + "end "
+                    + "end "
+                    + "return 1");
+
+    /**
+     * 密码正确：清除 IP 计数，文章计数仍在窗口内时归还本次占用
+     */
+    private static final byte[] RELEASE_SCRIPT = bytes(
+            "redis.call('del', KEYS[1]) "
+                    + "if redis.call('exists', KEYS[2]) == 1 then redis.call('decr', KEYS[2]) end "
+                    + "return 1");
+
+    @Autowired
+    private RedisTemplate redisTemplate;
+
+    @Value("${simpleshare.article.unlock.secret:${token.secret:}}")
+    private String secret;
+
+    @Value("${simpleshare.article.unlock.token-ttl-minutes:120}")
+    private long tokenTtlMinutes;
+
+    @Value("${simpleshare.article.unlock.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${simpleshare.article.unlock.max-article-attempts:100}")
+    private int maxArticleAttempts;
+
+    @Value("${simpleshare.article.unlock.lock-minutes:15}")
+    private long lockMinutes;
+
+    private SecretKeySpec signingKey;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyMaterial;
+        if (StringUtils.isNotEmpty(secret)) {
+            // 与 JWT 共用配置时派生独立密钥，避免同一密钥用于两种签名
+            keyMaterial = hmac(new SecretKeySpec(bytes(secret), HMAC_ALGORITHM), KEY_CONTEXT);
+        } else {
+            keyMaterial = new byte[32];
+            new SecureRandom().nextBytes(keyMaterial);
+            log.warn("No article unlock secret configured, using a random key; unlock tokens will not be accepted by other nodes");
+        }
+        signingKey = new SecretKeySpec(keyMaterial, HMAC_ALGORITHM);
+    }
+
+    public long getTokenTtlSeconds() {
+        return TimeUnit.MINUTES.toSeconds(Math.max(tokenTtlMinutes, 1L));
+    }
+
+    /**
+     * 签发解锁凭证
+     *
+     * @param articleId       文章ID
+     * @param encodedPassword 文章当前的密码哈希
+     */
+    public String issueToken(Long articleId, String encodedPassword) {
+        long expiresAt = System.currentTimeMillis() / 1000L + getTokenTtlSeconds();
+        return articleId + "." + expiresAt + "." + sign(articleId, expiresAt, encodedPassword);
+    }
+
+    /**
+     * 校验解锁凭证：文章一致、未过期、签名与当前密码哈希匹配
+     */
+    public boolean verifyToken(Long articleId, String encodedPassword, String token) {
+        if (articleId == null || StringUtils.isEmpty(token)) {
+            return false;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length != 3 || !String.valueOf(articleId).equals(parts[0])) {
+            return false;
+        }
+        long expiresAt;
+        try {
+            expiresAt = Long.parseLong(parts[1]);
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis() / 1000L) {
+            return false;
+        }
+        byte[] expected = bytes(sign(articleId, expiresAt, encodedPassword));
+        return MessageDigest.isEqual(expected, bytes(parts[2]));
+    }
+
+    /**
+     * 校验访问密码（BCrypt）。先占用一次尝试次数，超过上限时直接返回 {@link AttemptResult#LOCKED}
+     *
+     * @param articleId       文章ID
+     * @param clientIp        客户端 IP
+     * @param rawPassword     用户输入的密码
+     * @param encodedPassword 文章当前的密码哈希
+     */
+    public AttemptResult attempt(Long articleId, String clientIp, String rawPassword, String encodedPassword) {
+        if (!acquireAttempt(articleId, clientIp)) {
+            return AttemptResult.LOCKED;
+        }
+        boolean matched = StringUtils.isNotEmpty(rawPassword) && StringUtils.isNotEmpty(encodedPassword)
+                && SecurityUtils.matchesPassword(rawPassword, encodedPassword);
+        if (!matched) {
+            return AttemptResult.MISMATCHED;
+        }
+        if (limited()) {
+            byte[][] keys = new byte[][] {failureKey(articleId, clientIp), articleFailureKey(articleId)};
+            try {
+                redisTemplate.execute((RedisCallback<Object>) connection ->
+                        connection.eval(RELEASE_SCRIPT, ReturnType.INTEGER, 2, keys));
+            } catch (DataAccessException ex) {
+                log.warn("Failed to reset article unlock attempts: {}", ex.getMessage());
+            }
+        }
+        return AttemptResult.MATCHED;
+    }
+
+    /**
+     * 递增与上限比较在同一段脚本内完成，并发请求不会同时越过上限
+     */
+    private boolean acquireAttempt(Long articleId, String clientIp) {
+        if (!limited()) {
+            return true;
+        }
+        byte[][] keysAndArgs = new byte[][] {
+                failureKey(articleId, clientIp),
+                articleFailureKey(articleId),
+                bytes(String.valueOf(Math.max(maxAttempts, 0))),
+                bytes(String.valueOf(Math.max(maxArticleAttempts, 0))),
+                bytes(String.valueOf(TimeUnit.MINUTES.toSeconds(Math.max(lockMinutes, 1L))))
+        };
+        try {
+            Long allowed = (Long) redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.eval(ACQUIRE_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs));
+            return allowed == null || allowed != 0L;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to update article unlock attempts: {}", ex.getMessage());
+            return true;
+        }
+    }
+
+    private boolean limited() {
+        return maxAttempts > 0 || maxArticleAttempts > 0;
+    }
+
+    private String sign(Long articleId, long expiresAt, String encodedPassword) {
+        byte[] mac = hmac(signingKey, articleId + "|" + expiresAt + "|" + StringUtils.nvl(encodedPassword, ""));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+
+    private static byte[] hmac(SecretKeySpec key, String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(bytes(data));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] failureKey(Long articleId, String clientIp) {
+        return bytes(CacheConstants.ARTICLE_UNLOCK_FAIL_KEY + articleId + ":" + StringUtils.nvl(clientIp, "unknown"));
+    }
+
+    private static byte[] articleFailureKey(Long articleId) {
+        return bytes(CacheConstants.ARTICLE_UNLOCK_FAIL_KEY + articleId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 密码校验结果
+     */
+    public enum AttemptResult {
+        /** 密码正确 */
+        MATCHED,
+        /** 密码错误 */
+        MISMATCHED,
+        /** 尝试次数已达上限，未校验密码 */
+        LOCKED
+    }
+}
@@ -0,0 +1,253 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.ArticleDailyStats;
+import com.simpleshare.article.mapper.ArticleDailyStatsMapper;
+import com.simpleshare.common.constant.CacheConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章每日浏览量与独立访客统计。
+ * <p>
+ * 详情页每次计入浏览时写入 Redis：{@code article_view_pv:{yyyyMMdd}}（文章ID → 当日浏览量）
+ * 与 {@code article_view_uv:{yyyyMMdd}:{articleId}}（访客标识的 HyperLogLog），一次管道往返，失败不影响详情页。
+ * <p>
+ * 后台线程按固定间隔把昨日与今日的计数汇总写入 article_daily_stats，写入的是当日累计值，重复汇总结果不变；
+ * 多个节点通过租约锁轮流执行。Redis 中的键保留若干天，保证跨日后仍能补齐昨日的最终数据。
+ * 控制台趋势与热门排序只读 article_daily_stats，数据最多滞后一个汇总间隔。
+ */
+@Component
+public class ArticleViewStats {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleViewStats.class);
+
+    private static final DateTimeFormatter KEY_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String ROLLUP_LOCK_KEY = CacheConstants.ARTICLE_VIEW_PV_KEY + "lock";
+
+    private static final byte[] UNLOCK_SCRIPT = bytes(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0");
+
+    private final ArticleDailyStatsMapper dailyStatsMapper;
+
+    @Autowired
+    private RedisTemplate redisTemplate;
+
+    @Value("${simpleshare.article.stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.article.stats.rollup-interval-minutes:60}")
+    private long rollupIntervalMinutes;
+
+    @Value("${simpleshare.article.stats.retention-days:3}")
+    private int retentionDays;
+
+    @Value("${simpleshare.article.stats.hot-window-days:7}")
+    private int hotWindowDays;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ScheduledExecutorService scheduler;
+
+    public ArticleViewStats(ArticleDailyStatsMapper dailyStatsMapper) {
+        this.dailyStatsMapper = dailyStatsMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Article view stats disabled, dashboard trends will fall back to publish-date buckets");
+            return;
+        }
+        long interval = Math.max(rollupIntervalMinutes, 1L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-view-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rollupQuietly, Math.min(interval, 5L), interval, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 记录一次浏览
+     *
+     * @param articleId 文章ID
+     * @param visitorId 访客标识（登录用户为用户ID，匿名访客为客户端指纹摘要）
+     */
+    public void record(Long articleId, String visitorId) {
+        if (!enabled || articleId == null || visitorId == null || visitorId.isEmpty()) {
+            return;
+        }
+        String date = LocalDate.now().format(KEY_DATE);
+        byte[] pvKey = pvKey(date);
+        byte[] uvKey = uvKey(date, articleId);
+        byte[] field = bytes(String.valueOf(articleId));
+        byte[] visitor = bytes(visitorId);
+        long ttlSeconds = TimeUnit.DAYS.toSeconds(Math.max(retentionDays, 2));
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hIncrBy(pvKey, field, 1L);
+                connection.expire(pvKey, ttlSeconds);
+                connection.pfAdd(uvKey, visitor);
+                connection.expire(uvKey, ttlSeconds);
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            log.debug("Failed to record article view: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 热门排序统计窗口的起始日期，功能关闭时返回 null（按累计浏览量排序）
+     */
+    public LocalDate hotSince() {
+        if (!enabled || hotWindowDays <= 0) {
+            return null;
+        }
+        return LocalDate.now().minusDays(hotWindowDays - 1L);
+    }
+
+    /**
+     * 将昨日与今日的 Redis 计数汇总到 article_daily_stats
+     *
+     * @return 写入行数，未取得锁时返回 0
+     */
+    public int rollup() {
+        if (!enabled) {
+            return 0;
+        }
+        byte[] lockKey = bytes(ROLLUP_LOCK_KEY);
+        byte[] owner = bytes(nodeId);
+        long leaseMillis = TimeUnit.MINUTES.toMillis(10);
+        Boolean locked = (Boolean) redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.set(lockKey, owner, Expiration.milliseconds(leaseMillis), RedisStringCommands.SetOption.ifAbsent()));
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0;
+        }
+        int rows = 0;
+        try {
+            LocalDate today = LocalDate.now();
+            rows += rollupDate(today.minusDays(1));
+            rows += rollupDate(today);
+        } finally {
+            redisTemplate.execute((RedisCallback<Object>) connection ->
+                    connection.eval(UNLOCK_SCRIPT, ReturnType.INTEGER, 1, lockKey, owner));
+        }
+        return rows;
+    }
+
+    private int rollupDate(LocalDate statDate) {
+        String date = statDate.format(KEY_DATE);
+        byte[] pvKey = pvKey(date);
+        @SuppressWarnings("unchecked")
+        Map<byte[], byte[]> entries = (Map<byte[], byte[]>) redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                connection.hGetAll(pvKey));
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+        List<ArticleDailyStats> stats = new ArrayList<>(entries.size());
+        for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+            Long articleId = parseLong(text(entry.getKey()));
+            Long views = parseLong(text(entry.getValue()));
+            if (articleId == null || views == null) {
+                continue;
+            }
+            ArticleDailyStats stat = new ArticleDailyStats();
+            stat.setArticleId(articleId);
+            stat.setViewCount(views);
+            stats.add(stat);
+        }
+        int rows = 0;
+        for (int from = 0; from < stats.size(); from += BATCH_SIZE) {
+            List<ArticleDailyStats> batch = stats.subList(from, Math.min(from + BATCH_SIZE, stats.size()));
+            List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (ArticleDailyStats stat : batch) {
+                    connection.pfCount(uvKey(date, stat.getArticleId()));
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                Object count = i < counts.size() ? counts.get(i) : null;
+                long visitors = count instanceof Number ? ((Number) count).longValue() : 0L;
+                // HyperLogLog 为估算值，访客数不超过浏览量
+                batch.get(i).setVisitorCount(Math.min(visitors, batch.get(i).getViewCount()));
+            }
+            rows += dailyStatsMapper.upsertDailyStats(statDate, batch);
+        }
+        return rows;
+    }
+
+    private void rollupQuietly() {
+        try {
+            rollup();
+        } catch (Exception ex) {
+            log.warn("Failed to roll up article view stats: {}", ex.getMessage());
+        }
+    }
+
+    private static byte[] pvKey(String date) {
+        return bytes(CacheConstants.ARTICLE_VIEW_PV_KEY + date);
+    }
+
+    private static byte[] uvKey(String date, Long articleId) {
+        return bytes(CacheConstants.ARTICLE_VIEW_UV_KEY + date + ":" + articleId);
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String text(Object value) {
+        if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,219 @@
+package com.simpleshare.article.service.support;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 富文本资源地址单遍改写器
+ * <p>
+ * 一次顺序扫描同时处理资源属性（src/srcset/href/poster/data-src/data-original/data-url）与 CSS {@code url(...)}，
+ * 匹配规则与原先的两个正则一致，但不回溯、不使用 {@code StringBuffer}，且内容没有变化时直接返回原字符串，不产生拷贝。
+ * 可选地为没有 srcset 的 {@code <img>} 在同一遍扫描中补上 srcset。
+ */
+final class RichTextUrlRewriter {
+
+    /**
+     * CSS url() 回调时使用的属性名
+     */
+    static final String CSS_URL = "url";
+
+    // 较长的名称在前，保证 srcset 不会被当作 src
+    private static final String[] ATTRIBUTES = {
+            "srcset", "src", "href", "poster", "data-src", "data-original", "data-url"
+    };
+
+    private RichTextUrlRewriter() {
+    }
+
+    /**
+     * 改写 HTML 中的资源地址
+     *
+     * @param html     原始内容
+     * @param rewriter 参数为小写属性名（CSS 为 {@link #CSS_URL}）与原地址，返回新地址
+     * @return 改写后的内容，未变化时返回原对象
+     */
+    static String rewrite(String html, BiFunction<String, String, String> rewriter) {
+        return rewrite(html, rewriter, null);
+    }
+
+    /**
+     * 改写 HTML 中的资源地址，并为没有 srcset 的图片补充 srcset
+     *
+     * @param html     原始内容
+     * @param rewriter 参数为小写属性名（CSS 为 {@link #CSS_URL}）与原地址，返回新地址
+     * @param srcset   参数为改写后的 img src，返回 srcset 值，为 null 时不添加
+     * @return 改写后的内容，未变化时返回原对象
+     */
+    static String rewrite(String html, BiFunction<String, String, String> rewriter, Function<String, String> srcset) {
+        if (html == null || html.isEmpty()) {
+            return html;
+        }
+        int length = html.length();
+        StringBuilder out = null;
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (!isCandidateStart(c)) {
+                i++;
+                continue;
+            }
+            boolean wordStart = i == 0 || !isWordChar(html.charAt(i - 1));
+            int valueStart = -1;
+            int valueEnd = -1;
+            String attribute = null;
+            int next = i + 1;
+
+            if (regionMatches(html, i, "url(")) {
+                int p = skipWhitespace(html, i + 4);
+                if (p < length && isQuote(html.charAt(p))) {
+                    p++;
+                }
+                int start = p;
+                while (p < length && html.charAt(p) != ')' && !isQuote(html.charAt(p))) {
+                    p++;
+                }
+                if (p > start) {
+                    int end = p;
+                    if (p < length && isQuote(html.charAt(p))) {
+                        p++;
+                    }
+                    p = skipWhitespace(html, p);
+                    if (p < length && html.charAt(p) == ')') {
+                        attribute = CSS_URL;
+                        valueStart = start;
+                        valueEnd = end;
+                        next = p + 1;
+                    }
+                }
+            } else if (wordStart) {
+                String name = matchAttribute(html, i);
+                if (name != null) {
+                    int p = skipWhitespace(html, i + name.length());
+                    if (p < length && html.charAt(p) == '=') {
+                        p = skipWhitespace(html, p + 1);
+                        if (p < length && isQuote(html.charAt(p))) {
+                            int start = p + 1;
+                            int end = start;
+                            while (end < length && !isQuote(html.charAt(end))) {
+                                end++;
+                            }
+                            if (end < length) {
+                                attribute = name;
+                                valueStart = start;
+                                valueEnd = end;
+                                next = end + 1;
+                            }
+                        }
+                    }
+                    if (attribute == null) {
+                        next = i + name.length();
+                    }
+                }
+            }
+
+            if (attribute != null && valueEnd > valueStart) {
+                String value = html.substring(valueStart, valueEnd);
+                String replacement = rewriter.apply(attribute, value);
+                if (replacement != null && !replacement.equals(value)) {
+                    if (out == null) {
+                        out = new StringBuilder(length + 64);
+                    }
+                    out.append(html, copied, valueStart).append(replacement);
+                    copied = valueEnd;
+                }
+                if (srcset != null && "src".equals(attribute) && isImgWithoutSrcset(html, i, valueEnd)) {
+                    String candidates = srcset.apply(replacement != null ? replacement : value);
+                    if (candidates != null && !candidates.isEmpty()) {
+                        if (out == null) {
+                            out = new StringBuilder(length + 64);
+                        }
+                        // 插在 src 的结束引号之后
+                        out.append(html, copied, next).append(" srcset=\"")
+                                .append(candidates.replace("\"", "&quot;")).append('"');
+                        copied = next;
+                    }
+                }
+            }
+            i = next;
+        }
+        if (out == null) {
+            return html;
+        }
+        out.append(html, copied, length);
+        return out.toString();
+    }
+
+    /**
+     * 属性位于 {@code <img ...>} 标签内且该标签没有 srcset
+     */
+    private static boolean isImgWithoutSrcset(String html, int attributeStart, int valueEnd) {
+        int tagStart = html.lastIndexOf('<', attributeStart);
+        if (tagStart < 0 || !regionMatches(html, tagStart + 1, "img")
+                || tagStart + 4 >= html.length() || isWordChar(html.charAt(tagStart + 4))) {
+            return false;
+        }
+        int closed = html.indexOf('>', tagStart);
+        if (closed >= 0 && closed < attributeStart) {
+            return false;
+        }
+        int tagEnd = html.indexOf('>', valueEnd);
+        if (tagEnd < 0) {
+            tagEnd = html.length();
+        }
+        for (int p = tagStart; p + 6 <= tagEnd; p++) {
+            if (regionMatches(html, p, "srcset")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String matchAttribute(String html, int offset) {
+        for (String attribute : ATTRIBUTES) {
+            int end = offset + attribute.length();
+            if (regionMatches(html, offset, attribute) && (end >= html.length() || !isWordChar(html.charAt(end)))) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(String html, int offset, String lowerCaseToken) {
+        return html.regionMatches(true, offset, lowerCaseToken, 0, lowerCaseToken.length());
+    }
+
+    private static int skipWhitespace(String html, int offset) {
+        int p = offset;
+        while (p < html.length() && Character.isWhitespace(html.charAt(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private static boolean isCandidateStart(char c) {
+        switch (c) {
+            case 's':
+            case 'S':
+            case 'h':
+            case 'H':
+            case 'p':
+            case 'P':
+            case 'd':
+            case 'D':
+            case 'u':
+            case 'U':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isQuote(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
@@ -6,6 +6,7 @@ import com.simpleshare.common.core.domain.AjaxResult;
 import com.simpleshare.common.core.page.TableDataInfo;
 import com.simpleshare.common.enums.BusinessType;
 import com.simpleshare.common.utils.poi.ExcelUtil;
+import com.simpleshare.framework.storage.client.StorageClientRegistry;
 import com.simpleshare.infra.domain.InfraFileConfig;
 import com.simpleshare.infra.service.IInfraFileConfigService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,9 @@ public class InfraFileConfigController extends BaseController {
     @Autowired
     private IInfraFileConfigService infraFileConfigService;
 
+    @Autowired
+    private StorageClientRegistry storageClientRegistry;
+
     /**
      * 查询文件配置列表
      */
@@ -173,4 +177,13 @@ public class InfraFileConfigController extends BaseController {
             return error("配置测试失败");
         }
     }
+
+    /**
+     * 存储客户端复用情况与共享连接池指标
+     */
+    @PreAuthorize("@ss.hasPermi('infra:fileConfig:query')")
+    @GetMapping("/client-stats")
+    public AjaxResult clientStats() {
+        return success(storageClientRegistry.getStatistics());
+    }
 }
\ No newline at end of file
@@ -13,11 +13,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -122,6 +124,15 @@ public class InfraFileController extends BaseController {
         return success(infraFileService.getFileStatistics());
     }
 
+    /**
+     * 由文件表重建文件统计（统计出现偏差时使用）
+     */
+    @PreAuthorize("@ss.hasPermi('infra:file:edit')")
+    @PostMapping("/statistics/rebuild")
+    public AjaxResult rebuildStatistics() {
+        return success(infraFileService.rebuildFileStatistics());
+    }
+
     /**
      * 根据路径删除文件
      */
@@ -190,18 +201,17 @@ public class InfraFileController extends BaseController {
                 return;
             }
             
-            // 获取文件内容
-            byte[] content = infraFileService.getFileContent(infraFile.getPath());
-            
             // 设置响应头
             response.setContentType(infraFile.getType());
-            response.setContentLength(content.length);
+            setContentLength(response, infraFile);
             
-            // 输出文件内容
-            response.getOutputStream().write(content);
-            response.getOutputStream().flush();
+            // 边读边写，不把整个文件读入内存
+            streamContent(infraFile, response);
         } catch (Exception e) {
             logger.error("文件预览失败", e);
+            if (response.isCommitted()) {
+                return;
+            }
             try {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 response.getWriter().write("文件预览失败: " + e.getMessage());
@@ -225,22 +235,21 @@ public class InfraFileController extends BaseController {
                 return;
             }
             
-            // 获取文件内容
-            byte[] content = infraFileService.getFileContent(infraFile.getPath());
-            
             // 设置响应头
             response.setContentType("application/octet-stream");
-            response.setContentLength(content.length);
+            setContentLength(response, infraFile);
             
             // 对文件名进行URL编码，避免中文乱码
             String encodedFilename = URLEncoder.encode(infraFile.getName(), StandardCharsets.UTF_8.toString());
             response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encodedFilename);
             
-            // 输出文件内容
-            response.getOutputStream().write(content);
-            response.getOutputStream().flush();
+            // 边读边写，不把整个文件读入内存
+            streamContent(infraFile, response);
         } catch (Exception e) {
             logger.error("文件下载失败", e);
+            if (response.isCommitted()) {
+                return;
+            }
             try {
                 response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
                 response.getWriter().write("文件下载失败: " + e.getMessage());
@@ -249,4 +258,17 @@ public class InfraFileController extends BaseController {
             }
         }
     }
+
+    private void streamContent(InfraFile infraFile, HttpServletResponse response) throws IOException {
+        try (InputStream content = infraFileService.openFileContent(infraFile.getPath())) {
+            StreamUtils.copy(content, response.getOutputStream());
+        }
+        response.flushBuffer();
+    }
+
+    private void setContentLength(HttpServletResponse response, InfraFile infraFile) {
+        if (infraFile.getSize() != null && infraFile.getSize() > 0) {
+            response.setContentLengthLong(infraFile.getSize());
+        }
+    }
 }
\ No newline at end of file
@@ -43,6 +43,26 @@ public class InfraFile extends BaseEntity {
     @TableField("size")
     private Integer size;
 
+    /** 租户ID */
+    @TableField("tenant_id")
+    private Long tenantId;
+
+    /** 存储标识（存储位置配置的摘要） */
+    @TableField("storage_key")
+    private String storageKey;
+
+    /** 文件内容 SHA-256 */
+    @TableField("content_hash")
+    private String contentHash;
+
+    /** 引用次数 */
+    @TableField("ref_count")
+    private Integer refCount;
+
+    /** 图片缩略图规格，如 320:jpg,640:jpg,1920:orig */
+    @TableField("variants")
+    private String variants;
+
     /** 删除标志（0代表存在 1代表删除） */
     @TableField("deleted")
     private Integer deleted;
@@ -103,6 +123,46 @@ public class InfraFile extends BaseEntity {
         this.size = size;
     }
 
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    public String getVariants() {
+        return variants;
+    }
+
+    public void setVariants(String variants) {
+        this.variants = variants;
+    }
+
     public Integer getDeleted() {
         return deleted;
     }
@@ -121,6 +181,9 @@ public class InfraFile extends BaseEntity {
                 ", url='" + url + '\'' +
                 ", type='" + type + '\'' +
                 ", size=" + size +
+                ", tenantId=" + tenantId +
+                ", contentHash='" + contentHash + '\'' +
+                ", refCount=" + refCount +
                 ", deleted=" + deleted +
                 '}';
     }
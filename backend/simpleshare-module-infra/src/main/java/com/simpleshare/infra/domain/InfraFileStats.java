@@ -0,0 +1,69 @@
+package com.simpleshare.infra.domain;
+
+import java.io.Serializable;
+
+/**
+ * 文件存储统计对象 infra_file_stats
+ * <p>
+ * 按（租户, 存储, 文件类型）累计的文件数与总大小，上传、删除时增量更新
+ *
+ * @author SimpleShare
+ */
+public class InfraFileStats implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** 租户ID */
+    private Long tenantId;
+
+    /** 存储：config:{配置编号}，租户存储为 tenant */
+    private String storage;
+
+    /** 文件类型 */
+    private String type;
+
+    /** 文件数 */
+    private Long fileCount;
+
+    /** 总大小（字节） */
+    private Long totalSize;
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getStorage() {
+        return storage;
+    }
+
+    public void setStorage(String storage) {
+        this.storage = storage;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(Long fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+}
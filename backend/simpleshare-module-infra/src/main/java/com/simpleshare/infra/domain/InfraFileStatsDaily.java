@@ -0,0 +1,57 @@
+package com.simpleshare.infra.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 文件存储每日快照对象 infra_file_stats_daily
+ *
+ * @author SimpleShare
+ */
+public class InfraFileStatsDaily implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** 租户ID */
+    private Long tenantId;
+
+    /** 统计日期 */
+    private LocalDate statDate;
+
+    /** 文件数 */
+    private Long fileCount;
+
+    /** 总大小（字节） */
+    private Long totalSize;
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    public Long getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(Long fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+}
@@ -1,5 +1,6 @@
 package com.simpleshare.infra.framework.file.config;
 
+import com.simpleshare.framework.storage.client.StorageClientRegistry;
 import com.simpleshare.infra.framework.file.core.client.FileClientFactory;
 import com.simpleshare.infra.framework.file.core.client.FileClientFactoryImpl;
 import org.springframework.context.annotation.Bean;
@@ -14,8 +15,8 @@ import org.springframework.context.annotation.Configuration;
 public class SimpleShareFileAutoConfiguration {
 
     @Bean
-    public FileClientFactory fileClientFactory() {
-        return new FileClientFactoryImpl();
+    public FileClientFactory fileClientFactory(StorageClientRegistry storageClientRegistry) {
+        return new FileClientFactoryImpl(storageClientRegistry);
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.simpleshare.infra.framework.file.core.client;
 
+import cn.hutool.core.io.IoUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 /**
  * 文件客户端
  *
@@ -17,13 +22,27 @@ public interface FileClient {
     /**
      * 上传文件
      *
+     * @param content 文件内容
+     * @param path 相对路径
+     * @param type 文件类型
+     * @return 完整路径，即 HTTP 访问地址
+     * @throws Exception 上传文件时，抛出 Exception 异常
+     */
+    default String upload(byte[] content, String path, String type) throws Exception {
+        return upload(new ByteArrayInputStream(content), content.length, path, type);
+    }
+
+    /**
+     * 以流的方式上传文件，不要求整个文件驻留内存，流由调用方关闭
+     *
      * @param content 文件流
+     * @param size 文件大小，未知时传 -1
      * @param path 相对路径
      * @param type 文件类型
      * @return 完整路径，即 HTTP 访问地址
      * @throws Exception 上传文件时，抛出 Exception 异常
      */
-    String upload(byte[] content, String path, String type) throws Exception;
+    String upload(InputStream content, long size, String path, String type) throws Exception;
 
     /**
      * 删除文件
@@ -39,7 +58,19 @@ public interface FileClient {
      * @param path 相对路径
      * @return 文件的内容
      */
-    byte[] getContent(String path) throws Exception;
+    default byte[] getContent(String path) throws Exception {
+        try (InputStream in = getContentStream(path)) {
+            return IoUtil.readBytes(in);
+        }
+    }
+
+    /**
+     * 以流的方式读取文件内容，流由调用方关闭
+     *
+     * @param path 相对路径
+     * @return 文件流
+     */
+    InputStream getContentStream(String path) throws Exception;
 
     /**
      * 获得文件的预签名地址，用于上传
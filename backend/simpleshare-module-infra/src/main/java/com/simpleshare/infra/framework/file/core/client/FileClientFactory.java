@@ -2,6 +2,8 @@ package com.simpleshare.infra.framework.file.core.client;
 
 import com.simpleshare.infra.framework.file.core.enums.FileStorageEnum;
 
+import java.util.function.Supplier;
+
 /**
  * 文件客户端的工厂接口
  *
@@ -26,4 +28,16 @@ public interface FileClientFactory {
      */
     <Config extends FileClientConfig> void createOrUpdateFileClient(Long configId, Integer storage, Config config);
 
+    /**
+     * 获得文件客户端，配置未变化时复用已有客户端，不再解析配置
+     *
+     * @param configId 配置编号
+     * @param storage 存储器的枚举 {@link FileStorageEnum}
+     * @param rawConfig 原始配置内容，用于判断配置是否变化
+     * @param configLoader 需要创建客户端时才调用的配置解析
+     * @return 文件客户端
+     */
+    <Config extends FileClientConfig> FileClient getOrCreateFileClient(Long configId, Integer storage, String rawConfig,
+                                                                      Supplier<Config> configLoader);
+
 }
\ No newline at end of file
@@ -1,29 +1,32 @@
 package com.simpleshare.infra.framework.file.core.client;
 
 import cn.hutool.core.util.ReflectUtil;
+import com.simpleshare.framework.storage.client.StorageClientRegistry;
+import com.simpleshare.infra.framework.file.core.client.s3.S3FileClient;
 import com.simpleshare.infra.framework.file.core.enums.FileStorageEnum;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 /**
  * 文件客户端的工厂实现类
  *
+ * 客户端登记在 {@link StorageClientRegistry} 中，按配置编号 + 配置指纹复用，配置变化时重建，长时间未使用时回收
+ *
  * @author simple
  */
 @Slf4j
 public class FileClientFactoryImpl implements FileClientFactory {
 
-    /**
-     * 文件客户端 Map
-     * key：配置编号
-     */
-    private final ConcurrentMap<Long, AbstractFileClient<?>> clients = new ConcurrentHashMap<>();
+    private final StorageClientRegistry registry;
+
+    public FileClientFactoryImpl(StorageClientRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
     public FileClient getFileClient(Long configId) {
-        AbstractFileClient<?> client = clients.get(configId);
+        FileClient client = registry.get(owner(configId));
         if (client == null) {
             log.error("[getFileClient][配置编号({}) 找不到客户端]", configId);
         }
@@ -31,16 +34,16 @@ public class FileClientFactoryImpl implements FileClientFactory {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <Config extends FileClientConfig> void createOrUpdateFileClient(Long configId, Integer storage, Config config) {
-        AbstractFileClient<Config> client = (AbstractFileClient<Config>) clients.get(configId);
-        if (client == null) {
-            client = this.createFileClient(configId, storage, config);
-            client.init();
-            clients.put(configId, client);
-        } else {
-            client.refresh(config);
-        }
+        registry.getOrCreate(owner(configId), StorageClientRegistry.fingerprint(storage, config),
+                () -> createFileClient(configId, storage, config));
+    }
+
+    @Override
+    public <Config extends FileClientConfig> FileClient getOrCreateFileClient(Long configId, Integer storage, String rawConfig,
+                                                                             Supplier<Config> configLoader) {
+        return registry.getOrCreate(owner(configId), StorageClientRegistry.fingerprint(storage, rawConfig),
+                () -> createFileClient(configId, storage, configLoader.get()));
     }
 
     @SuppressWarnings("unchecked")
@@ -49,7 +52,17 @@ public class FileClientFactoryImpl implements FileClientFactory {
         FileStorageEnum storageEnum = FileStorageEnum.getByStorage(storage);
         assert storageEnum != null;
         // 创建客户端
-        return (AbstractFileClient<Config>) ReflectUtil.newInstance(storageEnum.getClientClass(), configId, config);
+        AbstractFileClient<Config> client = (AbstractFileClient<Config>) ReflectUtil.newInstance(
+                storageEnum.getClientClass(), configId, config);
+        if (client instanceof S3FileClient) {
+            ((S3FileClient) client).setHttpClient(registry.getHttpClient());
+        }
+        client.init();
+        return client;
+    }
+
+    private String owner(Long configId) {
+        return "file-config:" + configId;
     }
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,13 @@
 package com.simpleshare.infra.framework.file.core.client.local;
 
 import cn.hutool.core.io.FileUtil;
+import com.simpleshare.framework.storage.StorageStreams;
 import com.simpleshare.infra.framework.file.core.client.AbstractFileClient;
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * 本地文件客户端
@@ -25,10 +29,10 @@ public class LocalFileClient extends AbstractFileClient<LocalFileClientConfig> {
     }
 
     @Override
-    public String upload(byte[] content, String path, String type) throws Exception {
-        // 执行写入
+    public String upload(InputStream content, long size, String path, String type) throws Exception {
+        // 执行写入，磁盘上的上传临时文件走 FileChannel.transferTo
         String filePath = getFilePath(path);
-        FileUtil.writeBytes(content, filePath);
+        StorageStreams.writeToFile(content, size, Paths.get(filePath));
         // 拼接返回路径
         return super.formatFileUrl(config.getDomain(), path);
     }
@@ -40,9 +44,8 @@ public class LocalFileClient extends AbstractFileClient<LocalFileClientConfig> {
     }
 
     @Override
-    public byte[] getContent(String path) throws Exception {
-        String filePath = getFilePath(path);
-        return FileUtil.readBytes(filePath);
+    public InputStream getContentStream(String path) throws Exception {
+        return Files.newInputStream(Paths.get(getFilePath(path)));
     }
 
     private String getFilePath(String path) {
@@ -1,13 +1,14 @@
 package com.simpleshare.infra.framework.file.core.client.s3;
 
-import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.http.HttpUtil;
+import com.simpleshare.framework.storage.StorageStreams;
 import com.simpleshare.infra.framework.file.core.client.AbstractFileClient;
 import io.minio.*;
 import io.minio.http.Method;
+import okhttp3.OkHttpClient;
 
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.TimeUnit;
@@ -24,10 +25,19 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
 
     private MinioClient client;
 
+    /**
+     * 共享的 HTTP 客户端，为空时由 MinIO 自行创建
+     */
+    private OkHttpClient httpClient;
+
     public S3FileClient(Long id, S3FileClientConfig config) {
         super(id, config);
     }
 
+    public void setHttpClient(OkHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
     @Override
     protected void doInit() {
         // 补全 endpoint
@@ -37,11 +47,14 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
             config.setEndpoint("https://" + config.getEndpoint());
         }
         // 初始化客户端
-        client = MinioClient.builder()
+        MinioClient.Builder builder = MinioClient.builder()
                 .endpoint(buildEndpointURL()) // Endpoint
                 .credentials(config.getAccessKey(), config.getAccessSecret()) // 认证密钥
-                .region(buildRegion()) // Region
-                .build();
+                .region(buildRegion()); // Region
+        if (httpClient != null) {
+            builder.httpClient(httpClient); // 复用共享连接池
+        }
+        client = builder.build();
         // 设置 BucketName 配置
         if (config.getEndpoint().contains(S3FileClientConfig.ENDPOINT_TENCENT)
                 || config.getEndpoint().contains(S3FileClientConfig.ENDPOINT_VOLCES)) {
@@ -107,12 +120,12 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
     }
 
     @Override
-    public String upload(byte[] content, String path, String type) throws Exception {
-        // 执行上传
+    public String upload(InputStream content, long size, String path, String type) throws Exception {
+        // 执行上传，超过一个分片大小时走 S3 分片上传
         client.putObject(PutObjectArgs.builder()
                 .bucket(config.getBucket()) // bucket 必须传递
                 .object(path) // 相对路径作为 key
-                .stream(new ByteArrayInputStream(content), content.length, -1) // 文件内容
+                .stream(content, size, StorageStreams.MULTIPART_PART_SIZE) // 文件内容
                 .contentType(type)
                 .build());
         // 拼接返回路径
@@ -128,12 +141,11 @@ public class S3FileClient extends AbstractFileClient<S3FileClientConfig> {
     }
 
     @Override
-    public byte[] getContent(String path) throws Exception {
-        GetObjectResponse response = client.getObject(GetObjectArgs.builder()
+    public InputStream getContentStream(String path) throws Exception {
+        return client.getObject(GetObjectArgs.builder()
                 .bucket(config.getBucket()) // bucket 必须传递
                 .object(path) // 相对路径作为 key
                 .build());
-        return IoUtil.readBytes(response);
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.simpleshare.infra.domain.InfraFile;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +32,74 @@ public interface InfraFileMapper extends BaseMapper<InfraFile> {
      */
     int deleteByPath(@Param("path") String path);
 
+    /**
+     * 按内容摘要查询同一租户、同一存储下已存在的文件
+     *
+     * @param tenantId    租户ID
+     * @param storageKey  存储标识
+     * @param contentHash 内容 SHA-256
+     * @return 文件信息
+     */
+    InfraFile selectByContentHash(@Param("tenantId") Long tenantId, @Param("storageKey") String storageKey,
+                                  @Param("contentHash") String contentHash);
+
+    /**
+     * 引用次数加一，记录已删除时不更新
+     *
+     * @param id 文件编号
+     * @return 影响行数
+     */
+    int incrementRefCount(@Param("id") Long id);
+
+    /**
+     * 引用次数大于一时减一
+     *
+     * @param path 文件路径
+     * @return 影响行数
+     */
+    int decrementRefCount(@Param("path") String path);
+
+    /**
+     * 释放最后一个引用：引用次数不大于一时删除记录
+     *
+     * @param path 文件路径
+     * @return 影响行数，为 1 时调用方负责删除物理文件
+     */
+    int deleteLastReference(@Param("path") String path);
+
+    /**
+     * 根据路径查询有效的文件记录
+     *
+     * @param path 文件路径
+     * @return 文件信息
+     */
+    InfraFile selectByPath(@Param("path") String path);
+
+    /**
+     * 记录图片缩略图规格
+     *
+     * @param path     文件路径
+     * @param variants 缩略图规格
+     * @return 影响行数
+     */
+    int updateVariants(@Param("path") String path, @Param("variants") String variants);
+
+    /**
+     * 按路径批量查询已生成缩略图的文件（只含 path、variants）
+     *
+     * @param paths 文件路径
+     * @return 文件列表
+     */
+    List<InfraFile> selectVariantsByPaths(@Param("paths") Collection<String> paths);
+
+    /**
+     * 统计路径对应的有效记录数
+     *
+     * @param path 文件路径
+     * @return 记录数
+     */
+    int countByPath(@Param("path") String path);
+
     /**
      * 根据配置ID查询文件列表
      *
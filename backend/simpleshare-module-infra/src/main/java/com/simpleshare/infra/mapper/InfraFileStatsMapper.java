@@ -0,0 +1,88 @@
+package com.simpleshare.infra.mapper;
+
+import com.simpleshare.infra.domain.InfraFileStats;
+import com.simpleshare.infra.domain.InfraFileStatsDaily;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 文件存储统计Mapper接口
+ *
+ * @author SimpleShare
+ */
+@Mapper
+public interface InfraFileStatsMapper {
+
+    /**
+     * 累加统计增量，记录不存在时插入
+     *
+     * @param tenantId   租户ID
+     * @param storage    存储
+     * @param type       文件类型
+     * @param countDelta 文件数增量
+     * @param sizeDelta  大小增量
+     * @return 影响行数
+     */
+    int upsertDelta(@Param("tenantId") Long tenantId, @Param("storage") String storage, @Param("type") String type,
+                    @Param("countDelta") long countDelta, @Param("sizeDelta") long sizeDelta);
+
+    /**
+     * 查询租户的统计
+     *
+     * @param tenantId 租户ID
+     * @return 统计列表
+     */
+    List<InfraFileStats> selectByTenant(@Param("tenantId") Long tenantId);
+
+    /**
+     * 删除租户的统计
+     *
+     * @param tenantId 租户ID
+     * @return 影响行数
+     */
+    int deleteByTenant(@Param("tenantId") Long tenantId);
+
+    /**
+     * 由 infra_file 分组汇总重建租户的统计
+     *
+     * @param tenantId 租户ID
+     * @return 影响行数
+     */
+    int rebuildByTenant(@Param("tenantId") Long tenantId);
+
+    /**
+     * 写入租户统计已建立的标记行
+     *
+     * @param tenantId 租户ID
+     * @return 影响行数
+     */
+    int insertMarker(@Param("tenantId") Long tenantId);
+
+    /**
+     * 查询租户统计是否已建立
+     *
+     * @param tenantId 租户ID
+     * @return 标记行数
+     */
+    int countMarker(@Param("tenantId") Long tenantId);
+
+    /**
+     * 按当前统计写入（覆盖）所有租户指定日期的快照
+     *
+     * @param statDate 统计日期
+     * @return 影响行数
+     */
+    int snapshotDaily(@Param("statDate") LocalDate statDate);
+
+    /**
+     * 查询租户自指定日期起的每日快照
+     *
+     * @param tenantId 租户ID
+     * @param since    起始日期（含）
+     * @return 快照列表，按日期升序
+     */
+    List<InfraFileStatsDaily> selectDailyByTenant(@Param("tenantId") Long tenantId, @Param("since") LocalDate since);
+}
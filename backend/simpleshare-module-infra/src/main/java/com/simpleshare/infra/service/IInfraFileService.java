@@ -4,6 +4,7 @@ import com.simpleshare.common.core.page.TableDataInfo;
 import com.simpleshare.infra.domain.InfraFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -92,6 +93,13 @@ public interface IInfraFileService {
      */
     Object getFileStatistics();
 
+    /**
+     * 由文件表重建当前租户的存储统计
+     *
+     * @return 重建后的统计信息
+     */
+    Object rebuildFileStatistics();
+
     /**
      * 上传文件（底层方法）
      *
@@ -102,6 +110,17 @@ public interface IInfraFileService {
      */
     String uploadFileContent(byte[] content, String path, String type);
 
+    /**
+     * 以流的方式上传文件（底层方法）
+     *
+     * @param content 文件流，由调用方关闭
+     * @param size 文件大小，未知时传 -1
+     * @param path 文件路径
+     * @param type 文件类型
+     * @return 文件访问URL
+     */
+    String uploadFileContent(InputStream content, long size, String path, String type);
+
     /**
      * 删除文件（底层方法）
      *
@@ -117,6 +136,14 @@ public interface IInfraFileService {
      */
     byte[] getFileContent(String path);
 
+    /**
+     * 打开文件内容流，由调用方关闭
+     *
+     * @param path 文件路径
+     * @return 文件流
+     */
+    InputStream openFileContent(String path);
+
     /**
      * 获取预签名URL
      *
@@ -0,0 +1,44 @@
+package com.simpleshare.infra.service;
+
+import com.simpleshare.infra.domain.InfraFile;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 文件存储统计Service接口
+ *
+ * @author SimpleShare
+ */
+public interface IInfraFileStatsService {
+
+    /**
+     * 记录新增的文件
+     *
+     * @param infraFile 文件信息
+     */
+    void recordAdded(InfraFile infraFile);
+
+    /**
+     * 记录删除的文件
+     *
+     * @param files 已删除的文件信息
+     */
+    void recordRemoved(Collection<InfraFile> files);
+
+    /**
+     * 获取租户的文件存储统计
+     *
+     * @param tenantId 租户ID
+     * @return 统计信息
+     */
+    Map<String, Object> getStatistics(Long tenantId);
+
+    /**
+     * 由文件表重建租户的统计
+     *
+     * @param tenantId 租户ID
+     * @return 重建后的统计信息
+     */
+    Map<String, Object> rebuild(Long tenantId);
+}
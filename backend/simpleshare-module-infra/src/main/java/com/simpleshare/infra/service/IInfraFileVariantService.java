@@ -0,0 +1,28 @@
+package com.simpleshare.infra.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 图片缩略图记录Service接口
+ *
+ * @author SimpleShare
+ */
+public interface IInfraFileVariantService {
+
+    /**
+     * 记录文件已生成的缩略图
+     *
+     * @param path 原图路径
+     * @param spec 缩略图规格
+     */
+    void recordVariants(String path, String spec);
+
+    /**
+     * 按访问地址中的路径查询缩略图规格
+     *
+     * @param urlPaths 图片地址的路径部分（可带存储前缀或访问前缀）
+     * @return 路径到缩略图规格的映射，没有缩略图的路径不包含在内
+     */
+    Map<String, String> findVariants(Collection<String> urlPaths);
+}
@@ -6,7 +6,11 @@ import com.simpleshare.common.core.page.TableDataInfo;
 import com.simpleshare.common.utils.PageUtils;
 import com.simpleshare.common.utils.SecurityUtils;
 import com.simpleshare.common.utils.StringUtils;
-import com.simpleshare.framework.storage.StorageUploadResult;
+import com.simpleshare.framework.storage.StorageStreams;
+import com.simpleshare.framework.storage.client.StorageClientRegistry;
+import com.simpleshare.framework.storage.image.ImageVariantService;
+import com.simpleshare.framework.storage.image.ImageVariants;
+import com.simpleshare.framework.tenant.TenantContextHolder;
 import com.simpleshare.infra.domain.InfraFile;
 import com.simpleshare.infra.domain.InfraFileConfig;
 import com.simpleshare.infra.mapper.InfraFileMapper;
@@ -19,13 +23,18 @@ import com.simpleshare.infra.framework.file.core.client.s3.S3FileClientConfig;
 import com.simpleshare.infra.framework.file.core.enums.FileStorageEnum;
 import com.simpleshare.infra.service.IInfraFileConfigService;
 import com.simpleshare.infra.service.IInfraFileService;
+import com.simpleshare.infra.service.IInfraFileStatsService;
+import com.simpleshare.infra.service.IInfraFileVariantService;
 import com.simpleshare.system.service.ITenantStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +53,8 @@ import com.fasterxml.jackson.core.type.TypeReference;
 @Service
 public class InfraFileServiceImpl implements IInfraFileService {
 
+    private static final ObjectMapper CONFIG_MAPPER = new ObjectMapper();
+
     @Autowired
     private InfraFileMapper infraFileMapper;
 
@@ -56,6 +67,24 @@ public class InfraFileServiceImpl implements IInfraFileService {
     @Autowired
     private FileClientFactory fileClientFactory;
 
+    @Autowired
+    private InfraStorageObjectIndex storageObjectIndex;
+
+    @Autowired
+    private IInfraFileStatsService infraFileStatsService;
+
+    @Autowired
+    private IInfraFileVariantService infraFileVariantService;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    /**
+     * 是否按内容摘要去重
+     */
+    @Value("${simpleshare.storage.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
     /**
      * 查询文件信息
      *
@@ -100,7 +129,14 @@ public class InfraFileServiceImpl implements IInfraFileService {
     @Override
     public int insertInfraFile(InfraFile infraFile) {
         infraFile.setCreateBy(SecurityUtils.getUserId());
-        return infraFileMapper.insert(infraFile);
+        if (infraFile.getTenantId() == null) {
+            infraFile.setTenantId(currentTenantId());
+        }
+        int rows = infraFileMapper.insert(infraFile);
+        if (rows > 0) {
+            infraFileStatsService.recordAdded(infraFile);
+        }
+        return rows;
     }
 
     /**
@@ -123,7 +159,10 @@ public class InfraFileServiceImpl implements IInfraFileService {
      */
     @Override
     public int deleteInfraFileByIds(Long[] ids) {
-        return infraFileMapper.deleteBatchIds(Arrays.asList(ids));
+        List<InfraFile> files = infraFileMapper.selectBatchIds(Arrays.asList(ids));
+        int rows = infraFileMapper.deleteBatchIds(Arrays.asList(ids));
+        infraFileStatsService.recordRemoved(files);
+        return rows;
     }
 
     /**
@@ -134,7 +173,12 @@ public class InfraFileServiceImpl implements IInfraFileService {
      */
     @Override
     public int deleteInfraFileById(Long id) {
-        return infraFileMapper.deleteById(id);
+        InfraFile file = infraFileMapper.selectById(id);
+        int rows = infraFileMapper.deleteById(id);
+        if (rows > 0 && file != null) {
+            infraFileStatsService.recordRemoved(Collections.singletonList(file));
+        }
+        return rows;
     }
 
     /**
@@ -148,6 +192,20 @@ public class InfraFileServiceImpl implements IInfraFileService {
         try {
             // 确保存在主配置（若不存在则自动创建默认配置）
             InfraFileConfig masterConfig = infraFileConfigService.ensureMasterConfig();
+            Long tenantId = currentTenantId();
+            String storageKey = storageKey(masterConfig);
+
+            // 内容相同的文件已存在时直接复用，不再重复上传
+            String contentHash = null;
+            if (dedupEnabled) {
+                try (InputStream content = file.getInputStream()) {
+                    contentHash = StorageStreams.sha256Hex(content);
+                }
+                InfraFile existing = storageObjectIndex.acquireFile(tenantId, storageKey, contentHash);
+                if (existing != null) {
+                    return existing;
+                }
+            }
 
             // 生成文件路径
             String fileName = file.getOriginalFilename();
@@ -166,7 +224,10 @@ public class InfraFileServiceImpl implements IInfraFileService {
             
             // 使用文件客户端上传
             FileClient fileClient = getFileClient(masterConfig);
-            String url = fileClient.upload(file.getBytes(), path, file.getContentType());
+            String url;
+            try (InputStream content = file.getInputStream()) {
+                url = fileClient.upload(content, file.getSize(), path, file.getContentType());
+            }
 
             // 创建文件记录
             InfraFile infraFile = new InfraFile();
@@ -176,9 +237,19 @@ public class InfraFileServiceImpl implements IInfraFileService {
             infraFile.setUrl(url);
             infraFile.setType(getFileType(file.getContentType()));
             infraFile.setSize((int) file.getSize());
+            infraFile.setTenantId(tenantId);
+            infraFile.setStorageKey(storageKey);
+            infraFile.setContentHash(contentHash);
+            infraFile.setRefCount(1);
             infraFile.setCreateBy(SecurityUtils.getUserId());
 
             insertInfraFile(infraFile);
+
+            // 图片异步生成缩略图，存放在原图旁边
+            imageVariantService.submit(path, file.getContentType(),
+                    () -> fileClient.getContentStream(path),
+                    (variantPath, content, contentType) -> fileClient.upload(content, variantPath, contentType),
+                    spec -> infraFileVariantService.recordVariants(path, spec));
             return infraFile;
         } catch (Exception e) {
             throw new RuntimeException("文件上传失败: " + e.getMessage(), e);
@@ -187,23 +258,36 @@ public class InfraFileServiceImpl implements IInfraFileService {
 
     /**
      * 根据路径删除文件
+     * <p>
+     * 文件被多次引用时只释放一个引用，最后一个引用释放后才删除物理文件
      *
      * @param path 文件路径
      * @return 结果
      */
     @Override
     public int deleteFileByPath(String path) {
+        InfraFile existing = infraFileMapper.selectByPath(path);
+        // 释放引用并删除数据库记录，仍有其他引用时保留物理文件
+        if (!storageObjectIndex.release(path)) {
+            return 1;
+        }
         try {
-            // 删除物理文件
+            // 删除物理文件及缩略图
             InfraFileConfig masterConfig = infraFileConfigService.ensureMasterConfig();
             FileClient fileClient = getFileClient(masterConfig);
             fileClient.delete(path);
+            if (existing != null) {
+                for (ImageVariants.Variant variant : ImageVariants.parse(existing.getVariants())) {
+                    if (!variant.isOriginal()) {
+                        fileClient.delete(ImageVariants.variantPath(path, variant.getWidth(), variant.getExtension()));
+                    }
+                }
+            }
         } catch (Exception e) {
             // 记录日志但不影响数据库删除
             System.err.println("删除物理文件失败: " + e.getMessage());
         }
-        // 删除数据库记录
-        return infraFileMapper.deleteByPath(path);
+        return 1;
     }
 
     /**
@@ -213,30 +297,18 @@ public class InfraFileServiceImpl implements IInfraFileService {
      */
     @Override
     public Object getFileStatistics() {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        // 使用自定义查询方法避免MyBatis-Plus的字段映射问题
-        InfraFile queryParam = new InfraFile();
-        List<InfraFile> allFiles = infraFileMapper.selectInfraFileList(queryParam);
-        
-        // 总文件数
-        long totalCount = allFiles.size();
-        statistics.put("totalCount", totalCount);
-        
-        // 按类型统计
-        Map<String, Long> typeStats = new HashMap<>();
-        for (InfraFile file : allFiles) {
-            String type = StringUtils.isNotEmpty(file.getType()) ? file.getType() : "unknown";
-            typeStats.put(type, typeStats.getOrDefault(type, 0L) + 1);
-        }
-        statistics.put("typeStats", typeStats);
-        
-        // 总存储大小
-        long totalSize = allFiles.stream().mapToLong(f -> f.getSize() != null ? f.getSize() : 0).sum();
-        statistics.put("totalSize", totalSize);
-        statistics.put("totalSizeFormatted", formatFileSize(totalSize));
-        
-        return statistics;
+        // 读取增量维护的汇总统计，不再加载整张文件表
+        return infraFileStatsService.getStatistics(currentTenantId());
+    }
+
+    /**
+     * 由文件表重建当前租户的存储统计
+     *
+     * @return 重建后的统计信息
+     */
+    @Override
+    public Object rebuildFileStatistics() {
+        return infraFileStatsService.rebuild(currentTenantId());
     }
 
     /**
@@ -246,10 +318,28 @@ public class InfraFileServiceImpl implements IInfraFileService {
      * @return 文件客户端
      */
     private FileClient getFileClient(InfraFileConfig config) {
-        FileClientConfig clientConfig = createFileClientConfig(config);
         FileStorageEnum storageEnum = FileStorageEnum.getByStorage(config.getStorage());
-        fileClientFactory.createOrUpdateFileClient(config.getId(), storageEnum.getStorage(), clientConfig);
-        return fileClientFactory.getFileClient(config.getId());
+        // 配置未变化时直接复用客户端，不再解析配置 JSON
+        return fileClientFactory.getOrCreateFileClient(config.getId(), storageEnum.getStorage(), config.getConfig(),
+                () -> createFileClientConfig(config));
+    }
+
+    /**
+     * 存储标识：配置变化后不再复用旧存储中的文件
+     */
+    private String storageKey(InfraFileConfig config) {
+        return StorageClientRegistry.fingerprint("file-config", config.getId(), config.getStorage(), config.getConfig());
+    }
+
+    private Long currentTenantId() {
+        String contextId = TenantContextHolder.getTenantId();
+        if (StringUtils.isNotEmpty(contextId)) {
+            try {
+                return Long.valueOf(contextId);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return 1L;
     }
 
     /**
@@ -303,8 +393,7 @@ public class InfraFileServiceImpl implements IInfraFileService {
             if (StringUtils.isEmpty(configJson)) {
                 return new HashMap<>();
             }
-            ObjectMapper objectMapper = new ObjectMapper();
-            return objectMapper.readValue(configJson, new TypeReference<Map<String, String>>() {});
+            return CONFIG_MAPPER.readValue(configJson, new TypeReference<Map<String, String>>() {});
         } catch (Exception e) {
             throw new RuntimeException("解析配置 JSON 失败: " + e.getMessage(), e);
         }
@@ -356,6 +445,26 @@ public class InfraFileServiceImpl implements IInfraFileService {
         }
     }
 
+    /**
+     * 以流的方式上传文件内容（底层方法）
+     *
+     * @param content 文件流
+     * @param size    文件大小，未知时传 -1
+     * @param path    文件路径
+     * @param type    文件类型
+     * @return 文件URL
+     */
+    @Override
+    public String uploadFileContent(InputStream content, long size, String path, String type) {
+        try {
+            InfraFileConfig masterConfig = infraFileConfigService.ensureMasterConfig();
+            FileClient fileClient = getFileClient(masterConfig);
+            return fileClient.upload(content, size, path, type);
+        } catch (Exception e) {
+            throw new RuntimeException("文件上传失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 删除文件（底层方法）
      *
@@ -389,6 +498,23 @@ public class InfraFileServiceImpl implements IInfraFileService {
         }
     }
 
+    /**
+     * 打开文件内容流
+     *
+     * @param path 文件路径
+     * @return 文件流
+     */
+    @Override
+    public InputStream openFileContent(String path) {
+        try {
+            InfraFileConfig masterConfig = infraFileConfigService.ensureMasterConfig();
+            FileClient fileClient = getFileClient(masterConfig);
+            return fileClient.getContentStream(path);
+        } catch (Exception e) {
+            throw new RuntimeException("获取文件内容失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 获取预签名URL
      *
@@ -414,13 +540,8 @@ public class InfraFileServiceImpl implements IInfraFileService {
      */
     @Override
     public String uploadSingleFile(MultipartFile file) {
-        try {
-            String fileName = file.getOriginalFilename();
-            String path = "upload/" + System.currentTimeMillis() + "/" + fileName;
-            return uploadFileContent(file.getBytes(), path, file.getContentType());
-        } catch (Exception e) {
-            throw new RuntimeException("文件上传失败: " + e.getMessage(), e);
-        }
+        // 登记文件记录，重复内容复用已有文件
+        return uploadFile(file).getUrl();
     }
 
     /**
@@ -449,7 +570,7 @@ public class InfraFileServiceImpl implements IInfraFileService {
         try {
             // 从URL中提取文件路径
             String path = extractPathFromUrl(fileUrl);
-            deleteFileContent(path);
+            deleteFileByPath(path);
             return true;
         } catch (Exception e) {
             return false;
@@ -480,19 +601,4 @@ public class InfraFileServiceImpl implements IInfraFileService {
             return "other";
         }
     }
-
-    /**
-     * 格式化文件大小
-     */
-    private String formatFileSize(long size) {
-        if (size < 1024) {
-            return size + " B";
-        } else if (size < 1024 * 1024) {
-            return String.format("%.2f KB", size / 1024.0);
-        } else if (size < 1024 * 1024 * 1024) {
-            return String.format("%.2f MB", size / (1024.0 * 1024.0));
-        } else {
-            return String.format("%.2f GB", size / (1024.0 * 1024.0 * 1024.0));
-        }
-    }
 }
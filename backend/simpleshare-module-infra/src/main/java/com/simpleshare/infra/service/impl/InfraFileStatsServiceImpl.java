@@ -0,0 +1,266 @@
+package com.simpleshare.infra.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.infra.domain.InfraFile;
+import com.simpleshare.infra.domain.InfraFileStats;
+import com.simpleshare.infra.domain.InfraFileStatsDaily;
+import com.simpleshare.infra.mapper.InfraFileStatsMapper;
+import com.simpleshare.infra.service.IInfraFileStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文件存储统计Service业务层处理
+ * <p>
+ * 按（租户, 存储, 文件类型）维护文件数与总大小，上传、删除时增量累加，统计接口只读少量汇总行，
+ * 不再加载整张文件表。租户统计尚未建立时（如升级后首次访问）先按 infra_file 分组汇总重建，
+ * 并写入标记行，之后只做增量；统计出现偏差时也可手动重建。后台线程定期把当日汇总写入每日快照，用于展示增长趋势。
+ *
+ * @author SimpleShare
+ */
+@Service
+public class InfraFileStatsServiceImpl implements IInfraFileStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(InfraFileStatsServiceImpl.class);
+
+    private static final String TENANT_STORAGE = "tenant";
+
+    private static final String UNKNOWN_TYPE = "unknown";
+
+    private final InfraFileStatsMapper infraFileStatsMapper;
+
+    /**
+     * 统计结果缓存时间（秒），本节点的上传、删除会立即失效缓存
+     */
+    @Value("${simpleshare.file-stats.cache-seconds:60}")
+    private long cacheSeconds;
+
+    /**
+     * 每日快照写入间隔（分钟），当天快照会被反复覆盖，保留当天最后一次的值
+     */
+    @Value("${simpleshare.file-stats.snapshot-interval-minutes:60}")
+    private long snapshotIntervalMinutes;
+
+    /**
+     * 增长趋势展示的天数
+     */
+    @Value("${simpleshare.file-stats.trend-days:30}")
+    private int trendDays;
+
+    private Cache<Long, Map<String, Object>> cache;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 本节点已确认建立统计的租户
+     */
+    private final Set<Long> initializedTenants = ConcurrentHashMap.newKeySet();
+
+    public InfraFileStatsServiceImpl(InfraFileStatsMapper infraFileStatsMapper) {
+        this.infraFileStatsMapper = infraFileStatsMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Math.max(cacheSeconds, 1L), TimeUnit.SECONDS)
+                .build();
+        long interval = Math.max(snapshotIntervalMinutes, 1L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "file-stats-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, 1L, interval, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void recordAdded(InfraFile infraFile) {
+        if (infraFile == null) {
+            return;
+        }
+        applyDelta(infraFile, 1L);
+    }
+
+    @Override
+    public void recordRemoved(Collection<InfraFile> files) {
+        if (files == null) {
+            return;
+        }
+        for (InfraFile file : files) {
+            // 已逻辑删除的记录在删除时已经扣减过
+            if (file != null && (file.getDeleted() == null || file.getDeleted() == 0)) {
+                applyDelta(file, -1L);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStatistics(Long tenantId) {
+        return cache.get(tenantId, this::loadStatistics);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Map<String, Object> rebuild(Long tenantId) {
+        rebuildRows(tenantId);
+        initializedTenants.add(tenantId);
+        cache.invalidate(tenantId);
+        log.info("File statistics rebuilt for tenant {}", tenantId);
+        return loadStatistics(tenantId);
+    }
+
+    private void applyDelta(InfraFile file, long sign) {
+        Long tenantId = file.getTenantId() != null ? file.getTenantId() : 1L;
+        long size = file.getSize() != null ? file.getSize() : 0L;
+        try {
+            // 首次建立统计时已包含本次变更（调用方在写入文件表之后才记录），无需再累加
+            if (ensureInitialized(tenantId)) {
+                cache.invalidate(tenantId);
+                return;
+            }
+            infraFileStatsMapper.upsertDelta(tenantId, storageOf(file), typeOf(file), sign, sign * size);
+        } catch (Exception e) {
+            // 统计失败不影响文件操作，偏差可通过重建修正
+            log.warn("Failed to update file statistics for tenant {}: {}", tenantId, e.getMessage());
+        }
+        cache.invalidate(tenantId);
+    }
+
+    private Map<String, Object> loadStatistics(Long tenantId) {
+        ensureInitialized(tenantId);
+        List<InfraFileStats> rows = infraFileStatsMapper.selectByTenant(tenantId);
+
+        long totalCount = 0L;
+        long totalSize = 0L;
+        Map<String, Long> typeStats = new LinkedHashMap<>();
+        Map<String, Long> typeSizeStats = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> storageStats = new LinkedHashMap<>();
+        for (InfraFileStats row : rows) {
+            long count = row.getFileCount() != null ? row.getFileCount() : 0L;
+            long size = row.getTotalSize() != null ? row.getTotalSize() : 0L;
+            // 跳过标记行与已清零的分组
+            if (count <= 0 && size <= 0) {
+                continue;
+            }
+            totalCount += count;
+            totalSize += size;
+            typeStats.merge(row.getType(), count, Long::sum);
+            typeSizeStats.merge(row.getType(), size, Long::sum);
+            Map<String, Long> storage = storageStats.computeIfAbsent(row.getStorage(), key -> new LinkedHashMap<>());
+            storage.merge("count", count, Long::sum);
+            storage.merge("size", size, Long::sum);
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalCount", totalCount);
+        statistics.put("typeStats", typeStats);
+        statistics.put("typeSizeStats", typeSizeStats);
+        statistics.put("storageStats", storageStats);
+        statistics.put("totalSize", totalSize);
+        statistics.put("totalSizeFormatted", formatFileSize(totalSize));
+        statistics.put("trend", loadTrend(tenantId));
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private List<Map<String, Object>> loadTrend(Long tenantId) {
+        LocalDate since = LocalDate.now().minusDays(Math.max(trendDays, 1) - 1L);
+        List<Map<String, Object>> trend = new ArrayList<>();
+        Long previousCount = null;
+        Long previousSize = null;
+        for (InfraFileStatsDaily daily : infraFileStatsMapper.selectDailyByTenant(tenantId, since)) {
+            long count = daily.getFileCount() != null ? daily.getFileCount() : 0L;
+            long size = daily.getTotalSize() != null ? daily.getTotalSize() : 0L;
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("date", daily.getStatDate().toString());
+            point.put("fileCount", count);
+            point.put("totalSize", size);
+            point.put("countGrowth", previousCount == null ? 0L : count - previousCount);
+            point.put("sizeGrowth", previousSize == null ? 0L : size - previousSize);
+            trend.add(point);
+            previousCount = count;
+            previousSize = size;
+        }
+        return trend;
+    }
+
+    /**
+     * 租户统计未建立时由文件表重建
+     *
+     * @return 是否进行了重建
+     */
+    private boolean ensureInitialized(Long tenantId) {
+        if (initializedTenants.contains(tenantId)) {
+            return false;
+        }
+        boolean rebuilt = false;
+        if (infraFileStatsMapper.countMarker(tenantId) == 0) {
+            rebuildRows(tenantId);
+            rebuilt = true;
+        }
+        initializedTenants.add(tenantId);
+        return rebuilt;
+    }
+
+    private void rebuildRows(Long tenantId) {
+        infraFileStatsMapper.deleteByTenant(tenantId);
+        infraFileStatsMapper.rebuildByTenant(tenantId);
+        infraFileStatsMapper.insertMarker(tenantId);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            infraFileStatsMapper.snapshotDaily(LocalDate.now());
+        } catch (Exception e) {
+            log.warn("Failed to write daily file statistics snapshot: {}", e.getMessage());
+        }
+    }
+
+    private String storageOf(InfraFile file) {
+        return file.getConfigId() == null ? TENANT_STORAGE : "config:" + file.getConfigId();
+    }
+
+    private String typeOf(InfraFile file) {
+        return StringUtils.isNotEmpty(file.getType()) ? file.getType() : UNKNOWN_TYPE;
+    }
+
+    private String formatFileSize(long size) {
+        if (size < 1024) {
+            return size + " B";
+        } else if (size < 1024 * 1024) {
+            return String.format("%.2f KB", size / 1024.0);
+        } else if (size < 1024 * 1024 * 1024) {
+            return String.format("%.2f MB", size / (1024.0 * 1024.0));
+        } else {
+            return String.format("%.2f GB", size / (1024.0 * 1024.0 * 1024.0));
+        }
+    }
+}
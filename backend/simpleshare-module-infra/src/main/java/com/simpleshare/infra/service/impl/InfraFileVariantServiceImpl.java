@@ -0,0 +1,137 @@
+package com.simpleshare.infra.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.infra.domain.InfraFile;
+import com.simpleshare.infra.mapper.InfraFileMapper;
+import com.simpleshare.infra.service.IInfraFileVariantService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 图片缩略图记录Service业务层处理
+ * <p>
+ * 文章中的图片地址只有访问路径（如 /upload/articles/2025/01/01/abc.png），存储路径可能不含访问前缀，
+ * 因此按路径从长到短依次去掉开头的目录进行匹配，一张图片一次 IN 查询。结果按路径缓存，
+ * 未生成缩略图的结果只短时间缓存，异步生成完成后很快就能生效。
+ *
+ * @author SimpleShare
+ */
+@Service
+public class InfraFileVariantServiceImpl implements IInfraFileVariantService {
+
+    private static final String NONE = "";
+
+    /**
+     * 匹配时最多去掉的开头目录层数
+     */
+    private static final int MAX_STRIPPED_SEGMENTS = 4;
+
+    private final InfraFileMapper infraFileMapper;
+
+    private final Cache<String, String> found = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(30, TimeUnit.MINUTES)
+            .build();
+
+    private final Cache<String, String> missing = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(2, TimeUnit.MINUTES)
+            .build();
+
+    public InfraFileVariantServiceImpl(InfraFileMapper infraFileMapper) {
+        this.infraFileMapper = infraFileMapper;
+    }
+
+    @Override
+    public void recordVariants(String path, String spec) {
+        if (StringUtils.isEmpty(path) || StringUtils.isEmpty(spec)) {
+            return;
+        }
+        infraFileMapper.updateVariants(path, spec);
+        // 本节点立即可见，其他节点等否定缓存过期
+        missing.invalidateAll();
+    }
+
+    @Override
+    public Map<String, String> findVariants(Collection<String> urlPaths) {
+        if (urlPaths == null || urlPaths.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> result = new HashMap<>();
+        Map<String, List<String>> candidatesByPath = new LinkedHashMap<>();
+        Set<String> lookup = new LinkedHashSet<>();
+        for (String urlPath : urlPaths) {
+            if (StringUtils.isEmpty(urlPath) || result.containsKey(urlPath) || candidatesByPath.containsKey(urlPath)) {
+                continue;
+            }
+            String cached = found.getIfPresent(urlPath);
+            if (cached != null) {
+                result.put(urlPath, cached);
+                continue;
+            }
+            if (missing.getIfPresent(urlPath) != null) {
+                continue;
+            }
+            List<String> candidates = candidates(urlPath);
+            candidatesByPath.put(urlPath, candidates);
+            lookup.addAll(candidates);
+        }
+        if (lookup.isEmpty()) {
+            return result;
+        }
+
+        Map<String, String> specs = new HashMap<>();
+        for (InfraFile file : infraFileMapper.selectVariantsByPaths(lookup)) {
+            if (StringUtils.isNotEmpty(file.getVariants())) {
+                specs.put(file.getPath(), file.getVariants());
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : candidatesByPath.entrySet()) {
+            String spec = null;
+            for (String candidate : entry.getValue()) {
+                spec = specs.get(candidate);
+                if (spec != null) {
+                    break;
+                }
+            }
+            if (spec != null) {
+                found.put(entry.getKey(), spec);
+                result.put(entry.getKey(), spec);
+            } else {
+                missing.put(entry.getKey(), NONE);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 完整路径及依次去掉开头目录后的路径，均不带开头的斜杠
+     */
+    private List<String> candidates(String urlPath) {
+        String path = urlPath.startsWith("/") ? urlPath.substring(1) : urlPath;
+        List<String> candidates = new ArrayList<>(MAX_STRIPPED_SEGMENTS + 1);
+        candidates.add(path);
+        int offset = 0;
+        for (int i = 0; i < MAX_STRIPPED_SEGMENTS; i++) {
+            int slash = path.indexOf('/', offset);
+            if (slash < 0 || slash == path.length() - 1) {
+                break;
+            }
+            offset = slash + 1;
+            candidates.add(path.substring(offset));
+        }
+        return candidates;
+    }
+}
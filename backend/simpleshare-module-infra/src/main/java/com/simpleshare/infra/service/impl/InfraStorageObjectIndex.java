@@ -0,0 +1,103 @@
+package com.simpleshare.infra.service.impl;
+
+import com.simpleshare.framework.storage.StorageObjectIndex;
+import com.simpleshare.infra.domain.InfraFile;
+import com.simpleshare.infra.mapper.InfraFileMapper;
+import com.simpleshare.infra.service.IInfraFileStatsService;
+import com.simpleshare.infra.service.IInfraFileVariantService;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+
+/**
+ * 基于 infra_file 表的文件内容索引
+ * <p>
+ * 同一租户、同一存储下内容相同（SHA-256 一致）的文件只保存一份，重复上传直接复用已有文件并增加引用次数；
+ * 删除时先减少引用次数，最后一个引用释放后才删除物理文件。
+ *
+ * @author SimpleShare
+ */
+@Service
+public class InfraStorageObjectIndex implements StorageObjectIndex {
+
+    /**
+     * 释放引用时与并发复用竞争的最大重试次数
+     */
+    private static final int MAX_RELEASE_ATTEMPTS = 3;
+
+    private final InfraFileMapper infraFileMapper;
+
+    private final IInfraFileStatsService infraFileStatsService;
+
+    private final IInfraFileVariantService infraFileVariantService;
+
+    public InfraStorageObjectIndex(InfraFileMapper infraFileMapper, IInfraFileStatsService infraFileStatsService,
+                                   IInfraFileVariantService infraFileVariantService) {
+        this.infraFileMapper = infraFileMapper;
+        this.infraFileStatsService = infraFileStatsService;
+        this.infraFileVariantService = infraFileVariantService;
+    }
+
+    @Override
+    public StoredObject acquire(Long tenantId, String storageKey, String contentHash) {
+        InfraFile existing = acquireFile(tenantId, storageKey, contentHash);
+        return existing == null ? null : new StoredObject(existing.getPath(), existing.getUrl());
+    }
+
+    /**
+     * 查找内容相同的文件并占用一个引用
+     *
+     * @return 已存在的文件记录，不存在或记录刚被删除时返回 null
+     */
+    public InfraFile acquireFile(Long tenantId, String storageKey, String contentHash) {
+        InfraFile existing = infraFileMapper.selectByContentHash(tenantId, storageKey, contentHash);
+        // 条件更新保证记录未被并发删除，否则按新文件处理
+        if (existing == null || infraFileMapper.incrementRefCount(existing.getId()) == 0) {
+            return null;
+        }
+        existing.setRefCount(existing.getRefCount() == null ? 2 : existing.getRefCount() + 1);
+        return existing;
+    }
+
+    @Override
+    public void register(Long tenantId, String storageKey, String contentHash, String name, StoredObject object,
+                         String type, long size) {
+        InfraFile infraFile = new InfraFile();
+        infraFile.setName(name);
+        infraFile.setPath(object.getPath());
+        infraFile.setUrl(object.getUrl());
+        infraFile.setType(type);
+        infraFile.setSize((int) size);
+        infraFile.setTenantId(tenantId);
+        infraFile.setStorageKey(storageKey);
+        infraFile.setContentHash(contentHash);
+        infraFile.setRefCount(1);
+        infraFileMapper.insert(infraFile);
+        infraFileStatsService.recordAdded(infraFile);
+    }
+
+    @Override
+    public void recordVariants(String path, String spec) {
+        infraFileVariantService.recordVariants(path, spec);
+    }
+
+    @Override
+    public boolean release(String path) {
+        for (int attempt = 0; attempt < MAX_RELEASE_ATTEMPTS; attempt++) {
+            if (infraFileMapper.decrementRefCount(path) > 0) {
+                return false;
+            }
+            InfraFile last = infraFileMapper.selectByPath(path);
+            if (infraFileMapper.deleteLastReference(path) > 0) {
+                infraFileStatsService.recordRemoved(Collections.singletonList(last));
+                return true;
+            }
+            // 没有有效记录：历史文件或未登记的文件，按原逻辑直接删除
+            if (infraFileMapper.countByPath(path) == 0) {
+                return true;
+            }
+            // 两步之间被并发复用，引用次数又大于一，重试
+        }
+        return false;
+    }
+}
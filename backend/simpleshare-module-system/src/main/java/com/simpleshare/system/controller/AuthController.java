@@ -446,7 +446,7 @@ public class AuthController extends BaseController {
                 loginUser.setUser(latestUser);
             }
 
-            tokenService.invalidateRefreshToken(refreshToken);
+            tokenService.invalidateRefreshToken(refreshToken, loginUser.getUserId());
 
             // 生成新的JWT token
             String newToken = tokenService.createToken(loginUser);
@@ -506,7 +506,7 @@ public class AuthController extends BaseController {
         sysUser.setUpdateBy(loginUser.getUserId());
         userService.resetPwd(sysUser);
 
-        tokenService.delLoginUser(loginUser.getToken());
+        tokenService.delLoginUser(loginUser);
 
         return AjaxResult.success("密码修改成功，请重新登录");
     }
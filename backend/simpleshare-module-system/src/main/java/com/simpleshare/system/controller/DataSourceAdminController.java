@@ -0,0 +1,39 @@
+package com.simpleshare.system.controller;
+
+import com.simpleshare.common.core.controller.BaseController;
+import com.simpleshare.common.core.domain.AjaxResult;
+import com.simpleshare.framework.datasource.ReadReplicaRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+
+/**
+ * 数据源监控
+ */
+@RestController
+@RequestMapping("/system/admin/datasources")
+public class DataSourceAdminController extends BaseController {
+
+    private final ObjectProvider<ReadReplicaRouter> readReplicaRouter;
+
+    public DataSourceAdminController(ObjectProvider<ReadReplicaRouter> readReplicaRouter) {
+        this.readReplicaRouter = readReplicaRouter;
+    }
+
+    /**
+     * 读写分离路由与各数据源连接池指标，未启用从库时只返回 enabled=false
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("@ss.hasPermi('system:tenant:query')")
+    public AjaxResult stats() {
+        ReadReplicaRouter router = readReplicaRouter.getIfAvailable();
+        if (router == null) {
+            return AjaxResult.success(Collections.singletonMap("enabled", false));
+        }
+        return AjaxResult.success(router.getStatistics());
+    }
+}
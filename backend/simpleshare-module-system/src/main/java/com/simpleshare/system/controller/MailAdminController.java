@@ -0,0 +1,32 @@
+package com.simpleshare.system.controller;
+
+import com.simpleshare.common.core.controller.BaseController;
+import com.simpleshare.common.core.domain.AjaxResult;
+import com.simpleshare.system.service.support.MailOutboxDispatcher;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 邮件发送监控
+ */
+@RestController
+@RequestMapping("/system/admin/mail")
+public class MailAdminController extends BaseController {
+
+    private final MailOutboxDispatcher mailOutboxDispatcher;
+
+    public MailAdminController(MailOutboxDispatcher mailOutboxDispatcher) {
+        this.mailOutboxDispatcher = mailOutboxDispatcher;
+    }
+
+    /**
+     * 发件箱积压、发送耗时与 SMTP 连接复用指标
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("@ss.hasPermi('system:tenant:query')")
+    public AjaxResult stats() {
+        return AjaxResult.success(mailOutboxDispatcher.getStatistics());
+    }
+}
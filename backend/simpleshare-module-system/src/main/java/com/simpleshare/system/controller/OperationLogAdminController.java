@@ -41,6 +41,15 @@ public class OperationLogAdminController extends BaseController {
         return AjaxResult.success(PageResponse.from(pageInfo, items));
     }
 
+    /**
+     * 异步写入管道运行指标
+     */
+    @GetMapping("/pipeline/stats")
+    @PreAuthorize("@ss.hasPermi('system:operation-log:list')")
+    public AjaxResult pipelineStats() {
+        return AjaxResult.success(operationLogService.getPipelineStatistics());
+    }
+
     /**
      * 清空日志
      */
@@ -0,0 +1,131 @@
+package com.simpleshare.system.controller;
+
+import com.simpleshare.common.core.controller.BaseController;
+import com.simpleshare.common.core.domain.AjaxResult;
+import com.simpleshare.common.exception.ServiceException;
+import com.simpleshare.common.utils.SecurityUtils;
+import com.simpleshare.framework.web.domain.OnlineSession;
+import com.simpleshare.framework.web.service.TokenService;
+import com.simpleshare.system.service.ISysRoleService;
+import com.simpleshare.system.service.ISysUserService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 在线会话管理
+ */
+@RestController
+@RequestMapping("/system/admin/sessions")
+public class SessionAdminController extends BaseController {
+
+    private static final int MAX_LIST_SIZE = 1000;
+
+    private final TokenService tokenService;
+    private final ISysUserService userService;
+    private final ISysRoleService roleService;
+
+    public SessionAdminController(TokenService tokenService, ISysUserService userService,
+                                  ISysRoleService roleService) {
+        this.tokenService = tokenService;
+        this.userService = userService;
+        this.roleService = roleService;
+    }
+
+    /**
+     * 查询在线会话，指定用户时返回该用户的会话，否则返回租户内的会话
+     */
+    @GetMapping
+    @PreAuthorize("@ss.hasPermi('system:user:list')")
+    public AjaxResult list(@RequestParam(value = "userId", required = false) Long userId,
+                           @RequestParam(value = "tenantId", required = false) Long tenantId,
+                           @RequestParam(value = "limit", defaultValue = "200") int limit) {
+        List<OnlineSession> sessions;
+        if (userId != null) {
+            userService.checkUserDataScope(userId);
+            sessions = tokenService.listUserSessions(userId);
+        } else {
+            sessions = tokenService.listTenantSessions(resolveTenantId(tenantId),
+                    Math.max(1, Math.min(limit, MAX_LIST_SIZE)));
+        }
+        return AjaxResult.success(sessions);
+    }
+
+    /**
+     * 强制下线单个会话，与按用户下线一样校验数据权限，非超级管理员不能操作其他租户的会话
+     */
+    @DeleteMapping("/{tokenId}")
+    @PreAuthorize("@ss.hasPermi('system:user:edit')")
+    public AjaxResult revoke(@PathVariable("tokenId") String tokenId) {
+        OnlineSession session = tokenService.getSession(tokenId);
+        if (session == null) {
+            return AjaxResult.error("会话不存在或已过期");
+        }
+        if (!SecurityUtils.isAdmin(SecurityUtils.getUserIdSafely())
+                && !Objects.equals(session.getTenantId(), SecurityUtils.getTenantId())) {
+            throw new ServiceException("没有权限访问用户数据！");
+        }
+        userService.checkUserDataScope(session.getUserId());
+        tokenService.revokeSession(tokenId);
+        return AjaxResult.success();
+    }
+
+    /**
+     * 强制下线用户的全部会话
+     */
+    @DeleteMapping("/user/{userId}")
+    @PreAuthorize("@ss.hasPermi('system:user:edit')")
+    public AjaxResult revokeUser(@PathVariable("userId") Long userId) {
+        userService.checkUserDataScope(userId);
+        return revokedResult(tokenService.revokeUserSessions(Collections.singletonList(userId)));
+    }
+
+    /**
+     * 强制下线拥有指定角色的全部用户
+     */
+    @DeleteMapping("/role/{roleId}")
+    @PreAuthorize("@ss.hasPermi('system:role:edit')")
+    public AjaxResult revokeRole(@PathVariable("roleId") Long roleId) {
+        roleService.checkRoleDataScope(roleId);
+        return revokedResult(tokenService.revokeUserSessions(roleService.selectUserIdsByRoleId(roleId)));
+    }
+
+    /**
+     * 强制下线租户内的全部会话
+     */
+    @DeleteMapping("/tenant/{tenantId}")
+    @PreAuthorize("@ss.hasPermi('system:tenant:edit')")
+    public AjaxResult revokeTenant(@PathVariable("tenantId") Long tenantId) {
+        return revokedResult(tokenService.revokeTenantSessions(resolveTenantId(tenantId)));
+    }
+
+    /**
+     * 本地会话缓存运行指标
+     */
+    @GetMapping("/cache/stats")
+    @PreAuthorize("@ss.hasPermi('system:user:list')")
+    public AjaxResult cacheStats() {
+        return AjaxResult.success(tokenService.getSessionCacheStatistics());
+    }
+
+    /**
+     * 只有超级管理员可以操作其他租户
+     */
+    private Long resolveTenantId(Long tenantId) {
+        if (tenantId == null || !SecurityUtils.isAdmin(SecurityUtils.getUserIdSafely())) {
+            return SecurityUtils.getTenantId();
+        }
+        return tenantId;
+    }
+
+    private AjaxResult revokedResult(long revoked) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("revokedTokens", revoked);
+        return AjaxResult.success(result);
+    }
+}
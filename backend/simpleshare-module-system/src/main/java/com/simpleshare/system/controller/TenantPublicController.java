@@ -3,23 +3,32 @@ package com.simpleshare.system.controller;
 import com.simpleshare.common.core.controller.BaseController;
 import com.simpleshare.common.core.domain.AjaxResult;
 import com.simpleshare.common.core.domain.entity.SysTenant;
+import com.simpleshare.common.enums.DataSourceType;
 import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.aspectj.lang.annotation.DataSource;
 import com.simpleshare.framework.aspectj.lang.annotation.TenantIgnore;
 import com.simpleshare.system.config.TenantDefaultsProperties;
+import com.simpleshare.system.domain.vo.TenantConfigSnapshot;
 import com.simpleshare.system.service.ISysTenantConfigService;
 import com.simpleshare.system.service.ISysTenantService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * 租户公开接口，统一提供前台可访问的租户与配置数据。
@@ -27,6 +36,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/system/public/tenants")
 @TenantIgnore
+@DataSource(DataSourceType.SLAVE)
 public class TenantPublicController extends BaseController {
 
     @Autowired
@@ -41,6 +51,8 @@ public class TenantPublicController extends BaseController {
     private static final String KEY_OWNER_QR_CODE = "owner_qr_code";
     private static final String KEY_OWNER_REMARK = "owner_remark";
 
+    private static final String DERIVED_PUBLIC_CONFIG = "publicConfig";
+
     /**
      * 根据请求域名获取当前租户信息。
      */
@@ -70,15 +82,11 @@ public class TenantPublicController extends BaseController {
     }
 
     /**
-     * 获取当前租户的配置。
+     * 获取当前租户的配置，支持 If-None-Match 协商缓存。
      */
     @GetMapping("/current/config")
-    public AjaxResult getTenantConfig(HttpServletRequest request) {
-        Long tenantId = resolveTenantId(request);
-        Map<String, Object> config = getDefaultConfig();
-        Map<String, String> overrides = tenantConfigService.selectConfigMap(tenantId);
-        applyConfigOverrides(config, overrides);
-        return AjaxResult.success(config);
+    public AjaxResult getTenantConfig(HttpServletRequest request, HttpServletResponse response, WebRequest webRequest) {
+        return publicConfigResult(resolveTenantId(request), response, webRequest);
     }
 
     /**
@@ -143,14 +151,34 @@ public class TenantPublicController extends BaseController {
     }
 
     /**
-     * 获取指定租户的配置。
+     * 获取指定租户的配置，支持 If-None-Match 协商缓存。
      */
     @GetMapping("/{tenantId}/config")
-    public AjaxResult getTenantConfig(@PathVariable("tenantId") Long tenantId) {
+    public AjaxResult getTenantConfig(@PathVariable("tenantId") Long tenantId, HttpServletResponse response,
+                                      WebRequest webRequest) {
+        return publicConfigResult(tenantId, response, webRequest);
+    }
+
+    /**
+     * 合并默认值后的前台配置随租户配置快照缓存，ETag 由快照版本与默认配置共同决定；
+     * 未变化时返回 304 且不输出响应体。
+     */
+    private AjaxResult publicConfigResult(Long tenantId, HttpServletResponse response, WebRequest webRequest) {
+        TenantConfigSnapshot snapshot = tenantConfigService.selectSnapshot(tenantId);
+        PublicConfig publicConfig = snapshot.derive(DERIVED_PUBLIC_CONFIG, this::buildPublicConfig);
+        response.setHeader("Cache-Control", "no-cache");
+        if (webRequest.checkNotModified(publicConfig.etag)) {
+            return null;
+        }
+        return AjaxResult.success(publicConfig.config);
+    }
+
+    private PublicConfig buildPublicConfig(TenantConfigSnapshot snapshot) {
         Map<String, Object> config = getDefaultConfig();
-        Map<String, String> overrides = tenantConfigService.selectConfigMap(tenantId);
-        applyConfigOverrides(config, overrides);
-        return AjaxResult.success(config);
+        applyConfigOverrides(config, snapshot.getValues());
+        String etag = "\"" + DigestUtils.md5DigestAsHex((snapshot.getVersion() + ':' + new TreeMap<>(config))
+                .getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new PublicConfig(Collections.unmodifiableMap(config), etag);
     }
 
     private boolean isLocalDomain(String domain) {
@@ -342,8 +370,16 @@ public class TenantPublicController extends BaseController {
         fallback.setIntro(fallbackIntro);
         return fallback;
     }
-}
 
+    private static final class PublicConfig {
 
+        private final Map<String, Object> config;
 
+        private final String etag;
 
+        private PublicConfig(Map<String, Object> config, String etag) {
+            this.config = config;
+            this.etag = etag;
+        }
+    }
+}
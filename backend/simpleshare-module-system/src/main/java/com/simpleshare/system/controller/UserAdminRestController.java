@@ -10,6 +10,7 @@ import com.simpleshare.common.core.domain.model.PageResponse;
 import com.simpleshare.common.enums.UserTypeEnum;
 import com.simpleshare.common.utils.SecurityUtils;
 import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.web.service.TokenService;
 import com.simpleshare.system.dto.ResetPasswordResponse;
 import com.simpleshare.system.dto.UserAdminRequest;
 import com.simpleshare.system.dto.UserAdminResponse;
@@ -47,10 +48,13 @@ public class UserAdminRestController extends BaseController {
 
     private final ISysUserService userService;
     private final ISysRoleService roleService;
+    private final TokenService tokenService;
 
-    public UserAdminRestController(ISysUserService userService, ISysRoleService roleService) {
+    public UserAdminRestController(ISysUserService userService, ISysRoleService roleService,
+                                   TokenService tokenService) {
         this.userService = userService;
         this.roleService = roleService;
+        this.tokenService = tokenService;
     }
 
     /**
@@ -170,6 +174,7 @@ public class UserAdminRestController extends BaseController {
         applyRole(user, request.getRole());
         int rows = userService.updateUser(user);
         if (rows > 0) {
+            tokenService.invalidateLocalSessions(id);
             SysUser refreshed = userService.selectUserById(id);
             return AjaxResult.success(UserAdminResponse.from(enrichUserWithRoles(refreshed)));
         }
@@ -185,6 +190,7 @@ public class UserAdminRestController extends BaseController {
         userService.checkUserAllowed(new SysUser(id));
         userService.checkUserDataScope(id);
         int rows = userService.deleteUserById(id);
+        tokenService.invalidateLocalSessions(id);
         return rows > 0 ? AjaxResult.success() : AjaxResult.error("删除失败");
     }
 
@@ -205,6 +211,9 @@ public class UserAdminRestController extends BaseController {
             userService.checkUserDataScope(id);
         }
         int rows = userService.deleteUserByIds(ids);
+        for (Long id : ids) {
+            tokenService.invalidateLocalSessions(id);
+        }
         return rows > 0 ? AjaxResult.success() : AjaxResult.error("批量删除失败");
     }
 
@@ -221,6 +230,7 @@ public class UserAdminRestController extends BaseController {
         }
         user.setStatus(mapStatusToCode(request.getStatus()));
         userService.updateUserStatus(user);
+        tokenService.invalidateLocalSessions(id);
         SysUser refreshed = userService.selectUserById(id);
         return AjaxResult.success(UserAdminResponse.from(enrichUserWithRoles(refreshed)));
     }
@@ -243,6 +253,7 @@ public class UserAdminRestController extends BaseController {
             }
             user.setStatus(statusCode);
             userService.updateUserStatus(user);
+            tokenService.invalidateLocalSessions(id);
         }
         return AjaxResult.success();
     }
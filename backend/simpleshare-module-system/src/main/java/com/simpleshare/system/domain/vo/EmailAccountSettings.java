@@ -0,0 +1,100 @@
+package com.simpleshare.system.domain.vo;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 合并租户配置与 spring.mail 后实际使用的邮箱账号。
+ */
+public class EmailAccountSettings {
+
+    private String host;
+    private int port;
+    private String username;
+    private String password;
+    private boolean secure;
+    private String fromAddress;
+    private String senderName;
+    private String replyTo;
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public boolean isSecure() {
+        return secure;
+    }
+
+    public void setSecure(boolean secure) {
+        this.secure = secure;
+    }
+
+    public String getFromAddress() {
+        return fromAddress;
+    }
+
+    public void setFromAddress(String fromAddress) {
+        this.fromAddress = fromAddress;
+    }
+
+    public String getSenderName() {
+        return senderName;
+    }
+
+    public void setSenderName(String senderName) {
+        this.senderName = senderName;
+    }
+
+    public String getReplyTo() {
+        return replyTo;
+    }
+
+    public void setReplyTo(String replyTo) {
+        this.replyTo = replyTo;
+    }
+
+    /**
+     * 465/994/995 端口使用 SSL 直连，其余端口在 secure 时走 STARTTLS
+     */
+    public boolean isImplicitSsl() {
+        return secure && (port == 465 || port == 994 || port == 995);
+    }
+
+    /**
+     * 连接参数摘要，相同摘要的配置可以复用已建立的 SMTP 连接（密码只参与摘要，不出现在结果中）
+     */
+    public String connectionFingerprint() {
+        String raw = host + '\u0001' + port + '\u0001' + secure + '\u0001'
+                + (username == null ? "" : username) + '\u0001' + (password == null ? "" : password);
+        return DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
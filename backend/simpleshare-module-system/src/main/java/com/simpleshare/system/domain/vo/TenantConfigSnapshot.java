@@ -0,0 +1,96 @@
+package com.simpleshare.system.domain.vo;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * 租户配置快照。
+ * <p>
+ * 一次读取租户的全部配置项后不再变化，由本地缓存在多个请求间共享；配置保存后整体替换为新快照。
+ * 各业务由配置解析出的类型化对象（保护策略、存储配置、邮箱配置等）通过 {@link #derive(String, Function)}
+ * 挂在快照上，每个快照只解析一次，派生对象同样被共享，调用方不应修改。
+ */
+public final class TenantConfigSnapshot {
+
+    private final Long tenantId;
+
+    private final Map<String, String> values;
+
+    private final String version;
+
+    private final long loadedAt;
+
+    private final ConcurrentMap<String, Object> derived = new ConcurrentHashMap<>();
+
+    public TenantConfigSnapshot(Long tenantId, Map<String, String> values) {
+        this.tenantId = tenantId;
+        Map<String, String> sorted = new TreeMap<>();
+        if (values != null) {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (entry.getKey() != null) {
+                    sorted.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        this.values = Collections.unmodifiableMap(sorted);
+        this.version = digest(sorted);
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * 配置键值对（只读）
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * 配置内容摘要，内容不变时保持不变，可直接用作 ETag
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * 获取由本快照解析出的对象，首次访问时解析；解析抛出异常时不缓存
+     *
+     * @param name    派生对象名称，各业务自行保证唯一
+     * @param factory 解析函数
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T derive(String name, Function<TenantConfigSnapshot, T> factory) {
+        Object value = derived.get(name);
+        if (value == null) {
+            value = derived.computeIfAbsent(name, key -> factory.apply(this));
+        }
+        return (T) value;
+    }
+
+    private static String digest(Map<String, String> sorted) {
+        StringBuilder builder = new StringBuilder(sorted.size() * 32);
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            builder.append(entry.getKey()).append('\u0000')
+                    .append(entry.getValue() == null ? "" : entry.getValue()).append('\u0001');
+        }
+        return DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
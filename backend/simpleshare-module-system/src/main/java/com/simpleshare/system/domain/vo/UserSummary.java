@@ -0,0 +1,40 @@
+package com.simpleshare.system.domain.vo;
+
+import java.io.Serializable;
+
+/**
+ * 用户展示信息（昵称、头像），用于文章作者等列表展示。
+ */
+public class UserSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long userId;
+
+    private String nickname;
+
+    private String avatar;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public void setNickname(String nickname) {
+        this.nickname = nickname;
+    }
+
+    public String getAvatar() {
+        return avatar;
+    }
+
+    public void setAvatar(String avatar) {
+        this.avatar = avatar;
+    }
+}
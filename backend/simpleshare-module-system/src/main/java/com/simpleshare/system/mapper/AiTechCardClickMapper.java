@@ -5,7 +5,7 @@ import com.simpleshare.system.domain.AiTechCardClick;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,15 +14,14 @@ import java.util.List;
 @Mapper
 public interface AiTechCardClickMapper extends BaseMapper<AiTechCardClick> {
 
-    AiTechCardClick selectByTenantAndKey(@Param("tenantId") Long tenantId, @Param("cardKey") String cardKey);
+    List<AiTechCardClick> selectByTenantAndKeys(@Param("tenantId") Long tenantId, @Param("cardKeys") Collection<String> cardKeys);
 
     List<AiTechCardClick> selectByTenant(@Param("tenantId") Long tenantId);
 
     List<AiTechCardClick> selectTopByTenant(@Param("tenantId") Long tenantId, @Param("limit") int limit);
 
-    int incrementClickCount(@Param("id") Long id,
-                            @Param("cardTitle") String cardTitle,
-                            @Param("cardPath") String cardPath,
-                            @Param("cardCategory") String cardCategory,
-                            @Param("lastClickTime") LocalDateTime lastClickTime);
+    /**
+     * 批量累加点击次数，卡片不存在时创建；clickCount 为本批增量
+     */
+    int upsertClicks(@Param("clicks") List<AiTechCardClick> clicks);
 }
@@ -0,0 +1,42 @@
+package com.simpleshare.system.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.simpleshare.system.domain.SysMailOutbox;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 待发送邮件 Mapper
+ */
+@Mapper
+public interface SysMailOutboxMapper extends BaseMapper<SysMailOutbox> {
+
+    /**
+     * 到期可领取的邮件：待发送且到达重试时间，或发送中但租约已过期
+     */
+    List<SysMailOutbox> selectDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 领取邮件并设置租约，多节点并发领取时只有一个成功
+     */
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    int markSent(@Param("id") Long id, @Param("sentTime") LocalDateTime sentTime);
+
+    int markRetry(@Param("id") Long id, @Param("nextAttemptTime") LocalDateTime nextAttemptTime,
+                  @Param("lastError") String lastError);
+
+    int markFailed(@Param("id") Long id, @Param("lastError") String lastError);
+
+    long countPending();
+
+    LocalDateTime selectOldestPendingTime();
+
+    /**
+     * 清理已结束（已发送/失败）的历史记录
+     */
+    int deleteFinishedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -3,10 +3,21 @@ package com.simpleshare.system.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.simpleshare.system.domain.SysOperationLog;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 系统操作日志 Mapper
  */
 @Mapper
 public interface SysOperationLogMapper extends BaseMapper<SysOperationLog> {
+
+    /**
+     * 多行批量插入
+     *
+     * @param logs 日志集合
+     * @return 插入行数
+     */
+    int insertBatch(@Param("logs") List<SysOperationLog> logs);
 }
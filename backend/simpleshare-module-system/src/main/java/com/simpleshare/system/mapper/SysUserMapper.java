@@ -2,9 +2,11 @@ package com.simpleshare.system.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.simpleshare.common.core.domain.entity.SysUser;
+import com.simpleshare.system.domain.vo.UserSummary;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -168,4 +170,12 @@ public interface SysUserMapper extends BaseMapper<SysUser> {
      * @return 用户列表
      */
     List<SysUser> selectUsersByIds(@Param("userIds") List<Long> userIds, @Param("tenantId") Long tenantId);
+
+    /**
+     * 根据用户ID集合批量查询昵称与头像
+     *
+     * @param userIds 用户ID集合
+     * @return 用户展示信息
+     */
+    List<UserSummary> selectUserSummariesByIds(@Param("userIds") Collection<Long> userIds);
 }
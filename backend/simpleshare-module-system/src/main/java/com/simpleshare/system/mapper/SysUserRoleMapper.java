@@ -36,6 +36,14 @@ public interface SysUserRoleMapper extends BaseMapper<SysUserRole> {
      */
     public int countUserRoleByRoleId(Long roleId);
 
+    /**
+     * 通过角色ID查询已分配的用户ID
+     *
+     * @param roleId 角色ID
+     * @return 用户ID列表
+     */
+    public List<Long> selectUserIdsByRoleId(Long roleId);
+
     /**
      * 批量新增用户角色信息
      *
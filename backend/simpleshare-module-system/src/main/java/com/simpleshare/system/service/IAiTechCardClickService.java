@@ -11,7 +11,7 @@ import java.util.List;
 public interface IAiTechCardClickService {
 
     /**
-     * 记录一次卡片点击（不存在则创建）
+     * 记录一次卡片点击（不存在则创建），点击次数异步落库；返回的点击数取自排行，排行未加载时为空
      */
     AiTechCardClick recordClick(AiTechCardClickRequest request);
 
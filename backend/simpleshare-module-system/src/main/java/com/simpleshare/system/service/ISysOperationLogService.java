@@ -4,6 +4,7 @@ import com.simpleshare.system.domain.SysOperationLog;
 import com.simpleshare.system.dto.OperationLogQueryRequest;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 系统操作日志服务
@@ -11,10 +12,23 @@ import java.util.List;
 public interface ISysOperationLogService {
 
     /**
-     * 记录操作日志
+     * 记录操作日志（异步批量写入）
      */
     void record(SysOperationLog log);
 
+    /**
+     * 记录操作日志，请求参数在后台写线程中序列化
+     *
+     * @param log           日志
+     * @param requestParams 原始请求参数
+     */
+    void record(SysOperationLog log, Map<String, Object> requestParams);
+
+    /**
+     * 异步写入管道运行指标
+     */
+    Map<String, Object> getPipelineStatistics();
+
     /**
      * 查询操作日志列表
      */
@@ -97,6 +97,14 @@ public interface ISysRoleService {
      */
     public int countUserRoleByRoleId(Long roleId);
 
+    /**
+     * 通过角色ID查询已分配的用户ID
+     *
+     * @param roleId 角色ID
+     * @return 用户ID列表
+     */
+    public List<Long> selectUserIdsByRoleId(Long roleId);
+
     /**
      * 新增保存角色信息
      *
@@ -1,6 +1,7 @@
 package com.simpleshare.system.service;
 
 import com.simpleshare.system.domain.SysTenantConfig;
+import com.simpleshare.system.domain.vo.TenantConfigSnapshot;
 import com.simpleshare.system.domain.vo.TenantProtectionSettings;
 
 import java.util.List;
@@ -15,10 +16,18 @@ public interface ISysTenantConfigService {
      * 查询租户的配置键值对。
      *
      * @param tenantId 租户ID
-     * @return 配置映射
+     * @return 配置映射（只读）
      */
     Map<String, String> selectConfigMap(Long tenantId);
 
+    /**
+     * 查询租户的配置快照，快照在本地缓存，配置保存后失效。
+     *
+     * @param tenantId 租户ID
+     * @return 配置快照
+     */
+    TenantConfigSnapshot selectSnapshot(Long tenantId);
+
     /**
      * 查询租户层的保护策略配置。
      *
@@ -34,5 +43,12 @@ public interface ISysTenantConfigService {
      * @param configs  配置列表
      */
     void saveOrUpdateConfigs(Long tenantId, List<SysTenantConfig> configs);
+
+    /**
+     * 失效租户的配置快照并通知其他节点。
+     *
+     * @param tenantId 租户ID
+     */
+    void evictSnapshot(Long tenantId);
 }
 
@@ -4,8 +4,8 @@ import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.framework.tenant.TenantContextHolder;
 import com.simpleshare.system.domain.AiTechCardClick;
 import com.simpleshare.system.dto.AiTechCardClickRequest;
-import com.simpleshare.system.mapper.AiTechCardClickMapper;
 import com.simpleshare.system.service.IAiTechCardClickService;
+import com.simpleshare.system.service.support.AiTechClickAggregator;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -14,14 +14,16 @@ import java.util.List;
 
 /**
  * AiTech 卡片点击统计服务实现
+ * <p>
+ * 点击由 {@link AiTechClickAggregator} 在 Redis 中聚合后批量落库，排行榜读取 Redis 有序集合。
  */
 @Service
 public class AiTechCardClickServiceImpl implements IAiTechCardClickService {
 
-    private final AiTechCardClickMapper cardClickMapper;
+    private final AiTechClickAggregator clickAggregator;
 
-    public AiTechCardClickServiceImpl(AiTechCardClickMapper cardClickMapper) {
-        this.cardClickMapper = cardClickMapper;
+    public AiTechCardClickServiceImpl(AiTechClickAggregator clickAggregator) {
+        this.clickAggregator = clickAggregator;
     }
 
     @Override
@@ -30,33 +32,16 @@ public class AiTechCardClickServiceImpl implements IAiTechCardClickService {
             return null;
         }
 
-        Long tenantId = resolveTenantId(null);
-        LocalDateTime now = LocalDateTime.now();
-        AiTechCardClick existing = cardClickMapper.selectByTenantAndKey(tenantId, request.getCardKey());
-        if (existing == null) {
-            AiTechCardClick entity = new AiTechCardClick();
-            entity.setTenantId(tenantId);
-            entity.setCardKey(request.getCardKey());
-            entity.setCardTitle(request.getCardTitle());
-            entity.setCardPath(request.getCardPath());
-            entity.setCardCategory(request.getCardCategory());
-            entity.setClickCount(1L);
-            entity.setLastClickTime(now);
-            cardClickMapper.insert(entity);
-            return entity;
-        }
-
-        cardClickMapper.incrementClickCount(existing.getId(),
-                request.getCardTitle(),
-                request.getCardPath(),
-                request.getCardCategory(),
-                now);
-        existing.setCardTitle(request.getCardTitle());
-        existing.setCardPath(request.getCardPath());
-        existing.setCardCategory(request.getCardCategory());
-        existing.setClickCount((existing.getClickCount() == null ? 0L : existing.getClickCount()) + 1);
-        existing.setLastClickTime(now);
-        return existing;
+        AiTechCardClick entity = new AiTechCardClick();
+        entity.setTenantId(resolveTenantId(null));
+        entity.setCardKey(request.getCardKey());
+        entity.setCardTitle(request.getCardTitle());
+        entity.setCardPath(request.getCardPath());
+        entity.setCardCategory(request.getCardCategory());
+        entity.setLastClickTime(LocalDateTime.now());
+        Long clickCount = clickAggregator.record(entity);
+        entity.setClickCount(clickCount);
+        return entity;
     }
 
     @Override
@@ -65,7 +50,7 @@ public class AiTechCardClickServiceImpl implements IAiTechCardClickService {
         if (resolvedTenantId == null) {
             return Collections.emptyList();
         }
-        return cardClickMapper.selectByTenant(resolvedTenantId);
+        return clickAggregator.list(resolvedTenantId);
     }
 
     @Override
@@ -75,7 +60,7 @@ public class AiTechCardClickServiceImpl implements IAiTechCardClickService {
             return Collections.emptyList();
         }
         int safeLimit = limit <= 0 ? 10 : Math.min(limit, 100);
-        return cardClickMapper.selectTopByTenant(resolvedTenantId, safeLimit);
+        return clickAggregator.top(resolvedTenantId, safeLimit);
     }
 
     private Long resolveTenantId(Long explicitTenantId) {
@@ -1,31 +1,23 @@
 package com.simpleshare.system.service.impl;
 
-import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.simpleshare.common.exception.ServiceException;
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.system.domain.SysEmailVerification;
+import com.simpleshare.system.domain.SysMailOutbox;
 import com.simpleshare.system.enums.EmailVerificationScene;
 import com.simpleshare.system.mapper.SysEmailVerificationMapper;
 import com.simpleshare.system.service.IEmailVerificationService;
-import com.simpleshare.system.service.ISysTenantConfigService;
-import com.simpleshare.system.dto.TenantSettingsRequest;
+import com.simpleshare.system.service.support.EmailAccountResolver;
+import com.simpleshare.system.service.support.MailOutboxDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.autoconfigure.mail.MailProperties;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
-import java.util.Properties;
 import java.util.UUID;
 
 /**
@@ -36,21 +28,21 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailVerificationServiceImpl.class);
 
-    private static final String CONFIG_EMAIL_KEY = "settings_email";
+    private static final String MAIL_BIZ_TYPE = "email_code";
     private static final int DEFAULT_EXPIRE_MINUTES = 10;
     private static final int RESEND_INTERVAL_SECONDS = 60;
 
     private final SysEmailVerificationMapper verificationMapper;
-    private final ISysTenantConfigService tenantConfigService;
-
-    @Autowired(required = false)
-    private MailProperties mailProperties;
+    private final EmailAccountResolver accountResolver;
+    private final MailOutboxDispatcher mailOutboxDispatcher;
 
     @Autowired
     public EmailVerificationServiceImpl(SysEmailVerificationMapper verificationMapper,
-                                        ISysTenantConfigService tenantConfigService) {
+                                        EmailAccountResolver accountResolver,
+                                        MailOutboxDispatcher mailOutboxDispatcher) {
         this.verificationMapper = verificationMapper;
-        this.tenantConfigService = tenantConfigService;
+        this.accountResolver = accountResolver;
+        this.mailOutboxDispatcher = mailOutboxDispatcher;
     }
 
     @Override
@@ -77,6 +69,9 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
             throw new ServiceException("验证码发送过于频繁，请稍后再试");
         }
 
+        // 未配置邮箱时直接提示，不写入发件箱
+        accountResolver.resolve(tenantId);
+
         String code = generateCode();
 
         SysEmailVerification record = new SysEmailVerification();
@@ -94,9 +89,18 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
 
         verificationMapper.insert(record);
 
-        sendEmail(tenantId, email, scene, code, record.getExpireTime());
-
-        log.info("发送邮箱验证码成功: tenantId={}, email={}, scene={}", tenantId, email, scene.getCode());
+        // 邮件随验证码记录一起提交到发件箱，由后台线程发送
+        SysMailOutbox mail = new SysMailOutbox();
+        mail.setTenantId(tenantId);
+        mail.setBizType(MAIL_BIZ_TYPE);
+        mail.setBizId(record.getId());
+        mail.setRecipient(email);
+        mail.setSubject(buildSubject(scene));
+        mail.setContent(buildContent(scene, code, record.getExpireTime()));
+        mail.setExpireTime(record.getExpireTime());
+        mailOutboxDispatcher.enqueue(mail);
+
+        log.info("邮箱验证码已加入发送队列: tenantId={}, email={}, scene={}", tenantId, email, scene.getCode());
         return record;
     }
 
@@ -168,74 +172,6 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
         verificationMapper.updateById(record);
     }
 
-    private void sendEmail(Long tenantId, String email, EmailVerificationScene scene, String code, LocalDateTime expireTime) {
-        EmailAccountSettings settings = resolveEmailSettings(tenantId);
-
-        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
-        mailSender.setHost(settings.getHost());
-        mailSender.setPort(settings.getPort());
-        mailSender.setUsername(settings.getUsername());
-        mailSender.setPassword(settings.getPassword());
-        mailSender.setDefaultEncoding(StandardCharsets.UTF_8.name());
-
-        Properties props = new Properties();
-        props.put("mail.transport.protocol", "smtp");
-        props.put("mail.smtp.auth", "true");
-        props.put("mail.smtp.timeout", "10000");
-        props.put("mail.smtp.connectiontimeout", "10000");
-        props.put("mail.smtp.writetimeout", "10000");
-        props.put("mail.smtp.host", settings.getHost());
-        props.put("mail.smtp.port", Integer.toString(settings.getPort()));
-
-        boolean useSecure = settings.isSecure();
-        boolean implicitSsl = useSecure && isImplicitSslPort(settings.getPort());
-        if (implicitSsl) {
-            props.put("mail.smtp.ssl.enable", "true");
-            props.put("mail.smtp.ssl.trust", settings.getHost());
-            props.put("mail.smtp.ssl.protocols", "TLSv1.2");
-            props.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
-            props.put("mail.smtp.socketFactory.port", Integer.toString(settings.getPort()));
-            props.put("mail.smtp.socketFactory.fallback", "false");
-            props.put("mail.smtp.starttls.enable", "false");
-            props.put("mail.smtp.starttls.required", "false");
-        } else {
-            props.put("mail.smtp.ssl.enable", "false");
-            if (useSecure) {
-                props.put("mail.smtp.starttls.enable", "true");
-                props.put("mail.smtp.starttls.required", "true");
-                props.put("mail.smtp.ssl.trust", settings.getHost());
-                props.put("mail.smtp.ssl.protocols", "TLSv1.2");
-            } else {
-                props.put("mail.smtp.starttls.enable", "false");
-                props.put("mail.smtp.starttls.required", "false");
-            }
-        }
-
-        mailSender.setProtocol(implicitSsl ? "smtps" : "smtp");
-        mailSender.setJavaMailProperties(props);
-
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
-            helper.setTo(email);
-            helper.setFrom(settings.getFromAddress(), settings.getSenderName());
-            helper.setSubject(buildSubject(scene));
-            helper.setText(buildContent(scene, code, expireTime), false);
-
-            if (StringUtils.isNotEmpty(settings.getReplyTo())) {
-                helper.setReplyTo(settings.getReplyTo());
-            }
-
-            mailSender.send(message);
-        } catch (MailException ex) {
-            log.error("发送邮件失败: {}", ex.getMessage(), ex);
-            throw new ServiceException("邮件发送失败，请检查邮箱配置");
-        } catch (Exception e) {
-            log.error("构建邮件失败: {}", e.getMessage(), e);
-            throw new ServiceException("发送邮件失败");
-        }
-    }
-
     private String buildSubject(EmailVerificationScene scene) {
         return "简享" + scene.getDescription() + "验证码";
     }
@@ -266,243 +202,4 @@ public class EmailVerificationServiceImpl implements IEmailVerificationService {
         int number = (int) (Math.random() * 900000) + 100000;
         return String.valueOf(number);
     }
-
-    private EmailAccountSettings resolveEmailSettings(Long tenantId) {
-        Map<String, String> configMap = tenantConfigService.selectConfigMap(tenantId);
-        TenantSettingsRequest.EmailSettings emailSettings = null;
-        if (configMap != null) {
-            String json = configMap.get(CONFIG_EMAIL_KEY);
-            if (StringUtils.isNotEmpty(json)) {
-                try {
-                    emailSettings = JSON.parseObject(json, TenantSettingsRequest.EmailSettings.class);
-                } catch (Exception e) {
-                    log.warn("解析邮箱配置失败，tenantId={}, error={}", tenantId, e.getMessage());
-                }
-            }
-        }
-
-        log.info("检查邮件配置: mailProperties={}, host={}, username={}",
-                mailProperties != null ? "已加载" : "未加载",
-                mailProperties != null ? mailProperties.getHost() : "N/A",
-                mailProperties != null ? mailProperties.getUsername() : "N/A");
-
-        if (mailProperties != null) {
-            Map<String, String> mailProps = mailProperties.getProperties();
-            boolean starttlsEnabled = isTruthy(mailProps != null ? mailProps.get("mail.smtp.starttls.enable") : null);
-            boolean sslEnabled = isTruthy(mailProps != null ? mailProps.get("mail.smtp.ssl.enable") : null);
-
-            if (emailSettings == null) {
-                emailSettings = new TenantSettingsRequest.EmailSettings();
-            }
-
-            if (StringUtils.isEmpty(emailSettings.getHost()) && StringUtils.isNotEmpty(mailProperties.getHost())) {
-                emailSettings.setHost(mailProperties.getHost());
-            }
-            if (emailSettings.getPort() == null && mailProperties.getPort() != null) {
-                emailSettings.setPort(mailProperties.getPort());
-            }
-            if (emailSettings.getSecure() == null && (starttlsEnabled || sslEnabled)) {
-                emailSettings.setSecure(true);
-            } else if (Boolean.FALSE.equals(emailSettings.getSecure()) && sslEnabled) {
-                emailSettings.setSecure(true);
-            }
-            if (needsFallbackUsername(emailSettings.getUsername()) && StringUtils.isNotEmpty(mailProperties.getUsername())) {
-                emailSettings.setUsername(mailProperties.getUsername());
-            }
-            if (needsFallbackPassword(emailSettings.getPassword()) && StringUtils.isNotEmpty(mailProperties.getPassword())) {
-                emailSettings.setPassword(mailProperties.getPassword());
-            }
-            if (StringUtils.isEmpty(emailSettings.getFrom())) {
-                if (StringUtils.isNotEmpty(emailSettings.getUsername())) {
-                    emailSettings.setFrom(emailSettings.getUsername());
-                } else if (StringUtils.isNotEmpty(mailProperties.getUsername())) {
-                    emailSettings.setFrom(mailProperties.getUsername());
-                }
-            }
-            if (StringUtils.isEmpty(emailSettings.getSenderName())) {
-                emailSettings.setSenderName("SimpleShare");
-            }
-            if (emailSettings.getPort() == null) {
-                if (Boolean.TRUE.equals(emailSettings.getSecure())) {
-                    emailSettings.setPort(sslEnabled ? 465 : (starttlsEnabled ? 587 : 465));
-                } else if (mailProperties.getPort() != null) {
-                    emailSettings.setPort(mailProperties.getPort());
-                } else if (starttlsEnabled) {
-                    emailSettings.setPort(587);
-                } else if (StringUtils.isNotEmpty(emailSettings.getHost())) {
-                    emailSettings.setPort(25);
-                }
-            }
-
-            log.info("合并后的邮箱配置: host={}, port={}, username={}, secure={}, source={}",
-                    emailSettings.getHost(),
-                    emailSettings.getPort(),
-                    emailSettings.getUsername(),
-                    emailSettings.getSecure(),
-                    configMap != null && configMap.containsKey(CONFIG_EMAIL_KEY) ? "tenant" : "spring.mail");
-        }
-
-        if (emailSettings == null || StringUtils.isEmpty(emailSettings.getHost())) {
-            log.error("邮箱配置检查失败: emailSettings={}, host={}",
-                    emailSettings != null ? "已设置" : "未设置",
-                    emailSettings != null ? emailSettings.getHost() : "N/A");
-            throw new ServiceException("未配置邮箱服务器，请先在后台完善邮箱设置");
-        }
-
-        EmailAccountSettings settings = new EmailAccountSettings();
-        boolean secure = Boolean.TRUE.equals(emailSettings.getSecure());
-        int port = emailSettings.getPort() != null ? emailSettings.getPort() : (secure ? 465 : 587);
-        settings.setHost(emailSettings.getHost());
-        settings.setPort(port);
-        settings.setUsername(emailSettings.getUsername());
-        settings.setPassword(emailSettings.getPassword());
-        settings.setSecure(secure);
-        settings.setFromAddress(StringUtils.isNotEmpty(emailSettings.getFrom()) ? emailSettings.getFrom() : emailSettings.getUsername());
-        settings.setSenderName(StringUtils.isNotEmpty(emailSettings.getSenderName()) ? emailSettings.getSenderName() : "SimpleShare");
-        settings.setReplyTo(emailSettings.getReplyTo());
-
-        if (needsFallbackUsername(settings.getUsername()) && mailProperties != null && StringUtils.isNotEmpty(mailProperties.getUsername())) {
-            settings.setUsername(mailProperties.getUsername());
-        }
-        if (needsFallbackPassword(settings.getPassword()) && mailProperties != null && StringUtils.isNotEmpty(mailProperties.getPassword())) {
-            settings.setPassword(mailProperties.getPassword());
-        }
-        if (StringUtils.isEmpty(settings.getFromAddress()) && StringUtils.isNotEmpty(settings.getUsername())) {
-            settings.setFromAddress(settings.getUsername());
-        }
-
-        if (log.isInfoEnabled()) {
-            log.info("使用邮箱服务: host={}, port={}, secure={}", settings.getHost(), settings.getPort(), settings.isSecure());
-        }
-
-        if (StringUtils.isEmpty(settings.getUsername()) || StringUtils.isEmpty(settings.getPassword())) {
-            throw new ServiceException("邮箱账号或密码未配置");
-        }
-
-        return settings;
-    }
-
-    private boolean isImplicitSslPort(int port) {
-        return port == 465 || port == 994 || port == 995;
-    }
-
-    private boolean needsFallbackUsername(String username) {
-        if (StringUtils.isEmpty(username)) {
-            return true;
-        }
-        String trimmed = username.trim();
-        if (trimmed.length() <= 3) {
-            return true;
-        }
-        if ("admin".equalsIgnoreCase(trimmed) || "root".equalsIgnoreCase(trimmed) || "system".equalsIgnoreCase(trimmed)) {
-            return true;
-        }
-        return !trimmed.contains("@");
-    }
-
-    private boolean needsFallbackPassword(String password) {
-        if (StringUtils.isEmpty(password)) {
-            return true;
-        }
-        String trimmed = password.trim();
-        if (trimmed.isEmpty()) {
-            return true;
-        }
-        return "******".equals(trimmed) || "********".equals(trimmed);
-    }
-
-    private boolean isTruthy(Object value) {
-        if (value == null) {
-            return false;
-        }
-        if (value instanceof Boolean) {
-            return (Boolean) value;
-        }
-        if (value instanceof Number) {
-            return ((Number) value).intValue() != 0;
-        }
-        String text = value.toString().trim();
-        if (text.isEmpty()) {
-            return false;
-        }
-        return "true".equalsIgnoreCase(text)
-                || "yes".equalsIgnoreCase(text)
-                || "on".equalsIgnoreCase(text)
-                || "1".equals(text);
-    }
-
-    private static class EmailAccountSettings {
-        private String host;
-        private int port;
-        private String username;
-        private String password;
-        private boolean secure;
-        private String fromAddress;
-        private String senderName;
-        private String replyTo;
-
-        public String getHost() {
-            return host;
-        }
-
-        public void setHost(String host) {
-            this.host = host;
-        }
-
-        public int getPort() {
-            return port;
-        }
-
-        public void setPort(int port) {
-            this.port = port;
-        }
-
-        public String getUsername() {
-            return username;
-        }
-
-        public void setUsername(String username) {
-            this.username = username;
-        }
-
-        public String getPassword() {
-            return password;
-        }
-
-        public void setPassword(String password) {
-            this.password = password;
-        }
-
-        public boolean isSecure() {
-            return secure;
-        }
-
-        public void setSecure(boolean secure) {
-            this.secure = secure;
-        }
-
-        public String getFromAddress() {
-            return fromAddress;
-        }
-
-        public void setFromAddress(String fromAddress) {
-            this.fromAddress = fromAddress;
-        }
-
-        public String getSenderName() {
-            return senderName;
-        }
-
-        public void setSenderName(String senderName) {
-            this.senderName = senderName;
-        }
-
-        public String getReplyTo() {
-            return replyTo;
-        }
-
-        public void setReplyTo(String replyTo) {
-            this.replyTo = replyTo;
-        }
-    }
 }
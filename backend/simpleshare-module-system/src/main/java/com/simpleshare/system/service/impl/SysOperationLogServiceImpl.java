@@ -7,10 +7,12 @@ import com.simpleshare.system.domain.SysOperationLog;
 import com.simpleshare.system.dto.OperationLogQueryRequest;
 import com.simpleshare.system.mapper.SysOperationLogMapper;
 import com.simpleshare.system.service.ISysOperationLogService;
+import com.simpleshare.system.service.support.OperationLogWriter;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 操作日志服务实现
@@ -19,17 +21,29 @@ import java.util.List;
 public class SysOperationLogServiceImpl implements ISysOperationLogService {
 
     private final SysOperationLogMapper operationLogMapper;
+    private final OperationLogWriter operationLogWriter;
 
-    public SysOperationLogServiceImpl(SysOperationLogMapper operationLogMapper) {
+    public SysOperationLogServiceImpl(SysOperationLogMapper operationLogMapper, OperationLogWriter operationLogWriter) {
         this.operationLogMapper = operationLogMapper;
+        this.operationLogWriter = operationLogWriter;
     }
 
     @Override
     public void record(SysOperationLog log) {
+        record(log, null);
+    }
+
+    @Override
+    public void record(SysOperationLog log, Map<String, Object> requestParams) {
         if (log == null) {
             return;
         }
-        operationLogMapper.insert(log);
+        operationLogWriter.submit(log, requestParams);
+    }
+
+    @Override
+    public Map<String, Object> getPipelineStatistics() {
+        return operationLogWriter.getStatistics();
     }
 
     @Override
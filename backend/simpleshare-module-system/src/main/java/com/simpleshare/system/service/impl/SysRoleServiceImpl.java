@@ -190,6 +190,17 @@ public class SysRoleServiceImpl implements ISysRoleService {
         return userRoleMapper.countUserRoleByRoleId(roleId);
     }
 
+    /**
+     * 通过角色ID查询已分配的用户ID
+     *
+     * @param roleId 角色ID
+     * @return 用户ID列表
+     */
+    @Override
+    public List<Long> selectUserIdsByRoleId(Long roleId) {
+        return userRoleMapper.selectUserIdsByRoleId(roleId);
+    }
+
     /**
      * 新增保存角色信息
      *
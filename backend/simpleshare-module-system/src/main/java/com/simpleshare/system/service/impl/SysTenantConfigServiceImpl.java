@@ -1,22 +1,41 @@
 package com.simpleshare.system.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
 import com.simpleshare.system.domain.SysTenantConfig;
+import com.simpleshare.system.domain.vo.TenantConfigSnapshot;
 import com.simpleshare.system.domain.vo.TenantProtectionSettings;
 import com.simpleshare.system.mapper.SysTenantConfigMapper;
 import com.simpleshare.system.service.ISysTenantConfigService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 租户配置服务实现。
+ * <p>
+ * 配置以 {@link TenantConfigSnapshot} 的形式缓存在本地，保存配置时失效并通过 {@link CacheInvalidationBroker}
+ * 通知其他节点；缓存同时设置了过期时间，广播丢失时也能在有限时间内收敛。
+ */
 @Service
 public class SysTenantConfigServiceImpl implements ISysTenantConfigService {
 
+    private static final String CACHE_NAME = "tenant_config";
+
+    private static final String DERIVED_PROTECTION = "protection";
+
     private static final String DEFAULT_COPY_POLICY = "follow_article";
     private static final String POLICY_ALLOW = "global_allow";
     private static final String POLICY_DENY = "global_deny";
@@ -28,27 +47,100 @@ public class SysTenantConfigServiceImpl implements ISysTenantConfigService {
     private static final String KEY_WATERMARK_OPACITY = "watermark_opacity";
 
     private final SysTenantConfigMapper tenantConfigMapper;
+    private final CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${simpleshare.tenant-config.cache-enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${simpleshare.tenant-config.cache-max-size:1000}")
+    private long cacheMaxSize;
 
-    public SysTenantConfigServiceImpl(SysTenantConfigMapper tenantConfigMapper) {
+    @Value("${simpleshare.tenant-config.cache-ttl-minutes:30}")
+    private long cacheTtlMinutes;
+
+    private Cache<Long, TenantConfigSnapshot> snapshots;
+
+    public SysTenantConfigServiceImpl(SysTenantConfigMapper tenantConfigMapper,
+                                      CacheInvalidationBroker cacheInvalidationBroker) {
         this.tenantConfigMapper = tenantConfigMapper;
+        this.cacheInvalidationBroker = cacheInvalidationBroker;
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(Math.max(cacheMaxSize, 16L))
+                .expireAfterWrite(Math.max(cacheTtlMinutes, 1L), TimeUnit.MINUTES)
+                .build();
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteInvalidation);
     }
 
     @Override
     public Map<String, String> selectConfigMap(Long tenantId) {
+        return selectSnapshot(tenantId).getValues();
+    }
+
+    @Override
+    public TenantConfigSnapshot selectSnapshot(Long tenantId) {
         Long effectiveTenantId = tenantId != null ? tenantId : 1L;
+        if (!cacheEnabled) {
+            return loadSnapshot(effectiveTenantId);
+        }
+        return snapshots.get(effectiveTenantId, this::loadSnapshot);
+    }
+
+    @Override
+    public TenantProtectionSettings selectProtectionSettings(Long tenantId) {
+        return selectSnapshot(tenantId).derive(DERIVED_PROTECTION, this::buildProtectionSettings);
+    }
+
+    @Override
+    public void evictSnapshot(Long tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        evictNow(tenantId);
+        cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(tenantId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 事务提交前可能有并发读把旧配置重新写回缓存，提交后再清一次
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(tenantId);
+                    cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(tenantId));
+                }
+            });
+        }
+    }
+
+    private TenantConfigSnapshot loadSnapshot(Long tenantId) {
         List<SysTenantConfig> configs = tenantConfigMapper.selectList(new LambdaQueryWrapper<SysTenantConfig>()
-                .eq(SysTenantConfig::getTenantId, effectiveTenantId));
+                .eq(SysTenantConfig::getTenantId, tenantId));
 
         Map<String, String> result = new HashMap<>();
         for (SysTenantConfig config : configs) {
             result.put(config.getConfigKey(), config.getConfigValue());
         }
-        return result;
+        return new TenantConfigSnapshot(tenantId, result);
     }
 
-    @Override
-    public TenantProtectionSettings selectProtectionSettings(Long tenantId) {
-        Map<String, String> configMap = selectConfigMap(tenantId);
+    private void evictNow(Long tenantId) {
+        snapshots.invalidate(tenantId);
+    }
+
+    private void onRemoteInvalidation(String key) {
+        if (CacheInvalidationBroker.ALL_KEYS.equals(key)) {
+            snapshots.invalidateAll();
+            return;
+        }
+        try {
+            snapshots.invalidate(Long.valueOf(key));
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private TenantProtectionSettings buildProtectionSettings(TenantConfigSnapshot snapshot) {
+        Map<String, String> configMap = snapshot.getValues();
 
         String copyPolicy = configMap.getOrDefault(KEY_COPY_POLICY, DEFAULT_COPY_POLICY);
         if (StringUtils.isEmpty(copyPolicy)) {
@@ -102,6 +194,7 @@ public class SysTenantConfigServiceImpl implements ISysTenantConfigService {
                 tenantConfigMapper.updateById(config);
             }
         }
+        evictSnapshot(tenantId);
     }
 
     private double resolveOpacity(String value) {
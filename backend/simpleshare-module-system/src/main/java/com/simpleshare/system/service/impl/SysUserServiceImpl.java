@@ -17,6 +17,7 @@ import com.simpleshare.system.mapper.SysRoleMapper;
 import com.simpleshare.system.mapper.SysPostMapper;
 import com.simpleshare.system.service.ISysConfigService;
 import com.simpleshare.system.service.ISysUserService;
+import com.simpleshare.system.service.support.UserSummaryCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,6 +54,9 @@ public class SysUserServiceImpl implements ISysUserService {
     @Autowired
     private ISysConfigService configService;
 
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
     @Autowired
     protected Validator validator;
 
@@ -286,7 +290,9 @@ public class SysUserServiceImpl implements ISysUserService {
         userRoleMapper.deleteUserRoleByUserId(userId);
         // 新增用户与角色管理
         insertUserRole(user);
-        return userMapper.updateUser(user);
+        int rows = userMapper.updateUser(user);
+        userSummaryCache.evict(userId);
+        return rows;
     }
 
     /**
@@ -321,7 +327,9 @@ public class SysUserServiceImpl implements ISysUserService {
      */
     @Override
     public int updateUserProfile(SysUser user) {
-        return userMapper.updateUser(user);
+        int rows = userMapper.updateUser(user);
+        userSummaryCache.evict(user.getUserId());
+        return rows;
     }
 
     /**
@@ -333,7 +341,14 @@ public class SysUserServiceImpl implements ISysUserService {
      */
     @Override
     public boolean updateUserAvatar(String userName, String avatar) {
-        return userMapper.updateUserAvatar(userName, avatar) > 0;
+        boolean updated = userMapper.updateUserAvatar(userName, avatar) > 0;
+        if (updated) {
+            SysUser user = selectUserByUserName(userName);
+            if (user != null) {
+                userSummaryCache.evict(user.getUserId());
+            }
+        }
+        return updated;
     }
 
     /**
@@ -399,7 +414,9 @@ public class SysUserServiceImpl implements ISysUserService {
     public int deleteUserById(Long userId) {
         // 删除用户与角色关联
         userRoleMapper.deleteUserRoleByUserId(userId);
-        return userMapper.deleteUserById(userId);
+        int rows = userMapper.deleteUserById(userId);
+        userSummaryCache.evict(userId);
+        return rows;
     }
 
     /**
@@ -417,7 +434,11 @@ public class SysUserServiceImpl implements ISysUserService {
         }
         // 删除用户与角色关联
         userRoleMapper.deleteUserRole(userIds);
-        return userMapper.deleteUserByIds(userIds);
+        int rows = userMapper.deleteUserByIds(userIds);
+        for (Long userId : userIds) {
+            userSummaryCache.evict(userId);
+        }
+        return rows;
     }
 
     /**
@@ -460,6 +481,7 @@ public class SysUserServiceImpl implements ISysUserService {
                     user.setUserId(u.getUserId());
                     // user.setUpdateBy(operName); // 注释掉，因为operName是String类型，而updateBy字段是Long类型
                     userMapper.updateUser(user);
+                    userSummaryCache.evict(u.getUserId());
                     successNum++;
                     successMsg.append("<br/>" + successNum + "、账号 " + user.getUserName() + " 更新成功");
                 } else {
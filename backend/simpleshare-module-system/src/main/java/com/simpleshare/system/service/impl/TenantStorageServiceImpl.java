@@ -3,6 +3,8 @@ package com.simpleshare.system.service.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.framework.storage.StorageException;
+import com.simpleshare.framework.storage.StorageObjectIndex;
+import com.simpleshare.framework.storage.StorageStreams;
 import com.simpleshare.framework.storage.StorageType;
 import com.simpleshare.framework.storage.StorageUploadResult;
 import com.simpleshare.framework.storage.client.StorageClient;
@@ -10,14 +12,18 @@ import com.simpleshare.framework.storage.client.StorageClientFactory;
 import com.simpleshare.framework.storage.config.CloudStorageConfig;
 import com.simpleshare.framework.storage.config.LocalStorageConfig;
 import com.simpleshare.framework.storage.config.StorageProfile;
+import com.simpleshare.framework.storage.image.ImageVariantService;
 import com.simpleshare.framework.tenant.TenantContextHolder;
 import com.simpleshare.system.dto.TenantSettingsRequest;
 import com.simpleshare.system.service.ISysTenantConfigService;
 import com.simpleshare.system.service.ITenantStorageService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -37,6 +43,8 @@ public class TenantStorageServiceImpl implements ITenantStorageService {
     private static final String KEY_MAX_FILE_SIZE = "max_file_size";
     private static final String KEY_ALLOWED_FILE_TYPES = "allowed_file_types";
 
+    private static final String DERIVED_STORAGE_PROFILE = "storageProfile";
+
     private static final DateTimeFormatter DATE_FOLDER = DateTimeFormatter.ofPattern("yyyy/MM/dd");
 
     private static final Map<String, String> EXTENSION_CATEGORY;
@@ -53,13 +61,25 @@ public class TenantStorageServiceImpl implements ITenantStorageService {
     private final ISysTenantConfigService tenantConfigService;
     private final ObjectMapper objectMapper;
     private final StorageClientFactory storageClientFactory;
+    private final ObjectProvider<StorageObjectIndex> storageObjectIndex;
+    private final ImageVariantService imageVariantService;
+
+    /**
+     * 是否按内容摘要去重
+     */
+    @Value("${simpleshare.storage.dedup.enabled:true}")
+    private boolean dedupEnabled;
 
     public TenantStorageServiceImpl(ISysTenantConfigService tenantConfigService,
                                     ObjectMapper objectMapper,
-                                    StorageClientFactory storageClientFactory) {
+                                    StorageClientFactory storageClientFactory,
+                                    ObjectProvider<StorageObjectIndex> storageObjectIndex,
+                                    ImageVariantService imageVariantService) {
         this.tenantConfigService = tenantConfigService;
         this.objectMapper = objectMapper;
         this.storageClientFactory = storageClientFactory;
+        this.storageObjectIndex = storageObjectIndex;
+        this.imageVariantService = imageVariantService;
     }
 
     @Override
@@ -68,25 +88,64 @@ public class TenantStorageServiceImpl implements ITenantStorageService {
         StorageProfile profile = getStorageProfile(effectiveTenantId);
         validateFile(profile, file);
 
-        StorageClient client = storageClientFactory.create(profile);
-        byte[] content;
-        try {
-            content = file.getBytes();
-        } catch (IOException e) {
-            throw new StorageException("读取上传文件失败", e);
+        // 同一租户、同一存储下内容相同的文件只保存一份
+        StorageObjectIndex index = dedupEnabled ? storageObjectIndex.getIfAvailable() : null;
+        String storageKey = null;
+        String contentHash = null;
+        if (index != null) {
+            storageKey = storageClientFactory.fingerprint(profile);
+            try (InputStream content = file.getInputStream()) {
+                contentHash = StorageStreams.sha256Hex(content);
+            } catch (IOException e) {
+                throw new StorageException("读取上传文件失败", e);
+            }
+            StorageObjectIndex.StoredObject existing = index.acquire(effectiveTenantId, storageKey, contentHash);
+            if (existing != null) {
+                return new StorageUploadResult(existing.getPath(), existing.getUrl(), profile.getType());
+            }
         }
 
+        StorageClient client = storageClientFactory.getClient(effectiveTenantId, profile);
         String relativePath = buildRelativePath(directory, file.getOriginalFilename());
         String contentType = file.getContentType();
-        return client.upload(content, relativePath, contentType);
+        // 以流的方式上传，不把整个文件读入内存
+        StorageUploadResult result;
+        try (InputStream content = file.getInputStream()) {
+            result = client.upload(content, file.getSize(), relativePath, contentType);
+        } catch (IOException e) {
+            throw new StorageException("读取上传文件失败", e);
+        }
+        if (index != null) {
+            index.register(effectiveTenantId, storageKey, contentHash, file.getOriginalFilename(),
+                    new StorageObjectIndex.StoredObject(result.getPath(), result.getUrl()),
+                    resolveCategory(file.getOriginalFilename(), contentType), file.getSize());
+        }
+        submitImageVariants(client, relativePath, contentType, result);
+        return result;
+    }
+
+    /**
+     * 图片异步生成缩略图，与原图存放在同一存储中
+     */
+    private void submitImageVariants(StorageClient client, String relativePath, String contentType,
+                                     StorageUploadResult result) {
+        StorageObjectIndex index = storageObjectIndex.getIfAvailable();
+        imageVariantService.submit(relativePath, contentType,
+                () -> client.download(result.getPath()),
+                (variantPath, content, variantType) -> client.upload(content, variantPath, variantType),
+                spec -> {
+                    if (index != null) {
+                        index.recordVariants(result.getPath(), spec);
+                    }
+                });
     }
 
     @Override
     public StorageProfile getStorageProfile(Long tenantId) {
         Long effectiveTenantId = resolveTenantId(tenantId);
-        Map<String, String> configMap = tenantConfigService.selectConfigMap(effectiveTenantId);
-        TenantSettingsRequest.StorageSettings storageSettings = buildStorageSettings(configMap);
-        return convertToProfile(storageSettings);
+        // 存储配置随配置快照解析一次，配置保存后快照整体替换
+        return tenantConfigService.selectSnapshot(effectiveTenantId).derive(DERIVED_STORAGE_PROFILE,
+                snapshot -> convertToProfile(buildStorageSettings(snapshot.getValues())));
     }
 
     private TenantSettingsRequest.StorageSettings buildStorageSettings(Map<String, String> configMap) {
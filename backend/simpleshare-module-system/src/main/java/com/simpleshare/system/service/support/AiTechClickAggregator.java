@@ -0,0 +1,521 @@
+package com.simpleshare.system.service.support;
+
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.system.domain.AiTechCardClick;
+import com.simpleshare.system.mapper.AiTechCardClickMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AiTech 卡片点击聚合计数。
+ * <p>
+ * 每次点击只执行一段 Lua：在 {@code aitech_click:{tenantId}:{cardKey}} 上 HINCRBY 待落库次数并 HSET 卡片信息与最近点击时间，
+ * 登记到 {@code aitech_click_dirty}，排行有序集合 {@code aitech_click_rank:{tenantId}} 已加载时同步 ZINCRBY。
+ * 后台线程按固定间隔批量 INSERT ... ON DUPLICATE KEY UPDATE 累加到 aitech_card_click，
+ * 落库后只扣减已写入的次数，落库期间的新点击留到下一轮；多个节点通过租约锁轮流执行。
+ * <p>
+ * 排行榜直接读取有序集合，未加载时按数据库累计值加上待落库次数重建，并设置过期时间定期校正。
+ * Redis 不可用或功能关闭时每次点击直接执行一条 upsert。
+ */
+@Component
+public class AiTechClickAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(AiTechClickAggregator.class);
+
+    private static final int DB_BATCH_SIZE = 200;
+
+    private static final String FIELD_PENDING = "pending";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_PATH = "path";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_TIME = "time";
+
+    private static final String FLUSH_LOCK_KEY = CacheConstants.AITECH_CLICK_DIRTY_KEY + ":lock";
+
+    /**
+     * 记录一次点击；排行已加载时返回卡片的新分值，否则返回 nil
+     */
+    private static final byte[] CLICK_SCRIPT = bytes(
+            "redis.call('hincrby', KEYS[1], 'pending', 1) "
+                    + "redis.call('hmset', KEYS[1], 'title', ARGV[3], 'path', ARGV[4], 'category', ARGV[5], 'time', ARGV[6]) "
+                    + "redis.call('expire', KEYS[1], ARGV[7]) "
+                    + "redis.call('sadd', KEYS[2], ARGV[1]) "
+                    + "if redis.call('exists', KEYS[3]) == 1 then return redis.call('zincrby', KEYS[3], 1, ARGV[2]) end "
+                    + "return false");
+
+    /**
+     * 扣减已落库的次数，清零后移出待落库集合
+     */
+    private static final byte[] RELEASE_SCRIPT = bytes(
+            "local left = redis.call('hincrby', KEYS[1], 'pending', -tonumber(ARGV[1])) "
+                    + "if left <= 0 then redis.call('hdel', KEYS[1], 'pending') redis.call('srem', KEYS[2], ARGV[2]) end "
+                    + "return left");
+
+    /**
+     * 排行不存在时一次性写入全部分值，避免并发重建重复累加
+     */
+    private static final byte[] LOAD_RANK_SCRIPT = bytes(
+            "if redis.call('exists', KEYS[1]) == 0 then "
+                    + "for i = 2, #ARGV, 2 do redis.call('zadd', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+                    + "redis.call('expire', KEYS[1], ARGV[1]) "
+                    + "end "
+                    + "return 1");
+
+    private static final byte[] UNLOCK_SCRIPT = bytes(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) end return 0");
+
+    private final AiTechCardClickMapper cardClickMapper;
+
+    @Autowired
+    private RedisTemplate redisTemplate;
+
+    @Value("${simpleshare.aitech.click.enabled:true}")
+    private boolean enabled;
+
+    @Value("${simpleshare.aitech.click.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    @Value("${simpleshare.aitech.click.flush-cards:500}")
+    private int flushCards;
+
+    @Value("${simpleshare.aitech.click.rank-ttl-minutes:60}")
+    private long rankTtlMinutes;
+
+    @Value("${simpleshare.aitech.click.pending-ttl-days:7}")
+    private long pendingTtlDays;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private ScheduledExecutorService scheduler;
+
+    public AiTechClickAggregator(AiTechCardClickMapper cardClickMapper) {
+        this.cardClickMapper = cardClickMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("AiTech click aggregation disabled, clicks will be written to aitech_card_click directly");
+            return;
+        }
+        long interval = Math.max(flushIntervalMs, 200L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aitech-click-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 记录一次点击
+     *
+     * @param click 租户、卡片标识与卡片信息
+     * @return 卡片当前累计点击数，排行未加载或直接落库时为空
+     */
+    public Long record(AiTechCardClick click) {
+        if (enabled) {
+            try {
+                byte[] cardKey = cardKey(click.getTenantId(), click.getCardKey());
+                byte[] dirtyKey = bytes(CacheConstants.AITECH_CLICK_DIRTY_KEY);
+                byte[] rankKey = rankKey(click.getTenantId());
+                long millis = click.getLastClickTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                byte[][] keysAndArgs = new byte[][] {
+                        cardKey, dirtyKey, rankKey,
+                        bytes(member(click.getTenantId(), click.getCardKey())),
+                        bytes(click.getCardKey()),
+                        bytes(StringUtils.nvl(click.getCardTitle(), "")),
+                        bytes(StringUtils.nvl(click.getCardPath(), "")),
+                        bytes(StringUtils.nvl(click.getCardCategory(), "")),
+                        bytes(String.valueOf(millis)),
+                        bytes(String.valueOf(TimeUnit.DAYS.toSeconds(Math.max(pendingTtlDays, 1L))))
+                };
+                Object score = redisTemplate.execute((RedisCallback<Object>) connection ->
+                        connection.eval(CLICK_SCRIPT, ReturnType.VALUE, 3, keysAndArgs));
+                Double value = parseDouble(text(score));
+                return value != null ? value.longValue() : null;
+            } catch (DataAccessException ex) {
+                log.warn("Failed to aggregate AiTech click in Redis, writing directly: {}", ex.getMessage());
+            }
+        }
+        click.setClickCount(1L);
+        cardClickMapper.upsertClicks(Collections.singletonList(click));
+        return null;
+    }
+
+    /**
+     * 点击数前 N 的卡片，从排行有序集合读取，卡片信息取自数据库并叠加最近一次点击上报的内容
+     */
+    public List<AiTechCardClick> top(Long tenantId, int limit) {
+        if (!enabled) {
+            return cardClickMapper.selectTopByTenant(tenantId, limit);
+        }
+        try {
+            byte[] rankKey = rankKey(tenantId);
+            Boolean exists = (Boolean) redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.exists(rankKey));
+            if (!Boolean.TRUE.equals(exists)) {
+                loadRank(tenantId);
+            }
+            @SuppressWarnings("unchecked")
+            Set<RedisZSetCommands.Tuple> tuples = (Set<RedisZSetCommands.Tuple>) redisTemplate.execute(
+                    (RedisCallback<Set<RedisZSetCommands.Tuple>>) connection -> connection.zRevRangeWithScores(rankKey, 0, limit - 1L));
+            if (tuples == null || tuples.isEmpty()) {
+                return new ArrayList<>();
+            }
+            Map<String, Long> scores = new LinkedHashMap<>();
+            for (RedisZSetCommands.Tuple tuple : tuples) {
+                scores.put(text(tuple.getValue()), tuple.getScore() == null ? 0L : tuple.getScore().longValue());
+            }
+            Map<String, AiTechCardClick> stored = new HashMap<>();
+            for (AiTechCardClick row : cardClickMapper.selectByTenantAndKeys(tenantId, scores.keySet())) {
+                stored.put(row.getCardKey(), row);
+            }
+            List<String> cardKeys = new ArrayList<>(scores.keySet());
+            List<Object> pending = readPending(tenantId, cardKeys);
+            List<AiTechCardClick> result = new ArrayList<>(cardKeys.size());
+            for (int i = 0; i < cardKeys.size(); i++) {
+                String key = cardKeys.get(i);
+                AiTechCardClick click = stored.get(key);
+                if (click == null) {
+                    click = new AiTechCardClick();
+                    click.setTenantId(tenantId);
+                    click.setCardKey(key);
+                }
+                applyPending(click, pending.get(i), false);
+                click.setClickCount(scores.get(key));
+                result.add(click);
+            }
+            return result;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to read AiTech click rank, falling back to database: {}", ex.getMessage());
+            return cardClickMapper.selectTopByTenant(tenantId, limit);
+        }
+    }
+
+    /**
+     * 租户下全部卡片统计：数据库累计值叠加尚未落库的点击
+     */
+    public List<AiTechCardClick> list(Long tenantId) {
+        List<AiTechCardClick> rows = cardClickMapper.selectByTenant(tenantId);
+        if (!enabled) {
+            return rows;
+        }
+        try {
+            Map<String, AiTechCardClick> byKey = new LinkedHashMap<>();
+            for (AiTechCardClick row : rows) {
+                byKey.put(row.getCardKey(), row);
+            }
+            for (String key : pendingCardKeys(tenantId)) {
+                byKey.computeIfAbsent(key, k -> {
+                    AiTechCardClick click = new AiTechCardClick();
+                    click.setTenantId(tenantId);
+                    click.setCardKey(k);
+                    click.setClickCount(0L);
+                    return click;
+                });
+            }
+            List<String> cardKeys = new ArrayList<>(byKey.keySet());
+            List<Object> pending = readPending(tenantId, cardKeys);
+            List<AiTechCardClick> result = new ArrayList<>(cardKeys.size());
+            for (int i = 0; i < cardKeys.size(); i++) {
+                AiTechCardClick click = byKey.get(cardKeys.get(i));
+                applyPending(click, pending.get(i), true);
+                result.add(click);
+            }
+            result.sort(Comparator.comparing((AiTechCardClick click) -> valueOf(click.getClickCount())).reversed()
+                    .thenComparing(AiTechCardClick::getLastClickTime, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+            return result;
+        } catch (DataAccessException ex) {
+            log.warn("Failed to read pending AiTech clicks: {}", ex.getMessage());
+            return rows;
+        }
+    }
+
+    /**
+     * 将待落库的点击批量写入 aitech_card_click，多个节点通过租约锁轮流执行
+     *
+     * @return 本轮落库的点击数
+     */
+    public long flush() {
+        if (!enabled) {
+            return 0L;
+        }
+        byte[] lockKey = bytes(FLUSH_LOCK_KEY);
+        byte[] owner = bytes(nodeId);
+        long leaseMillis = Math.max(flushIntervalMs, 200L) * 5;
+        Boolean locked = (Boolean) redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.set(lockKey, owner, Expiration.milliseconds(leaseMillis), RedisStringCommands.SetOption.ifAbsent()));
+        if (!Boolean.TRUE.equals(locked)) {
+            return 0L;
+        }
+        try {
+            byte[] dirtyKey = bytes(CacheConstants.AITECH_CLICK_DIRTY_KEY);
+            long limit = Math.max(flushCards, 1);
+            @SuppressWarnings("unchecked")
+            List<byte[]> members = (List<byte[]>) redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.sRandMember(dirtyKey, limit));
+            if (members == null || members.isEmpty()) {
+                return 0L;
+            }
+            List<String> names = new ArrayList<>(members.size());
+            for (byte[] member : members) {
+                names.add(text(member));
+            }
+            List<Object> entries = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String name : names) {
+                    connection.hMGet(bytes(CacheConstants.AITECH_CLICK_KEY + name), bytes(FIELD_PENDING), bytes(FIELD_TITLE),
+                            bytes(FIELD_PATH), bytes(FIELD_CATEGORY), bytes(FIELD_TIME));
+                }
+                return null;
+            });
+            List<AiTechCardClick> batch = new ArrayList<>();
+            List<String> released = new ArrayList<>();
+            List<Long> counts = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                AiTechCardClick click = parseMember(name);
+                Long pending = null;
+                if (click != null) {
+                    applyPending(click, entries.get(i), false);
+                    pending = click.getClickCount();
+                }
+                released.add(name);
+                counts.add(pending == null || pending < 0 ? 0L : pending);
+                if (pending != null && pending > 0) {
+                    batch.add(click);
+                }
+            }
+            for (int from = 0; from < batch.size(); from += DB_BATCH_SIZE) {
+                cardClickMapper.upsertClicks(batch.subList(from, Math.min(from + DB_BATCH_SIZE, batch.size())));
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < released.size(); i++) {
+                    connection.eval(RELEASE_SCRIPT, ReturnType.INTEGER, 2,
+                            bytes(CacheConstants.AITECH_CLICK_KEY + released.get(i)), dirtyKey,
+                            bytes(String.valueOf(counts.get(i))), bytes(released.get(i)));
+                }
+                return null;
+            });
+            long total = 0L;
+            for (AiTechCardClick click : batch) {
+                total += click.getClickCount();
+            }
+            return total;
+        } finally {
+            redisTemplate.execute((RedisCallback<Object>) connection ->
+                    connection.eval(UNLOCK_SCRIPT, ReturnType.INTEGER, 1, lockKey, owner));
+        }
+    }
+
+    /**
+     * 以数据库累计值加上待落库次数重建排行
+     */
+    private void loadRank(Long tenantId) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (AiTechCardClick row : cardClickMapper.selectByTenant(tenantId)) {
+            totals.put(row.getCardKey(), valueOf(row.getClickCount()));
+        }
+        List<String> pendingKeys = pendingCardKeys(tenantId);
+        List<Object> pending = readPending(tenantId, pendingKeys);
+        for (int i = 0; i < pendingKeys.size(); i++) {
+            AiTechCardClick click = new AiTechCardClick();
+            applyPending(click, pending.get(i), false);
+            totals.merge(pendingKeys.get(i), valueOf(click.getClickCount()), Long::sum);
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        List<byte[]> args = new ArrayList<>(totals.size() * 2 + 2);
+        args.add(rankKey(tenantId));
+        args.add(bytes(String.valueOf(TimeUnit.MINUTES.toSeconds(Math.max(rankTtlMinutes, 1L)))));
+        for (Map.Entry<String, Long> entry : totals.entrySet()) {
+            args.add(bytes(String.valueOf(entry.getValue())));
+            args.add(bytes(entry.getKey()));
+        }
+        byte[][] keysAndArgs = args.toArray(new byte[0][]);
+        redisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.eval(LOAD_RANK_SCRIPT, ReturnType.INTEGER, 1, keysAndArgs));
+    }
+
+    /**
+     * 租户下尚有待落库点击的卡片标识
+     */
+    private List<String> pendingCardKeys(Long tenantId) {
+        byte[] dirtyKey = bytes(CacheConstants.AITECH_CLICK_DIRTY_KEY);
+        @SuppressWarnings("unchecked")
+        Set<byte[]> members = (Set<byte[]>) redisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.sMembers(dirtyKey));
+        List<String> cardKeys = new ArrayList<>();
+        if (members == null) {
+            return cardKeys;
+        }
+        String prefix = tenantId + ":";
+        for (byte[] member : members) {
+            String name = text(member);
+            if (name != null && name.startsWith(prefix)) {
+                cardKeys.add(name.substring(prefix.length()));
+            }
+        }
+        return cardKeys;
+    }
+
+    private List<Object> readPending(Long tenantId, List<String> cardKeys) {
+        if (cardKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : cardKeys) {
+                connection.hMGet(cardKey(tenantId, key), bytes(FIELD_PENDING), bytes(FIELD_TITLE),
+                        bytes(FIELD_PATH), bytes(FIELD_CATEGORY), bytes(FIELD_TIME));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 把 HMGET(pending, title, path, category, time) 的结果叠加到卡片上
+     *
+     * @param accumulate 为 true 时待落库次数累加到 clickCount，否则直接作为 clickCount
+     */
+    private void applyPending(AiTechCardClick click, Object entry, boolean accumulate) {
+        if (!(entry instanceof List)) {
+            if (!accumulate) {
+                click.setClickCount(0L);
+            }
+            return;
+        }
+        List<?> values = (List<?>) entry;
+        Long pending = parseLong(text(values.get(0)));
+        long count = pending == null ? 0L : pending;
+        click.setClickCount(accumulate ? valueOf(click.getClickCount()) + count : count);
+        String title = text(values.get(1));
+        if (StringUtils.isNotEmpty(title)) {
+            click.setCardTitle(title);
+            click.setCardPath(StringUtils.defaultIfEmpty(text(values.get(2)), null));
+            click.setCardCategory(StringUtils.defaultIfEmpty(text(values.get(3)), null));
+        }
+        Long millis = parseLong(text(values.get(4)));
+        if (millis != null) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            if (click.getLastClickTime() == null || time.isAfter(click.getLastClickTime())) {
+                click.setLastClickTime(time);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            log.warn("Failed to flush AiTech clicks: {}", ex.getMessage());
+        }
+    }
+
+    private static AiTechCardClick parseMember(String name) {
+        int separator = name == null ? -1 : name.indexOf(':');
+        if (separator <= 0 || separator == name.length() - 1) {
+            return null;
+        }
+        Long tenantId = parseLong(name.substring(0, separator));
+        if (tenantId == null) {
+            return null;
+        }
+        AiTechCardClick click = new AiTechCardClick();
+        click.setTenantId(tenantId);
+        click.setCardKey(name.substring(separator + 1));
+        return click;
+    }
+
+    private static String member(Long tenantId, String cardKey) {
+        return tenantId + ":" + cardKey;
+    }
+
+    private static byte[] cardKey(Long tenantId, String cardKey) {
+        return bytes(CacheConstants.AITECH_CLICK_KEY + member(tenantId, cardKey));
+    }
+
+    private static byte[] rankKey(Long tenantId) {
+        return bytes(CacheConstants.AITECH_CLICK_RANK_KEY + tenantId);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static Double parseDouble(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String text(Object value) {
+        if (value instanceof byte[]) {
+            return new String((byte[]) value, StandardCharsets.UTF_8);
+        }
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
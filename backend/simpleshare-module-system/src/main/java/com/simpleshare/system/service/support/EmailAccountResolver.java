@@ -0,0 +1,206 @@
+package com.simpleshare.system.service.support;
+
+import com.alibaba.fastjson2.JSON;
+import com.simpleshare.common.exception.ServiceException;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.system.domain.vo.EmailAccountSettings;
+import com.simpleshare.system.dto.TenantSettingsRequest;
+import com.simpleshare.system.service.ISysTenantConfigService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 租户邮箱账号解析。
+ * <p>
+ * 租户邮箱配置缺省项由 spring.mail 补齐，结果挂在租户配置快照上，配置保存后重新解析。
+ */
+@Component
+public class EmailAccountResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailAccountResolver.class);
+
+    private static final String CONFIG_EMAIL_KEY = "settings_email";
+    private static final String DERIVED_EMAIL_SETTINGS = "emailAccount";
+
+    private final ISysTenantConfigService tenantConfigService;
+
+    @Autowired(required = false)
+    private MailProperties mailProperties;
+
+    public EmailAccountResolver(ISysTenantConfigService tenantConfigService) {
+        this.tenantConfigService = tenantConfigService;
+    }
+
+    /**
+     * 解析租户邮箱账号，未配置服务器或账号时抛出 {@link ServiceException}
+     */
+    public EmailAccountSettings resolve(Long tenantId) {
+        // 合并后的邮箱配置随租户配置快照缓存，配置保存后重新解析
+        return tenantConfigService.selectSnapshot(tenantId).derive(DERIVED_EMAIL_SETTINGS,
+                snapshot -> buildEmailSettings(tenantId, snapshot.getValues()));
+    }
+
+    private EmailAccountSettings buildEmailSettings(Long tenantId, Map<String, String> configMap) {
+        TenantSettingsRequest.EmailSettings emailSettings = null;
+        if (configMap != null) {
+            String json = configMap.get(CONFIG_EMAIL_KEY);
+            if (StringUtils.isNotEmpty(json)) {
+                try {
+                    emailSettings = JSON.parseObject(json, TenantSettingsRequest.EmailSettings.class);
+                } catch (Exception e) {
+                    log.warn("解析邮箱配置失败，tenantId={}, error={}", tenantId, e.getMessage());
+                }
+            }
+        }
+
+        log.info("检查邮件配置: mailProperties={}, host={}, username={}",
+                mailProperties != null ? "已加载" : "未加载",
+                mailProperties != null ? mailProperties.getHost() : "N/A",
+                mailProperties != null ? mailProperties.getUsername() : "N/A");
+
+        if (mailProperties != null) {
+            Map<String, String> mailProps = mailProperties.getProperties();
+            boolean starttlsEnabled = isTruthy(mailProps != null ? mailProps.get("mail.smtp.starttls.enable") : null);
+            boolean sslEnabled = isTruthy(mailProps != null ? mailProps.get("mail.smtp.ssl.enable") : null);
+
+            if (emailSettings == null) {
+                emailSettings = new TenantSettingsRequest.EmailSettings();
+            }
+
+            if (StringUtils.isEmpty(emailSettings.getHost()) && StringUtils.isNotEmpty(mailProperties.getHost())) {
+                emailSettings.setHost(mailProperties.getHost());
+            }
+            if (emailSettings.getPort() == null && mailProperties.getPort() != null) {
+                emailSettings.setPort(mailProperties.getPort());
+            }
+            if (emailSettings.getSecure() == null && (starttlsEnabled || sslEnabled)) {
+                emailSettings.setSecure(true);
+            } else if (Boolean.FALSE.equals(emailSettings.getSecure()) && sslEnabled) {
+                emailSettings.setSecure(true);
+            }
+            if (needsFallbackUsername(emailSettings.getUsername()) && StringUtils.isNotEmpty(mailProperties.getUsername())) {
+                emailSettings.setUsername(mailProperties.getUsername());
+            }
+            if (needsFallbackPassword(emailSettings.getPassword()) && StringUtils.isNotEmpty(mailProperties.getPassword())) {
+                emailSettings.setPassword(mailProperties.getPassword());
+            }
+            if (StringUtils.isEmpty(emailSettings.getFrom())) {
+                if (StringUtils.isNotEmpty(emailSettings.getUsername())) {
+                    emailSettings.setFrom(emailSettings.getUsername());
+                } else if (StringUtils.isNotEmpty(mailProperties.getUsername())) {
+                    emailSettings.setFrom(mailProperties.getUsername());
+                }
+            }
+            if (StringUtils.isEmpty(emailSettings.getSenderName())) {
+                emailSettings.setSenderName("SimpleShare");
+            }
+            if (emailSettings.getPort() == null) {
+                if (Boolean.TRUE.equals(emailSettings.getSecure())) {
+                    emailSettings.setPort(sslEnabled ? 465 : (starttlsEnabled ? 587 : 465));
+                } else if (mailProperties.getPort() != null) {
+                    emailSettings.setPort(mailProperties.getPort());
+                } else if (starttlsEnabled) {
+                    emailSettings.setPort(587);
+                } else if (StringUtils.isNotEmpty(emailSettings.getHost())) {
+                    emailSettings.setPort(25);
+                }
+            }
+
+            log.info("合并后的邮箱配置: host={}, port={}, username={}, secure={}, source={}",
+                    emailSettings.getHost(),
+                    emailSettings.getPort(),
+                    emailSettings.getUsername(),
+                    emailSettings.getSecure(),
+                    configMap != null && configMap.containsKey(CONFIG_EMAIL_KEY) ? "tenant" : "spring.mail");
+        }
+
+        if (emailSettings == null || StringUtils.isEmpty(emailSettings.getHost())) {
+            log.error("邮箱配置检查失败: emailSettings={}, host={}",
+                    emailSettings != null ? "已设置" : "未设置",
+                    emailSettings != null ? emailSettings.getHost() : "N/A");
+            throw new ServiceException("未配置邮箱服务器，请先在后台完善邮箱设置");
+        }
+
+        EmailAccountSettings settings = new EmailAccountSettings();
+        boolean secure = Boolean.TRUE.equals(emailSettings.getSecure());
+        int port = emailSettings.getPort() != null ? emailSettings.getPort() : (secure ? 465 : 587);
+        settings.setHost(emailSettings.getHost());
+        settings.setPort(port);
+        settings.setUsername(emailSettings.getUsername());
+        settings.setPassword(emailSettings.getPassword());
+        settings.setSecure(secure);
+        settings.setFromAddress(StringUtils.isNotEmpty(emailSettings.getFrom()) ? emailSettings.getFrom() : emailSettings.getUsername());
+        settings.setSenderName(StringUtils.isNotEmpty(emailSettings.getSenderName()) ? emailSettings.getSenderName() : "SimpleShare");
+        settings.setReplyTo(emailSettings.getReplyTo());
+
+        if (needsFallbackUsername(settings.getUsername()) && mailProperties != null && StringUtils.isNotEmpty(mailProperties.getUsername())) {
+            settings.setUsername(mailProperties.getUsername());
+        }
+        if (needsFallbackPassword(settings.getPassword()) && mailProperties != null && StringUtils.isNotEmpty(mailProperties.getPassword())) {
+            settings.setPassword(mailProperties.getPassword());
+        }
+        if (StringUtils.isEmpty(settings.getFromAddress()) && StringUtils.isNotEmpty(settings.getUsername())) {
+            settings.setFromAddress(settings.getUsername());
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info("使用邮箱服务: host={}, port={}, secure={}", settings.getHost(), settings.getPort(), settings.isSecure());
+        }
+
+        if (StringUtils.isEmpty(settings.getUsername()) || StringUtils.isEmpty(settings.getPassword())) {
+            throw new ServiceException("邮箱账号或密码未配置");
+        }
+
+        return settings;
+    }
+
+    private boolean needsFallbackUsername(String username) {
+        if (StringUtils.isEmpty(username)) {
+            return true;
+        }
+        String trimmed = username.trim();
+        if (trimmed.length() <= 3) {
+            return true;
+        }
+        if ("admin".equalsIgnoreCase(trimmed) || "root".equalsIgnoreCase(trimmed) || "system".equalsIgnoreCase(trimmed)) {
+            return true;
+        }
+        return !trimmed.contains("@");
+    }
+
+    private boolean needsFallbackPassword(String password) {
+        if (StringUtils.isEmpty(password)) {
+            return true;
+        }
+        String trimmed = password.trim();
+        if (trimmed.isEmpty()) {
+            return true;
+        }
+        return "******".equals(trimmed) || "********".equals(trimmed);
+    }
+
+    private boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        }
+        String text = value.toString().trim();
+        if (text.isEmpty()) {
+            return false;
+        }
+        return "true".equalsIgnoreCase(text)
+                || "yes".equalsIgnoreCase(text)
+                || "on".equalsIgnoreCase(text)
+                || "1".equals(text);
+    }
+}
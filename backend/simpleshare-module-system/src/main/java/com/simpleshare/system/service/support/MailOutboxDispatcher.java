@@ -0,0 +1,325 @@
+package com.simpleshare.system.service.support;
+
+import com.simpleshare.common.exception.ServiceException;
+import com.simpleshare.system.domain.SysMailOutbox;
+import com.simpleshare.system.domain.vo.EmailAccountSettings;
+import com.simpleshare.system.mapper.SysMailOutboxMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 邮件发件箱投递。
+ * <p>
+ * 业务在自己的事务中写入 sys_mail_outbox 即返回，事务提交后唤醒投递；调度线程按 poll-interval-ms 轮询到期邮件，
+ * 领取（带租约）后交给有界发送线程池，通过 {@link MailTransportPool} 复用 SMTP 连接发送。
+ * 发送失败按指数退避重试，超过 max-attempts 或超过邮件有效期后标记失败。
+ * 多节点部署时以数据库条件更新领取，同一封邮件只会被一个节点发送；节点宕机时租约到期后由其他节点接手。
+ */
+@Component
+public class MailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final long EVICT_INTERVAL_MS = 30_000L;
+
+    private static final long CLEANUP_INTERVAL_MS = 3_600_000L;
+
+    private final SysMailOutboxMapper outboxMapper;
+    private final EmailAccountResolver accountResolver;
+    private final MailTransportPool transportPool;
+
+    @Value("${simpleshare.mail.outbox.workers:4}")
+    private int workers;
+
+    @Value("${simpleshare.mail.outbox.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${simpleshare.mail.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${simpleshare.mail.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${simpleshare.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${simpleshare.mail.outbox.backoff-initial-seconds:5}")
+    private long backoffInitialSeconds;
+
+    @Value("${simpleshare.mail.outbox.backoff-max-seconds:300}")
+    private long backoffMaxSeconds;
+
+    @Value("${simpleshare.mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private ScheduledExecutorService scheduler;
+    private ThreadPoolExecutor senders;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long lastEvictTime;
+    private volatile long lastCleanupTime;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder sendMillis = new LongAdder();
+    private final AtomicLong maxSendMillis = new AtomicLong();
+    private final LongAdder queueMillis = new LongAdder();
+    private final AtomicLong maxQueueMillis = new AtomicLong();
+
+    public MailOutboxDispatcher(SysMailOutboxMapper outboxMapper, EmailAccountResolver accountResolver,
+                                MailTransportPool transportPool) {
+        this.outboxMapper = outboxMapper;
+        this.accountResolver = accountResolver;
+        this.transportPool = transportPool;
+    }
+
+    @PostConstruct
+    public void start() {
+        int threads = Math.max(workers, 1);
+        AtomicInteger sequence = new AtomicInteger();
+        senders = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), runnable -> {
+            Thread thread = new Thread(runnable, "mail-sender-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        senders.allowCoreThreadTimeOut(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(pollIntervalMs, 100L);
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停机时不再领取新邮件；已领取未发完的邮件在租约到期后由其他节点或下次启动重新发送
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (senders != null) {
+            senders.shutdown();
+            try {
+                senders.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 写入发件箱。处于事务中时随事务提交，提交后立即触发一次投递
+     */
+    public void enqueue(SysMailOutbox mail) {
+        LocalDateTime now = LocalDateTime.now();
+        mail.setStatus(SysMailOutbox.STATUS_PENDING);
+        mail.setAttempts(0);
+        mail.setNextAttemptTime(now);
+        mail.setCreateTime(now);
+        mail.setUpdateTime(now);
+        outboxMapper.insert(mail);
+        enqueued.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeUp();
+                }
+            });
+        } else {
+            wakeUp();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        try {
+            stats.put("queueDepth", outboxMapper.countPending());
+            LocalDateTime oldest = outboxMapper.selectOldestPendingTime();
+            stats.put("oldestPendingSeconds", oldest == null ? 0L
+                    : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).getSeconds()));
+        } catch (Exception ex) {
+            stats.put("queueDepth", -1L);
+        }
+        stats.put("inFlight", inFlight.get());
+        stats.put("activeSenders", senders == null ? 0 : senders.getActiveCount());
+        stats.put("enqueued", enqueued.sum());
+        stats.put("sent", sent.sum());
+        stats.put("retried", retried.sum());
+        stats.put("failed", failed.sum());
+        stats.put("expired", expired.sum());
+        long sentCount = sent.sum();
+        stats.put("avgSendMillis", sentCount == 0 ? 0L : sendMillis.sum() / sentCount);
+        stats.put("maxSendMillis", maxSendMillis.get());
+        stats.put("avgQueueMillis", sentCount == 0 ? 0L : queueMillis.sum() / sentCount);
+        stats.put("maxQueueMillis", maxQueueMillis.get());
+        stats.put("pool", transportPool.getStatistics());
+        return stats;
+    }
+
+    private void wakeUp() {
+        if (scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        try {
+            scheduler.execute(this::pollQuietly);
+        } catch (RejectedExecutionException ignored) {
+            // 停机中
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception ex) {
+            log.warn("Mail outbox poll failed: {}", ex.getMessage());
+        }
+    }
+
+    private void poll() {
+        long nowMillis = System.currentTimeMillis();
+        if (nowMillis - lastEvictTime >= EVICT_INTERVAL_MS) {
+            lastEvictTime = nowMillis;
+            transportPool.evictIdle();
+        }
+        if (nowMillis - lastCleanupTime >= CLEANUP_INTERVAL_MS) {
+            lastCleanupTime = nowMillis;
+            cleanup();
+        }
+        int capacity = Math.max(workers, 1) + Math.max(queueCapacity, 1) - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<SysMailOutbox> due = outboxMapper.selectDue(now, capacity);
+        for (SysMailOutbox mail : due) {
+            if (outboxMapper.claim(mail.getId(), now, now.plusSeconds(Math.max(leaseSeconds, 10L))) == 0) {
+                continue;
+            }
+            int attempt = (mail.getAttempts() == null ? 0 : mail.getAttempts()) + 1;
+            if (mail.getExpireTime() != null && mail.getExpireTime().isBefore(now)) {
+                outboxMapper.markFailed(mail.getId(), "expired before delivery");
+                expired.increment();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            try {
+                senders.execute(() -> deliver(mail, attempt));
+            } catch (RejectedExecutionException ex) {
+                inFlight.decrementAndGet();
+                outboxMapper.markRetry(mail.getId(), now, mail.getLastError());
+                break;
+            }
+        }
+    }
+
+    private void deliver(SysMailOutbox mail, int attempt) {
+        long start = System.currentTimeMillis();
+        try {
+            EmailAccountSettings settings = accountResolver.resolve(mail.getTenantId());
+            transportPool.send(mail.getTenantId(), settings, mail.getRecipient(), mail.getSubject(), mail.getContent());
+            long elapsed = System.currentTimeMillis() - start;
+            LocalDateTime sentTime = LocalDateTime.now();
+            outboxMapper.markSent(mail.getId(), sentTime);
+            sent.increment();
+            sendMillis.add(elapsed);
+            maxSendMillis.accumulateAndGet(elapsed, Math::max);
+            if (mail.getCreateTime() != null) {
+                long waited = Math.max(0L, Duration.between(mail.getCreateTime(), sentTime).toMillis());
+                queueMillis.add(waited);
+                maxQueueMillis.accumulateAndGet(waited, Math::max);
+            }
+        } catch (Exception ex) {
+            handleFailure(mail, attempt, ex);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void handleFailure(SysMailOutbox mail, int attempt, Exception ex) {
+        String error = truncate(ex instanceof ServiceException ? ex.getMessage() : ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        try {
+            LocalDateTime next = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis(attempt)));
+            boolean expiredBeforeRetry = mail.getExpireTime() != null && mail.getExpireTime().isBefore(next);
+            if (attempt >= Math.max(maxAttempts, 1) || expiredBeforeRetry) {
+                outboxMapper.markFailed(mail.getId(), error);
+                failed.increment();
+                log.warn("邮件发送失败，不再重试: id={}, tenantId={}, attempts={}, error={}",
+                        mail.getId(), mail.getTenantId(), attempt, error);
+            } else {
+                outboxMapper.markRetry(mail.getId(), next, error);
+                retried.increment();
+                log.info("邮件发送失败，稍后重试: id={}, tenantId={}, attempts={}, error={}",
+                        mail.getId(), mail.getTenantId(), attempt, error);
+            }
+        } catch (Exception updateEx) {
+            // 状态未写回时租约到期后会被重新领取
+            log.warn("Failed to record mail outbox failure for {}: {}", mail.getId(), updateEx.getMessage());
+        }
+    }
+
+    /**
+     * 指数退避并加入 ±20% 抖动，避免同一批失败邮件同时重试
+     */
+    private long backoffMillis(int attempt) {
+        long base = TimeUnit.SECONDS.toMillis(Math.max(backoffInitialSeconds, 1L));
+        long max = TimeUnit.SECONDS.toMillis(Math.max(backoffMaxSeconds, backoffInitialSeconds));
+        long delay = base << Math.min(Math.max(attempt - 1, 0), 20);
+        delay = Math.min(delay, max);
+        long jitter = delay / 5;
+        return jitter == 0 ? delay : delay - jitter + ThreadLocalRandom.current().nextLong(jitter * 2 + 1);
+    }
+
+    private void cleanup() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        try {
+            LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+            int removed;
+            do {
+                removed = outboxMapper.deleteFinishedBefore(before, 1000);
+            } while (removed >= 1000);
+        } catch (Exception ex) {
+            log.warn("Mail outbox cleanup failed: {}", ex.getMessage());
+        }
+    }
+
+    private String truncate(String text) {
+        if (text == null || text.length() <= MAX_ERROR_LENGTH) {
+            return text;
+        }
+        return text.substring(0, MAX_ERROR_LENGTH);
+    }
+}
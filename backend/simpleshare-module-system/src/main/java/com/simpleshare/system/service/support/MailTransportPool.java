@@ -0,0 +1,314 @@
+package com.simpleshare.system.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.simpleshare.common.utils.StringUtils;
+import com.simpleshare.system.domain.vo.EmailAccountSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按租户缓存的邮件发送器与 SMTP 连接池。
+ * <p>
+ * 每个租户保留一个 {@link JavaMailSenderImpl}（邮件会话），并复用已建立的 SMTP 连接发送多封邮件，
+ * 省去每封邮件的 TCP/TLS 握手与登录。发送器按连接参数摘要校验，租户修改邮箱配置后旧连接全部关闭。
+ * 空闲超过 keep-alive 的连接不再复用，服务端先断开的连接在发送失败时换新连接重试一次。
+ */
+@Component
+public class MailTransportPool {
+
+    private static final Logger log = LoggerFactory.getLogger(MailTransportPool.class);
+
+    @Value("${simpleshare.mail.pool.max-idle-per-tenant:4}")
+    private int maxIdlePerTenant;
+
+    @Value("${simpleshare.mail.pool.keep-alive-seconds:60}")
+    private long keepAliveSeconds;
+
+    @Value("${simpleshare.mail.pool.max-tenants:500}")
+    private long maxTenants;
+
+    @Value("${simpleshare.mail.pool.idle-minutes:30}")
+    private long idleMinutes;
+
+    @Value("${simpleshare.mail.pool.timeout-millis:10000}")
+    private int timeoutMillis;
+
+    private Cache<Long, Entry> senders;
+
+    private final LongAdder senderCreations = new LongAdder();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder connectionsReused = new LongAdder();
+    private final LongAdder connectionsClosed = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        senders = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxTenants, 16L))
+                .expireAfterAccess(Math.max(idleMinutes, 1L), TimeUnit.MINUTES)
+                .removalListener((Long tenantId, Entry entry, RemovalCause cause) -> {
+                    if (entry != null) {
+                        entry.closeIdle();
+                    }
+                })
+                .build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        senders.invalidateAll();
+        senders.cleanUp();
+    }
+
+    /**
+     * 使用租户的 SMTP 连接发送一封纯文本邮件
+     */
+    public void send(Long tenantId, EmailAccountSettings settings, String to, String subject, String content)
+            throws MessagingException {
+        Entry entry = entryFor(tenantId, settings);
+        MimeMessage message = entry.sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, StandardCharsets.UTF_8.name());
+        helper.setTo(to);
+        try {
+            helper.setFrom(settings.getFromAddress(), settings.getSenderName());
+        } catch (UnsupportedEncodingException ex) {
+            helper.setFrom(settings.getFromAddress());
+        }
+        helper.setSubject(subject);
+        helper.setText(content, false);
+        if (StringUtils.isNotEmpty(settings.getReplyTo())) {
+            helper.setReplyTo(settings.getReplyTo());
+        }
+        message.saveChanges();
+
+        PooledTransport pooled = entry.borrow();
+        boolean reused = pooled != null;
+        if (pooled == null) {
+            pooled = entry.open();
+        }
+        try {
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+        } catch (MessagingException ex) {
+            entry.close(pooled);
+            if (!reused) {
+                throw ex;
+            }
+            // 复用的连接可能已被服务端关闭，换新连接重试一次
+            pooled = entry.open();
+            try {
+                pooled.transport.sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException retryEx) {
+                entry.close(pooled);
+                throw retryEx;
+            }
+        }
+        entry.release(pooled);
+    }
+
+    /**
+     * 关闭空闲超过 keep-alive 的连接，由发送调度线程定期调用
+     */
+    public void evictIdle() {
+        for (Entry entry : senders.asMap().values()) {
+            entry.evictExpired();
+        }
+        senders.cleanUp();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        int idle = 0;
+        int open = 0;
+        for (Entry entry : senders.asMap().values()) {
+            idle += entry.idle.size();
+            open += entry.open.get();
+        }
+        stats.put("senders", senders.estimatedSize());
+        stats.put("senderCreations", senderCreations.sum());
+        stats.put("openConnections", open);
+        stats.put("idleConnections", idle);
+        stats.put("connectionsOpened", connectionsOpened.sum());
+        stats.put("connectionsReused", connectionsReused.sum());
+        stats.put("connectionsClosed", connectionsClosed.sum());
+        long total = connectionsOpened.sum() + connectionsReused.sum();
+        stats.put("reuseRate", total == 0 ? 0D : (double) connectionsReused.sum() / total);
+        return stats;
+    }
+
+    private Entry entryFor(Long tenantId, EmailAccountSettings settings) {
+        String fingerprint = settings.connectionFingerprint();
+        Entry current = senders.getIfPresent(tenantId);
+        if (current != null && current.fingerprint.equals(fingerprint)) {
+            return current;
+        }
+        return senders.asMap().compute(tenantId, (key, existing) -> {
+            if (existing != null && existing.fingerprint.equals(fingerprint)) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.closeIdle();
+            }
+            senderCreations.increment();
+            return new Entry(fingerprint, settings, buildSender(settings));
+        });
+    }
+
+    private JavaMailSenderImpl buildSender(EmailAccountSettings settings) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(settings.getHost());
+        mailSender.setPort(settings.getPort());
+        mailSender.setUsername(settings.getUsername());
+        mailSender.setPassword(settings.getPassword());
+        mailSender.setDefaultEncoding(StandardCharsets.UTF_8.name());
+
+        String timeout = Integer.toString(timeoutMillis);
+        Properties props = new Properties();
+        props.put("mail.transport.protocol", "smtp");
+        props.put("mail.smtp.auth", "true");
+        props.put("mail.smtp.timeout", timeout);
+        props.put("mail.smtp.connectiontimeout", timeout);
+        props.put("mail.smtp.writetimeout", timeout);
+        props.put("mail.smtp.host", settings.getHost());
+        props.put("mail.smtp.port", Integer.toString(settings.getPort()));
+
+        boolean implicitSsl = settings.isImplicitSsl();
+        if (implicitSsl) {
+            props.put("mail.smtp.ssl.enable", "true");
+            props.put("mail.smtp.ssl.trust", settings.getHost());
+            props.put("mail.smtp.ssl.protocols", "TLSv1.2");
+            props.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
+            props.put("mail.smtp.socketFactory.port", Integer.toString(settings.getPort()));
+            props.put("mail.smtp.socketFactory.fallback", "false");
+            props.put("mail.smtp.starttls.enable", "false");
+            props.put("mail.smtp.starttls.required", "false");
+        } else {
+            props.put("mail.smtp.ssl.enable", "false");
+            if (settings.isSecure()) {
+                props.put("mail.smtp.starttls.enable", "true");
+                props.put("mail.smtp.starttls.required", "true");
+                props.put("mail.smtp.ssl.trust", settings.getHost());
+                props.put("mail.smtp.ssl.protocols", "TLSv1.2");
+            } else {
+                props.put("mail.smtp.starttls.enable", "false");
+                props.put("mail.smtp.starttls.required", "false");
+            }
+        }
+
+        mailSender.setProtocol(implicitSsl ? "smtps" : "smtp");
+        mailSender.setJavaMailProperties(props);
+        return mailSender;
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    private final class Entry {
+
+        private final String fingerprint;
+
+        private final EmailAccountSettings settings;
+
+        private final JavaMailSenderImpl sender;
+
+        private final ConcurrentLinkedDeque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+
+        private final AtomicInteger open = new AtomicInteger();
+
+        private volatile boolean retired;
+
+        private Entry(String fingerprint, EmailAccountSettings settings, JavaMailSenderImpl sender) {
+            this.fingerprint = fingerprint;
+            this.settings = settings;
+            this.sender = sender;
+        }
+
+        /**
+         * 取最近归还的空闲连接，过期或已断开的直接关闭
+         */
+        private PooledTransport borrow() {
+            long deadline = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (pooled.lastUsed >= deadline && pooled.transport.isConnected()) {
+                    connectionsReused.increment();
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return null;
+        }
+
+        private PooledTransport open() throws MessagingException {
+            Transport transport = sender.getSession().getTransport(sender.getProtocol());
+            transport.connect(settings.getHost(), settings.getPort(), settings.getUsername(), settings.getPassword());
+            open.incrementAndGet();
+            connectionsOpened.increment();
+            return new PooledTransport(transport);
+        }
+
+        private void release(PooledTransport pooled) {
+            pooled.lastUsed = System.currentTimeMillis();
+            if (retired || idle.size() >= Math.max(maxIdlePerTenant, 1)) {
+                close(pooled);
+                return;
+            }
+            idle.offerFirst(pooled);
+        }
+
+        private void close(PooledTransport pooled) {
+            open.decrementAndGet();
+            connectionsClosed.increment();
+            try {
+                pooled.transport.close();
+            } catch (MessagingException ex) {
+                log.debug("Failed to close SMTP connection to {}: {}", settings.getHost(), ex.getMessage());
+            }
+        }
+
+        private void evictExpired() {
+            long deadline = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+            PooledTransport oldest;
+            while ((oldest = idle.peekLast()) != null && oldest.lastUsed < deadline) {
+                if (idle.removeLastOccurrence(oldest)) {
+                    close(oldest);
+                }
+            }
+        }
+
+        private void closeIdle() {
+            retired = true;
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                close(pooled);
+            }
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.simpleshare.system.service.support;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simpleshare.system.domain.SysOperationLog;
+import com.simpleshare.system.mapper.SysOperationLogMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 操作日志异步批量写入。
+ * <p>
+ * 请求线程只把日志放入有界无锁环形缓冲区即返回，参数 JSON 序列化与落库都在后台写线程完成：
+ * 攒满 batch-size 条或等待超过 linger-ms 后合并为一条多行 INSERT。
+ * 缓冲区写满时按 overflow-policy 处理：drop 直接丢弃，sample 在缓冲区高水位后只按比例保留成功请求
+ * （失败请求始终保留），block 最多等待 block-timeout-ms 后丢弃。停机时排空缓冲区。
+ */
+@Component
+public class OperationLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationLogWriter.class);
+
+    private static final int MAX_PARAMS_LENGTH = 4000;
+
+    /**
+     * 缓冲区写满时的处理策略
+     */
+    public enum OverflowPolicy {
+        DROP,
+        SAMPLE,
+        BLOCK
+    }
+
+    private final SysOperationLogMapper operationLogMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${operation-log.async.enabled:true}")
+    private boolean enabled;
+
+    @Value("${operation-log.async.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${operation-log.async.batch-size:200}")
+    private int batchSize;
+
+    @Value("${operation-log.async.linger-ms:500}")
+    private long lingerMs;
+
+    @Value("${operation-log.async.overflow-policy:drop}")
+    private String overflowPolicyName;
+
+    @Value("${operation-log.async.sample-rate:0.1}")
+    private double sampleRate;
+
+    @Value("${operation-log.async.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    @Value("${operation-log.async.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private RingBuffer<PendingLog> buffer;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long startTime;
+    private volatile long lastFlushTime;
+    private volatile long lastFlushMillis;
+
+    public OperationLogWriter(SysOperationLogMapper operationLogMapper, ObjectMapper objectMapper) {
+        this.operationLogMapper = operationLogMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void start() {
+        startTime = System.currentTimeMillis();
+        if (!enabled) {
+            log.info("Operation log async pipeline disabled, logs will be written synchronously");
+            return;
+        }
+        try {
+            overflowPolicy = OverflowPolicy.valueOf(overflowPolicyName.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Unknown operation log overflow policy '{}', using DROP", overflowPolicyName);
+        }
+        buffer = new RingBuffer<>(Math.max(bufferSize, 64));
+        running = true;
+        writerThread = new Thread(this::runWriter, "operation-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 停机时排空缓冲区
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(Math.max(shutdownTimeoutMs, 100L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Operation log writer did not finish within {} ms, {} logs left in buffer",
+                    shutdownTimeoutMs, buffer.size());
+        } else {
+            log.info("Operation log buffer drained, stats={}", getStatistics());
+        }
+    }
+
+    /**
+     * 提交日志
+     *
+     * @param operationLog  日志
+     * @param requestParams 原始请求参数，在写线程中序列化为 JSON，可为空
+     */
+    public void submit(SysOperationLog operationLog, Map<String, Object> requestParams) {
+        if (operationLog == null) {
+            return;
+        }
+        submitted.increment();
+        PendingLog pending = new PendingLog(operationLog, requestParams);
+        if (buffer == null || !running) {
+            // 未启用异步或已进入停机排空阶段，直接同步写入
+            writeBatch(Collections.singletonList(pending));
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.SAMPLE && shouldSampleOut(operationLog)) {
+            sampledOut.increment();
+            return;
+        }
+        if (!buffer.offer(pending) && !offerOnOverflow(pending)) {
+            dropped.increment();
+            return;
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long elapsedSeconds = Math.max((System.currentTimeMillis() - startTime) / 1000L, 1L);
+        long batchCount = batches.get();
+        stats.put("enabled", enabled);
+        stats.put("overflowPolicy", overflowPolicy.name());
+        stats.put("capacity", buffer == null ? 0 : buffer.capacity());
+        stats.put("buffered", buffer == null ? 0 : buffer.size());
+        stats.put("batchSize", batchSize);
+        stats.put("lingerMs", lingerMs);
+        stats.put("submitted", submitted.sum());
+        stats.put("written", written.get());
+        stats.put("dropped", dropped.sum());
+        stats.put("sampledOut", sampledOut.sum());
+        stats.put("blocked", blocked.sum());
+        stats.put("failed", failed.get());
+        stats.put("batches", batchCount);
+        stats.put("averageBatchSize", batchCount == 0 ? 0.0 : (double) written.get() / batchCount);
+        stats.put("writtenPerSecond", (double) written.get() / elapsedSeconds);
+        stats.put("lastFlushTime", lastFlushTime);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+
+    private boolean shouldSampleOut(SysOperationLog operationLog) {
+        if (buffer.size() < buffer.capacity() * 3 / 4) {
+            return false;
+        }
+        if (Integer.valueOf(0).equals(operationLog.getStatus())) {
+            return false;
+        }
+        return ThreadLocalRandom.current().nextDouble() >= sampleRate;
+    }
+
+    private boolean offerOnOverflow(PendingLog pending) {
+        if (overflowPolicy != OverflowPolicy.BLOCK) {
+            return false;
+        }
+        blocked.increment();
+        LockSupport.unpark(writerThread);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(blockTimeoutMs, 1L));
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            if (buffer.offer(pending)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runWriter() {
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        long lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(lingerMs, 1L));
+        long batchStarted = 0L;
+        while (running || buffer.size() > 0) {
+            PendingLog next = buffer.poll();
+            if (next != null) {
+                if (batch.isEmpty()) {
+                    batchStarted = System.nanoTime();
+                }
+                batch.add(next);
+                if (batch.size() >= batchSize) {
+                    flush(batch);
+                }
+                continue;
+            }
+            if (!batch.isEmpty() && (!running || System.nanoTime() - batchStarted >= lingerNanos)) {
+                flush(batch);
+                continue;
+            }
+            LockSupport.parkNanos(batch.isEmpty() ? lingerNanos : lingerNanos - (System.nanoTime() - batchStarted));
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingLog> batch) {
+        try {
+            writeBatch(batch);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingLog> batch) {
+        long started = System.currentTimeMillis();
+        List<SysOperationLog> logs = new ArrayList<>(batch.size());
+        for (PendingLog pending : batch) {
+            logs.add(pending.prepare(objectMapper));
+        }
+        try {
+            if (logs.size() == 1) {
+                operationLogMapper.insert(logs.get(0));
+            } else {
+                operationLogMapper.insertBatch(logs);
+            }
+            written.addAndGet(logs.size());
+            batches.incrementAndGet();
+        } catch (Exception ex) {
+            failed.addAndGet(logs.size());
+            log.warn("Failed to write {} operation logs: {}", logs.size(), ex.getMessage());
+        }
+        lastFlushTime = System.currentTimeMillis();
+        lastFlushMillis = lastFlushTime - started;
+    }
+
+    /**
+     * 待写入日志，请求参数延迟到写线程再序列化
+     */
+    private static final class PendingLog {
+        private final SysOperationLog operationLog;
+        private final Map<String, Object> requestParams;
+
+        private PendingLog(SysOperationLog operationLog, Map<String, Object> requestParams) {
+            this.operationLog = operationLog;
+            this.requestParams = requestParams;
+        }
+
+        private SysOperationLog prepare(ObjectMapper objectMapper) {
+            if (requestParams != null && operationLog.getRequestParams() == null) {
+                operationLog.setRequestParams(toJsonSafe(objectMapper, requestParams));
+            }
+            // 写线程中没有登录上下文，审计字段在这里按日志本身补齐
+            if (operationLog.getCreateTime() == null) {
+                operationLog.setCreateTime(LocalDateTime.now());
+            }
+            if (operationLog.getUpdateTime() == null) {
+                operationLog.setUpdateTime(operationLog.getCreateTime());
+            }
+            if (operationLog.getCreateBy() == null) {
+                operationLog.setCreateBy(operationLog.getOperatorId());
+            }
+            return operationLog;
+        }
+
+        private static String toJsonSafe(ObjectMapper objectMapper, Object value) {
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                json = value.toString();
+            }
+            return json.length() > MAX_PARAMS_LENGTH ? json.substring(0, MAX_PARAMS_LENGTH) : json;
+        }
+    }
+
+    /**
+     * 多生产者单消费者的有界无锁环形缓冲区（按槽位序号协调，容量取 2 的幂）
+     */
+    static final class RingBuffer<E> {
+        private final int mask;
+        private final AtomicReferenceArray<E> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        RingBuffer(int requestedCapacity) {
+            int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+            this.mask = capacity - 1;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(E element) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.set(index, element);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * 只允许写线程调用
+         */
+        E poll() {
+            long position = head.get();
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            E element = slots.get(index);
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            head.set(position + 1);
+            return element;
+        }
+
+        int size() {
+            return (int) Math.max(0L, tail.get() - head.get());
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.simpleshare.system.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import com.simpleshare.system.domain.vo.UserSummary;
+import com.simpleshare.system.mapper.SysUserMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户展示信息本地缓存（用户ID → 昵称/头像）。
+ * <p>
+ * 文章列表、推荐流、收藏与搜索结果按作者ID批量取昵称，未命中的ID合并为一次 IN 查询。
+ * 修改昵称或头像时失效并通过 {@link CacheInvalidationBroker} 通知其他节点；不存在的用户短暂记为缺失，
+ * 避免同一批无效ID反复回源。
+ */
+@Component
+public class UserSummaryCache {
+
+    private static final String CACHE_NAME = "user_summary";
+
+    private static final int BATCH_SIZE = 500;
+
+    private final SysUserMapper userMapper;
+    private final CacheInvalidationBroker cacheInvalidationBroker;
+
+    @Value("${simpleshare.user-summary.cache-max-size:20000}")
+    private long cacheMaxSize;
+
+    @Value("${simpleshare.user-summary.cache-ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    @Value("${simpleshare.user-summary.missing-ttl-seconds:60}")
+    private long missingTtlSeconds;
+
+    private Cache<Long, UserSummary> summaries;
+
+    private Cache<Long, Boolean> missing;
+
+    public UserSummaryCache(SysUserMapper userMapper, CacheInvalidationBroker cacheInvalidationBroker) {
+        this.userMapper = userMapper;
+        this.cacheInvalidationBroker = cacheInvalidationBroker;
+    }
+
+    @PostConstruct
+    public void init() {
+        summaries = Caffeine.newBuilder()
+                .maximumSize(Math.max(cacheMaxSize, 100L))
+                .expireAfterWrite(Math.max(cacheTtlMinutes, 1L), TimeUnit.MINUTES)
+                .build();
+        missing = Caffeine.newBuilder()
+                .maximumSize(Math.max(cacheMaxSize / 10, 100L))
+                .expireAfterWrite(Math.max(missingTtlSeconds, 1L), TimeUnit.SECONDS)
+                .build();
+        cacheInvalidationBroker.register(CACHE_NAME, this::onRemoteInvalidation);
+    }
+
+    public UserSummary get(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return getAll(Collections.singleton(userId)).get(userId);
+    }
+
+    /**
+     * 批量获取用户展示信息，不存在的用户不在结果中
+     */
+    public Map<Long, UserSummary> getAll(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, UserSummary> result = new HashMap<>();
+        Set<Long> absent = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if (userId == null || userId <= 0 || result.containsKey(userId)) {
+                continue;
+            }
+            UserSummary cached = summaries.getIfPresent(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else if (missing.getIfPresent(userId) == null) {
+                absent.add(userId);
+            }
+        }
+        if (absent.isEmpty()) {
+            return result;
+        }
+        List<Long> pending = new ArrayList<>(absent);
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<Long> batch = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            List<UserSummary> loaded = userMapper.selectUserSummariesByIds(batch);
+            if (loaded != null) {
+                for (UserSummary summary : loaded) {
+                    if (summary == null || summary.getUserId() == null) {
+                        continue;
+                    }
+                    summaries.put(summary.getUserId(), summary);
+                    result.put(summary.getUserId(), summary);
+                    absent.remove(summary.getUserId());
+                }
+            }
+        }
+        for (Long userId : absent) {
+            missing.put(userId, Boolean.TRUE);
+        }
+        return result;
+    }
+
+    /**
+     * 用户昵称或头像变更后调用；处于事务中时提交后再失效一次，避免并发读把旧值写回
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        evictNow(userId);
+        cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                    cacheInvalidationBroker.publish(CACHE_NAME, String.valueOf(userId));
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long userId) {
+        summaries.invalidate(userId);
+        missing.invalidate(userId);
+    }
+
+    private void onRemoteInvalidation(String key) {
+        if (CacheInvalidationBroker.ALL_KEYS.equals(key)) {
+            summaries.invalidateAll();
+            missing.invalidateAll();
+            return;
+        }
+        try {
+            Long userId = Long.valueOf(key);
+            summaries.invalidate(userId);
+            missing.invalidate(userId);
+        } catch (NumberFormatException ignored) {
+        }
+    }
+}
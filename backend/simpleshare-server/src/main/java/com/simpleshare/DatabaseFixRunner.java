@@ -23,6 +23,68 @@ public class DatabaseFixRunner implements CommandLineRunner {
                 fixDatabaseSchema();
                 System.out.println("Database fix completed");
             }
+            // File deduplication columns on infra_file
+            try {
+                jdbcTemplate.queryForList("SELECT content_hash FROM infra_file LIMIT 1");
+            } catch (Exception e) {
+                System.out.println("infra_file dedup columns missing. Applying fixes...");
+                executeFixes(new String[] {
+                    "ALTER TABLE infra_file ADD COLUMN tenant_id BIGINT NOT NULL DEFAULT 1 AFTER size",
+                    "ALTER TABLE infra_file ADD COLUMN storage_key CHAR(32) NULL AFTER tenant_id",
+                    "ALTER TABLE infra_file ADD COLUMN content_hash CHAR(64) NULL AFTER storage_key",
+                    "ALTER TABLE infra_file ADD COLUMN ref_count INT NOT NULL DEFAULT 1 AFTER content_hash",
+                    "ALTER TABLE infra_file ADD INDEX idx_tenant_hash (tenant_id, content_hash)",
+                    "ALTER TABLE infra_file ADD INDEX idx_path (path(191))"
+                });
+            }
+            // Image variant spec on infra_file
+            try {
+                jdbcTemplate.queryForList("SELECT variants FROM infra_file LIMIT 1");
+            } catch (Exception e) {
+                executeFixes(new String[] {
+                    "ALTER TABLE infra_file ADD COLUMN variants VARCHAR(255) NULL AFTER ref_count"
+                });
+            }
+            // File storage statistics tables
+            executeFixes(new String[] {
+                "CREATE TABLE IF NOT EXISTS infra_file_stats (tenant_id BIGINT NOT NULL, storage VARCHAR(64) NOT NULL, "
+                    + "type VARCHAR(128) NOT NULL, file_count BIGINT NOT NULL DEFAULT 0, total_size BIGINT NOT NULL DEFAULT 0, "
+                    + "update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, "
+                    + "PRIMARY KEY (tenant_id, storage, type)) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4",
+                "CREATE TABLE IF NOT EXISTS infra_file_stats_daily (tenant_id BIGINT NOT NULL, stat_date DATE NOT NULL, "
+                    + "file_count BIGINT NOT NULL DEFAULT 0, total_size BIGINT NOT NULL DEFAULT 0, "
+                    + "PRIMARY KEY (tenant_id, stat_date)) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4"
+            });
+            // Outbound mail queue
+            executeFixes(new String[] {
+                "CREATE TABLE IF NOT EXISTS sys_mail_outbox (id BIGINT NOT NULL AUTO_INCREMENT, tenant_id BIGINT NOT NULL, "
+                    + "biz_type VARCHAR(32) NOT NULL, biz_id BIGINT NULL, recipient VARCHAR(100) NOT NULL, "
+                    + "subject VARCHAR(255) NOT NULL, content TEXT NOT NULL, status TINYINT NOT NULL DEFAULT 0, "
+                    + "attempts INT NOT NULL DEFAULT 0, next_attempt_time DATETIME NOT NULL, expire_time DATETIME NULL, "
+                    + "last_error VARCHAR(500) NULL, sent_time DATETIME NULL, "
+                    + "create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP, "
+                    + "PRIMARY KEY (id), INDEX idx_status_next (status, next_attempt_time), INDEX idx_update_time (update_time)) "
+                    + "ENGINE = InnoDB DEFAULT CHARSET = utf8mb4"
+            });
+            // Per-user article likes
+            executeFixes(new String[] {
+                "CREATE TABLE IF NOT EXISTS article_like (id BIGINT NOT NULL AUTO_INCREMENT, tenant_id BIGINT NOT NULL, "
+                    + "article_id BIGINT NOT NULL, user_id BIGINT NOT NULL, "
+                    + "create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "PRIMARY KEY (id), UNIQUE KEY uk_article_user (article_id, user_id), "
+                    + "INDEX idx_user_article (user_id, article_id)) "
+                    + "ENGINE = InnoDB DEFAULT CHARSET = utf8mb4"
+            });
+            // Daily article views / unique visitors rolled up from Redis
+            executeFixes(new String[] {
+                "CREATE TABLE IF NOT EXISTS article_daily_stats (stat_date DATE NOT NULL, article_id BIGINT NOT NULL, "
+                    + "tenant_id BIGINT NOT NULL, view_count BIGINT NOT NULL DEFAULT 0, visitor_count BIGINT NOT NULL DEFAULT 0, "
+                    + "update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                    + "PRIMARY KEY (stat_date, article_id), INDEX idx_tenant_date (tenant_id, stat_date), "
+                    + "INDEX idx_article_date (article_id, stat_date)) "
+                    + "ENGINE = InnoDB DEFAULT CHARSET = utf8mb4"
+            });
         } catch (Exception e) {
             System.err.println("Failed to check/fix database: " + e.getMessage());
         }
@@ -35,13 +97,17 @@ public class DatabaseFixRunner implements CommandLineRunner {
             "ALTER TABLE article ADD COLUMN preview_content LONGTEXT NULL AFTER allow_copy",
             "ALTER TABLE article ADD COLUMN enable_watermark TINYINT NULL DEFAULT 1 AFTER seo_description"
         };
+        executeFixes(fixStatements);
+    }
 
+    private void executeFixes(String[] fixStatements) {
         for (String sql : fixStatements) {
             try {
                 jdbcTemplate.execute(sql);
                 System.out.println("Executed: " + sql);
             } catch (Exception e) {
-                if (e.getMessage().contains("Duplicate column name") || e.getMessage().contains("1060")) {
+                if (e.getMessage().contains("Duplicate column name") || e.getMessage().contains("1060")
+                        || e.getMessage().contains("Duplicate key name") || e.getMessage().contains("1061")) {
                     System.out.println("Column already exists: " + sql);
                 } else {
                     System.err.println("Failed to execute: " + sql + " - " + e.getMessage());
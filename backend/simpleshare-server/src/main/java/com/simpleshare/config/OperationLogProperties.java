@@ -4,6 +4,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -18,6 +19,11 @@ public class OperationLogProperties {
      */
     private List<String> excludePatterns = new ArrayList<>();
 
+    /**
+     * Request/response body capture settings.
+     */
+    private Capture capture = new Capture();
+
     public List<String> getExcludePatterns() {
         return excludePatterns;
     }
@@ -25,4 +31,73 @@ public class OperationLogProperties {
     public void setExcludePatterns(List<String> excludePatterns) {
         this.excludePatterns = excludePatterns;
     }
+
+    public Capture getCapture() {
+        return capture;
+    }
+
+    public void setCapture(Capture capture) {
+        this.capture = capture;
+    }
+
+    /**
+     * Body capture settings. Per-request memory is bounded by the limits below
+     * regardless of payload size.
+     */
+    public static class Capture {
+
+        /**
+         * Maximum request body bytes kept for the log.
+         */
+        private int requestBodyLimit = 4096;
+
+        /**
+         * Maximum response body bytes kept for routes listed in {@link #responsePatterns}.
+         */
+        private int responseBodyLimit = 1024;
+
+        /**
+         * Routes that opt in to bounded response capture. Other responses are passed through unbuffered.
+         */
+        private List<String> responsePatterns = new ArrayList<>();
+
+        /**
+         * Content type prefixes that are never captured (large or binary payloads).
+         */
+        private List<String> excludedContentTypes = new ArrayList<>(Arrays.asList(
+                "multipart/", "application/octet-stream", "image/", "video/", "audio/",
+                "application/zip", "application/pdf", "application/vnd."));
+
+        public int getRequestBodyLimit() {
+            return requestBodyLimit;
+        }
+
+        public void setRequestBodyLimit(int requestBodyLimit) {
+            this.requestBodyLimit = requestBodyLimit;
+        }
+
+        public int getResponseBodyLimit() {
+            return responseBodyLimit;
+        }
+
+        public void setResponseBodyLimit(int responseBodyLimit) {
+            this.responseBodyLimit = responseBodyLimit;
+        }
+
+        public List<String> getResponsePatterns() {
+            return responsePatterns;
+        }
+
+        public void setResponsePatterns(List<String> responsePatterns) {
+            this.responsePatterns = responsePatterns;
+        }
+
+        public List<String> getExcludedContentTypes() {
+            return excludedContentTypes;
+        }
+
+        public void setExcludedContentTypes(List<String> excludedContentTypes) {
+            this.excludedContentTypes = excludedContentTypes;
+        }
+    }
 }
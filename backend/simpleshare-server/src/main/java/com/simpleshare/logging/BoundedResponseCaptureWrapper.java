@@ -0,0 +1,161 @@
+package com.simpleshare.logging;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 响应体有界抓取：输出直接写入原始响应（不缓冲、不延迟提交），
+ * 同时只复制前 limit 个字节用于日志；排除的内容类型不复制。
+ */
+public class BoundedResponseCaptureWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final List<String> excludedContentTypes;
+    private final ByteArrayOutputStream captured;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean truncated;
+
+    public BoundedResponseCaptureWrapper(HttpServletResponse response, int limit, List<String> excludedContentTypes) {
+        super(response);
+        this.limit = Math.max(limit, 0);
+        this.excludedContentTypes = excludedContentTypes;
+        this.captured = new ByteArrayOutputStream(Math.min(this.limit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() has already been called on this response");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(new TeeOutputStream(super.getOutputStream()),
+                    getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * 已抓取的响应体（最多 limit 字节），未抓取或内容类型被排除时返回 null
+     */
+    public String getCapturedBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (captured.size() == 0) {
+            return null;
+        }
+        String body;
+        try {
+            body = captured.toString(getCharacterEncoding());
+        } catch (UnsupportedEncodingException e) {
+            body = new String(captured.toByteArray(), StandardCharsets.UTF_8);
+        }
+        return truncated ? body + "..." : body;
+    }
+
+    private boolean capturable() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        String normalized = contentType.toLowerCase(Locale.ROOT);
+        for (String excluded : excludedContentTypes) {
+            if (normalized.startsWith(excluded)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int remaining = limit - captured.size();
+        if (remaining <= 0) {
+            truncated = truncated || length > 0;
+            return;
+        }
+        if (!capturable()) {
+            return;
+        }
+        int copied = Math.min(remaining, length);
+        captured.write(bytes, offset, copied);
+        if (copied < length) {
+            truncated = true;
+        }
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (captured.size() >= limit) {
+                truncated = true;
+            } else if (capturable()) {
+                captured.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -1,44 +1,99 @@
 package com.simpleshare.logging;
 
+import com.simpleshare.config.OperationLogProperties;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 
 /**
- * 包装请求和响应，便于记录日志
+ * 按需包装请求和响应，便于记录日志
+ * <p>
+ * 只对会记录日志的路由抓取请求体，且不超过 request-body-limit；响应默认直接透传不缓冲，
+ * 仅 response-patterns 中的路由以有界方式旁路抓取前 response-body-limit 字节。
+ * 大文件/二进制内容类型始终不抓取，单个请求的额外内存与载荷大小无关。
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 10)
 public class OperationLogFilter extends OncePerRequestFilter {
 
+    private final OperationLogProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public OperationLogFilter(OperationLogProperties properties) {
+        this.properties = properties;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        boolean multipart = request.getContentType() != null
-                && request.getContentType().toLowerCase().startsWith("multipart/");
-
-        if (multipart) {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (matches(properties.getExcludePatterns(), path)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request, 4096);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        OperationLogProperties.Capture capture = properties.getCapture();
+        HttpServletRequest requestToUse = request;
+        if (shouldCaptureRequestBody(request, capture)) {
+            requestToUse = new ContentCachingRequestWrapper(request, capture.getRequestBodyLimit());
+        }
+        HttpServletResponse responseToUse = response;
+        if (capture.getResponseBodyLimit() > 0 && matches(capture.getResponsePatterns(), path)) {
+            responseToUse = new BoundedResponseCaptureWrapper(response, capture.getResponseBodyLimit(),
+                    capture.getExcludedContentTypes());
+        }
+        filterChain.doFilter(requestToUse, responseToUse);
+    }
+
+    private boolean shouldCaptureRequestBody(HttpServletRequest request, OperationLogProperties.Capture capture) {
+        if (capture.getRequestBodyLimit() <= 0) {
+            return false;
+        }
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return false;
+        }
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        String normalized = contentType.toLowerCase(Locale.ROOT);
+        for (String excluded : capture.getExcludedContentTypes()) {
+            if (normalized.startsWith(excluded)) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        try {
-            filterChain.doFilter(requestWrapper, responseWrapper);
-        } finally {
-            responseWrapper.copyBodyToResponse();
+    private boolean matches(List<String> patterns, String path) {
+        if (patterns == null || patterns.isEmpty()) {
+            return false;
+        }
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
         }
+        return false;
     }
 }
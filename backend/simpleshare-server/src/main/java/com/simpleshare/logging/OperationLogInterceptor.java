@@ -1,7 +1,5 @@
 package com.simpleshare.logging;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.simpleshare.common.utils.SecurityUtils;
 import com.simpleshare.common.utils.StringUtils;
 import com.simpleshare.system.domain.SysOperationLog;
@@ -12,10 +10,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -29,11 +29,9 @@ public class OperationLogInterceptor implements HandlerInterceptor {
     private static final String START_TIME_ATTRIBUTE = OperationLogInterceptor.class.getName() + ".START_TIME";
 
     private final ISysOperationLogService operationLogService;
-    private final ObjectMapper objectMapper;
 
-    public OperationLogInterceptor(ISysOperationLogService operationLogService, ObjectMapper objectMapper) {
+    public OperationLogInterceptor(ISysOperationLogService operationLogService) {
         this.operationLogService = operationLogService;
-        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -66,8 +64,8 @@ public class OperationLogInterceptor implements HandlerInterceptor {
         log.setMethodName(handlerMethod.getMethod().getName());
         log.setRequestMethod(request.getMethod());
         log.setRequestUri(request.getRequestURI());
-        log.setRequestParams(toJsonSafe(extractRequestParams(request)));
         log.setRequestBody(extractRequestBody(request));
+        log.setRemark(extractResponseBody(response));
 
         int responseStatus = response.getStatus();
         log.setResponseStatus(responseStatus);
@@ -89,8 +87,15 @@ public class OperationLogInterceptor implements HandlerInterceptor {
         if (startTime != null) {
             log.setDuration(System.currentTimeMillis() - startTime);
         }
+        // 写线程中取不到登录上下文，审计字段在请求线程中确定
+        LocalDateTime now = LocalDateTime.now();
+        log.setCreateTime(now);
+        log.setUpdateTime(now);
+        log.setCreateBy(operatorId);
+        log.setUpdateBy(operatorId);
 
-        operationLogService.record(log);
+        // 参数序列化与落库由后台写线程完成
+        operationLogService.record(log, extractRequestParams(request));
     }
 
     private String resolveTraceId() {
@@ -134,8 +139,9 @@ public class OperationLogInterceptor implements HandlerInterceptor {
     }
 
     private String extractRequestBody(HttpServletRequest request) {
-        if (request instanceof ContentCachingRequestWrapper) {
-            ContentCachingRequestWrapper wrapper = (ContentCachingRequestWrapper) request;
+        // 过滤器之后可能还有其他包装（如 Spring Security），需沿包装链查找
+        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        if (wrapper != null) {
             byte[] body = wrapper.getContentAsByteArray();
             if (body != null && body.length > 0) {
                 try {
@@ -149,6 +155,17 @@ public class OperationLogInterceptor implements HandlerInterceptor {
         return null;
     }
 
+    /**
+     * 仅 response-patterns 中的路由会被有界抓取，结果写入备注列
+     */
+    private String extractResponseBody(HttpServletResponse response) {
+        BoundedResponseCaptureWrapper wrapper = WebUtils.getNativeResponse(response, BoundedResponseCaptureWrapper.class);
+        if (wrapper == null) {
+            return null;
+        }
+        return StringUtils.abbreviate(wrapper.getCapturedBody(), 500);
+    }
+
     private String resolveErrorMessage(Exception ex, int status) {
         if (ex != null) {
             return StringUtils.abbreviate(ex.getMessage(), 1000);
@@ -177,17 +194,4 @@ public class OperationLogInterceptor implements HandlerInterceptor {
         }
         return request.getRemoteAddr();
     }
-
-    private String toJsonSafe(Object value) {
-        if (value == null) {
-            return null;
-        }
-        try {
-            String json = objectMapper.writeValueAsString(value);
-            return json.length() > 4000 ? json.substring(0, 4000) : json;
-        } catch (JsonProcessingException e) {
-            String fallback = value.toString();
-            return fallback.length() > 4000 ? fallback.substring(0, 4000) : fallback;
-        }
-    }
 }
@@ -0,0 +1,118 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.domain.dto.ArticleCounterDelta;
+import com.simpleshare.article.mapper.ArticleMapper;
+import com.simpleshare.framework.tenant.TenantContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 文章计数写后缓冲测试：换代落库与跨租户上下文的增量合并。
+ */
+class ArticleCounterManagerTest {
+
+    private final List<List<ArticleCounterDelta>> applied = new ArrayList<>();
+
+    private ArticleCounterManager counterManager;
+
+    @BeforeEach
+    void setUp() {
+        ArticleMapper articleMapper = mock(ArticleMapper.class);
+        doAnswer(invocation -> {
+            List<ArticleCounterDelta> chunk = invocation.getArgument(0);
+            applied.add(new ArrayList<>(chunk));
+            return chunk.size();
+        }).when(articleMapper).batchApplyCounterDeltas(anyList());
+        counterManager = new ArticleCounterManager(articleMapper);
+        ReflectionTestUtils.setField(counterManager, "enabled", true);
+        ReflectionTestUtils.setField(counterManager, "batchSize", 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    void flushPersistsRetiringGenerationOnNextRound() {
+        counterManager.increment(7L, ArticleCounterManager.Metric.VIEW, 3);
+
+        // 第一轮只换代，不落库，增量仍可读
+        assertThat(counterManager.flush()).isZero();
+        assertThat(applied).isEmpty();
+        assertThat(counterManager.pendingDelta(7L, ArticleCounterManager.Metric.VIEW)).isEqualTo(3L);
+
+        // 换代后的写入进入新一代，不随本轮落库
+        counterManager.increment(7L, ArticleCounterManager.Metric.VIEW, 2);
+        assertThat(counterManager.flush()).isEqualTo(1);
+        assertThat(applied).hasSize(1);
+        assertThat(applied.get(0)).singleElement()
+                .satisfies(delta -> assertThat(delta.getViewDelta()).isEqualTo(3L));
+        assertThat(counterManager.pendingDelta(7L, ArticleCounterManager.Metric.VIEW)).isEqualTo(2L);
+
+        counterManager.flush();
+        assertThat(applied).hasSize(2);
+        assertThat(applied.get(1).get(0).getViewDelta()).isEqualTo(2L);
+        assertThat(counterManager.pendingDelta(7L, ArticleCounterManager.Metric.VIEW)).isZero();
+    }
+
+    @Test
+    void listenersDoNotSeeCommittedDeltaAsPending() {
+        List<Long> pendingSeen = new ArrayList<>();
+        ArticleCounterFlushListener listener = deltas ->
+                pendingSeen.add(counterManager.pendingDelta(7L, ArticleCounterManager.Metric.VIEW));
+        ReflectionTestUtils.setField(counterManager, "flushListeners", Collections.singletonList(listener));
+
+        counterManager.increment(7L, ArticleCounterManager.Metric.VIEW, 4);
+        counterManager.flush();
+        counterManager.flush();
+
+        // 回调时增量已在库中，读路径不能再叠加一次
+        assertThat(pendingSeen).containsExactly(0L);
+    }
+
+    @Test
+    void sameArticleUnderDifferentTenantContextsIsAppliedOnce() {
+        TenantContextHolder.setTenantId("1");
+        counterManager.increment(7L, ArticleCounterManager.Metric.VIEW, 1);
+        counterManager.increment(7L, ArticleCounterManager.Metric.COLLECT, -1);
+        TenantContextHolder.setTenantId("2");
+        counterManager.increment(7L, ArticleCounterManager.Metric.VIEW, 1);
+        counterManager.increment(7L, ArticleCounterManager.Metric.COLLECT, 1);
+        counterManager.increment(7L, ArticleCounterManager.Metric.LIKE, 1);
+        TenantContextHolder.clear();
+
+        Article article = new Article();
+        article.setArticleId(7L);
+        article.setTenantId(3L);
+        article.setViewCount(10L);
+        article.setLikeCount(0L);
+        article.setCollectCount(5L);
+        counterManager.merge(article);
+        assertThat(article.getViewCount()).isEqualTo(12L);
+        assertThat(article.getLikeCount()).isEqualTo(1L);
+        assertThat(article.getCollectCount()).isEqualTo(5L);
+
+        counterManager.flush();
+        counterManager.flush();
+        assertThat(applied).hasSize(1);
+        assertThat(applied.get(0)).singleElement().satisfies(delta -> {
+            assertThat(delta.getArticleId()).isEqualTo(7L);
+            assertThat(delta.getViewDelta()).isEqualTo(2L);
+            assertThat(delta.getLikeDelta()).isEqualTo(1L);
+            assertThat(delta.getCollectDelta()).isZero();
+        });
+    }
+}
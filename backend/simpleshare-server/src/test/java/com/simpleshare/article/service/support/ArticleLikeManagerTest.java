@@ -0,0 +1,116 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.mapper.ArticleLikeMapper;
+import com.simpleshare.common.constant.CacheConstants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 点赞变更落库测试：释放脚本只按落库时读到的字段值删除，落库失败时保留待落库变更。
+ */
+class ArticleLikeManagerTest {
+
+    private static final Long ARTICLE_ID = 42L;
+
+    private final Map<byte[], byte[]> pending = new LinkedHashMap<>();
+
+    /**
+     * 释放脚本（两个 KEYS）的调用参数，依次为 KEYS 与 ARGV
+     */
+    private final List<List<String>> releaseCalls = new ArrayList<>();
+
+    private ArticleLikeMapper likeMapper;
+
+    private ArticleLikeManager likeManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "set":
+                    return Boolean.TRUE;
+                case "sRandMember":
+                    return Collections.singletonList(bytes(String.valueOf(ARTICLE_ID)));
+                case "hGetAll":
+                    return new LinkedHashMap<>(pending);
+                case "eval":
+                    Object[] raw = invocation.getRawArguments();
+                    if ((Integer) raw[2] == 2) {
+                        releaseCalls.add(Arrays.stream((byte[][]) raw[3]).map(ArticleLikeManagerTest::text)
+                                .collect(Collectors.toList()));
+                    }
+                    return 0L;
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+        RedisTemplate<Object, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+
+        likeMapper = mock(ArticleLikeMapper.class);
+        likeManager = new ArticleLikeManager(likeMapper, mock(ArticleCounterManager.class));
+        ReflectionTestUtils.setField(likeManager, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(likeManager, "flushIntervalMs", 2000L);
+        ReflectionTestUtils.setField(likeManager, "flushArticles", 200);
+    }
+
+    @Test
+    void releaseScriptReceivesTheValuesThatWerePersisted() {
+        pending.put(bytes("5"), bytes("1"));
+        pending.put(bytes("9"), bytes("0"));
+
+        assertThat(likeManager.flush()).isEqualTo(2);
+
+        verify(likeMapper).insertLikes(ARTICLE_ID, Collections.singletonList(5L));
+        verify(likeMapper).deleteLikes(ARTICLE_ID, Collections.singletonList(9L));
+        // 脚本按字段值比较后删除：落库期间被再次修改的字段值不同，会留到下一轮
+        assertThat(releaseCalls).singleElement().isEqualTo(Arrays.asList(
+                CacheConstants.ARTICLE_LIKE_PENDING_KEY + ARTICLE_ID,
+                CacheConstants.ARTICLE_LIKE_DIRTY_KEY,
+                String.valueOf(ARTICLE_ID),
+                "5", "1",
+                "9", "0"));
+    }
+
+    @Test
+    void failedPersistKeepsPendingChanges() {
+        pending.put(bytes("5"), bytes("1"));
+        when(likeMapper.insertLikes(eq(ARTICLE_ID), anyCollection())).thenThrow(new IllegalStateException("db down"));
+
+        assertThat(likeManager.flush()).isZero();
+
+        assertThat(releaseCalls).isEmpty();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
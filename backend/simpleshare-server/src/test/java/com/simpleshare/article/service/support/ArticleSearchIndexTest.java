@@ -0,0 +1,98 @@
+package com.simpleshare.article.service.support;
+
+import com.simpleshare.article.domain.Article;
+import com.simpleshare.article.mapper.ArticleMapper;
+import com.simpleshare.framework.redis.CacheInvalidationBroker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章全文检索测试：加密与会员文章的正文不可被检索。
+ */
+class ArticleSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private ArticleSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        ArticleMapper articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.selectArticlesForIndex(isNull(), anyInt())).thenReturn(Arrays.asList(
+                article(1L, "公开文章", "公开正文里提到了星图计划", 1, 0, null),
+                article(2L, "加密文章", "<p>加密正文里提到了潮汐密钥</p>", 0, 0, "加密文章的预览"),
+                article(3L, "会员文章", "<p>会员正文里提到了潮汐密钥</p>", 1, 1, null)));
+        when(articleMapper.selectArticlesForIndex(notNull(), anyInt())).thenReturn(Collections.emptyList());
+
+        searchIndex = new ArticleSearchIndex(articleMapper, mock(CacheInvalidationBroker.class));
+        ReflectionTestUtils.setField(searchIndex, "enabled", true);
+        ReflectionTestUtils.setField(searchIndex, "indexDir", indexDir.toString());
+        ReflectionTestUtils.setField(searchIndex, "refreshIntervalMs", 100L);
+        ReflectionTestUtils.setField(searchIndex, "commitIntervalSeconds", 30L);
+        ReflectionTestUtils.setField(searchIndex, "rebuildBatchSize", 500);
+        searchIndex.start();
+        for (int i = 0; i < 100 && !searchIndex.isAvailable(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(searchIndex.isAvailable()).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.shutdown();
+    }
+
+    @Test
+    void protectedBodyIsNotSearchable() {
+        ArticleSearchIndex.SearchPage page = searchIndex.search(null, "潮汐密钥", true, 1, 10);
+
+        assertThat(page).isNotNull();
+        assertThat(page.getTotal()).isZero();
+        assertThat(page.getHits()).isEmpty();
+    }
+
+    @Test
+    void publicBodyAndProtectedMetadataRemainSearchable() {
+        ArticleSearchIndex.SearchPage publicPage = searchIndex.search(null, "星图计划", true, 1, 10);
+        assertThat(publicPage.getHits()).singleElement().satisfies(hit -> {
+            assertThat(hit.getArticleId()).isEqualTo(1L);
+            assertThat(hit.getHighlight()).contains("<em>");
+        });
+
+        ArticleSearchIndex.SearchPage protectedPage = searchIndex.search(null, "加密文章", true, 1, 10);
+        assertThat(protectedPage.getHits()).singleElement().satisfies(hit -> {
+            assertThat(hit.getArticleId()).isEqualTo(2L);
+            assertThat(hit.getSnippet()).doesNotContain("潮汐密钥");
+        });
+    }
+
+    private static Article article(Long id, String title, String content, int isPasswd, int accessLevel, String preview) {
+        Article article = new Article();
+        article.setArticleId(id);
+        article.setTenantId(1L);
+        article.setTitle(title);
+        article.setContent(content);
+        article.setPreviewContent(preview);
+        article.setIsPasswd(isPasswd);
+        article.setAccessLevel(accessLevel);
+        article.setStatus(1);
+        article.setReviewStatus(1);
+        return article;
+    }
+}
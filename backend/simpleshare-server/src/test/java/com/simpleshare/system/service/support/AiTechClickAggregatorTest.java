@@ -0,0 +1,148 @@
+package com.simpleshare.system.service.support;
+
+import com.simpleshare.common.constant.CacheConstants;
+import com.simpleshare.system.domain.AiTechCardClick;
+import com.simpleshare.system.mapper.AiTechCardClickMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AiTech 点击落库测试：落库后按已写入的次数扣减待落库计数，落库失败时不扣减。
+ */
+class AiTechClickAggregatorTest {
+
+    /**
+     * 卡片哈希：键名 → HMGET(pending, title, path, category, time) 的结果
+     */
+    private final Map<String, List<byte[]>> cards = new HashMap<>();
+
+    private final List<byte[]> dirty = new ArrayList<>();
+
+    /**
+     * 释放脚本的调用参数：KEYS 与 ARGV
+     */
+    private final List<List<String>> releaseCalls = new ArrayList<>();
+
+    private final List<AiTechCardClick> upserted = new ArrayList<>();
+
+    private final List<String> pipelinedReads = new ArrayList<>();
+
+    private AiTechCardClickMapper cardClickMapper;
+
+    private AiTechClickAggregator aggregator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        byte[] releaseScript = (byte[]) ReflectionTestUtils.getField(AiTechClickAggregator.class, "RELEASE_SCRIPT");
+        RedisConnection connection = mock(RedisConnection.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "set":
+                    return Boolean.TRUE;
+                case "sRandMember":
+                    return new ArrayList<>(dirty);
+                case "hMGet":
+                    pipelinedReads.add(text(invocation.getArgument(0)));
+                    return null;
+                case "eval":
+                    Object[] raw = invocation.getRawArguments();
+                    if (Arrays.equals((byte[]) raw[0], releaseScript)) {
+                        releaseCalls.add(Arrays.stream((byte[][]) raw[3]).map(AiTechClickAggregatorTest::text)
+                                .collect(Collectors.toList()));
+                    }
+                    return null;
+                default:
+                    return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+        RedisTemplate<Object, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            pipelinedReads.clear();
+            ((RedisCallback<Object>) invocation.getArgument(0)).doInRedis(connection);
+            List<Object> results = new ArrayList<>();
+            for (String key : pipelinedReads) {
+                results.add(cards.get(key));
+            }
+            return results;
+        });
+
+        cardClickMapper = mock(AiTechCardClickMapper.class);
+        aggregator = new AiTechClickAggregator(cardClickMapper);
+        ReflectionTestUtils.setField(aggregator, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(aggregator, "enabled", true);
+        ReflectionTestUtils.setField(aggregator, "flushIntervalMs", 5000L);
+        ReflectionTestUtils.setField(aggregator, "flushCards", 500);
+    }
+
+    @Test
+    void flushSubtractsOnlyTheWrittenClicks() {
+        doAnswer(invocation -> {
+            upserted.addAll(invocation.getArgument(0));
+            return 1;
+        }).when(cardClickMapper).upsertClicks(anyList());
+        addCard("1:chat", "3");
+        addCard("1:draw", null);
+
+        assertThat(aggregator.flush()).isEqualTo(3L);
+
+        assertThat(upserted).singleElement().satisfies(click -> {
+            assertThat(click.getTenantId()).isEqualTo(1L);
+            assertThat(click.getCardKey()).isEqualTo("chat");
+            assertThat(click.getClickCount()).isEqualTo(3L);
+            assertThat(click.getCardTitle()).isEqualTo("对话");
+        });
+        // 扣减的是本轮读到并写入的次数，落库期间新增的点击保留在 pending 中
+        assertThat(releaseCalls).containsExactly(
+                Arrays.asList(CacheConstants.AITECH_CLICK_KEY + "1:chat", CacheConstants.AITECH_CLICK_DIRTY_KEY, "3", "1:chat"),
+                Arrays.asList(CacheConstants.AITECH_CLICK_KEY + "1:draw", CacheConstants.AITECH_CLICK_DIRTY_KEY, "0", "1:draw"));
+    }
+
+    @Test
+    void failedUpsertKeepsPendingClicks() {
+        when(cardClickMapper.upsertClicks(anyList())).thenThrow(new IllegalStateException("db down"));
+        addCard("1:chat", "3");
+
+        assertThatThrownBy(() -> aggregator.flush()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(releaseCalls).isEmpty();
+    }
+
+    private void addCard(String member, String pending) {
+        dirty.add(bytes(member));
+        if (pending != null) {
+            cards.put(CacheConstants.AITECH_CLICK_KEY + member, Arrays.asList(
+                    bytes(pending), bytes("对话"), bytes("/chat"), bytes("ai"), bytes("1700000000000")));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
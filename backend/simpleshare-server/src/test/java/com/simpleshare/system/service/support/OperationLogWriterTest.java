@@ -0,0 +1,126 @@
+package com.simpleshare.system.service.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simpleshare.system.domain.SysOperationLog;
+import com.simpleshare.system.mapper.SysOperationLogMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 操作日志异步写入测试：环形缓冲区的容量、顺序与多生产者安全，以及停机排空。
+ */
+class OperationLogWriterTest {
+
+    @Test
+    void ringBufferRoundsCapacityAndRejectsWhenFull() {
+        OperationLogWriter.RingBuffer<Integer> buffer = new OperationLogWriter.RingBuffer<>(100);
+        assertThat(buffer.capacity()).isEqualTo(128);
+
+        for (int i = 0; i < 128; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(128)).isFalse();
+        assertThat(buffer.size()).isEqualTo(128);
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(128)).isTrue();
+        for (int i = 1; i <= 128; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void ringBufferDeliversEveryElementFromConcurrentProducers() throws InterruptedException {
+        OperationLogWriter.RingBuffer<Integer> buffer = new OperationLogWriter.RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        Set<Integer> received = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            Integer value = buffer.poll();
+            if (value != null) {
+                assertThat(received.add(value)).isTrue();
+            }
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void shutdownDrainsBufferedLogsInBatches() {
+        SysOperationLogMapper mapper = mock(SysOperationLogMapper.class);
+        AtomicInteger written = new AtomicInteger();
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<SysOperationLog> logs = invocation.getArgument(0);
+            written.addAndGet(logs.size());
+            batchSizes.add(logs.size());
+            return logs.size();
+        }).when(mapper).insertBatch(anyList());
+        doAnswer(invocation -> {
+            written.incrementAndGet();
+            batchSizes.add(1);
+            return 1;
+        }).when(mapper).insert(any(SysOperationLog.class));
+
+        OperationLogWriter writer = new OperationLogWriter(mapper, new ObjectMapper());
+        ReflectionTestUtils.setField(writer, "enabled", true);
+        ReflectionTestUtils.setField(writer, "bufferSize", 1024);
+        ReflectionTestUtils.setField(writer, "batchSize", 50);
+        ReflectionTestUtils.setField(writer, "lingerMs", 1000L);
+        ReflectionTestUtils.setField(writer, "overflowPolicyName", "drop");
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 5000L);
+        writer.start();
+
+        for (int i = 0; i < 120; i++) {
+            SysOperationLog operationLog = new SysOperationLog();
+            operationLog.setStatus(0);
+            writer.submit(operationLog, Collections.singletonMap("index", i));
+        }
+        writer.shutdown();
+
+        assertThat(written.get()).isEqualTo(120);
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(50));
+    }
+}
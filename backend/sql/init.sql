@@ -245,6 +245,22 @@ CREATE TABLE `article_copy2`  (
                                   FULLTEXT INDEX `ft_title_content`(`title`, `content`)
 ) ENGINE = InnoDB AUTO_INCREMENT = 14437 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文章表' ROW_FORMAT = Dynamic;
 
+-- ----------------------------
+-- Table structure for article_daily_stats
+-- ----------------------------
+DROP TABLE IF EXISTS `article_daily_stats`;
+CREATE TABLE `article_daily_stats`  (
+                                 `stat_date` date NOT NULL COMMENT '统计日期',
+                                 `article_id` bigint(20) NOT NULL COMMENT '文章ID',
+                                 `tenant_id` bigint(20) NOT NULL COMMENT '租户ID',
+                                 `view_count` bigint(20) NOT NULL DEFAULT 0 COMMENT '浏览量',
+                                 `visitor_count` bigint(20) NOT NULL DEFAULT 0 COMMENT '独立访客数（HyperLogLog 估算）',
+                                 `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '最近汇总时间',
+                                 PRIMARY KEY (`stat_date`, `article_id`) USING BTREE,
+                                 INDEX `idx_tenant_date`(`tenant_id` ASC, `stat_date` ASC) USING BTREE,
+                                 INDEX `idx_article_date`(`article_id` ASC, `stat_date` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文章每日访问统计表' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for article_favorite
 -- ----------------------------
@@ -264,6 +280,21 @@ CREATE TABLE `article_favorite`  (
                                      PRIMARY KEY (`id`) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 3 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文章收藏表' ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for article_like
+-- ----------------------------
+DROP TABLE IF EXISTS `article_like`;
+CREATE TABLE `article_like`  (
+                                 `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+                                 `tenant_id` bigint(20) NOT NULL COMMENT '租户ID',
+                                 `article_id` bigint(20) NOT NULL COMMENT '文章ID',
+                                 `user_id` bigint(20) NOT NULL COMMENT '用户ID',
+                                 `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '点赞时间',
+                                 PRIMARY KEY (`id`) USING BTREE,
+                                 UNIQUE INDEX `uk_article_user`(`article_id` ASC, `user_id` ASC) USING BTREE,
+                                 INDEX `idx_user_article`(`user_id` ASC, `article_id` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文章点赞表' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for article_tag
 -- ----------------------------
@@ -305,15 +336,48 @@ CREATE TABLE `infra_file`  (
                                `url` varchar(1024) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '文件 URL',
                                `type` varchar(128) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT '文件类型',
                                `size` int(11) NOT NULL COMMENT '文件大小',
+                               `tenant_id` bigint(20) NOT NULL DEFAULT 1 COMMENT '租户ID',
+                               `storage_key` char(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT '存储标识',
+                               `content_hash` char(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT '文件内容SHA-256',
+                               `ref_count` int(11) NOT NULL DEFAULT 1 COMMENT '引用次数',
+                               `variants` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT '图片缩略图规格',
                                `create_by` bigint(50) NULL DEFAULT NULL COMMENT '创建者',
                                `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
                                `update_by` bigint(50) NULL DEFAULT NULL COMMENT '更新者',
                                `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
                                `deleted` bit(1) NOT NULL DEFAULT b'0' COMMENT '是否删除',
                                `remark` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT '备注',
-                               PRIMARY KEY (`id`) USING BTREE
+                               PRIMARY KEY (`id`) USING BTREE,
+                               INDEX `idx_tenant_hash`(`tenant_id` ASC, `content_hash` ASC) USING BTREE,
+                               INDEX `idx_path`(`path`(191) ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 2166 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文件表' ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for infra_file_stats
+-- ----------------------------
+DROP TABLE IF EXISTS `infra_file_stats`;
+CREATE TABLE `infra_file_stats`  (
+                                     `tenant_id` bigint(20) NOT NULL COMMENT '租户ID',
+                                     `storage` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '存储',
+                                     `type` varchar(128) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '文件类型',
+                                     `file_count` bigint(20) NOT NULL DEFAULT 0 COMMENT '文件数',
+                                     `total_size` bigint(20) NOT NULL DEFAULT 0 COMMENT '总大小',
+                                     `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+                                     PRIMARY KEY (`tenant_id`, `storage`, `type`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文件存储统计表' ROW_FORMAT = DYNAMIC;
+
+-- ----------------------------
+-- Table structure for infra_file_stats_daily
+-- ----------------------------
+DROP TABLE IF EXISTS `infra_file_stats_daily`;
+CREATE TABLE `infra_file_stats_daily`  (
+                                           `tenant_id` bigint(20) NOT NULL COMMENT '租户ID',
+                                           `stat_date` date NOT NULL COMMENT '统计日期',
+                                           `file_count` bigint(20) NOT NULL DEFAULT 0 COMMENT '文件数',
+                                           `total_size` bigint(20) NOT NULL DEFAULT 0 COMMENT '总大小',
+                                           PRIMARY KEY (`tenant_id`, `stat_date`) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '文件存储每日快照表' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for infra_file_config
 -- ----------------------------
@@ -398,6 +462,31 @@ CREATE TABLE `sys_email_verification`  (
                                            INDEX `idx_expire_time`(`expire_time` ASC) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 19 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '邮箱验证表' ROW_FORMAT = DYNAMIC;
 
+-- ----------------------------
+-- Table structure for sys_mail_outbox
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_mail_outbox`;
+CREATE TABLE `sys_mail_outbox`  (
+                                    `id` bigint(20) NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+                                    `tenant_id` bigint(20) NOT NULL COMMENT '租户ID',
+                                    `biz_type` varchar(32) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '业务类型',
+                                    `biz_id` bigint(20) NULL DEFAULT NULL COMMENT '业务记录ID',
+                                    `recipient` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '收件人',
+                                    `subject` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '主题',
+                                    `content` text CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '正文',
+                                    `status` tinyint(4) NOT NULL DEFAULT 0 COMMENT '状态：0-待发送，1-发送中，2-已发送，3-失败',
+                                    `attempts` int(11) NOT NULL DEFAULT 0 COMMENT '已尝试次数',
+                                    `next_attempt_time` datetime NOT NULL COMMENT '下次发送时间（发送中为租约到期时间）',
+                                    `expire_time` datetime NULL DEFAULT NULL COMMENT '过期时间',
+                                    `last_error` varchar(500) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NULL DEFAULT NULL COMMENT '最近一次错误',
+                                    `sent_time` datetime NULL DEFAULT NULL COMMENT '发送时间',
+                                    `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+                                    `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+                                    PRIMARY KEY (`id`) USING BTREE,
+                                    INDEX `idx_status_next`(`status` ASC, `next_attempt_time` ASC) USING BTREE,
+                                    INDEX `idx_update_time`(`update_time` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_unicode_ci COMMENT = '邮件发件箱' ROW_FORMAT = DYNAMIC;
+
 -- ----------------------------
 -- Table structure for sys_menu
 -- ----------------------------